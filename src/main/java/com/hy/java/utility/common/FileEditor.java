@@ -1,7 +1,10 @@
 package com.hy.java.utility.common;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -17,6 +20,8 @@ import org.apache.commons.io.FileUtils;
  * 读的方法有<code>readFileToByteArray()</code>、<code>readFileToString()</code>、<code>readLines()</code>
  * <p>
  * 写的方法名字均为write，可以写入{@code byte[]}、{@code InputStream}、{@code String}
+ * <p>
+ * 数据量大、不宜整体放入内存时，用<code>openInputStream()</code>、<code>openOutputStream(boolean)</code>流式读写
  * 
  * @author chiefeweight
  */
@@ -217,6 +222,45 @@ public class FileEditor {
 		}
 	}
 
+	/**
+	 * 打开带缓冲的输入流，用于流式读取大文件。使用后由调用者关闭
+	 * 
+	 * @return input_stream 文件不存在时返回null
+	 */
+	public InputStream openInputStream() {
+		InputStream input_stream = null;
+		if (file.exists()) {
+			try {
+				input_stream = new BufferedInputStream(new FileInputStream(file));
+			} catch (FileNotFoundException e) {
+				// TODO Auto-generated catch block
+				e.printStackTrace();
+			}
+		} else {
+			System.out.println("File doesn't exist.");
+		}
+		return input_stream;
+	}
+
+	/**
+	 * 打开带缓冲的输出流，用于流式写入大文件。使用后由调用者关闭
+	 * 
+	 * @param append 是否续写。如果是<code>false</code>，则会清空原文件所有内容，重新写入；如果是<code>true</code>，则会在原文件的末尾开始写入
+	 * @return output_stream 文件不可写时返回null
+	 */
+	public OutputStream openOutputStream(boolean append) {
+		OutputStream output_stream = null;
+		if (fileIsReady()) {
+			try {
+				output_stream = new BufferedOutputStream(new FileOutputStream(file, append));
+			} catch (FileNotFoundException e) {
+				// TODO Auto-generated catch block
+				e.printStackTrace();
+			}
+		}
+		return output_stream;
+	}
+
 	/**
 	 * 返回文件
 	 * 
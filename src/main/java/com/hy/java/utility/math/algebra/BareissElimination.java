@@ -0,0 +1,245 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Bareiss无分数消元：先把每行乘以10的幂化为整数矩阵，再用整数做消元，每一步的除法都是整除。
+ * 消元过程中每个中间量都是原矩阵的某个子式，位数不超过Hadamard界，不会像有理数消元那样膨胀，O(n<sup>3</sup>)次整数运算即可得到精确的行列式、秩和逆矩阵
+ *
+ * @author cfw
+ */
+public class BareissElimination {
+	private final int row_num;
+	private final int column_num;
+	/**
+	 * 化为整数后的原矩阵，求逆时使用
+	 */
+	private final BigInteger[][] integral;
+	/**
+	 * 第i行乘以10<sup>row_scales[i]</sup>后为整数
+	 */
+	private final int[] row_scales;
+	private final int rank;
+	/**
+	 * 整数矩阵的行列式，仅方阵有意义
+	 */
+	private final BigInteger integral_det;
+	private BigInteger[][] adjugate;
+
+	/**
+	 * @param matrix 未设置的元素（null）视为0
+	 */
+	public BareissElimination(Matrix matrix) {
+		this.row_num = matrix.getRowNum();
+		this.column_num = matrix.getColumnNum();
+		BigDecimal[][] elements = matrix.getElements();
+		integral = new BigInteger[row_num][column_num];
+		row_scales = new int[row_num];
+		for (int i = 0; i < row_num; i++) {
+			int scale = 0;
+			for (int j = 0; j < column_num; j++) {
+				if (elements[i][j] != null && elements[i][j].signum() != 0) {
+					scale = Math.max(scale, elements[i][j].stripTrailingZeros().scale());
+				}
+			}
+			row_scales[i] = scale;
+			for (int j = 0; j < column_num; j++) {
+				integral[i][j] = elements[i][j] == null ? BigInteger.ZERO : elements[i][j].movePointRight(scale).toBigIntegerExact();
+			}
+		}
+		// 前向消元，求秩与行列式
+		BigInteger[][] a = copy(integral);
+		BigInteger previous = BigInteger.ONE;
+		int sign = 1;
+		int r = 0;
+		for (int c = 0; c < column_num && r < row_num; c++) {
+			int p = findPivot(a, r, c);
+			if (p < 0) {
+				continue;
+			}
+			if (p != r) {
+				swap(a, p, r);
+				sign = -sign;
+			}
+			for (int i = r + 1; i < row_num; i++) {
+				for (int j = c + 1; j < column_num; j++) {
+					a[i][j] = a[r][c].multiply(a[i][j]).subtract(a[i][c].multiply(a[r][j])).divide(previous);
+				}
+				a[i][c] = BigInteger.ZERO;
+			}
+			previous = a[r][c];
+			r++;
+		}
+		rank = r;
+		if (row_num == column_num && rank == row_num) {
+			integral_det = sign > 0 ? previous : previous.negate();
+		} else {
+			integral_det = BigInteger.ZERO;
+		}
+	}
+
+	/**
+	 * 矩阵的秩
+	 *
+	 * @return rank
+	 */
+	public int getRank() {
+		return rank;
+	}
+
+	/**
+	 * 方阵是否奇异
+	 *
+	 * @return singular
+	 */
+	public boolean isSingular() {
+		return integral_det.signum() == 0;
+	}
+
+	/**
+	 * 精确的行列式
+	 *
+	 * @return det(matrix)。不是方阵时返回null
+	 */
+	public BigDecimal det() {
+		BigDecimal result = null;
+		if (row_num != column_num) {
+			System.out.println("matrix is not a Square Matrix");
+		} else {
+			int total_scale = 0;
+			for (int scale : row_scales) {
+				total_scale += scale;
+			}
+			// 每行乘过10^row_scales[i]，整体除回去
+			result = new BigDecimal(integral_det, total_scale);
+		}
+		return result;
+	}
+
+	/**
+	 * 逆矩阵，有限小数的元素精确表示，无限小数的元素按{@link MathContext#DECIMAL128}舍入
+	 *
+	 * @return 逆矩阵。矩阵奇异或不是方阵时返回null
+	 */
+	public Matrix inverse() {
+		return inverse(MathContext.DECIMAL128);
+	}
+
+	/**
+	 * 逆矩阵，有限小数的元素精确表示，无限小数的元素按math_context舍入
+	 *
+	 * @param math_context
+	 * @return 逆矩阵。矩阵奇异或不是方阵时返回null
+	 */
+	public Matrix inverse(MathContext math_context) {
+		Matrix result = null;
+		if (row_num != column_num) {
+			System.out.println("matrix is not a Square Matrix");
+		} else if (isSingular()) {
+			System.out.println("matrix is singular");
+		} else {
+			BigInteger[][] adjugate = adjugate();
+			BigDecimal det = new BigDecimal(integral_det);
+			result = new Matrix(row_num, row_num);
+			BigDecimal[][] elements = result.getElements();
+			for (int i = 0; i < row_num; i++) {
+				for (int j = 0; j < row_num; j++) {
+					// A=D^(-1)M，故A^(-1)=M^(-1)D=adj(M)D/det(M)，D=diag(10^row_scales)
+					BigInteger numerator = adjugate[i][j];
+					BigInteger gcd = numerator.gcd(integral_det);
+					BigDecimal element;
+					if (isTerminating(integral_det.divide(gcd))) {
+						element = new BigDecimal(numerator, -row_scales[j]).divide(det);
+					} else {
+						element = new BigDecimal(numerator, -row_scales[j]).divide(det, math_context);
+					}
+					elements[i][j] = element;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 整数矩阵M的伴随矩阵adj(M)=det(M)·M<sup>-1</sup>。对[M|I]做无分数Gauss-Jordan消元，结束时左半为det(M)·I，右半即为伴随矩阵
+	 */
+	private BigInteger[][] adjugate() {
+		if (adjugate == null) {
+			int n = row_num;
+			BigInteger[][] a = new BigInteger[n][2 * n];
+			for (int i = 0; i < n; i++) {
+				System.arraycopy(integral[i], 0, a[i], 0, n);
+				for (int j = 0; j < n; j++) {
+					a[i][n + j] = i == j ? BigInteger.ONE : BigInteger.ZERO;
+				}
+			}
+			BigInteger previous = BigInteger.ONE;
+			for (int k = 0; k < n; k++) {
+				int p = findPivot(a, k, k);
+				if (p != k) {
+					swap(a, p, k);
+				}
+				for (int i = 0; i < n; i++) {
+					if (i != k) {
+						for (int j = k + 1; j < 2 * n; j++) {
+							a[i][j] = a[k][k].multiply(a[i][j]).subtract(a[i][k].multiply(a[k][j])).divide(previous);
+						}
+						a[i][k] = BigInteger.ZERO;
+					}
+				}
+				previous = a[k][k];
+			}
+			// 行交换使左半对角元可能为-det(M)，此时右半也差一个符号
+			boolean negate = previous.signum() != integral_det.signum();
+			adjugate = new BigInteger[n][n];
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					adjugate[i][j] = negate ? a[i][n + j].negate() : a[i][n + j];
+				}
+			}
+		}
+		return adjugate;
+	}
+
+	/**
+	 * 约分后的分母只含因子2和5时，商是有限小数
+	 */
+	private static boolean isTerminating(BigInteger denominator) {
+		BigInteger d = denominator.abs();
+		int twos = d.getLowestSetBit();
+		d = d.shiftRight(twos);
+		BigInteger five = BigInteger.valueOf(5);
+		BigInteger[] quotient_remainder = d.divideAndRemainder(five);
+		while (quotient_remainder[1].signum() == 0) {
+			d = quotient_remainder[0];
+			quotient_remainder = d.divideAndRemainder(five);
+		}
+		return d.equals(BigInteger.ONE);
+	}
+
+	private static int findPivot(BigInteger[][] a, int row_start, int column) {
+		int result = -1;
+		for (int i = row_start; i < a.length && result < 0; i++) {
+			if (a[i][column].signum() != 0) {
+				result = i;
+			}
+		}
+		return result;
+	}
+
+	private static void swap(BigInteger[][] a, int i, int j) {
+		BigInteger[] temp = a[i];
+		a[i] = a[j];
+		a[j] = temp;
+	}
+
+	private static BigInteger[][] copy(BigInteger[][] a) {
+		BigInteger[][] result = new BigInteger[a.length][];
+		for (int i = 0; i < a.length; i++) {
+			result[i] = a[i].clone();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,90 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * 右预条件的稳定双共轭梯度法（BiCGSTAB），适用于一般非对称系数矩阵。每次迭代需要两次矩阵向量乘法
+ *
+ * @author cfw
+ */
+public class BiCGSTAB extends IterativeSolver {
+	/**
+	 * 使用默认容差，最大迭代次数为1000
+	 */
+	public BiCGSTAB() {
+		this(DEFAULT_TOLERANCE, 1000);
+	}
+
+	public BiCGSTAB(double tolerance, int max_iterations) {
+		super(tolerance, max_iterations);
+	}
+
+	@Override
+	protected IterativeResult iterate(LinearOperator operator, double[] b, double[] x) {
+		int n = b.length;
+		double[] r = new double[n];
+		double[] r_hat = new double[n];
+		double[] p = new double[n];
+		double[] p_hat = new double[n];
+		double[] v = new double[n];
+		double[] s = new double[n];
+		double[] s_hat = new double[n];
+		double[] t = new double[n];
+		double b_norm = Math.sqrt(dot(b, b));
+		if (b_norm == 0.0) {
+			b_norm = 1.0;
+		}
+		residual(operator, b, x, r);
+		System.arraycopy(r, 0, r_hat, 0, n);
+		double residual_norm = Math.sqrt(dot(r, r)) / b_norm;
+		double rho = 1.0;
+		double alpha = 1.0;
+		double omega = 1.0;
+		int iteration = 0;
+		while (iteration < getMaxIterations() && residual_norm > getTolerance()) {
+			double rho_new = dot(r_hat, r);
+			if (rho_new == 0.0 || omega == 0.0) {
+				// 算法中断（breakdown），返回当前结果
+				break;
+			}
+			double beta = (rho_new / rho) * (alpha / omega);
+			rho = rho_new;
+			for (int i = 0; i < n; i++) {
+				p[i] = r[i] + beta * (p[i] - omega * v[i]);
+			}
+			precondition(p, p_hat);
+			operator.apply(p_hat, v);
+			double r_hat_v = dot(r_hat, v);
+			if (r_hat_v == 0.0) {
+				// 算法中断（breakdown），返回当前结果
+				break;
+			}
+			alpha = rho / r_hat_v;
+			double s_square = 0.0;
+			for (int i = 0; i < n; i++) {
+				s[i] = r[i] - alpha * v[i];
+				s_square += s[i] * s[i];
+			}
+			iteration++;
+			if (Math.sqrt(s_square) / b_norm <= getTolerance()) {
+				for (int i = 0; i < n; i++) {
+					x[i] += alpha * p_hat[i];
+				}
+				residual_norm = Math.sqrt(s_square) / b_norm;
+				notifyListener(iteration, residual_norm);
+				break;
+			}
+			precondition(s, s_hat);
+			operator.apply(s_hat, t);
+			double t_t = dot(t, t);
+			omega = t_t == 0.0 ? 0.0 : dot(t, s) / t_t;
+			double r_square = 0.0;
+			for (int i = 0; i < n; i++) {
+				x[i] += alpha * p_hat[i] + omega * s_hat[i];
+				r[i] = s[i] - omega * t[i];
+				r_square += r[i] * r[i];
+			}
+			residual_norm = Math.sqrt(r_square) / b_norm;
+			notifyListener(iteration, residual_norm);
+		}
+		return new IterativeResult(new DoubleVector(x), iteration, residual_norm, residual_norm <= getTolerance());
+	}
+}
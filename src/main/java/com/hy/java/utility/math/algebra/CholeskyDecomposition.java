@@ -0,0 +1,181 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * 对称正定矩阵的Cholesky分解：A=LL<sup>T</sup>，其中L为下三角矩阵。
+ * <p>
+ * 计算量约为LU分解的一半，分解后每个右端项只需O(n<sup>2</sup>)
+ *
+ * @author cfw
+ */
+public class CholeskyDecomposition {
+	private final int dimension;
+	private final MathContext math_context;
+	private final BigDecimal[][] l;
+	private boolean symmetric_positive_definite = true;
+
+	/**
+	 * 以{@link MathContext#DECIMAL128}精度分解matrix
+	 *
+	 * @param matrix 方块矩阵
+	 */
+	public CholeskyDecomposition(Matrix matrix) {
+		this(matrix, MathContext.DECIMAL128);
+	}
+
+	/**
+	 * 以指定精度分解matrix。分解过程中发现矩阵不对称或不正定时立即停止，{@link #isSPD()}返回false
+	 *
+	 * @param matrix       方块矩阵。不是方阵时{@link #isSPD()}返回false，各结果均返回null
+	 * @param math_context 乘除、开方运算所用的精度
+	 */
+	public CholeskyDecomposition(Matrix matrix, MathContext math_context) {
+		this.dimension = matrix.getRowNum();
+		this.math_context = math_context;
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			// 与LUDecomposition一样，在取结果时报错
+			l = null;
+			symmetric_positive_definite = false;
+		} else {
+			l = new BigDecimal[dimension][];
+			decompose(matrix.getElements());
+		}
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * 矩阵是否对称正定。为false时分解结果不可用
+	 *
+	 * @return symmetric_positive_definite
+	 */
+	public boolean isSPD() {
+		return symmetric_positive_definite;
+	}
+
+	/**
+	 * 下三角矩阵L
+	 *
+	 * @return L。矩阵不对称正定时返回null
+	 */
+	public Matrix getL() {
+		Matrix result = null;
+		if (symmetric_positive_definite) {
+			result = new Matrix(dimension, dimension);
+			for (int i = 0; i < dimension; i++) {
+				for (int j = 0; j < dimension; j++) {
+					result.getElements()[i][j] = j <= i ? l[i][j] : BigDecimal.ZERO;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 解线性方程组Ax=b
+	 *
+	 * @param vector_b
+	 * @return x。矩阵不是方阵、不对称正定或维数不符时返回null
+	 */
+	public Vector solve(Vector vector_b) {
+		Vector result = null;
+		if (l == null) {
+			System.out.println("matrix is not a Square Matrix");
+		} else if (!symmetric_positive_definite) {
+			System.out.println("matrix is not symmetric positive definite");
+		} else if (vector_b.getDimension() != dimension) {
+			System.out.println("dimension of b not equals with matrix row");
+		} else {
+			result = new Vector(dimension);
+			BigDecimal[] x = result.getCoordinates();
+			System.arraycopy(vector_b.getCoordinates(), 0, x, 0, dimension);
+			substitute(x);
+		}
+		return result;
+	}
+
+	/**
+	 * 解矩阵方程AX=B
+	 *
+	 * @param matrix_B
+	 * @return X。矩阵不是方阵、不对称正定或行数不符时返回null
+	 */
+	public Matrix solve(Matrix matrix_B) {
+		Matrix result = null;
+		if (l == null) {
+			System.out.println("matrix is not a Square Matrix");
+		} else if (!symmetric_positive_definite) {
+			System.out.println("matrix is not symmetric positive definite");
+		} else if (matrix_B.getRowNum() != dimension) {
+			System.out.println("row of B not equals with matrix row");
+		} else {
+			result = new Matrix(dimension, matrix_B.getColumnNum());
+			BigDecimal[] x = new BigDecimal[dimension];
+			BigDecimal[][] b = matrix_B.getElements();
+			for (int j = 0; j < matrix_B.getColumnNum(); j++) {
+				for (int i = 0; i < dimension; i++) {
+					x[i] = b[i][j];
+				}
+				substitute(x);
+				for (int i = 0; i < dimension; i++) {
+					result.getElements()[i][j] = x[i];
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 逐列求L，发现矩阵不对称或不正定时立即停止
+	 */
+	private void decompose(BigDecimal[][] a) {
+		for (int j = 0; j < dimension && symmetric_positive_definite; j++) {
+			l[j] = new BigDecimal[j + 1];
+			BigDecimal diagonal = a[j][j];
+			for (int k = 0; k < j; k++) {
+				// 对称性检查
+				if (a[k][j].compareTo(a[j][k]) != 0) {
+					symmetric_positive_definite = false;
+					break;
+				}
+				BigDecimal sum = a[j][k];
+				for (int i = 0; i < k; i++) {
+					sum = sum.subtract(l[k][i].multiply(l[j][i], math_context), math_context);
+				}
+				l[j][k] = sum.divide(l[k][k], math_context);
+				diagonal = diagonal.subtract(l[j][k].multiply(l[j][k], math_context), math_context);
+			}
+			if (symmetric_positive_definite) {
+				if (diagonal.signum() > 0) {
+					l[j][j] = diagonal.sqrt(math_context);
+				} else {
+					symmetric_positive_definite = false;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 依次解Ly=b与L<sup>T</sup>x=y，结果写回x
+	 */
+	private void substitute(BigDecimal[] x) {
+		for (int i = 0; i < dimension; i++) {
+			BigDecimal sum = x[i];
+			for (int k = 0; k < i; k++) {
+				sum = sum.subtract(l[i][k].multiply(x[k], math_context), math_context);
+			}
+			x[i] = sum.divide(l[i][i], math_context);
+		}
+		for (int i = dimension - 1; i >= 0; i--) {
+			BigDecimal sum = x[i];
+			for (int k = i + 1; k < dimension; k++) {
+				sum = sum.subtract(l[k][i].multiply(x[k], math_context), math_context);
+			}
+			x[i] = sum.divide(l[i][i], math_context);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * 预条件共轭梯度法（PCG），适用于对称正定的系数矩阵。每次迭代只需一次矩阵向量乘法
+ *
+ * @author cfw
+ */
+public class ConjugateGradient extends IterativeSolver {
+	/**
+	 * 使用默认容差，最大迭代次数为1000
+	 */
+	public ConjugateGradient() {
+		this(DEFAULT_TOLERANCE, 1000);
+	}
+
+	public ConjugateGradient(double tolerance, int max_iterations) {
+		super(tolerance, max_iterations);
+	}
+
+	@Override
+	protected IterativeResult iterate(LinearOperator operator, double[] b, double[] x) {
+		int n = b.length;
+		double[] r = new double[n];
+		double[] z = new double[n];
+		double[] p = new double[n];
+		double[] ap = new double[n];
+		double b_norm = Math.sqrt(dot(b, b));
+		if (b_norm == 0.0) {
+			b_norm = 1.0;
+		}
+		residual(operator, b, x, r);
+		double residual_norm = Math.sqrt(dot(r, r)) / b_norm;
+		int iteration = 0;
+		if (residual_norm > getTolerance()) {
+			precondition(r, z);
+			System.arraycopy(z, 0, p, 0, n);
+			double rz = dot(r, z);
+			while (iteration < getMaxIterations() && residual_norm > getTolerance()) {
+				operator.apply(p, ap);
+				double p_ap = dot(p, ap);
+				if (p_ap == 0.0) {
+					break;
+				}
+				double alpha = rz / p_ap;
+				double r_square = 0.0;
+				for (int i = 0; i < n; i++) {
+					x[i] += alpha * p[i];
+					r[i] -= alpha * ap[i];
+					r_square += r[i] * r[i];
+				}
+				iteration++;
+				residual_norm = Math.sqrt(r_square) / b_norm;
+				notifyListener(iteration, residual_norm);
+				if (residual_norm > getTolerance()) {
+					precondition(r, z);
+					double rz_new = dot(r, z);
+					double beta = rz_new / rz;
+					rz = rz_new;
+					for (int i = 0; i < n; i++) {
+						p[i] = z[i] + beta * p[i];
+					}
+				}
+			}
+		}
+		return new IterativeResult(new DoubleVector(x), iteration, residual_norm, residual_norm <= getTolerance());
+	}
+}
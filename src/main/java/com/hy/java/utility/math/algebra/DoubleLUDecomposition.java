@@ -0,0 +1,232 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * {@link DoubleMatrix}的列主元LU分解：PA=LU，其中L为单位下三角矩阵，U为上三角矩阵，P为行置换。
+ * <p>
+ * 一次分解可重复用于求行列式、解线性方程组、求逆矩阵，每个右端项只需O(n<sup>2</sup>)
+ *
+ * @author cfw
+ */
+public class DoubleLUDecomposition {
+	private final int dimension;
+	/**
+	 * L（不含对角线）与U合并存储，按行优先排列
+	 */
+	private final double[] lu;
+	/**
+	 * 分解后第i行对应原矩阵的第pivot[i]行（下标从0开始）
+	 */
+	private final int[] pivot;
+	private int pivot_sign = 1;
+	private boolean singular = false;
+
+	/**
+	 * @param matrix 方块矩阵
+	 */
+	public DoubleLUDecomposition(DoubleMatrix matrix) {
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			throw new IllegalArgumentException("matrix is not a Square Matrix");
+		}
+		int n = matrix.getRowNum();
+		this.dimension = n;
+		lu = matrix.getElements().clone();
+		pivot = new int[n];
+		for (int i = 0; i < n; i++) {
+			pivot[i] = i;
+		}
+		for (int k = 0; k < n; k++) {
+			// 在第k列的第k行及以下寻找绝对值最大的元素作为主元
+			int p = k;
+			double max = Math.abs(lu[k * n + k]);
+			for (int i = k + 1; i < n; i++) {
+				double value = Math.abs(lu[i * n + k]);
+				if (value > max) {
+					max = value;
+					p = i;
+				}
+			}
+			if (p != k) {
+				for (int j = 0; j < n; j++) {
+					double temp = lu[p * n + j];
+					lu[p * n + j] = lu[k * n + j];
+					lu[k * n + j] = temp;
+				}
+				int temp_pivot = pivot[p];
+				pivot[p] = pivot[k];
+				pivot[k] = temp_pivot;
+				pivot_sign = -pivot_sign;
+			}
+			double pivot_value = lu[k * n + k];
+			if (pivot_value == 0.0) {
+				singular = true;
+				continue;
+			}
+			for (int i = k + 1; i < n; i++) {
+				double factor = lu[i * n + k] / pivot_value;
+				lu[i * n + k] = factor;
+				if (factor != 0.0) {
+					for (int j = k + 1; j < n; j++) {
+						lu[i * n + j] -= factor * lu[k * n + j];
+					}
+				}
+			}
+		}
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * 矩阵是否奇异
+	 *
+	 * @return singular
+	 */
+	public boolean isSingular() {
+		return singular;
+	}
+
+	/**
+	 * 行列式，等于U的对角元之积乘以行置换的符号
+	 *
+	 * @return det
+	 */
+	public double det() {
+		double result = pivot_sign;
+		for (int i = 0; i < dimension; i++) {
+			result *= lu[i * dimension + i];
+		}
+		return result;
+	}
+
+	/**
+	 * 单位下三角矩阵L
+	 *
+	 * @return L
+	 */
+	public DoubleMatrix getL() {
+		DoubleMatrix result = new DoubleMatrix(dimension, dimension);
+		double[] l = result.getElements();
+		for (int i = 0; i < dimension; i++) {
+			System.arraycopy(lu, i * dimension, l, i * dimension, i);
+			l[i * dimension + i] = 1.0;
+		}
+		return result;
+	}
+
+	/**
+	 * 上三角矩阵U
+	 *
+	 * @return U
+	 */
+	public DoubleMatrix getU() {
+		DoubleMatrix result = new DoubleMatrix(dimension, dimension);
+		double[] u = result.getElements();
+		for (int i = 0; i < dimension; i++) {
+			System.arraycopy(lu, i * dimension + i, u, i * dimension + i, dimension - i);
+		}
+		return result;
+	}
+
+	/**
+	 * 行置换。分解后第i行（下标从1开始）对应原矩阵的第getPivot()[i-1]行
+	 *
+	 * @return pivot
+	 */
+	public int[] getPivot() {
+		int[] result = new int[dimension];
+		for (int i = 0; i < dimension; i++) {
+			result[i] = pivot[i] + 1;
+		}
+		return result;
+	}
+
+	/**
+	 * 解线性方程组Ax=b
+	 *
+	 * @param vector_b
+	 * @return x。矩阵奇异或维数不符时返回null
+	 */
+	public DoubleVector solve(DoubleVector vector_b) {
+		DoubleVector result = null;
+		if (singular) {
+			System.out.println("matrix is singular");
+		} else if (vector_b.getDimension() != dimension) {
+			System.out.println("dimension of b not equals with matrix row");
+		} else {
+			double[] b = vector_b.getCoordinates();
+			double[] x = new double[dimension];
+			for (int i = 0; i < dimension; i++) {
+				x[i] = b[pivot[i]];
+			}
+			substitute(x, 1);
+			result = new DoubleVector(x);
+		}
+		return result;
+	}
+
+	/**
+	 * 解矩阵方程AX=B
+	 *
+	 * @param matrix_B
+	 * @return X。矩阵奇异或行数不符时返回null
+	 */
+	public DoubleMatrix solve(DoubleMatrix matrix_B) {
+		DoubleMatrix result = null;
+		if (singular) {
+			System.out.println("matrix is singular");
+		} else if (matrix_B.getRowNum() != dimension) {
+			System.out.println("row of B not equals with matrix row");
+		} else {
+			int m = matrix_B.getColumnNum();
+			double[] b = matrix_B.getElements();
+			double[] x = new double[dimension * m];
+			for (int i = 0; i < dimension; i++) {
+				System.arraycopy(b, pivot[i] * m, x, i * m, m);
+			}
+			substitute(x, m);
+			result = new DoubleMatrix(dimension, m, x);
+		}
+		return result;
+	}
+
+	/**
+	 * 逆矩阵
+	 *
+	 * @return 逆矩阵。矩阵奇异时返回null
+	 */
+	public DoubleMatrix inverse() {
+		return solve(DoubleMatrix.identityMatrix(dimension));
+	}
+
+	/**
+	 * 对已按pivot置换、按行优先排列的m列右端项x依次做前代（Ly=Pb）与回代（Ux=y），结果写回x。按行整体消去，使内层循环连续访问内存
+	 */
+	private void substitute(double[] x, int m) {
+		int n = dimension;
+		for (int i = 1; i < n; i++) {
+			for (int k = 0; k < i; k++) {
+				double factor = lu[i * n + k];
+				if (factor != 0.0) {
+					for (int j = 0; j < m; j++) {
+						x[i * m + j] -= factor * x[k * m + j];
+					}
+				}
+			}
+		}
+		for (int i = n - 1; i >= 0; i--) {
+			for (int k = i + 1; k < n; k++) {
+				double factor = lu[i * n + k];
+				if (factor != 0.0) {
+					for (int j = 0; j < m; j++) {
+						x[i * m + j] -= factor * x[k * m + j];
+					}
+				}
+			}
+			double diagonal = lu[i * n + i];
+			for (int j = 0; j < m; j++) {
+				x[i * m + j] /= diagonal;
+			}
+		}
+	}
+}
@@ -0,0 +1,471 @@
+package com.hy.java.utility.math.algebra;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * 以{@code double}存储的稠密矩阵，元素按行优先顺序保存在一维数组中。与{@link Matrix}相比牺牲精确性以换取计算速度
+ *
+ * @author cfw
+ */
+public class DoubleMatrix implements LinearOperator {
+	private int row_num;
+	private int column_num;
+
+	/**
+	 * 第(i,j)个元素（下标从1开始）位于elements[(i-1)*column_num+(j-1)]
+	 */
+	private double[] elements;
+
+	private enum Operations {
+		POSITIVE, GET_SET, MATRIX_ADDITION, MATRIX_MULTIPLICATION, SQUARE_MATRIX
+	}
+
+	public DoubleMatrix(int row_num, int column_num) {
+		if (checkDimension(row_num, column_num, 1, 1, Operations.POSITIVE)) {
+			this.row_num = row_num;
+			this.column_num = column_num;
+			elements = new double[this.row_num * this.column_num];
+		}
+	}
+
+	/**
+	 * 直接以按行优先排列的elements作为存储构造矩阵，不做复制
+	 *
+	 * @param row_num
+	 * @param column_num
+	 * @param elements   长度必须为row_num*column_num
+	 */
+	public DoubleMatrix(int row_num, int column_num, double[] elements) {
+		if (checkDimension(row_num, column_num, 1, 1, Operations.POSITIVE)) {
+			if (elements.length == row_num * column_num) {
+				this.row_num = row_num;
+				this.column_num = column_num;
+				this.elements = elements;
+			} else {
+				System.out.println("elements length not equals with row_num*column_num");
+			}
+		}
+	}
+
+	public int getRowNum() {
+		return row_num;
+	}
+
+	public int getColumnNum() {
+		return column_num;
+	}
+
+	public void setElement(int row_index, int column_index, double element) {
+		if (checkDimension(row_index, column_index, getRowNum(), getColumnNum(), Operations.GET_SET)) {
+			elements[(row_index - 1) * column_num + column_index - 1] = element;
+		}
+	}
+
+	public double getElement(int row_index, int column_index) {
+		double result = Double.NaN;
+		if (checkDimension(row_index, column_index, getRowNum(), getColumnNum(), Operations.GET_SET)) {
+			result = elements[(row_index - 1) * column_num + column_index - 1];
+		}
+		return result;
+	}
+
+	/**
+	 * 获得第row_index行的行向量
+	 *
+	 * @param row_index
+	 * @return 行向量
+	 */
+	public DoubleVector getRowVector(int row_index) {
+		DoubleVector result = null;
+		if (checkDimension(row_index, 1, getRowNum(), 1, Operations.GET_SET)) {
+			double[] coordinates = new double[column_num];
+			System.arraycopy(elements, (row_index - 1) * column_num, coordinates, 0, column_num);
+			result = new DoubleVector(coordinates);
+		}
+		return result;
+	}
+
+	/**
+	 * 获得第column_index列的列向量
+	 *
+	 * @param column_index
+	 * @return 列向量
+	 */
+	public DoubleVector getColumnVector(int column_index) {
+		DoubleVector result = null;
+		if (checkDimension(1, column_index, 1, getColumnNum(), Operations.GET_SET)) {
+			double[] coordinates = new double[row_num];
+			for (int i = 0; i < row_num; i++) {
+				coordinates[i] = elements[i * column_num + column_index - 1];
+			}
+			result = new DoubleVector(coordinates);
+		}
+		return result;
+	}
+
+	@Override
+	public void apply(double[] x, double[] y) {
+		for (int i = 0; i < row_num; i++) {
+			int offset = i * column_num;
+			double sum = 0.0;
+			for (int j = 0; j < column_num; j++) {
+				sum += elements[offset + j] * x[j];
+			}
+			y[i] = sum;
+		}
+	}
+
+	/**
+	 * 返回按行优先排列的底层存储，对其修改会直接反映到矩阵上
+	 *
+	 * @return elements
+	 */
+	public double[] getElements() {
+		return elements;
+	}
+
+	/**
+	 * 将{@link Matrix}转换为{@code DoubleMatrix}
+	 *
+	 * @param matrix
+	 * @return 与matrix等值的{@code DoubleMatrix}
+	 */
+	public static DoubleMatrix fromMatrix(Matrix matrix) {
+		DoubleMatrix result = new DoubleMatrix(matrix.getRowNum(), matrix.getColumnNum());
+		for (int row_index = 1; row_index <= result.row_num; row_index++) {
+			int offset = (row_index - 1) * result.column_num;
+			for (int column_index = 1; column_index <= result.column_num; column_index++) {
+				result.elements[offset + column_index - 1] = matrix.getElement(row_index, column_index).doubleValue();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 将{@code DoubleMatrix}转换为{@link Matrix}
+	 *
+	 * @param matrix
+	 * @return 与matrix等值的{@link Matrix}
+	 */
+	public static Matrix toMatrix(DoubleMatrix matrix) {
+		Matrix result = new Matrix(matrix.getRowNum(), matrix.getColumnNum());
+		for (int row_index = 1; row_index <= matrix.row_num; row_index++) {
+			int offset = (row_index - 1) * matrix.column_num;
+			for (int column_index = 1; column_index <= matrix.column_num; column_index++) {
+				result.setElement(row_index, column_index, BigDecimal.valueOf(matrix.elements[offset + column_index - 1]));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 返回单位矩阵
+	 *
+	 * @param dimension
+	 * @return 单位矩阵
+	 */
+	public static DoubleMatrix identityMatrix(int dimension) {
+		DoubleMatrix result = new DoubleMatrix(dimension, dimension);
+		for (int i = 0; i < dimension; i++) {
+			result.elements[i * dimension + i] = 1.0;
+		}
+		return result;
+	}
+
+	/**
+	 * 矩阵加法
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @return matrix_A+matrix_B
+	 */
+	public static DoubleMatrix matrixAddition(DoubleMatrix matrix_A, DoubleMatrix matrix_B) {
+		DoubleMatrix result = null;
+		// 同型则可以做加法
+		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
+				Operations.MATRIX_ADDITION)) {
+			result = new DoubleMatrix(matrix_A.getRowNum(), matrix_A.getColumnNum());
+			VectorKernels.add(matrix_A.elements, matrix_B.elements, result.elements, result.elements.length);
+		}
+		return result;
+	}
+
+	/**
+	 * 矩阵减法
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @return matrix_A-matrix_B
+	 */
+	public static DoubleMatrix matrixSubtraction(DoubleMatrix matrix_A, DoubleMatrix matrix_B) {
+		DoubleMatrix result = null;
+		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
+				Operations.MATRIX_ADDITION)) {
+			result = new DoubleMatrix(matrix_A.getRowNum(), matrix_A.getColumnNum());
+			VectorKernels.subtract(matrix_A.elements, matrix_B.elements, result.elements, result.elements.length);
+		}
+		return result;
+	}
+
+	/**
+	 * 矩阵数乘
+	 *
+	 * @param num
+	 * @param matrix
+	 * @return num*matrix
+	 */
+	public static DoubleMatrix numMultiplication(double num, DoubleMatrix matrix) {
+		DoubleMatrix result = null;
+		if (checkDimension(matrix.getRowNum(), matrix.getColumnNum(), 1, 1, Operations.POSITIVE)) {
+			result = new DoubleMatrix(matrix.getRowNum(), matrix.getColumnNum());
+			VectorKernels.scale(num, matrix.elements, result.elements, result.elements.length);
+		}
+		return result;
+	}
+
+	/**
+	 * 原地矩阵加法：matrix_A=matrix_A+matrix_B，不分配新的矩阵
+	 *
+	 * @param matrix_A 被修改的矩阵
+	 * @param matrix_B
+	 * @return matrix_A。不同型时返回null
+	 */
+	public static DoubleMatrix addInPlace(DoubleMatrix matrix_A, DoubleMatrix matrix_B) {
+		return axpy(1.0, matrix_B, matrix_A);
+	}
+
+	/**
+	 * 原地矩阵减法：matrix_A=matrix_A-matrix_B，不分配新的矩阵
+	 *
+	 * @param matrix_A 被修改的矩阵
+	 * @param matrix_B
+	 * @return matrix_A。不同型时返回null
+	 */
+	public static DoubleMatrix subtractInPlace(DoubleMatrix matrix_A, DoubleMatrix matrix_B) {
+		return axpy(-1.0, matrix_B, matrix_A);
+	}
+
+	/**
+	 * 原地矩阵数乘：matrix=num*matrix，不分配新的矩阵
+	 *
+	 * @param num
+	 * @param matrix 被修改的矩阵
+	 * @return matrix
+	 */
+	public static DoubleMatrix scaleInPlace(double num, DoubleMatrix matrix) {
+		VectorKernels.scale(num, matrix.elements, matrix.elements, matrix.elements.length);
+		return matrix;
+	}
+
+	/**
+	 * 原地累加：matrix_Y=matrix_Y+alpha*matrix_X，不分配新的矩阵
+	 *
+	 * @param alpha
+	 * @param matrix_X
+	 * @param matrix_Y 被修改的矩阵
+	 * @return matrix_Y。不同型时返回null
+	 */
+	public static DoubleMatrix axpy(double alpha, DoubleMatrix matrix_X, DoubleMatrix matrix_Y) {
+		DoubleMatrix result = null;
+		if (checkDimension(matrix_X.getRowNum(), matrix_X.getColumnNum(), matrix_Y.getRowNum(), matrix_Y.getColumnNum(),
+				Operations.MATRIX_ADDITION)) {
+			VectorKernels.axpy(alpha, matrix_X.elements, 0, matrix_Y.elements, 0, matrix_Y.elements.length);
+			result = matrix_Y;
+		}
+		return result;
+	}
+
+	/**
+	 * 通用矩阵乘加：matrix_C=alpha×matrix_A×matrix_B+beta×matrix_C，结果直接写入matrix_C，不分配新的矩阵
+	 *
+	 * @param alpha
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @param beta
+	 * @param matrix_C 被修改的矩阵，行数等于矩阵A行数、列数等于矩阵B列数，不能是matrix_A或matrix_B本身
+	 * @return matrix_C。维数不符时返回null
+	 */
+	public static DoubleMatrix gemm(double alpha, DoubleMatrix matrix_A, DoubleMatrix matrix_B, double beta, DoubleMatrix matrix_C) {
+		DoubleMatrix result = null;
+		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
+				Operations.MATRIX_MULTIPLICATION)
+				&& checkDimension(matrix_A.getRowNum(), matrix_B.getColumnNum(), matrix_C.getRowNum(), matrix_C.getColumnNum(),
+						Operations.MATRIX_ADDITION)) {
+			// 与matrix_A或matrix_B相同时不修改，由multiplyAccumulate报错
+			if (matrix_C != matrix_A && matrix_C != matrix_B) {
+				if (beta == 0.0) {
+					Arrays.fill(matrix_C.elements, 0.0);
+				} else if (beta != 1.0) {
+					DoubleMatrix.scaleInPlace(beta, matrix_C);
+				}
+			}
+			result = MatrixMultiplier.getDefault().multiplyAccumulate(alpha, matrix_A, matrix_B, matrix_C);
+		}
+		return result;
+	}
+
+	/**
+	 * 矩阵转置
+	 *
+	 * @param matrix
+	 * @return matrix<sup>T</sup>
+	 */
+	public static DoubleMatrix matrixTranspose(DoubleMatrix matrix) {
+		DoubleMatrix result = new DoubleMatrix(matrix.getColumnNum(), matrix.getRowNum());
+		for (int i = 0; i < matrix.row_num; i++) {
+			for (int j = 0; j < matrix.column_num; j++) {
+				result.elements[j * matrix.row_num + i] = matrix.elements[i * matrix.column_num + j];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 矩阵乘法
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @return matrix_A×matrix_B
+	 */
+	public static DoubleMatrix matrixMultiplication(DoubleMatrix matrix_A, DoubleMatrix matrix_B) {
+		DoubleMatrix result = null;
+		// 如果矩阵A列数等于矩阵B行数，则可做乘法
+		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
+				Operations.MATRIX_MULTIPLICATION)) {
+			// 分块并行计算，结果矩阵行数等于矩阵A行数，列数等于矩阵B列数
+			result = MatrixMultiplier.getDefault().multiply(matrix_A, matrix_B);
+		}
+		return result;
+	}
+
+	/**
+	 * 行列式。通过列主元LU分解计算
+	 *
+	 * @param matrix
+	 * @return det(matrix)
+	 */
+	public static double det(DoubleMatrix matrix) {
+		double result = Double.NaN;
+		if (checkDimension(matrix.getRowNum(), matrix.getColumnNum(), 1, 1, Operations.SQUARE_MATRIX)) {
+			result = new DoubleLUDecomposition(matrix).det();
+		}
+		return result;
+	}
+
+	/**
+	 * 逆矩阵。通过列主元LU分解计算；需要多次求解时可直接复用{@link DoubleLUDecomposition}
+	 *
+	 * @param matrix
+	 * @return 逆矩阵。矩阵奇异时返回null
+	 */
+	public static DoubleMatrix matrixInverse(DoubleMatrix matrix) {
+		DoubleMatrix result = null;
+		if (checkDimension(matrix.getRowNum(), matrix.getColumnNum(), 1, 1, Operations.SQUARE_MATRIX)) {
+			DoubleLUDecomposition lu = new DoubleLUDecomposition(matrix);
+			if (!lu.isSingular()) {
+				result = lu.inverse();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 根据操作类型，检查操作涉及的行数、列数是否满足操作要求
+	 *
+	 * @param row_num_A
+	 * @param column_num_A
+	 * @param row_num_B
+	 * @param column_num_B
+	 * @param mode
+	 * @return dimension_ok
+	 */
+	private static boolean checkDimension(int row_num_A, int column_num_A, int row_num_B, int column_num_B, Operations mode) {
+		boolean dimension_ok = false;
+		if (row_num_A <= 0) {
+			System.out.println("row_A must be greater than 0");
+		} else if (column_num_A <= 0) {
+			System.out.println("column_A must be greater than 0");
+		} else if (row_num_B <= 0) {
+			System.out.println("row_B must be greater than 0");
+		} else if (column_num_B <= 0) {
+			System.out.println("column_B must be greater than 0");
+		} else {
+			switch (mode) {
+			case POSITIVE: {
+				dimension_ok = true;
+				break;
+			}
+			// 矩阵元素操作：检查操作坐标是否在矩阵内
+			case GET_SET: {
+				if (row_num_A > row_num_B) {
+					System.out.println("row index out of bounds");
+				} else if (column_num_A > column_num_B) {
+					System.out.println("column index out of bounds");
+				} else {
+					dimension_ok = true;
+				}
+				break;
+			}
+			// 矩阵加法：检查两个矩阵是否同型
+			case MATRIX_ADDITION: {
+				if (row_num_A != row_num_B) {
+					System.out.println("row dimension not the same");
+				} else if (column_num_A != column_num_B) {
+					System.out.println("column dimension not the same");
+				} else {
+					dimension_ok = true;
+				}
+				break;
+			}
+			// 矩阵乘法：检查矩阵A的列数是否等于矩阵B的行数
+			case MATRIX_MULTIPLICATION: {
+				if (column_num_A == row_num_B) {
+					dimension_ok = true;
+				} else {
+					System.out.println("column_A not equals with row_B");
+				}
+				break;
+			}
+			// 行列式：检查矩阵是否为方块矩阵
+			case SQUARE_MATRIX: {
+				if (row_num_A == column_num_A) {
+					dimension_ok = true;
+				} else {
+					System.out.println("matrix is not a Square Matrix");
+				}
+				break;
+			}
+			default: {
+				System.err.println("矩阵操作模式出错");
+				break;
+			}
+			}
+		}
+		return dimension_ok;
+	}
+
+	/**
+	 * 打印一个矩阵，同时会将打印内容以String形式返回
+	 *
+	 * @param matrix
+	 * @return {@code String}格式的matrix内容
+	 */
+	public static String print(DoubleMatrix matrix) {
+		String result = null;
+		StringWriter writer = new StringWriter();
+		if (matrix != null) {
+			// 逐行写出，同行元素以制表符分隔
+			try {
+				MatrixTextIO.writeDelimited(matrix, writer, '\t');
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		result = writer.toString();
+		System.out.println(result);
+		return result;
+	}
+}
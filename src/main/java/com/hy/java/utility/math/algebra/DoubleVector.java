@@ -0,0 +1,300 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+
+/**
+ * 以{@code double[]}存储的向量。与{@link Vector}相比牺牲精确性以换取计算速度
+ *
+ * @author cfw
+ */
+public class DoubleVector {
+	private int dimension;
+	private double[] coordinates;
+
+	private enum Operations {
+		POSITIVE, GET_SET, VECTOR_ADDITION, DOT_PRODUCT
+	}
+
+	public DoubleVector(int dimension) {
+		if (checkDimension(dimension, 1, Operations.POSITIVE)) {
+			this.dimension = dimension;
+			coordinates = new double[this.dimension];
+		}
+	}
+
+	/**
+	 * 直接以coordinates作为存储构造向量，不做复制
+	 *
+	 * @param coordinates
+	 */
+	public DoubleVector(double[] coordinates) {
+		if (checkDimension(coordinates.length, 1, Operations.POSITIVE)) {
+			this.dimension = coordinates.length;
+			this.coordinates = coordinates;
+		}
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	public void setCoordinate(int coordinate_index, double coordinate) {
+		if (checkDimension(coordinate_index, getDimension(), Operations.GET_SET)) {
+			coordinates[coordinate_index - 1] = coordinate;
+		}
+	}
+
+	public double getCoordinate(int coordinate_index) {
+		double result = Double.NaN;
+		if (checkDimension(coordinate_index, getDimension(), Operations.GET_SET)) {
+			result = coordinates[coordinate_index - 1];
+		}
+		return result;
+	}
+
+	public double[] getCoordinates() {
+		return coordinates;
+	}
+
+	/**
+	 * 将{@link Vector}转换为{@code DoubleVector}
+	 *
+	 * @param vector
+	 * @return 与vector等值的{@code DoubleVector}
+	 */
+	public static DoubleVector fromVector(Vector vector) {
+		DoubleVector result = new DoubleVector(vector.getDimension());
+		for (int coordinate_index = 1; coordinate_index <= result.getDimension(); coordinate_index++) {
+			result.coordinates[coordinate_index - 1] = vector.getCoordinate(coordinate_index).doubleValue();
+		}
+		return result;
+	}
+
+	/**
+	 * 将{@code DoubleVector}转换为{@link Vector}
+	 *
+	 * @param vector
+	 * @return 与vector等值的{@link Vector}
+	 */
+	public static Vector toVector(DoubleVector vector) {
+		Vector result = new Vector(vector.getDimension());
+		for (int coordinate_index = 1; coordinate_index <= result.getDimension(); coordinate_index++) {
+			result.setCoordinate(coordinate_index, BigDecimal.valueOf(vector.coordinates[coordinate_index - 1]));
+		}
+		return result;
+	}
+
+	/**
+	 * 向量加法
+	 *
+	 * @param vector_A
+	 * @param vector_B
+	 * @return vector_A+vector_B
+	 */
+	public static DoubleVector vectorAddition(DoubleVector vector_A, DoubleVector vector_B) {
+		DoubleVector result = null;
+		// 同型则可以做加法
+		if (checkDimension(vector_A.getDimension(), vector_B.getDimension(), Operations.VECTOR_ADDITION)) {
+			result = new DoubleVector(vector_A.getDimension());
+			VectorKernels.add(vector_A.coordinates, vector_B.coordinates, result.coordinates, result.dimension);
+		}
+		return result;
+	}
+
+	/**
+	 * 向量减法
+	 *
+	 * @param vector_A
+	 * @param vector_B
+	 * @return vector_A-vector_B
+	 */
+	public static DoubleVector vectorSubtraction(DoubleVector vector_A, DoubleVector vector_B) {
+		DoubleVector result = null;
+		if (checkDimension(vector_A.getDimension(), vector_B.getDimension(), Operations.VECTOR_ADDITION)) {
+			result = new DoubleVector(vector_A.getDimension());
+			VectorKernels.subtract(vector_A.coordinates, vector_B.coordinates, result.coordinates, result.dimension);
+		}
+		return result;
+	}
+
+	/**
+	 * 向量数乘
+	 *
+	 * @param num
+	 * @param vector
+	 * @return num*vector
+	 */
+	public static DoubleVector scalarMultiplication(double num, DoubleVector vector) {
+		DoubleVector result = null;
+		if (checkDimension(vector.getDimension(), 1, Operations.POSITIVE)) {
+			result = new DoubleVector(vector.getDimension());
+			VectorKernels.scale(num, vector.coordinates, result.coordinates, result.dimension);
+		}
+		return result;
+	}
+
+	/**
+	 * 原地向量加法：vector_A=vector_A+vector_B，不分配新的向量
+	 *
+	 * @param vector_A 被修改的向量
+	 * @param vector_B
+	 * @return vector_A。不同型时返回null
+	 */
+	public static DoubleVector addInPlace(DoubleVector vector_A, DoubleVector vector_B) {
+		return axpy(1.0, vector_B, vector_A);
+	}
+
+	/**
+	 * 原地向量减法：vector_A=vector_A-vector_B，不分配新的向量
+	 *
+	 * @param vector_A 被修改的向量
+	 * @param vector_B
+	 * @return vector_A。不同型时返回null
+	 */
+	public static DoubleVector subtractInPlace(DoubleVector vector_A, DoubleVector vector_B) {
+		return axpy(-1.0, vector_B, vector_A);
+	}
+
+	/**
+	 * 原地向量数乘：vector=num*vector，不分配新的向量
+	 *
+	 * @param num
+	 * @param vector 被修改的向量
+	 * @return vector
+	 */
+	public static DoubleVector scaleInPlace(double num, DoubleVector vector) {
+		VectorKernels.scale(num, vector.coordinates, vector.coordinates, vector.dimension);
+		return vector;
+	}
+
+	/**
+	 * 原地累加：vector_Y=vector_Y+alpha*vector_X，不分配新的向量
+	 *
+	 * @param alpha
+	 * @param vector_X
+	 * @param vector_Y 被修改的向量
+	 * @return vector_Y。不同型时返回null
+	 */
+	public static DoubleVector axpy(double alpha, DoubleVector vector_X, DoubleVector vector_Y) {
+		DoubleVector result = null;
+		if (checkDimension(vector_X.getDimension(), vector_Y.getDimension(), Operations.VECTOR_ADDITION)) {
+			VectorKernels.axpy(alpha, vector_X.coordinates, 0, vector_Y.coordinates, 0, vector_Y.dimension);
+			result = vector_Y;
+		}
+		return result;
+	}
+
+	/**
+	 * 向量点乘
+	 *
+	 * @param vector_A
+	 * @param vector_B
+	 * @return vector_A·vector_B
+	 */
+	public static double dotProduct(DoubleVector vector_A, DoubleVector vector_B) {
+		double result = 0.0;
+		// 同型则可以做点乘
+		if (checkDimension(vector_A.getDimension(), vector_B.getDimension(), Operations.DOT_PRODUCT)) {
+			result = VectorKernels.dot(vector_A.coordinates, 0, vector_B.coordinates, 0, vector_A.dimension);
+		}
+		return result;
+	}
+
+	/**
+	 * 向量逐元素乘法（Hadamard积）
+	 *
+	 * @param vector_A
+	 * @param vector_B
+	 * @return vector_A∘vector_B
+	 */
+	public static DoubleVector elementwiseMultiplication(DoubleVector vector_A, DoubleVector vector_B) {
+		DoubleVector result = null;
+		if (checkDimension(vector_A.getDimension(), vector_B.getDimension(), Operations.VECTOR_ADDITION)) {
+			result = new DoubleVector(vector_A.getDimension());
+			VectorKernels.multiply(vector_A.coordinates, vector_B.coordinates, result.coordinates, result.dimension);
+		}
+		return result;
+	}
+
+	public static double norm(DoubleVector vector) {
+		double result = Double.NaN;
+		if (checkDimension(vector.getDimension(), 1, Operations.POSITIVE)) {
+			result = Math.sqrt(VectorKernels.sumOfSquares(vector.coordinates, 0, vector.dimension));
+		}
+		return result;
+	}
+
+	/**
+	 * 根据操作类型，检查操作涉及的长度是否满足操作要求
+	 *
+	 * @param dimension_A
+	 * @param dimension_B
+	 * @param mode
+	 * @return dimension_ok
+	 */
+	private static boolean checkDimension(int dimension_A, int dimension_B, Operations mode) {
+		boolean dimension_ok = false;
+		boolean dimension_A_ok = false;
+		boolean dimension_B_ok = false;
+		if (dimension_A > 0) {
+			dimension_A_ok = true;
+		} else {
+			System.out.println("dimension_A must be greater than 0");
+		}
+		if (dimension_B > 0) {
+			dimension_B_ok = true;
+		} else {
+			System.out.println("dimension_B must be greater than 0");
+		}
+		if (dimension_A_ok && dimension_B_ok) {
+			switch (mode) {
+			case POSITIVE: {
+				dimension_ok = true;
+				break;
+			}
+			// 向量坐标操作：检查操作坐标是否在向量内
+			case GET_SET: {
+				if (dimension_A <= dimension_B) {
+					dimension_ok = true;
+				} else {
+					System.out.println("dimension out of bounds");
+				}
+				break;
+			}
+			// 向量加法、点乘：检查两个向量是否同型
+			case VECTOR_ADDITION:
+			case DOT_PRODUCT: {
+				if (dimension_A == dimension_B) {
+					dimension_ok = true;
+				} else {
+					System.out.println("dimension_A not equals with dimension_B");
+				}
+				break;
+			}
+			default: {
+				System.err.println("向量操作模式出错");
+				break;
+			}
+			}
+		}
+		return dimension_ok;
+	}
+
+	/**
+	 * 打印一个向量，同时会将打印内容以String形式返回
+	 *
+	 * @param vector
+	 * @return {@code String}格式的vector内容
+	 */
+	public static String print(DoubleVector vector) {
+		String result = null;
+		StringBuilder sb = new StringBuilder();
+		sb.append(vector.coordinates[0]);
+		for (int i = 1; i < vector.dimension; i++) {
+			sb.append('\t').append(vector.coordinates[i]);
+		}
+		result = sb.toString();
+		System.out.println(result);
+		return result;
+	}
+}
@@ -0,0 +1,310 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * 一般实方阵的特征值。先用Householder变换化为上Hessenberg矩阵，再用Francis双位移QR迭代（JAMA的orthes、hqr2中求特征值的部分），共O(n<sup>3</sup>)。
+ * 复特征值以共轭对的形式相邻出现。
+ * <p>
+ * 对称矩阵请用{@link SymmetricEigenDecomposition}，它更快且同时给出正交的特征向量
+ *
+ * @author cfw
+ */
+public class EigenDecomposition {
+	private final double[] real_parts;
+	private final double[] imaginary_parts;
+
+	/**
+	 * @param matrix 实方阵
+	 */
+	public EigenDecomposition(DoubleMatrix matrix) {
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			throw new IllegalArgumentException("matrix is not a Square Matrix");
+		}
+		int n = matrix.getRowNum();
+		double[][] h = new double[n][n];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(matrix.getElements(), i * n, h[i], 0, n);
+		}
+		real_parts = new double[n];
+		imaginary_parts = new double[n];
+		reduceToHessenberg(h);
+		hessenbergQR(h, real_parts, imaginary_parts);
+	}
+
+	/**
+	 * 特征值的实部
+	 *
+	 * @return real_parts
+	 */
+	public double[] getRealEigenvalues() {
+		return real_parts.clone();
+	}
+
+	/**
+	 * 特征值的虚部，实特征值对应0
+	 *
+	 * @return imaginary_parts
+	 */
+	public double[] getImagEigenvalues() {
+		return imaginary_parts.clone();
+	}
+
+	/**
+	 * 是否所有特征值都是实数
+	 *
+	 * @return real
+	 */
+	public boolean isReal() {
+		boolean result = true;
+		for (int i = 0; i < imaginary_parts.length && result; i++) {
+			result = imaginary_parts[i] == 0.0;
+		}
+		return result;
+	}
+
+	/**
+	 * Householder相似变换化为上Hessenberg矩阵（JAMA orthes）
+	 */
+	private static void reduceToHessenberg(double[][] h) {
+		int n = h.length;
+		int high = n - 1;
+		double[] ort = new double[n];
+		for (int m = 1; m <= high - 1; m++) {
+			double scale = 0.0;
+			for (int i = m; i <= high; i++) {
+				scale += Math.abs(h[i][m - 1]);
+			}
+			if (scale != 0.0) {
+				// Householder变换
+				double norm_square = 0.0;
+				for (int i = high; i >= m; i--) {
+					ort[i] = h[i][m - 1] / scale;
+					norm_square += ort[i] * ort[i];
+				}
+				double g = Math.sqrt(norm_square);
+				if (ort[m] > 0) {
+					g = -g;
+				}
+				norm_square = norm_square - ort[m] * g;
+				ort[m] = ort[m] - g;
+				// H=(I-u*u'/h)*H*(I-u*u')/h)
+				for (int j = m; j < n; j++) {
+					double f = 0.0;
+					for (int i = high; i >= m; i--) {
+						f += ort[i] * h[i][j];
+					}
+					f = f / norm_square;
+					for (int i = m; i <= high; i++) {
+						h[i][j] -= f * ort[i];
+					}
+				}
+				for (int i = 0; i <= high; i++) {
+					double f = 0.0;
+					for (int j = high; j >= m; j--) {
+						f += ort[j] * h[i][j];
+					}
+					f = f / norm_square;
+					for (int j = m; j <= high; j++) {
+						h[i][j] -= f * ort[j];
+					}
+				}
+				ort[m] = scale * ort[m];
+				h[m][m - 1] = scale * g;
+			}
+		}
+	}
+
+	/**
+	 * 上Hessenberg矩阵的Francis双位移QR迭代，只求特征值（JAMA hqr2去掉特征向量部分）
+	 */
+	private static void hessenbergQR(double[][] h, double[] d, double[] e) {
+		int nn = h.length;
+		int n = nn - 1;
+		int low = 0;
+		double eps = Math.ulp(1.0);
+		double exshift = 0.0;
+		double p = 0;
+		double q = 0;
+		double r = 0;
+		double s = 0;
+		double z = 0;
+		double w;
+		double x;
+		double y;
+		double norm = 0.0;
+		for (int i = 0; i < nn; i++) {
+			for (int j = Math.max(i - 1, 0); j < nn; j++) {
+				norm += Math.abs(h[i][j]);
+			}
+		}
+		int iteration = 0;
+		int total_iterations = 0;
+		while (n >= low) {
+			// 找到单个可忽略的次对角元
+			int l = n;
+			while (l > low) {
+				s = Math.abs(h[l - 1][l - 1]) + Math.abs(h[l][l]);
+				if (s == 0.0) {
+					s = norm;
+				}
+				if (Math.abs(h[l][l - 1]) < eps * s) {
+					break;
+				}
+				l--;
+			}
+			if (l == n) {
+				// 得到一个实根
+				d[n] = h[n][n] + exshift;
+				e[n] = 0.0;
+				n--;
+				iteration = 0;
+			} else if (l == n - 1) {
+				// 得到两个根
+				w = h[n][n - 1] * h[n - 1][n];
+				p = (h[n - 1][n - 1] - h[n][n]) / 2.0;
+				q = p * p + w;
+				z = Math.sqrt(Math.abs(q));
+				x = h[n][n] + exshift;
+				if (q >= 0) {
+					// 一对实根
+					z = p >= 0 ? p + z : p - z;
+					d[n - 1] = x + z;
+					d[n] = d[n - 1];
+					if (z != 0.0) {
+						d[n] = x - w / z;
+					}
+					e[n - 1] = 0.0;
+					e[n] = 0.0;
+				} else {
+					// 一对共轭复根
+					d[n - 1] = x + p;
+					d[n] = x + p;
+					e[n - 1] = z;
+					e[n] = -z;
+				}
+				n = n - 2;
+				iteration = 0;
+			} else {
+				if (++total_iterations > 100 * nn) {
+					throw new ArithmeticException("eigenvalue iteration did not converge");
+				}
+				// 确定位移
+				x = h[n][n];
+				y = 0.0;
+				w = 0.0;
+				if (l < n) {
+					y = h[n - 1][n - 1];
+					w = h[n][n - 1] * h[n - 1][n];
+				}
+				// Wilkinson的特别位移
+				if (iteration == 10) {
+					exshift += x;
+					for (int i = low; i <= n; i++) {
+						h[i][i] -= x;
+					}
+					s = Math.abs(h[n][n - 1]) + Math.abs(h[n - 1][n - 2]);
+					x = y = 0.75 * s;
+					w = -0.4375 * s * s;
+				}
+				// MATLAB的特别位移
+				if (iteration == 30) {
+					s = (y - x) / 2.0;
+					s = s * s + w;
+					if (s > 0) {
+						s = Math.sqrt(s);
+						if (y < x) {
+							s = -s;
+						}
+						s = x - w / ((y - x) / 2.0 + s);
+						for (int i = low; i <= n; i++) {
+							h[i][i] -= s;
+						}
+						exshift += s;
+						x = y = w = 0.964;
+					}
+				}
+				iteration++;
+				// 找到两个连续的可忽略次对角元
+				int m = n - 2;
+				while (m >= l) {
+					z = h[m][m];
+					r = x - z;
+					s = y - z;
+					p = (r * s - w) / h[m + 1][m] + h[m][m + 1];
+					q = h[m + 1][m + 1] - z - r - s;
+					r = h[m + 2][m + 1];
+					s = Math.abs(p) + Math.abs(q) + Math.abs(r);
+					p = p / s;
+					q = q / s;
+					r = r / s;
+					if (m == l) {
+						break;
+					}
+					if (Math.abs(h[m][m - 1]) * (Math.abs(q) + Math.abs(r)) < eps
+							* (Math.abs(p) * (Math.abs(h[m - 1][m - 1]) + Math.abs(z) + Math.abs(h[m + 1][m + 1])))) {
+						break;
+					}
+					m--;
+				}
+				for (int i = m + 2; i <= n; i++) {
+					h[i][i - 2] = 0.0;
+					if (i > m + 2) {
+						h[i][i - 3] = 0.0;
+					}
+				}
+				// 对第l~n行、第m~n列做双位移QR步
+				for (int k = m; k <= n - 1; k++) {
+					boolean notlast = k != n - 1;
+					if (k != m) {
+						p = h[k][k - 1];
+						q = h[k + 1][k - 1];
+						r = notlast ? h[k + 2][k - 1] : 0.0;
+						x = Math.abs(p) + Math.abs(q) + Math.abs(r);
+						if (x == 0.0) {
+							continue;
+						}
+						p = p / x;
+						q = q / x;
+						r = r / x;
+					}
+					s = Math.sqrt(p * p + q * q + r * r);
+					if (p < 0) {
+						s = -s;
+					}
+					if (s != 0) {
+						if (k != m) {
+							h[k][k - 1] = -s * x;
+						} else if (l != m) {
+							h[k][k - 1] = -h[k][k - 1];
+						}
+						p = p + s;
+						x = p / s;
+						y = q / s;
+						z = r / s;
+						q = q / p;
+						r = r / p;
+						// 行变换
+						for (int j = k; j < nn; j++) {
+							p = h[k][j] + q * h[k + 1][j];
+							if (notlast) {
+								p = p + r * h[k + 2][j];
+								h[k + 2][j] = h[k + 2][j] - p * z;
+							}
+							h[k][j] = h[k][j] - p * x;
+							h[k + 1][j] = h[k + 1][j] - p * y;
+						}
+						// 列变换
+						for (int i = 0; i <= Math.min(n, k + 3); i++) {
+							p = x * h[i][k] + y * h[i][k + 1];
+							if (notlast) {
+								p = p + z * h[i][k + 2];
+								h[i][k + 2] = h[i][k + 2] - p * r;
+							}
+							h[i][k] = h[i][k] - p;
+							h[i][k + 1] = h[i][k + 1] - p * q;
+						}
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,418 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * 定点矩阵：所有元素共用一个小数位数scale，元素以非标度值（即乘以10<sup>scale</sup>后的整数）存储在{@code long}数组中。
+ * 适用于只需要在固定小数位（如金额的4~8位小数）上精确的场合，加减法与乘法都在{@code long}上完成，速度接近基本类型。
+ * <p>
+ * 运算检查溢出：某个元素溢出时，该元素改用{@link BigDecimal}单独存储，其余元素不受影响，结果始终与用{@link BigDecimal}计算后按scale舍入相同。
+ * 乘法的乘积先在2·scale位上精确累加，最后只按舍入模式舍入一次
+ *
+ * @author cfw
+ */
+public class FixedPointMatrix {
+	/**
+	 * 10<sup>0</sup>~10<sup>18</sup>
+	 */
+	static final long[] POWERS_OF_TEN = new long[19];
+
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		}
+	}
+
+	private final int row_num;
+	private final int column_num;
+	private final int scale;
+	private RoundingMode rounding_mode = RoundingMode.HALF_EVEN;
+	/**
+	 * 第(i,j)个元素（下标从1开始）的非标度值位于unscaled[(i-1)*column_num+(j-1)]
+	 */
+	private final long[] unscaled;
+	/**
+	 * 溢出的元素，没有溢出时为null。overflow[k]不为null时，第k个元素以它为准
+	 */
+	private BigDecimal[] overflow;
+
+	/**
+	 * 构造元素全为0的定点矩阵
+	 *
+	 * @param row_num
+	 * @param column_num
+	 * @param scale      小数位数，0~18
+	 */
+	public FixedPointMatrix(int row_num, int column_num, int scale) {
+		if (row_num <= 0 || column_num <= 0) {
+			throw new IllegalArgumentException("row_num and column_num must be greater than 0");
+		}
+		checkScale(scale);
+		this.row_num = row_num;
+		this.column_num = column_num;
+		this.scale = scale;
+		this.unscaled = new long[row_num * column_num];
+	}
+
+	public int getRowNum() {
+		return row_num;
+	}
+
+	public int getColumnNum() {
+		return column_num;
+	}
+
+	public int getScale() {
+		return scale;
+	}
+
+	/**
+	 * 舍入模式：设置元素时多余的小数位、以及乘法结果从2·scale位回到scale位时使用。默认{@link RoundingMode#HALF_EVEN}
+	 *
+	 * @return rounding_mode
+	 */
+	public RoundingMode getRoundingMode() {
+		return rounding_mode;
+	}
+
+	public void setRoundingMode(RoundingMode rounding_mode) {
+		this.rounding_mode = rounding_mode;
+	}
+
+	/**
+	 * 设置元素，超出scale的小数位按舍入模式舍入
+	 */
+	public void setElement(int row_index, int column_index, BigDecimal element) {
+		if (checkIndex(row_index, column_index)) {
+			store((row_index - 1) * column_num + column_index - 1, element.setScale(scale, rounding_mode));
+		}
+	}
+
+	public void setElement(int row_index, int column_index, double element) {
+		setElement(row_index, column_index, BigDecimal.valueOf(element));
+	}
+
+	/**
+	 * @return 小数位数为scale的元素。下标越界时返回null
+	 */
+	public BigDecimal getElement(int row_index, int column_index) {
+		BigDecimal result = null;
+		if (checkIndex(row_index, column_index)) {
+			result = decimal((row_index - 1) * column_num + column_index - 1);
+		}
+		return result;
+	}
+
+	/**
+	 * 以{@link BigDecimal}单独存储的溢出元素个数
+	 *
+	 * @return overflow_num
+	 */
+	public int getOverflowNum() {
+		int result = 0;
+		if (overflow != null) {
+			for (BigDecimal element : overflow) {
+				if (element != null) {
+					result++;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 把{@link Matrix}转换为定点矩阵，超出scale的小数位按{@link RoundingMode#HALF_EVEN}舍入，未设置的元素视为0
+	 *
+	 * @param matrix
+	 * @param scale  小数位数，0~18
+	 * @return 定点矩阵
+	 */
+	public static FixedPointMatrix fromMatrix(Matrix matrix, int scale) {
+		FixedPointMatrix result = new FixedPointMatrix(matrix.getRowNum(), matrix.getColumnNum(), scale);
+		BigDecimal[][] elements = matrix.getElements();
+		for (int i = 0; i < result.row_num; i++) {
+			for (int j = 0; j < result.column_num; j++) {
+				if (elements[i][j] != null) {
+					result.store(i * result.column_num + j, elements[i][j].setScale(scale, result.rounding_mode));
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 转换为{@link Matrix}，元素的小数位数为scale
+	 *
+	 * @param matrix
+	 * @return 矩阵
+	 */
+	public static Matrix toMatrix(FixedPointMatrix matrix) {
+		Matrix result = new Matrix(matrix.row_num, matrix.column_num);
+		BigDecimal[][] elements = result.getElements();
+		for (int i = 0; i < matrix.row_num; i++) {
+			for (int j = 0; j < matrix.column_num; j++) {
+				elements[i][j] = matrix.decimal(i * matrix.column_num + j);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 矩阵加法
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @return matrix_A+matrix_B。不同型或小数位数不同时返回null
+	 */
+	public static FixedPointMatrix matrixAddition(FixedPointMatrix matrix_A, FixedPointMatrix matrix_B) {
+		return addOrSubtract(matrix_A, matrix_B, false);
+	}
+
+	/**
+	 * 矩阵减法
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @return matrix_A-matrix_B。不同型或小数位数不同时返回null
+	 */
+	public static FixedPointMatrix matrixSubtraction(FixedPointMatrix matrix_A, FixedPointMatrix matrix_B) {
+		return addOrSubtract(matrix_A, matrix_B, true);
+	}
+
+	/**
+	 * 矩阵乘法。每个元素的乘积和先在2·scale位上精确求出，再按matrix_A的舍入模式舍入到scale位
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @return matrix_A×matrix_B。维数不符或小数位数不同时返回null
+	 */
+	public static FixedPointMatrix matrixMultiplication(FixedPointMatrix matrix_A, FixedPointMatrix matrix_B) {
+		FixedPointMatrix result = null;
+		if (matrix_A.column_num != matrix_B.row_num) {
+			System.out.println("column_A not equals with row_B");
+		} else if (checkScale(matrix_A, matrix_B)) {
+			int m = matrix_A.row_num;
+			int p = matrix_A.column_num;
+			int n = matrix_B.column_num;
+			result = new FixedPointMatrix(m, n, matrix_A.scale);
+			result.rounding_mode = matrix_A.rounding_mode;
+			long[] a = matrix_A.unscaled;
+			long[] b = matrix_B.unscaled;
+			boolean[] row_overflow_A = matrix_A.overflowRows();
+			boolean[] column_overflow_B = matrix_B.overflowColumns();
+			long divisor = POWERS_OF_TEN[matrix_A.scale];
+			long[] sums = new long[n];
+			boolean[] exceeded = new boolean[n];
+			for (int i = 0; i < m; i++) {
+				Arrays.fill(sums, 0L);
+				Arrays.fill(exceeded, false);
+				// i-k-j顺序，内层沿B的行与结果的行顺序访问
+				if (!row_overflow_A[i]) {
+					for (int k = 0; k < p; k++) {
+						long a_ik = a[i * p + k];
+						if (a_ik != 0) {
+							int offset = k * n;
+							for (int j = 0; j < n; j++) {
+								long product = a_ik * b[offset + j];
+								long sum = sums[j] + product;
+								// 乘积或部分和溢出时，该元素改用BigDecimal
+								if (Math.multiplyHigh(a_ik, b[offset + j]) != (product >> 63) || ((sums[j] ^ sum) & (product ^ sum)) < 0) {
+									exceeded[j] = true;
+								}
+								sums[j] = sum;
+							}
+						}
+					}
+				}
+				for (int j = 0; j < n; j++) {
+					int index = i * n + j;
+					if (row_overflow_A[i] || column_overflow_B[j] || exceeded[j]) {
+						BigDecimal sum = BigDecimal.ZERO;
+						for (int k = 0; k < p; k++) {
+							sum = sum.add(matrix_A.decimal(i * p + k).multiply(matrix_B.decimal(k * n + j)));
+						}
+						result.store(index, sum.setScale(result.scale, result.rounding_mode));
+					} else {
+						result.unscaled[index] = divide(sums[j], divisor, result.rounding_mode);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 矩阵与向量相乘，按matrix的舍入模式舍入到scale位
+	 *
+	 * @param matrix
+	 * @param vector
+	 * @return matrix×vector。维数不符或小数位数不同时返回null
+	 */
+	public static FixedPointVector matrixVectorMultiplication(FixedPointMatrix matrix, FixedPointVector vector) {
+		FixedPointVector result = null;
+		if (matrix.column_num != vector.getDimension()) {
+			System.out.println("column_A not equals with dimension of vector");
+		} else if (matrix.scale != vector.getScale()) {
+			System.out.println("scale not the same");
+		} else {
+			result = new FixedPointVector(matrix.row_num, matrix.scale);
+			result.setRoundingMode(matrix.rounding_mode);
+			for (int i = 0; i < matrix.row_num; i++) {
+				result.store(i, FixedPointVector.dot(matrix.unscaled, matrix.overflow, i * matrix.column_num, vector.unscaled, vector.overflow, matrix.column_num,
+						matrix.scale).setScale(matrix.scale, matrix.rounding_mode));
+			}
+		}
+		return result;
+	}
+
+	private static FixedPointMatrix addOrSubtract(FixedPointMatrix matrix_A, FixedPointMatrix matrix_B, boolean subtract) {
+		FixedPointMatrix result = null;
+		if (matrix_A.row_num != matrix_B.row_num || matrix_A.column_num != matrix_B.column_num) {
+			System.out.println("dimension not the same");
+		} else if (checkScale(matrix_A, matrix_B)) {
+			result = new FixedPointMatrix(matrix_A.row_num, matrix_A.column_num, matrix_A.scale);
+			result.rounding_mode = matrix_A.rounding_mode;
+			long[] a = matrix_A.unscaled;
+			long[] b = matrix_B.unscaled;
+			long[] c = result.unscaled;
+			for (int k = 0; k < c.length; k++) {
+				long y = subtract ? -b[k] : b[k];
+				long sum = a[k] + y;
+				boolean exceeded = ((a[k] ^ sum) & (y ^ sum)) < 0 || (subtract && b[k] == Long.MIN_VALUE);
+				if (exceeded || matrix_A.isOverflow(k) || matrix_B.isOverflow(k)) {
+					result.store(k, subtract ? matrix_A.decimal(k).subtract(matrix_B.decimal(k)) : matrix_A.decimal(k).add(matrix_B.decimal(k)));
+				} else {
+					c[k] = sum;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * value/divisor按rounding_mode舍入为整数
+	 */
+	static long divide(long value, long divisor, RoundingMode rounding_mode) {
+		long quotient = value / divisor;
+		long remainder = value % divisor;
+		if (remainder != 0) {
+			int sign = value < 0 ? -1 : 1;
+			long twice = Math.abs(remainder) * 2;
+			boolean increment;
+			switch (rounding_mode) {
+			case UP: {
+				increment = true;
+				break;
+			}
+			case DOWN: {
+				increment = false;
+				break;
+			}
+			case CEILING: {
+				increment = sign > 0;
+				break;
+			}
+			case FLOOR: {
+				increment = sign < 0;
+				break;
+			}
+			case HALF_UP: {
+				increment = twice >= divisor;
+				break;
+			}
+			case HALF_DOWN: {
+				increment = twice > divisor;
+				break;
+			}
+			case HALF_EVEN: {
+				increment = twice > divisor || (twice == divisor && (quotient & 1) != 0);
+				break;
+			}
+			default: {
+				throw new ArithmeticException("Rounding necessary");
+			}
+			}
+			if (increment) {
+				quotient += sign;
+			}
+		}
+		return quotient;
+	}
+
+	static void checkScale(int scale) {
+		if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+			throw new IllegalArgumentException("scale must be between 0 and " + (POWERS_OF_TEN.length - 1));
+		}
+	}
+
+	private static boolean checkScale(FixedPointMatrix matrix_A, FixedPointMatrix matrix_B) {
+		boolean result = matrix_A.scale == matrix_B.scale;
+		if (!result) {
+			System.out.println("scale not the same");
+		}
+		return result;
+	}
+
+	/**
+	 * 小数位数为scale的值存入第index个元素：非标度值在long范围内时存入unscaled，否则存入overflow
+	 */
+	private void store(int index, BigDecimal value) {
+		BigInteger unscaled_value = value.unscaledValue();
+		if (unscaled_value.bitLength() < Long.SIZE) {
+			unscaled[index] = unscaled_value.longValue();
+			if (overflow != null) {
+				overflow[index] = null;
+			}
+		} else {
+			if (overflow == null) {
+				overflow = new BigDecimal[unscaled.length];
+			}
+			overflow[index] = value;
+			unscaled[index] = 0;
+		}
+	}
+
+	private boolean isOverflow(int index) {
+		return overflow != null && overflow[index] != null;
+	}
+
+	private BigDecimal decimal(int index) {
+		return isOverflow(index) ? overflow[index] : BigDecimal.valueOf(unscaled[index], scale);
+	}
+
+	private boolean[] overflowRows() {
+		boolean[] result = new boolean[row_num];
+		for (int k = 0; overflow != null && k < overflow.length; k++) {
+			if (overflow[k] != null) {
+				result[k / column_num] = true;
+			}
+		}
+		return result;
+	}
+
+	private boolean[] overflowColumns() {
+		boolean[] result = new boolean[column_num];
+		for (int k = 0; overflow != null && k < overflow.length; k++) {
+			if (overflow[k] != null) {
+				result[k % column_num] = true;
+			}
+		}
+		return result;
+	}
+
+	private boolean checkIndex(int row_index, int column_index) {
+		boolean result = false;
+		if (row_index <= 0 || row_index > row_num) {
+			System.out.println("row index out of bounds");
+		} else if (column_index <= 0 || column_index > column_num) {
+			System.out.println("column index out of bounds");
+		} else {
+			result = true;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,249 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * 定点向量：所有坐标共用一个小数位数scale，坐标以非标度值存储在{@code long}数组中，溢出的坐标改用{@link BigDecimal}单独存储。见{@link FixedPointMatrix}
+ *
+ * @author cfw
+ */
+public class FixedPointVector {
+	private final int dimension;
+	private final int scale;
+	private RoundingMode rounding_mode = RoundingMode.HALF_EVEN;
+	/**
+	 * 第i个坐标（下标从1开始）的非标度值位于unscaled[i-1]
+	 */
+	final long[] unscaled;
+	/**
+	 * 溢出的坐标，没有溢出时为null
+	 */
+	BigDecimal[] overflow;
+
+	/**
+	 * 构造坐标全为0的定点向量
+	 *
+	 * @param dimension
+	 * @param scale     小数位数，0~18
+	 */
+	public FixedPointVector(int dimension, int scale) {
+		if (dimension <= 0) {
+			throw new IllegalArgumentException("dimension must be greater than 0");
+		}
+		FixedPointMatrix.checkScale(scale);
+		this.dimension = dimension;
+		this.scale = scale;
+		this.unscaled = new long[dimension];
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	public int getScale() {
+		return scale;
+	}
+
+	public RoundingMode getRoundingMode() {
+		return rounding_mode;
+	}
+
+	public void setRoundingMode(RoundingMode rounding_mode) {
+		this.rounding_mode = rounding_mode;
+	}
+
+	/**
+	 * 设置坐标，超出scale的小数位按舍入模式舍入
+	 */
+	public void setCoordinate(int coordinate_index, BigDecimal coordinate) {
+		if (checkIndex(coordinate_index)) {
+			store(coordinate_index - 1, coordinate.setScale(scale, rounding_mode));
+		}
+	}
+
+	public void setCoordinate(int coordinate_index, double coordinate) {
+		setCoordinate(coordinate_index, BigDecimal.valueOf(coordinate));
+	}
+
+	/**
+	 * @return 小数位数为scale的坐标。下标越界时返回null
+	 */
+	public BigDecimal getCoordinate(int coordinate_index) {
+		BigDecimal result = null;
+		if (checkIndex(coordinate_index)) {
+			result = decimal(unscaled, overflow, coordinate_index - 1, scale);
+		}
+		return result;
+	}
+
+	/**
+	 * 把{@link Vector}转换为定点向量，超出scale的小数位按{@link RoundingMode#HALF_EVEN}舍入，未设置的坐标视为0
+	 *
+	 * @param vector
+	 * @param scale  小数位数，0~18
+	 * @return 定点向量
+	 */
+	public static FixedPointVector fromVector(Vector vector, int scale) {
+		FixedPointVector result = new FixedPointVector(vector.getDimension(), scale);
+		BigDecimal[] coordinates = vector.getCoordinates();
+		for (int i = 0; i < result.dimension; i++) {
+			if (coordinates[i] != null) {
+				result.store(i, coordinates[i].setScale(scale, result.rounding_mode));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 转换为{@link Vector}，坐标的小数位数为scale
+	 *
+	 * @param vector
+	 * @return 向量
+	 */
+	public static Vector toVector(FixedPointVector vector) {
+		Vector result = new Vector(vector.dimension);
+		for (int i = 0; i < vector.dimension; i++) {
+			result.setCoordinate(i + 1, decimal(vector.unscaled, vector.overflow, i, vector.scale));
+		}
+		return result;
+	}
+
+	/**
+	 * 向量加法
+	 *
+	 * @param vector_A
+	 * @param vector_B
+	 * @return vector_A+vector_B。维数或小数位数不同时返回null
+	 */
+	public static FixedPointVector vectorAddition(FixedPointVector vector_A, FixedPointVector vector_B) {
+		return addOrSubtract(vector_A, vector_B, false);
+	}
+
+	/**
+	 * 向量减法
+	 *
+	 * @param vector_A
+	 * @param vector_B
+	 * @return vector_A-vector_B。维数或小数位数不同时返回null
+	 */
+	public static FixedPointVector vectorSubtraction(FixedPointVector vector_A, FixedPointVector vector_B) {
+		return addOrSubtract(vector_A, vector_B, true);
+	}
+
+	/**
+	 * 向量内积，不舍入
+	 *
+	 * @param vector_A
+	 * @param vector_B
+	 * @return 小数位数为2·scale的精确内积。维数或小数位数不同时返回null
+	 */
+	public static BigDecimal dotProduct(FixedPointVector vector_A, FixedPointVector vector_B) {
+		BigDecimal result = null;
+		if (checkSameShape(vector_A, vector_B)) {
+			result = dot(vector_A.unscaled, vector_A.overflow, 0, vector_B.unscaled, vector_B.overflow, vector_A.dimension, vector_A.scale);
+		}
+		return result;
+	}
+
+	/**
+	 * a[a_offset..a_offset+length)与b[0..length)的精确内积，小数位数为2·scale。
+	 * 在long上累加，乘积或部分和溢出、或遇到溢出坐标时改用{@link BigDecimal}重算
+	 */
+	static BigDecimal dot(long[] a, BigDecimal[] a_overflow, int a_offset, long[] b, BigDecimal[] b_overflow, int length, int scale) {
+		boolean exceeded = hasOverflow(a_overflow, a_offset, length) || hasOverflow(b_overflow, 0, length);
+		long sum = 0;
+		for (int k = 0; k < length && !exceeded; k++) {
+			long x = a[a_offset + k];
+			long y = b[k];
+			long product = x * y;
+			long next = sum + product;
+			exceeded = Math.multiplyHigh(x, y) != (product >> 63) || ((sum ^ next) & (product ^ next)) < 0;
+			sum = next;
+		}
+		BigDecimal result;
+		if (exceeded) {
+			result = BigDecimal.ZERO.setScale(2 * scale);
+			for (int k = 0; k < length; k++) {
+				result = result.add(decimal(a, a_overflow, a_offset + k, scale).multiply(decimal(b, b_overflow, k, scale)));
+			}
+		} else {
+			result = BigDecimal.valueOf(sum, 2 * scale);
+		}
+		return result;
+	}
+
+	/**
+	 * 小数位数为scale的值存入第index个坐标：非标度值在long范围内时存入unscaled，否则存入overflow
+	 */
+	void store(int index, BigDecimal value) {
+		BigInteger unscaled_value = value.unscaledValue();
+		if (unscaled_value.bitLength() < Long.SIZE) {
+			unscaled[index] = unscaled_value.longValue();
+			if (overflow != null) {
+				overflow[index] = null;
+			}
+		} else {
+			if (overflow == null) {
+				overflow = new BigDecimal[dimension];
+			}
+			overflow[index] = value;
+			unscaled[index] = 0;
+		}
+	}
+
+	private static FixedPointVector addOrSubtract(FixedPointVector vector_A, FixedPointVector vector_B, boolean subtract) {
+		FixedPointVector result = null;
+		if (checkSameShape(vector_A, vector_B)) {
+			result = new FixedPointVector(vector_A.dimension, vector_A.scale);
+			result.rounding_mode = vector_A.rounding_mode;
+			for (int k = 0; k < result.dimension; k++) {
+				long x = vector_A.unscaled[k];
+				long y = subtract ? -vector_B.unscaled[k] : vector_B.unscaled[k];
+				long sum = x + y;
+				boolean exceeded = ((x ^ sum) & (y ^ sum)) < 0 || (subtract && vector_B.unscaled[k] == Long.MIN_VALUE);
+				if (exceeded || (vector_A.overflow != null && vector_A.overflow[k] != null) || (vector_B.overflow != null && vector_B.overflow[k] != null)) {
+					BigDecimal a = decimal(vector_A.unscaled, vector_A.overflow, k, vector_A.scale);
+					BigDecimal b = decimal(vector_B.unscaled, vector_B.overflow, k, vector_B.scale);
+					result.store(k, subtract ? a.subtract(b) : a.add(b));
+				} else {
+					result.unscaled[k] = sum;
+				}
+			}
+		}
+		return result;
+	}
+
+	private static boolean hasOverflow(BigDecimal[] overflow, int offset, int length) {
+		boolean result = false;
+		for (int k = 0; overflow != null && k < length && !result; k++) {
+			result = overflow[offset + k] != null;
+		}
+		return result;
+	}
+
+	private static BigDecimal decimal(long[] unscaled, BigDecimal[] overflow, int index, int scale) {
+		return overflow != null && overflow[index] != null ? overflow[index] : BigDecimal.valueOf(unscaled[index], scale);
+	}
+
+	private static boolean checkSameShape(FixedPointVector vector_A, FixedPointVector vector_B) {
+		boolean result = false;
+		if (vector_A.dimension != vector_B.dimension) {
+			System.out.println("dimension not the same");
+		} else if (vector_A.scale != vector_B.scale) {
+			System.out.println("scale not the same");
+		} else {
+			result = true;
+		}
+		return result;
+	}
+
+	private boolean checkIndex(int coordinate_index) {
+		boolean result = coordinate_index > 0 && coordinate_index <= dimension;
+		if (!result) {
+			System.out.println("coordinate index out of bounds");
+		}
+		return result;
+	}
+}
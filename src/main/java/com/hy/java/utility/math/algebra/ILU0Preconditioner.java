@@ -0,0 +1,90 @@
+package com.hy.java.utility.math.algebra;
+
+import java.util.Arrays;
+
+/**
+ * 零填充不完全LU分解（ILU(0)）预条件子：只在系数矩阵原有的非零位置上做LU消元，因此L、U与原矩阵共用同一稀疏结构，存储量不变
+ *
+ * @author cfw
+ */
+public class ILU0Preconditioner implements Preconditioner {
+	private final int dimension;
+	private final int[] row_pointers;
+	private final int[] column_indices;
+	/**
+	 * 严格下三角部分为L（单位对角不存储），其余为U
+	 */
+	private final double[] lu;
+	/**
+	 * 每行对角元在lu中的位置
+	 */
+	private final int[] diagonal_positions;
+
+	/**
+	 * @param matrix 方块稀疏矩阵，每个对角元都必须是非零元
+	 */
+	public ILU0Preconditioner(SparseMatrix matrix) {
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			throw new IllegalArgumentException("matrix is not a Square Matrix");
+		}
+		dimension = matrix.getRowNum();
+		row_pointers = matrix.getRowPointers();
+		column_indices = matrix.getColumnIndices();
+		lu = matrix.getValues().clone();
+		diagonal_positions = new int[dimension];
+		for (int i = 0; i < dimension; i++) {
+			int k = Arrays.binarySearch(column_indices, row_pointers[i], row_pointers[i + 1], i);
+			if (k < 0) {
+				throw new IllegalArgumentException("diagonal element of row " + (i + 1) + " is zero");
+			}
+			diagonal_positions[i] = k;
+		}
+		// positions[j]：当前行第j列元素在lu中的位置，-1表示不在稀疏结构中
+		int[] positions = new int[dimension];
+		Arrays.fill(positions, -1);
+		for (int i = 1; i < dimension; i++) {
+			for (int k = row_pointers[i]; k < row_pointers[i + 1]; k++) {
+				positions[column_indices[k]] = k;
+			}
+			for (int k = row_pointers[i]; k < diagonal_positions[i]; k++) {
+				int pivot_row = column_indices[k];
+				double pivot = lu[diagonal_positions[pivot_row]];
+				if (pivot == 0.0) {
+					throw new IllegalArgumentException("zero pivot in row " + (pivot_row + 1));
+				}
+				double factor = lu[k] / pivot;
+				lu[k] = factor;
+				// 只更新第i行中已存在的位置
+				for (int t = diagonal_positions[pivot_row] + 1; t < row_pointers[pivot_row + 1]; t++) {
+					int position = positions[column_indices[t]];
+					if (position >= 0) {
+						lu[position] -= factor * lu[t];
+					}
+				}
+			}
+			for (int k = row_pointers[i]; k < row_pointers[i + 1]; k++) {
+				positions[column_indices[k]] = -1;
+			}
+		}
+	}
+
+	@Override
+	public void apply(double[] r, double[] z) {
+		// 前代：Ly=r
+		for (int i = 0; i < dimension; i++) {
+			double sum = r[i];
+			for (int k = row_pointers[i]; k < diagonal_positions[i]; k++) {
+				sum -= lu[k] * z[column_indices[k]];
+			}
+			z[i] = sum;
+		}
+		// 回代：Uz=y
+		for (int i = dimension - 1; i >= 0; i--) {
+			double sum = z[i];
+			for (int k = diagonal_positions[i] + 1; k < row_pointers[i + 1]; k++) {
+				sum -= lu[k] * z[column_indices[k]];
+			}
+			z[i] = sum / lu[diagonal_positions[i]];
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 不可变矩阵：构造时复制{@link Matrix}的元素与精度策略，之后内容不再改变，内容哈希在构造时算好。
+ * <p>
+ * 行列式、LU分解、逆矩阵、转置在第一次用到时计算并记住。{@link #of(Matrix)}通过一个有界的LRU缓存，对内容相同（行列数、各元素的值与小数位数、精度策略均相同）的矩阵返回同一个实例，
+ * 因此对同一份配置矩阵反复调用{@link #of(Matrix)}再求行列式或逆矩阵，只有第一次真正计算。可在多个线程间共享
+ *
+ * @author cfw
+ */
+public final class ImmutableMatrix {
+	/**
+	 * 缓存中最多保留的不同内容个数，超出时淘汰最久未用的
+	 */
+	public static final int CACHE_CAPACITY = 256;
+
+	/**
+	 * 内容→该内容的实例。以内容为键（{@link #equals(Object)}），被淘汰的实例仍可继续使用，只是之后{@link #of(Matrix)}会新建实例
+	 */
+	private static final Map<ImmutableMatrix, ImmutableMatrix> CACHE = Collections.synchronizedMap(new LinkedHashMap<ImmutableMatrix, ImmutableMatrix>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ImmutableMatrix, ImmutableMatrix> eldest) {
+			return size() > CACHE_CAPACITY;
+		}
+	});
+
+	private final int row_num;
+	private final int column_num;
+	/**
+	 * 行优先存储，未设置的元素为0
+	 */
+	private final BigDecimal[] elements;
+	private final MathContext math_context;
+	private final int hash;
+	/**
+	 * 派生结果，访问时以this加锁
+	 */
+	private BigDecimal det;
+	private LUDecomposition lu;
+	private ImmutableMatrix inverse;
+	private boolean inverse_computed;
+	private ImmutableMatrix transpose;
+
+	private ImmutableMatrix(int row_num, int column_num, BigDecimal[] elements, MathContext math_context) {
+		this.row_num = row_num;
+		this.column_num = column_num;
+		this.elements = elements;
+		this.math_context = math_context;
+		int result = 31 * (31 * row_num + column_num) + math_context.hashCode();
+		this.hash = 31 * result + Arrays.hashCode(elements);
+	}
+
+	/**
+	 * 复制matrix当前的元素与精度策略，得到不可变矩阵。之后修改matrix不影响它
+	 *
+	 * @param matrix
+	 * @return 不可变矩阵。缓存中已有内容相同的实例时返回该实例
+	 */
+	public static ImmutableMatrix of(Matrix matrix) {
+		BigDecimal[][] source = matrix.getElements();
+		int row_num = matrix.getRowNum();
+		int column_num = matrix.getColumnNum();
+		BigDecimal[] elements = new BigDecimal[row_num * column_num];
+		for (int i = 0; i < row_num; i++) {
+			for (int j = 0; j < column_num; j++) {
+				BigDecimal element = source[i][j];
+				elements[i * column_num + j] = element == null ? BigDecimal.ZERO : element;
+			}
+		}
+		return intern(new ImmutableMatrix(row_num, column_num, elements, matrix.getMathContext()));
+	}
+
+	/**
+	 * 返回缓存中内容相同的实例，没有时登记matrix
+	 */
+	private static ImmutableMatrix intern(ImmutableMatrix matrix) {
+		synchronized (CACHE) {
+			ImmutableMatrix result = CACHE.get(matrix);
+			if (result == null) {
+				result = matrix;
+				CACHE.put(matrix, matrix);
+			}
+			return result;
+		}
+	}
+
+	public int getRowNum() {
+		return row_num;
+	}
+
+	public int getColumnNum() {
+		return column_num;
+	}
+
+	public MathContext getMathContext() {
+		return math_context;
+	}
+
+	public BigDecimal getElement(int row_index, int column_index) {
+		BigDecimal result = null;
+		if (row_index <= 0 || row_index > row_num || column_index <= 0 || column_index > column_num) {
+			System.out.println("index out of bounds");
+		} else {
+			result = elements[(row_index - 1) * column_num + column_index - 1];
+		}
+		return result;
+	}
+
+	/**
+	 * 复制为可修改的{@link Matrix}
+	 *
+	 * @return 新矩阵
+	 */
+	public Matrix toMatrix() {
+		Matrix result = new Matrix(row_num, column_num);
+		result.setMathContext(math_context);
+		BigDecimal[][] target = result.getElements();
+		for (int i = 0; i < row_num; i++) {
+			System.arraycopy(elements, i * column_num, target[i], 0, column_num);
+		}
+		return result;
+	}
+
+	/**
+	 * 行列式，算法同{@link Matrix#det(Matrix)}。只计算一次
+	 *
+	 * @return det(this)。非方阵时返回null
+	 */
+	public synchronized BigDecimal det() {
+		if (det == null && checkSquare()) {
+			Matrix matrix = toMatrix();
+			det = Matrix.useBareiss(matrix) ? new BareissElimination(matrix).det() : lu().det();
+		}
+		return det;
+	}
+
+	/**
+	 * 列主元LU分解。矩阵不限精度时按{@link MathContext#DECIMAL128}分解，否则按矩阵的精度策略。只计算一次
+	 *
+	 * @return LU分解。非方阵时返回null
+	 */
+	public synchronized LUDecomposition lu() {
+		if (lu == null && checkSquare()) {
+			lu = new LUDecomposition(toMatrix(), Matrix.luMathContext(math_context));
+		}
+		return lu;
+	}
+
+	/**
+	 * 逆矩阵，算法同{@link Matrix#matrixInverse(Matrix)}。只计算一次
+	 *
+	 * @return 逆矩阵。非方阵或矩阵奇异时返回null
+	 */
+	public synchronized ImmutableMatrix inverse() {
+		if (!inverse_computed && checkSquare()) {
+			Matrix result;
+			Matrix matrix = toMatrix();
+			if (Matrix.useBareiss(matrix)) {
+				result = Matrix.matrixInverse(matrix);
+			} else {
+				result = lu().isSingular() ? null : lu().inverse();
+				if (result != null) {
+					result.setMathContext(math_context);
+				}
+			}
+			inverse = result == null ? null : of(result);
+			inverse_computed = true;
+		}
+		return inverse;
+	}
+
+	/**
+	 * 转置。只计算一次
+	 *
+	 * @return this<sup>T</sup>
+	 */
+	public synchronized ImmutableMatrix transpose() {
+		if (transpose == null) {
+			BigDecimal[] transposed = new BigDecimal[elements.length];
+			for (int i = 0; i < row_num; i++) {
+				for (int j = 0; j < column_num; j++) {
+					transposed[j * row_num + i] = elements[i * column_num + j];
+				}
+			}
+			transpose = intern(new ImmutableMatrix(column_num, row_num, transposed, math_context));
+		}
+		return transpose;
+	}
+
+	/**
+	 * 清空缓存。已有实例及其派生结果不受影响
+	 */
+	public static void clearCache() {
+		CACHE.clear();
+	}
+
+	/**
+	 * 行列数、各元素（值与小数位数，即{@link BigDecimal#equals(Object)}）、精度策略均相同时相等
+	 */
+	@Override
+	public boolean equals(Object object) {
+		boolean result = this == object;
+		if (!result && object instanceof ImmutableMatrix) {
+			ImmutableMatrix matrix = (ImmutableMatrix) object;
+			result = hash == matrix.hash && row_num == matrix.row_num && column_num == matrix.column_num && math_context.equals(matrix.math_context)
+					&& Arrays.equals(elements, matrix.elements);
+		}
+		return result;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	private boolean checkSquare() {
+		boolean result = row_num == column_num;
+		if (!result) {
+			System.out.println("matrix is not a Square Matrix");
+		}
+		return result;
+	}
+}
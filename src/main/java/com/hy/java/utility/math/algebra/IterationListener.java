@@ -0,0 +1,14 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * 迭代求解器每完成一次迭代时的回调，用于监控收敛过程
+ *
+ * @author cfw
+ */
+public interface IterationListener {
+	/**
+	 * @param iteration     已完成的迭代次数，从1开始
+	 * @param residual_norm 当前相对残差||b-Ax||/||b||，由迭代递推得到，不额外计算矩阵乘法
+	 */
+	void iterationPerformed(int iteration, double residual_norm);
+}
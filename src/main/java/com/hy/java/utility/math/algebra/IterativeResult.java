@@ -0,0 +1,56 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * 迭代求解的结果
+ *
+ * @author cfw
+ */
+public class IterativeResult {
+	private final DoubleVector solution;
+	private final int iterations;
+	private final double residual_norm;
+	private final boolean converged;
+
+	public IterativeResult(DoubleVector solution, int iterations, double residual_norm, boolean converged) {
+		this.solution = solution;
+		this.iterations = iterations;
+		this.residual_norm = residual_norm;
+		this.converged = converged;
+	}
+
+	/**
+	 * 近似解x。未收敛时为最后一次迭代的结果
+	 *
+	 * @return x
+	 */
+	public DoubleVector getSolution() {
+		return solution;
+	}
+
+	/**
+	 * 实际迭代次数
+	 *
+	 * @return iterations
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * 最终的相对残差||b-Ax||/||b||
+	 *
+	 * @return residual_norm
+	 */
+	public double getResidualNorm() {
+		return residual_norm;
+	}
+
+	/**
+	 * 是否在最大迭代次数内达到了容差
+	 *
+	 * @return converged
+	 */
+	public boolean isConverged() {
+		return converged;
+	}
+}
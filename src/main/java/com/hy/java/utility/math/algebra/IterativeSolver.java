@@ -0,0 +1,144 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * 迭代求解器的公共部分：容差、最大迭代次数、预条件子与迭代回调。
+ * <p>
+ * 系数矩阵以{@link LinearOperator}的形式给出，可以是{@link DoubleMatrix}、{@link SparseMatrix}、{@link LinearOperator#of(Matrix)}或无矩阵的算子
+ *
+ * @author cfw
+ */
+public abstract class IterativeSolver {
+	/**
+	 * 默认相对残差容差
+	 */
+	public static final double DEFAULT_TOLERANCE = 1e-10;
+
+	private double tolerance;
+	private int max_iterations;
+	private Preconditioner preconditioner = null;
+	private IterationListener listener = null;
+
+	/**
+	 * @param tolerance      相对残差||b-Ax||/||b||小于该值即视为收敛
+	 * @param max_iterations 最大迭代次数
+	 */
+	protected IterativeSolver(double tolerance, int max_iterations) {
+		setTolerance(tolerance);
+		setMaxIterations(max_iterations);
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	public void setTolerance(double tolerance) {
+		if (!(tolerance > 0.0)) {
+			throw new IllegalArgumentException("tolerance must be greater than 0");
+		}
+		this.tolerance = tolerance;
+	}
+
+	public int getMaxIterations() {
+		return max_iterations;
+	}
+
+	public void setMaxIterations(int max_iterations) {
+		if (max_iterations <= 0) {
+			throw new IllegalArgumentException("max_iterations must be greater than 0");
+		}
+		this.max_iterations = max_iterations;
+	}
+
+	public Preconditioner getPreconditioner() {
+		return preconditioner;
+	}
+
+	/**
+	 * @param preconditioner 为null时不使用预条件
+	 */
+	public void setPreconditioner(Preconditioner preconditioner) {
+		this.preconditioner = preconditioner;
+	}
+
+	public IterationListener getIterationListener() {
+		return listener;
+	}
+
+	/**
+	 * @param listener 为null时不回调
+	 */
+	public void setIterationListener(IterationListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * 以零向量为初值解Ax=b
+	 *
+	 * @param operator 系数矩阵
+	 * @param vector_b
+	 * @return 求解结果。维数不符时返回null
+	 */
+	public IterativeResult solve(LinearOperator operator, DoubleVector vector_b) {
+		return solve(operator, vector_b, null);
+	}
+
+	/**
+	 * 以initial为初值解Ax=b
+	 *
+	 * @param operator 系数矩阵，必须为方阵
+	 * @param vector_b
+	 * @param initial  初值，为null时使用零向量；不会被修改
+	 * @return 求解结果。维数不符时返回null
+	 */
+	public IterativeResult solve(LinearOperator operator, DoubleVector vector_b, DoubleVector initial) {
+		IterativeResult result = null;
+		int n = operator.getRowNum();
+		if (operator.getColumnNum() != n) {
+			System.out.println("operator is not square");
+		} else if (vector_b.getDimension() != n) {
+			System.out.println("dimension of b not equals with operator row");
+		} else if (initial != null && initial.getDimension() != n) {
+			System.out.println("dimension of initial not equals with operator row");
+		} else {
+			double[] x = initial == null ? new double[n] : initial.getCoordinates().clone();
+			result = iterate(operator, vector_b.getCoordinates(), x);
+		}
+		return result;
+	}
+
+	/**
+	 * 具体的迭代过程。x为初值，迭代结果直接写入x
+	 */
+	protected abstract IterativeResult iterate(LinearOperator operator, double[] b, double[] x);
+
+	/**
+	 * z=M<sup>-1</sup>r；没有预条件子时直接复制
+	 */
+	protected void precondition(double[] r, double[] z) {
+		if (preconditioner == null) {
+			System.arraycopy(r, 0, z, 0, r.length);
+		} else {
+			preconditioner.apply(r, z);
+		}
+	}
+
+	protected void notifyListener(int iteration, double residual_norm) {
+		if (listener != null) {
+			listener.iterationPerformed(iteration, residual_norm);
+		}
+	}
+
+	protected static double dot(double[] a, double[] b) {
+		return VectorKernels.dot(a, 0, b, 0, a.length);
+	}
+
+	/**
+	 * r=b-Ax
+	 */
+	protected static void residual(LinearOperator operator, double[] b, double[] x, double[] r) {
+		operator.apply(x, r);
+		for (int i = 0; i < r.length; i++) {
+			r[i] = b[i] - r[i];
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * Jacobi（对角）预条件子：M=diag(A)
+ *
+ * @author cfw
+ */
+public class JacobiPreconditioner implements Preconditioner {
+	private final double[] inverse_diagonal;
+
+	public JacobiPreconditioner(SparseMatrix matrix) {
+		this(diagonalOf(matrix));
+	}
+
+	public JacobiPreconditioner(DoubleMatrix matrix) {
+		this(diagonalOf(matrix));
+	}
+
+	/**
+	 * @param diagonal 系数矩阵的对角元，下标从0开始。对角元为0的位置不做缩放
+	 */
+	public JacobiPreconditioner(double[] diagonal) {
+		inverse_diagonal = new double[diagonal.length];
+		for (int i = 0; i < diagonal.length; i++) {
+			inverse_diagonal[i] = diagonal[i] != 0.0 ? 1.0 / diagonal[i] : 1.0;
+		}
+	}
+
+	@Override
+	public void apply(double[] r, double[] z) {
+		for (int i = 0; i < inverse_diagonal.length; i++) {
+			z[i] = r[i] * inverse_diagonal[i];
+		}
+	}
+
+	private static double[] diagonalOf(SparseMatrix matrix) {
+		int n = Math.min(matrix.getRowNum(), matrix.getColumnNum());
+		double[] result = new double[n];
+		for (int i = 0; i < n; i++) {
+			result[i] = matrix.getElement(i + 1, i + 1);
+		}
+		return result;
+	}
+
+	private static double[] diagonalOf(DoubleMatrix matrix) {
+		int n = Math.min(matrix.getRowNum(), matrix.getColumnNum());
+		double[] result = new double[n];
+		for (int i = 0; i < n; i++) {
+			result[i] = matrix.getElements()[i * matrix.getColumnNum() + i];
+		}
+		return result;
+	}
+}
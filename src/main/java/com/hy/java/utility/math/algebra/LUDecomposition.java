@@ -0,0 +1,290 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * 列主元LU分解：PA=LU，其中L为单位下三角矩阵，U为上三角矩阵，P为行置换。
+ * <p>
+ * 一次分解可重复用于求行列式、解线性方程组、求逆矩阵，每个右端项只需O(n<sup>2</sup>)
+ *
+ * @author cfw
+ */
+public class LUDecomposition {
+	private final int dimension;
+	private final MathContext math_context;
+	/**
+	 * L（不含对角线）与U合并存储。不是方阵时为null
+	 */
+	private final BigDecimal[][] lu;
+	/**
+	 * 分解后第i行对应原矩阵的第pivot[i]行（下标从0开始）
+	 */
+	private final int[] pivot;
+	private int pivot_sign = 1;
+	private boolean singular = false;
+
+	/**
+	 * 以{@link MathContext#DECIMAL128}精度分解matrix
+	 *
+	 * @param matrix 方块矩阵
+	 */
+	public LUDecomposition(Matrix matrix) {
+		this(matrix, MathContext.DECIMAL128);
+	}
+
+	/**
+	 * 以指定精度分解matrix
+	 *
+	 * @param matrix       方块矩阵。不是方阵时各结果均返回null
+	 * @param math_context 消元过程中乘除运算所用的精度
+	 */
+	public LUDecomposition(Matrix matrix, MathContext math_context) {
+		this.dimension = matrix.getRowNum();
+		this.math_context = math_context;
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			// 与BareissElimination一样，在取结果时报错
+			lu = null;
+			pivot = null;
+			singular = true;
+		} else {
+			lu = new BigDecimal[dimension][];
+			pivot = new int[dimension];
+			decompose(matrix.getElements());
+		}
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * 矩阵是否奇异
+	 *
+	 * @return singular
+	 */
+	public boolean isSingular() {
+		return singular;
+	}
+
+	/**
+	 * 行列式，等于U的对角元之积乘以行置换的符号
+	 *
+	 * @return det。不是方阵时返回null
+	 */
+	public BigDecimal det() {
+		BigDecimal result = null;
+		if (checkSquare()) {
+			result = BigDecimal.valueOf(pivot_sign);
+			for (int i = 0; i < dimension; i++) {
+				result = result.multiply(lu[i][i], math_context);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 单位下三角矩阵L
+	 *
+	 * @return L。不是方阵时返回null
+	 */
+	public Matrix getL() {
+		Matrix result = null;
+		if (checkSquare()) {
+			result = new Matrix(dimension, dimension);
+			for (int i = 0; i < dimension; i++) {
+				for (int j = 0; j < dimension; j++) {
+					result.getElements()[i][j] = i > j ? lu[i][j] : (i == j ? BigDecimal.ONE : BigDecimal.ZERO);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 上三角矩阵U
+	 *
+	 * @return U。不是方阵时返回null
+	 */
+	public Matrix getU() {
+		Matrix result = null;
+		if (checkSquare()) {
+			result = new Matrix(dimension, dimension);
+			for (int i = 0; i < dimension; i++) {
+				for (int j = 0; j < dimension; j++) {
+					result.getElements()[i][j] = i <= j ? lu[i][j] : BigDecimal.ZERO;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 行置换。分解后第i行（下标从1开始）对应原矩阵的第getPivot()[i-1]行
+	 *
+	 * @return pivot。不是方阵时返回null
+	 */
+	public int[] getPivot() {
+		int[] result = null;
+		if (checkSquare()) {
+			result = new int[dimension];
+			for (int i = 0; i < dimension; i++) {
+				result[i] = pivot[i] + 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 解线性方程组Ax=b
+	 *
+	 * @param vector_b
+	 * @return x。矩阵奇异、不是方阵或维数不符时返回null
+	 */
+	public Vector solve(Vector vector_b) {
+		Vector result = null;
+		if (lu == null) {
+			System.out.println("matrix is not a Square Matrix");
+		} else if (singular) {
+			System.out.println("matrix is singular");
+		} else if (vector_b.getDimension() != dimension) {
+			System.out.println("dimension of b not equals with matrix row");
+		} else {
+			BigDecimal[] x = new BigDecimal[dimension];
+			BigDecimal[] b = vector_b.getCoordinates();
+			for (int i = 0; i < dimension; i++) {
+				x[i] = b[pivot[i]];
+			}
+			substitute(x);
+			result = new Vector(dimension);
+			for (int i = 0; i < dimension; i++) {
+				result.getCoordinates()[i] = x[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 解矩阵方程AX=B
+	 *
+	 * @param matrix_B
+	 * @return X。矩阵奇异、不是方阵或行数不符时返回null
+	 */
+	public Matrix solve(Matrix matrix_B) {
+		Matrix result = null;
+		if (lu == null) {
+			System.out.println("matrix is not a Square Matrix");
+		} else if (singular) {
+			System.out.println("matrix is singular");
+		} else if (matrix_B.getRowNum() != dimension) {
+			System.out.println("row of B not equals with matrix row");
+		} else {
+			result = new Matrix(dimension, matrix_B.getColumnNum());
+			BigDecimal[] x = new BigDecimal[dimension];
+			BigDecimal[][] b = matrix_B.getElements();
+			for (int j = 0; j < matrix_B.getColumnNum(); j++) {
+				for (int i = 0; i < dimension; i++) {
+					x[i] = b[pivot[i]][j];
+				}
+				substitute(x);
+				for (int i = 0; i < dimension; i++) {
+					result.getElements()[i][j] = x[i];
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 逆矩阵
+	 *
+	 * @return 逆矩阵。矩阵奇异或不是方阵时返回null
+	 */
+	public Matrix inverse() {
+		return checkSquare() ? solve(Matrix.identityMatrix(dimension)) : null;
+	}
+
+	private boolean checkSquare() {
+		boolean result = lu != null;
+		if (!result) {
+			System.out.println("matrix is not a Square Matrix");
+		}
+		return result;
+	}
+
+	/**
+	 * 列主元消元，结果写入lu、pivot
+	 */
+	private void decompose(BigDecimal[][] elements) {
+		// 有限精度下，相对所在行的原有元素可忽略的主元视为0。按行比较，各行数量级悬殊（如diag(1e20,1e-11)）时不会误判
+		BigDecimal[] tolerances = new BigDecimal[dimension];
+		for (int i = 0; i < dimension; i++) {
+			lu[i] = elements[i].clone();
+			pivot[i] = i;
+			BigDecimal max_abs = BigDecimal.ZERO;
+			for (int j = 0; j < dimension; j++) {
+				// 未设置的元素视为0
+				if (lu[i][j] == null) {
+					lu[i][j] = BigDecimal.ZERO;
+				}
+				max_abs = max_abs.max(lu[i][j].abs());
+			}
+			tolerances[i] = math_context.getPrecision() > 4 ? max_abs.scaleByPowerOfTen(4 - math_context.getPrecision()) : BigDecimal.ZERO;
+		}
+		for (int k = 0; k < dimension; k++) {
+			// 在第k列的第k行及以下寻找绝对值最大的元素作为主元
+			int p = k;
+			for (int i = k + 1; i < dimension; i++) {
+				if (lu[i][k].abs().compareTo(lu[p][k].abs()) > 0) {
+					p = i;
+				}
+			}
+			if (p != k) {
+				BigDecimal[] temp_row = lu[p];
+				lu[p] = lu[k];
+				lu[k] = temp_row;
+				int temp_pivot = pivot[p];
+				pivot[p] = pivot[k];
+				pivot[k] = temp_pivot;
+				pivot_sign = -pivot_sign;
+			}
+			if (lu[k][k].abs().compareTo(tolerances[pivot[k]]) <= 0) {
+				singular = true;
+				continue;
+			}
+			for (int i = k + 1; i < dimension; i++) {
+				BigDecimal factor = lu[i][k].divide(lu[k][k], math_context);
+				lu[i][k] = factor;
+				if (factor.signum() != 0) {
+					for (int j = k + 1; j < dimension; j++) {
+						lu[i][j] = lu[i][j].subtract(factor.multiply(lu[k][j], math_context), math_context);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * 对已按pivot置换的右端项x依次做前代（Ly=Pb）与回代（Ux=y），结果写回x
+	 */
+	private void substitute(BigDecimal[] x) {
+		for (int i = 1; i < dimension; i++) {
+			BigDecimal sum = x[i];
+			for (int k = 0; k < i; k++) {
+				if (lu[i][k].signum() != 0) {
+					sum = sum.subtract(lu[i][k].multiply(x[k], math_context), math_context);
+				}
+			}
+			x[i] = sum;
+		}
+		for (int i = dimension - 1; i >= 0; i--) {
+			BigDecimal sum = x[i];
+			for (int k = i + 1; k < dimension; k++) {
+				if (lu[i][k].signum() != 0) {
+					sum = sum.subtract(lu[i][k].multiply(x[k], math_context), math_context);
+				}
+			}
+			x[i] = sum.divide(lu[i][i], math_context);
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * 最小二乘拟合的结果
+ *
+ * @author cfw
+ */
+public class LeastSquaresResult {
+	private final DoubleVector coefficients;
+	private final DoubleVector standard_errors;
+	private final double residual_sum_of_squares;
+	private final double r_squared;
+	private final long row_num;
+
+	public LeastSquaresResult(DoubleVector coefficients, DoubleVector standard_errors, double residual_sum_of_squares, double r_squared, long row_num) {
+		this.coefficients = coefficients;
+		this.standard_errors = standard_errors;
+		this.residual_sum_of_squares = residual_sum_of_squares;
+		this.r_squared = r_squared;
+		this.row_num = row_num;
+	}
+
+	/**
+	 * 使||Ax-b||最小的x
+	 *
+	 * @return x
+	 */
+	public DoubleVector getCoefficients() {
+		return coefficients;
+	}
+
+	/**
+	 * 各系数的标准误差。行数不多于列数时为NaN
+	 *
+	 * @return standard_errors
+	 */
+	public DoubleVector getStandardErrors() {
+		return standard_errors;
+	}
+
+	/**
+	 * 残差平方和||Ax-b||<sup>2</sup>
+	 *
+	 * @return residual_sum_of_squares
+	 */
+	public double getResidualSumOfSquares() {
+		return residual_sum_of_squares;
+	}
+
+	/**
+	 * 残差方差的无偏估计：残差平方和/(行数-列数)。行数不多于列数时为NaN
+	 *
+	 * @return residual_variance
+	 */
+	public double getResidualVariance() {
+		long degrees_of_freedom = row_num - coefficients.getDimension();
+		return degrees_of_freedom > 0 ? residual_sum_of_squares / degrees_of_freedom : Double.NaN;
+	}
+
+	/**
+	 * 决定系数1-残差平方和/总离差平方和。设计矩阵应含常数列，否则没有通常的含义
+	 *
+	 * @return R<sup>2</sup>
+	 */
+	public double getRSquared() {
+		return r_squared;
+	}
+
+	/**
+	 * 参与拟合的行数
+	 *
+	 * @return row_num
+	 */
+	public long getRowNum() {
+		return row_num;
+	}
+}
@@ -0,0 +1,30 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * 线性算子：只需能计算y=Ax即可，不要求显式存储矩阵。迭代求解器只通过该接口访问系数矩阵，因此可以作用于稠密矩阵、稀疏矩阵或无矩阵（matrix-free）的算子
+ *
+ * @author cfw
+ */
+public interface LinearOperator {
+	int getRowNum();
+
+	int getColumnNum();
+
+	/**
+	 * 计算y=Ax。x长度为列数，y长度为行数，下标均从0开始；y原有内容被覆盖
+	 *
+	 * @param x
+	 * @param y
+	 */
+	void apply(double[] x, double[] y);
+
+	/**
+	 * 将{@link Matrix}包装为线性算子。元素一次性转换为{@link DoubleMatrix}，之后对matrix的修改不会反映到算子上
+	 *
+	 * @param matrix
+	 * @return 线性算子
+	 */
+	static LinearOperator of(Matrix matrix) {
+		return DoubleMatrix.fromMatrix(matrix);
+	}
+}
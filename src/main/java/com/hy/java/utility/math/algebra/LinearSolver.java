@@ -0,0 +1,190 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 线性方程组求解器，代替“求逆矩阵再相乘”的做法。
+ * <p>
+ * 根据系数矩阵自动选择分解方法：对称正定方阵用Cholesky分解，其他方阵用列主元LU分解，行数多于列数的矩阵用QR分解求最小二乘解。
+ * 分解结果缓存在求解器中，之后每个右端项只需O(n<sup>2</sup>)
+ *
+ * @author cfw
+ */
+public class LinearSolver {
+	public enum Method {
+		LU, CHOLESKY, QR
+	}
+
+	/**
+	 * 静态方法使用的分解缓存。以矩阵对象本身为键（{@link Matrix}未重写equals，即按对象识别），矩阵不再被引用后自动回收
+	 */
+	private static final Map<Matrix, LinearSolver> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final Method method;
+	private final int row_num;
+	private final int column_num;
+	private final MathContext math_context;
+	/**
+	 * 分解时各元素的引用，用于判断缓存的分解是否仍对应矩阵当前内容
+	 */
+	private final BigDecimal[][] snapshot;
+	private LUDecomposition lu;
+	private CholeskyDecomposition cholesky;
+	private QRDecomposition qr;
+
+	/**
+	 * 以{@link MathContext#DECIMAL128}精度分解matrix
+	 *
+	 * @param matrix 系数矩阵
+	 */
+	public LinearSolver(Matrix matrix) {
+		this(matrix, MathContext.DECIMAL128);
+	}
+
+	/**
+	 * 以指定精度分解matrix
+	 *
+	 * @param matrix       系数矩阵，行数不能少于列数。行数少于列数时交给{@link QRDecomposition}，求解时打印提示并返回null
+	 * @param math_context 分解与求解所用的精度
+	 */
+	public LinearSolver(Matrix matrix, MathContext math_context) {
+		row_num = matrix.getRowNum();
+		column_num = matrix.getColumnNum();
+		this.math_context = math_context;
+		snapshot = new BigDecimal[row_num][];
+		BigDecimal[][] elements = matrix.getElements();
+		for (int i = 0; i < row_num; i++) {
+			snapshot[i] = elements[i].clone();
+		}
+		if (row_num != column_num) {
+			qr = new QRDecomposition(matrix, math_context);
+			method = Method.QR;
+		} else if (isSymmetric(matrix) && (cholesky = new CholeskyDecomposition(matrix, math_context)).isSPD()) {
+			method = Method.CHOLESKY;
+		} else {
+			cholesky = null;
+			lu = new LUDecomposition(matrix, math_context);
+			method = Method.LU;
+		}
+	}
+
+	/**
+	 * 所用的分解方法
+	 *
+	 * @return method
+	 */
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * 解Ax=b。A为长方矩阵时返回最小二乘解
+	 *
+	 * @param vector_b
+	 * @return x。矩阵奇异、行数少于列数或维数不符时返回null
+	 */
+	public Vector solve(Vector vector_b) {
+		Vector result = null;
+		switch (method) {
+		case CHOLESKY: {
+			result = cholesky.solve(vector_b);
+			break;
+		}
+		case QR: {
+			result = qr.solve(vector_b);
+			break;
+		}
+		default: {
+			result = lu.solve(vector_b);
+			break;
+		}
+		}
+		return result;
+	}
+
+	/**
+	 * 解AX=B。A为长方矩阵时返回最小二乘解
+	 *
+	 * @param matrix_B
+	 * @return X。矩阵奇异、行数少于列数或行数不符时返回null
+	 */
+	public Matrix solve(Matrix matrix_B) {
+		Matrix result = null;
+		switch (method) {
+		case CHOLESKY: {
+			result = cholesky.solve(matrix_B);
+			break;
+		}
+		case QR: {
+			result = qr.solve(matrix_B);
+			break;
+		}
+		default: {
+			result = lu.solve(matrix_B);
+			break;
+		}
+		}
+		return result;
+	}
+
+	/**
+	 * 解Ax=b，按matrix_A的精度策略分解（精度不限时用{@link MathContext#DECIMAL128}）。对同一个矩阵对象重复调用时复用已缓存的分解；矩阵元素或精度策略被修改后会重新分解
+	 *
+	 * @param matrix_A
+	 * @param vector_b
+	 * @return x。矩阵奇异、行数少于列数或维数不符时返回null
+	 */
+	public static Vector solve(Matrix matrix_A, Vector vector_b) {
+		return solverOf(matrix_A).solve(vector_b);
+	}
+
+	/**
+	 * 解AX=B，按matrix_A的精度策略分解（精度不限时用{@link MathContext#DECIMAL128}）。对同一个矩阵对象重复调用时复用已缓存的分解；矩阵元素或精度策略被修改后会重新分解
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @return X。矩阵奇异、行数少于列数或行数不符时返回null
+	 */
+	public static Matrix solve(Matrix matrix_A, Matrix matrix_B) {
+		return solverOf(matrix_A).solve(matrix_B);
+	}
+
+	private static LinearSolver solverOf(Matrix matrix) {
+		LinearSolver solver = CACHE.get(matrix);
+		MathContext math_context = Matrix.luMathContext(matrix.getMathContext());
+		if (solver == null || !solver.math_context.equals(math_context) || !solver.matches(matrix)) {
+			solver = new LinearSolver(matrix, math_context);
+			CACHE.put(matrix, solver);
+		}
+		return solver;
+	}
+
+	/**
+	 * 矩阵的每个元素是否仍是分解时的同一对象。{@link BigDecimal}不可变，修改元素必然替换引用，因此逐一比较引用即可，代价为O(n<sup>2</sup>)
+	 */
+	private boolean matches(Matrix matrix) {
+		boolean result = matrix.getRowNum() == row_num && matrix.getColumnNum() == column_num;
+		BigDecimal[][] elements = matrix.getElements();
+		for (int i = 0; i < row_num && result; i++) {
+			for (int j = 0; j < column_num && result; j++) {
+				result = elements[i][j] == snapshot[i][j];
+			}
+		}
+		return result;
+	}
+
+	private static boolean isSymmetric(Matrix matrix) {
+		boolean result = true;
+		BigDecimal[][] elements = matrix.getElements();
+		for (int i = 0; i < matrix.getRowNum() && result; i++) {
+			for (int j = 0; j < i && result; j++) {
+				result = elements[i][j].compareTo(elements[j][i]) == 0;
+			}
+		}
+		return result;
+	}
+}
@@ -1,5 +1,7 @@
 package com.hy.java.utility.math.algebra;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.MathContext;
 
@@ -13,6 +15,10 @@ public class Matrix {
 	private int column_num;
 
 	private BigDecimal[][] elements;
+	/**
+	 * 精度策略：以此矩阵为结果的运算按它舍入。默认不限精度，即精确计算
+	 */
+	private MathContext math_context = MathContext.UNLIMITED;
 
 	private enum Operations {
 		POSITIVE, GET_SET, MATRIX_ADDITION, MATRIX_MULTIPLICATION, SQUARE_MATRIX, MINOR
@@ -26,6 +32,12 @@ public class Matrix {
 		}
 	}
 
+	/**
+	 * 供{@link MatrixView}使用，不分配存储
+	 */
+	Matrix() {
+	}
+
 	public int getRowNum() {
 		return row_num;
 	}
@@ -34,6 +46,26 @@ public class Matrix {
 		return column_num;
 	}
 
+	/**
+	 * 精度策略
+	 * 
+	 * @return math_context
+	 */
+	public MathContext getMathContext() {
+		return math_context;
+	}
+
+	/**
+	 * 设置精度策略。默认{@link MathContext#UNLIMITED}精确计算，但连乘后元素的位数会不断增长，之后每次运算都越来越慢；
+	 * 设为有限精度（如{@link MathContext#DECIMAL64}）后，以此矩阵为运算数的运算结果按两个运算数中较严格的精度舍入，原地运算按被修改矩阵的精度舍入，
+	 * 代价可预期。已有元素不会被重新舍入
+	 * 
+	 * @param math_context
+	 */
+	public void setMathContext(MathContext math_context) {
+		this.math_context = math_context;
+	}
+
 	public void setElement(int row_index, int column_index, double element) {
 		if (checkDimension(row_index, column_index, getRowNum(), getColumnNum(), Operations.GET_SET)) {
 			elements[row_index - 1][column_index - 1] = BigDecimal.valueOf(element);
@@ -88,10 +120,81 @@ public class Matrix {
 		return result;
 	}
 
+	/**
+	 * 获得第row_index行的行向量视图，与矩阵共用存储，修改视图即修改矩阵
+	 * 
+	 * @param row_index
+	 * @return 行向量视图
+	 */
+	public Vector rowView(int row_index) {
+		Vector result = null;
+		if (checkDimension(row_index, 1, getRowNum(), 1, Operations.GET_SET)) {
+			// 普通矩阵的一行本身就是连续数组，直接共用
+			result = this instanceof MatrixView ? new VectorView(this, row_index - 1, true) : new Vector(elements[row_index - 1]);
+			result.setMathContext(getMathContext());
+		}
+		return result;
+	}
+
+	/**
+	 * 获得第column_index列的列向量视图，与矩阵共用存储，修改视图即修改矩阵
+	 * 
+	 * @param column_index
+	 * @return 列向量视图
+	 */
+	public Vector columnView(int column_index) {
+		Vector result = null;
+		if (checkDimension(1, column_index, 1, getColumnNum(), Operations.GET_SET)) {
+			result = new VectorView(this, column_index - 1, false);
+			result.setMathContext(getMathContext());
+		}
+		return result;
+	}
+
+	/**
+	 * 获得第row_start~row_end行、第column_start~column_end列（均含两端）构成的子矩阵视图，与矩阵共用存储，修改视图即修改矩阵
+	 * 
+	 * @param row_start
+	 * @param row_end
+	 * @param column_start
+	 * @param column_end
+	 * @return 子矩阵视图。下标越界时返回null
+	 */
+	public Matrix subMatrixView(int row_start, int row_end, int column_start, int column_end) {
+		Matrix result = null;
+		if (checkDimension(row_start, column_start, row_end, column_end, Operations.GET_SET)
+				&& checkDimension(row_end, column_end, getRowNum(), getColumnNum(), Operations.GET_SET)) {
+			result = new MatrixView(this, row_start - 1, column_start - 1, row_end - row_start + 1, column_end - column_start + 1, false);
+		}
+		return result;
+	}
+
+	/**
+	 * 获得转置视图，与矩阵共用存储，修改视图即修改矩阵。需要独立的转置矩阵时用{@link #matrixTranspose(Matrix)}
+	 * 
+	 * @return matrix<sup>T</sup>的视图
+	 */
+	public Matrix transposeView() {
+		return new MatrixView(this, 0, 0, getColumnNum(), getRowNum(), true);
+	}
+
+	/**
+	 * 元素数组。普通矩阵返回底层存储本身；视图返回按视图排列的副本
+	 * 
+	 * @return elements
+	 */
 	public BigDecimal[][] getElements() {
 		return elements;
 	}
 
+	/**
+	 * 把由{@link #getElements()}得到并修改过的数组写回矩阵。普通矩阵的数组即底层存储，无需写回；视图需要覆盖此方法
+	 * 
+	 * @param elements
+	 */
+	void writeBack(BigDecimal[][] elements) {
+	}
+
 	/**
 	 * 返回单位矩阵
 	 * 
@@ -120,15 +223,29 @@ public class Matrix {
 	 * @return matrix_A+matrix_B
 	 */
 	public static Matrix matrixAddition(Matrix matrix_A, Matrix matrix_B) {
+		return matrixAddition(matrix_A, matrix_B, mergeMathContext(matrix_A.getMathContext(), matrix_B.getMathContext()));
+	}
+
+	/**
+	 * 按指定精度做矩阵加法
+	 * 
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @param math_context 运算及结果矩阵的精度策略
+	 * @return matrix_A+matrix_B
+	 */
+	public static Matrix matrixAddition(Matrix matrix_A, Matrix matrix_B, MathContext math_context) {
 		Matrix result = null;
 		// 同型则可以做加法
 		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
 				Operations.MATRIX_ADDITION)) {
 			result = new Matrix(matrix_A.getRowNum(), matrix_A.getColumnNum());
-			for (int row_index = 1; row_index <= result.getRowNum(); row_index++) {
-				for (int column_index = 1; column_index <= result.getColumnNum(); column_index++) {
-					result.setElement(row_index, column_index,
-							matrix_A.getElement(row_index, column_index).add(matrix_B.getElement(row_index, column_index)));
+			result.math_context = math_context;
+			BigDecimal[][] a = matrix_A.getElements();
+			BigDecimal[][] b = matrix_B.getElements();
+			for (int i = 0; i < result.getRowNum(); i++) {
+				for (int j = 0; j < result.getColumnNum(); j++) {
+					result.elements[i][j] = a[i][j].add(b[i][j], math_context);
 				}
 			}
 		}
@@ -143,7 +260,32 @@ public class Matrix {
 	 * @return matrix_A-matrix_B
 	 */
 	public static Matrix matrixSubtraction(Matrix matrix_A, Matrix matrix_B) {
-		return Matrix.matrixAddition(matrix_A, Matrix.numMultiplication(BigDecimal.valueOf(-1.0), matrix_B));
+		return matrixSubtraction(matrix_A, matrix_B, mergeMathContext(matrix_A.getMathContext(), matrix_B.getMathContext()));
+	}
+
+	/**
+	 * 按指定精度做矩阵减法
+	 * 
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @param math_context 运算及结果矩阵的精度策略
+	 * @return matrix_A-matrix_B
+	 */
+	public static Matrix matrixSubtraction(Matrix matrix_A, Matrix matrix_B, MathContext math_context) {
+		Matrix result = null;
+		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
+				Operations.MATRIX_ADDITION)) {
+			result = new Matrix(matrix_A.getRowNum(), matrix_A.getColumnNum());
+			result.math_context = math_context;
+			BigDecimal[][] a = matrix_A.getElements();
+			BigDecimal[][] b = matrix_B.getElements();
+			for (int i = 0; i < result.getRowNum(); i++) {
+				for (int j = 0; j < result.getColumnNum(); j++) {
+					result.elements[i][j] = a[i][j].subtract(b[i][j], math_context);
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -154,18 +296,159 @@ public class Matrix {
 	 * @return num*matrix
 	 */
 	public static Matrix numMultiplication(BigDecimal num, Matrix matrix) {
+		return numMultiplication(num, matrix, matrix.getMathContext());
+	}
+
+	/**
+	 * 按指定精度做矩阵数乘
+	 * 
+	 * @param num
+	 * @param matrix
+	 * @param math_context 运算及结果矩阵的精度策略
+	 * @return num*matrix
+	 */
+	public static Matrix numMultiplication(BigDecimal num, Matrix matrix, MathContext math_context) {
 		Matrix result = null;
 		if (checkDimension(matrix.getRowNum(), matrix.getColumnNum(), 1, 1, Operations.POSITIVE)) {
 			result = new Matrix(matrix.getRowNum(), matrix.getColumnNum());
-			for (int row_index = 1; row_index <= matrix.getRowNum(); row_index++) {
-				for (int column_index = 1; column_index <= matrix.getColumnNum(); column_index++) {
-					result.setElement(row_index, column_index, matrix.getElement(row_index, column_index).multiply(num));
+			result.math_context = math_context;
+			BigDecimal[][] elements = matrix.getElements();
+			for (int i = 0; i < matrix.getRowNum(); i++) {
+				for (int j = 0; j < matrix.getColumnNum(); j++) {
+					result.elements[i][j] = elements[i][j].multiply(num, math_context);
 				}
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * 原地矩阵加法：matrix_A=matrix_A+matrix_B，不分配新的矩阵。按matrix_A的精度策略舍入
+	 * 
+	 * @param matrix_A 被修改的矩阵
+	 * @param matrix_B
+	 * @return matrix_A。不同型时返回null
+	 */
+	public static Matrix addInPlace(Matrix matrix_A, Matrix matrix_B) {
+		Matrix result = null;
+		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
+				Operations.MATRIX_ADDITION)) {
+			BigDecimal[][] a = matrix_A.getElements();
+			BigDecimal[][] b = matrix_B.getElements();
+			for (int i = 0; i < matrix_A.getRowNum(); i++) {
+				for (int j = 0; j < matrix_A.getColumnNum(); j++) {
+					a[i][j] = a[i][j].add(b[i][j], matrix_A.getMathContext());
+				}
+			}
+			matrix_A.writeBack(a);
+			result = matrix_A;
+		}
+		return result;
+	}
+
+	/**
+	 * 原地矩阵减法：matrix_A=matrix_A-matrix_B，不分配新的矩阵。按matrix_A的精度策略舍入
+	 * 
+	 * @param matrix_A 被修改的矩阵
+	 * @param matrix_B
+	 * @return matrix_A。不同型时返回null
+	 */
+	public static Matrix subtractInPlace(Matrix matrix_A, Matrix matrix_B) {
+		Matrix result = null;
+		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
+				Operations.MATRIX_ADDITION)) {
+			BigDecimal[][] a = matrix_A.getElements();
+			BigDecimal[][] b = matrix_B.getElements();
+			for (int i = 0; i < matrix_A.getRowNum(); i++) {
+				for (int j = 0; j < matrix_A.getColumnNum(); j++) {
+					a[i][j] = a[i][j].subtract(b[i][j], matrix_A.getMathContext());
+				}
+			}
+			matrix_A.writeBack(a);
+			result = matrix_A;
+		}
+		return result;
+	}
+
+	/**
+	 * 原地矩阵数乘：matrix=num*matrix，不分配新的矩阵。按matrix的精度策略舍入
+	 * 
+	 * @param num
+	 * @param matrix 被修改的矩阵
+	 * @return matrix
+	 */
+	public static Matrix scaleInPlace(BigDecimal num, Matrix matrix) {
+		BigDecimal[][] elements = matrix.getElements();
+		for (int i = 0; i < matrix.getRowNum(); i++) {
+			for (int j = 0; j < matrix.getColumnNum(); j++) {
+				elements[i][j] = elements[i][j].multiply(num, matrix.getMathContext());
+			}
+		}
+		matrix.writeBack(elements);
+		return matrix;
+	}
+
+	/**
+	 * 原地累加：matrix_Y=matrix_Y+alpha*matrix_X，不分配新的矩阵。按matrix_Y的精度策略舍入
+	 * 
+	 * @param alpha
+	 * @param matrix_X
+	 * @param matrix_Y 被修改的矩阵
+	 * @return matrix_Y。不同型时返回null
+	 */
+	public static Matrix axpy(BigDecimal alpha, Matrix matrix_X, Matrix matrix_Y) {
+		Matrix result = null;
+		if (checkDimension(matrix_X.getRowNum(), matrix_X.getColumnNum(), matrix_Y.getRowNum(), matrix_Y.getColumnNum(),
+				Operations.MATRIX_ADDITION)) {
+			BigDecimal[][] x = matrix_X.getElements();
+			BigDecimal[][] y = matrix_Y.getElements();
+			for (int i = 0; i < matrix_Y.getRowNum(); i++) {
+				for (int j = 0; j < matrix_Y.getColumnNum(); j++) {
+					y[i][j] = y[i][j].add(alpha.multiply(x[i][j]), matrix_Y.getMathContext());
+				}
+			}
+			matrix_Y.writeBack(y);
+			result = matrix_Y;
+		}
+		return result;
+	}
+
+	/**
+	 * 通用矩阵乘加：matrix_C=alpha×matrix_A×matrix_B+beta×matrix_C，结果直接写入matrix_C，不分配新的矩阵。按matrix_C的精度策略舍入
+	 * 
+	 * @param alpha
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @param beta
+	 * @param matrix_C 被修改的矩阵，行数等于矩阵A行数、列数等于矩阵B列数，不能是matrix_A或matrix_B本身。未填充的元素视为0
+	 * @return matrix_C。维数不符时返回null
+	 */
+	public static Matrix gemm(BigDecimal alpha, Matrix matrix_A, Matrix matrix_B, BigDecimal beta, Matrix matrix_C) {
+		Matrix result = null;
+		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
+				Operations.MATRIX_MULTIPLICATION)
+				&& checkDimension(matrix_A.getRowNum(), matrix_B.getColumnNum(), matrix_C.getRowNum(), matrix_C.getColumnNum(),
+						Operations.MATRIX_ADDITION)) {
+			// 与matrix_A或matrix_B相同时不修改，由multiplyAccumulate报错
+			if (matrix_C != matrix_A && matrix_C != matrix_B) {
+				// 未填充的元素（null）视为0；beta为0时与DoubleMatrix.gemm一样直接清零
+				BigDecimal[][] c = matrix_C.getElements();
+				for (BigDecimal[] c_row : c) {
+					for (int j = 0; j < c_row.length; j++) {
+						if (beta.signum() == 0 || c_row[j] == null) {
+							c_row[j] = BigDecimal.ZERO;
+						} else if (beta.compareTo(BigDecimal.ONE) != 0) {
+							c_row[j] = c_row[j].multiply(beta, matrix_C.getMathContext());
+						}
+					}
+				}
+				matrix_C.writeBack(c);
+			}
+			result = MatrixMultiplier.getDefault().multiplyAccumulate(alpha.compareTo(BigDecimal.ONE) == 0 ? null : alpha, matrix_A, matrix_B, matrix_C);
+		}
+		return result;
+	}
+
 	/**
 	 * 矩阵转置
 	 * 
@@ -174,6 +457,7 @@ public class Matrix {
 	 */
 	public static Matrix matrixTranspose(Matrix matrix) {
 		Matrix result = new Matrix(matrix.getColumnNum(), matrix.getRowNum());
+		result.math_context = matrix.getMathContext();
 		for (int row_index = 1; row_index <= matrix.getRowNum(); row_index++) {
 			for (int column_index = 1; column_index <= matrix.getColumnNum(); column_index++) {
 				result.setElement(column_index, row_index, matrix.getElement(row_index, column_index));
@@ -194,24 +478,32 @@ public class Matrix {
 		// 如果矩阵A列数等于矩阵B行数，则可做乘法
 		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
 				Operations.MATRIX_MULTIPLICATION)) {
-			// 结果矩阵行数等于矩阵A行数，列数等于矩阵B列数
-			result = new Matrix(matrix_A.getRowNum(), matrix_B.getColumnNum());
-			// 矩阵A按行遍历
-			for (int row_index_A = 1; row_index_A <= matrix_A.getRowNum(); row_index_A++) {
-				// 矩阵A当前行向量
-				Vector current_row_vector_A = matrix_A.getRowVector(row_index_A);
-				// 矩阵B按列遍历
-				for (int column_index_B = 1; column_index_B <= matrix_B.getColumnNum(); column_index_B++) {
-					// 矩阵A当前行向量与矩阵B当前列向量点乘，作为结果矩阵相应位置元素
-					result.setElement(row_index_A, column_index_B, Vector.dotProduct(current_row_vector_A, matrix_B.getColumnVector(column_index_B)));
-				}
-			}
+			// 分块并行计算，结果矩阵行数等于矩阵A行数，列数等于矩阵B列数
+			result = MatrixMultiplier.getDefault().multiply(matrix_A, matrix_B);
 		}
 		return result;
 	}
 
 	/**
-	 * 行列式
+	 * 按指定精度做矩阵乘法，每次乘加后按math_context舍入
+	 * 
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @param math_context 运算及结果矩阵的精度策略
+	 * @return matrix_A×matrix_B
+	 */
+	public static Matrix matrixMultiplication(Matrix matrix_A, Matrix matrix_B, MathContext math_context) {
+		Matrix result = null;
+		if (checkDimension(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(),
+				Operations.MATRIX_MULTIPLICATION)) {
+			result = MatrixMultiplier.getDefault().multiply(matrix_A, matrix_B, math_context);
+		}
+		return result;
+	}
+
+	/**
+	 * 行列式。矩阵不限精度且元素全为整数时用Bareiss无分数消元精确计算；否则做列主元LU分解，按矩阵的精度策略舍入，不限精度时按{@link MathContext#DECIMAL128}。
+	 * 元素含小数而又需要精确结果时，直接使用{@link BareissElimination}
 	 * 
 	 * @param matrix
 	 * @return det(matrix)
@@ -219,68 +511,72 @@ public class Matrix {
 	public static BigDecimal det(Matrix matrix) {
 		BigDecimal result = null;
 		if (checkDimension(matrix.getRowNum(), matrix.getColumnNum(), 1, 1, Operations.SQUARE_MATRIX)) {
-			result = new BigDecimal("0");
-			if (matrix.getRowNum() == 1) {
-				result = matrix.getElement(1, 1);
+			if (useBareiss(matrix)) {
+				result = new BareissElimination(matrix).det();
 			} else {
-				int row_index = 1;
-				for (int column_index = 1; column_index <= matrix.getColumnNum(); column_index++) {
-					result = result.add(matrix.getElement(row_index, column_index).multiply(Matrix.cofactor(matrix, row_index, column_index)));
-				}
+				result = new LUDecomposition(matrix, luMathContext(matrix.getMathContext())).det();
 			}
 		}
 		return result;
 	}
 
 	/**
-	 * 逆矩阵
+	 * 矩阵的秩。用Bareiss无分数消元精确计算
 	 * 
 	 * @param matrix
-	 * @return 逆矩阵
+	 * @return rank(matrix)
 	 */
-	public static Matrix matrixInverse(Matrix matrix) {
-		Matrix result = null;
-		BigDecimal det = Matrix.det(matrix);
-		if (det.compareTo(BigDecimal.ZERO) != 0) {
-			result = Matrix.numMultiplication(BigDecimal.valueOf(1.0).divide(det, MathContext.DECIMAL128), Matrix.adjugateMatrix(matrix));
-		}
-		return result;
+	public static int rank(Matrix matrix) {
+		return new BareissElimination(matrix).getRank();
 	}
 
 	/**
-	 * 代数余子式
+	 * 逆矩阵。矩阵不限精度且元素全为整数时用Bareiss无分数消元计算，能用有限小数表示的元素是精确的，其余按{@link MathContext#DECIMAL128}舍入；
+	 * 否则做列主元LU分解，按矩阵的精度策略舍入，不限精度时按{@link MathContext#DECIMAL128}。需要多次求解时可直接复用{@link LUDecomposition}
 	 * 
 	 * @param matrix
-	 * @param row_index
-	 * @param column_index
-	 * @return cofactor
+	 * @return 逆矩阵。矩阵奇异时返回null
 	 */
-	private static BigDecimal cofactor(Matrix matrix, int row_index, int column_index) {
-		// TODO Auto-generated method stub
-		return Matrix.det(Matrix.minor(matrix, row_index, column_index)).multiply(BigDecimal.valueOf(Math.pow(-1, row_index + column_index)));
+	public static Matrix matrixInverse(Matrix matrix) {
+		Matrix result = null;
+		if (checkDimension(matrix.getRowNum(), matrix.getColumnNum(), 1, 1, Operations.SQUARE_MATRIX)) {
+			if (useBareiss(matrix)) {
+				BareissElimination bareiss = new BareissElimination(matrix);
+				if (!bareiss.isSingular()) {
+					result = bareiss.inverse();
+				}
+			} else {
+				LUDecomposition lu = new LUDecomposition(matrix, luMathContext(matrix.getMathContext()));
+				if (!lu.isSingular()) {
+					result = lu.inverse();
+					result.math_context = matrix.getMathContext();
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
-	 * 余子阵
-	 * 
-	 * @param matrix
-	 * @param row_index
-	 * @param column_index
-	 * @return 余子阵M
+	 * 是否用Bareiss无分数消元：矩阵不限精度且元素全为整数（未设置的元素视为0）。含小数的元素会使Bareiss的中间结果位数迅速增长，此时LU分解快得多
 	 */
-	private static Matrix minor(Matrix matrix, int row_index, int column_index) {
-		// TODO Auto-generated method stub
-		Matrix result = null;
-		if (checkDimension(row_index, column_index, matrix.getRowNum(), matrix.getColumnNum(), Operations.MINOR)) {
-			result = matrix;
-			// 从当前result中删除第row_index行
-			result = Matrix.deleteRow(result, row_index);
-			// 从当前result中删除第column_index列
-			result = Matrix.deleteColumn(result, column_index);
+	static boolean useBareiss(Matrix matrix) {
+		boolean result = matrix.getMathContext().getPrecision() == 0;
+		BigDecimal[][] elements = matrix.getElements();
+		for (int i = 0; i < elements.length && result; i++) {
+			for (int j = 0; j < elements[i].length && result; j++) {
+				result = elements[i][j] == null || elements[i][j].signum() == 0 || elements[i][j].stripTrailingZeros().scale() <= 0;
+			}
 		}
 		return result;
 	}
 
+	/**
+	 * LU分解所用的精度：矩阵不限精度时按{@link MathContext#DECIMAL128}
+	 */
+	static MathContext luMathContext(MathContext math_context) {
+		return math_context.getPrecision() == 0 ? MathContext.DECIMAL128 : math_context;
+	}
+
 	/**
 	 * 删除矩阵的一行
 	 * 
@@ -293,6 +589,7 @@ public class Matrix {
 		Matrix result = null;
 		if (checkDimension(row_index, 1, matrix.getRowNum(), 2, Operations.MINOR)) {
 			result = new Matrix(matrix.getRowNum() - 1, matrix.getColumnNum());
+			result.math_context = matrix.getMathContext();
 			int row_index_before_end = row_index - 1;
 			int row_index_after_start = row_index + 1;
 			for (int row_index_before = 1; row_index_before <= row_index_before_end; row_index_before++) {
@@ -321,6 +618,7 @@ public class Matrix {
 		Matrix result = null;
 		if (checkDimension(1, column_index, 2, matrix.getColumnNum(), Operations.MINOR)) {
 			result = new Matrix(matrix.getRowNum(), matrix.getColumnNum() - 1);
+			result.math_context = matrix.getMathContext();
 			int column_index_before_end = column_index - 1;
 			int column_index_after_start = column_index + 1;
 			for (int column_index_before = 1; column_index_before <= column_index_before_end; column_index_before++) {
@@ -338,22 +636,17 @@ public class Matrix {
 	}
 
 	/**
-	 * 伴随矩阵
+	 * 两个运算数的精度策略中较严格（有效位数较少）的一个。不限精度视为最宽松
 	 * 
-	 * @param matrix
-	 * @return 伴随矩阵
+	 * @param math_context_A
+	 * @param math_context_B
+	 * @return 结果所用的精度策略
 	 */
-	private static Matrix adjugateMatrix(Matrix matrix) {
-		// TODO Auto-generated method stub
-		Matrix result = null;
-		if (checkDimension(matrix.getRowNum(), matrix.getColumnNum(), 1, 1, Operations.SQUARE_MATRIX)) {
-			result = new Matrix(matrix.getRowNum(), matrix.getColumnNum());
-			for (int row_index = 1; row_index <= matrix.getRowNum(); row_index++) {
-				for (int column_index = 1; column_index <= matrix.getColumnNum(); column_index++) {
-					result.setElement(row_index, column_index, Matrix.cofactor(matrix, row_index, column_index));
-				}
-			}
-			result = Matrix.matrixTranspose(result);
+	static MathContext mergeMathContext(MathContext math_context_A, MathContext math_context_B) {
+		MathContext result = math_context_A;
+		if (math_context_A.getPrecision() == 0
+				|| (math_context_B.getPrecision() != 0 && math_context_B.getPrecision() < math_context_A.getPrecision())) {
+			result = math_context_B;
 		}
 		return result;
 	}
@@ -502,26 +795,16 @@ public class Matrix {
 	 */
 	public static String print(Matrix matrix) {
 		String result = null;
-		StringBuilder sb = new StringBuilder();
+		StringWriter writer = new StringWriter();
 		if (matrix != null) {
-			// 逐行打印
-			for (int row_index = 1; row_index <= matrix.getRowNum(); row_index++) {
-				// 先向sb中添加当前行第一个元素
-				int column_index = 1;
-				sb.append(matrix.getElement(row_index, column_index).doubleValue());
-				column_index++;
-				// 当前行后面的元素前都加制表符
-				while (column_index <= matrix.getColumnNum()) {
-					sb.append("\t" + matrix.getElement(row_index, column_index).doubleValue());
-					column_index++;
-				}
-				// 如果当前行不是矩阵最后一行，则在末尾添加换行符
-				if (row_index < matrix.getRowNum()) {
-					sb.append("\n");
-				}
+			// 逐行写出，同行元素以制表符分隔。大矩阵应直接用MatrixTextIO写入文件，而不是先拼成String
+			try {
+				MatrixTextIO.writeDelimited(matrix, writer, '\t', false);
+			} catch (IOException e) {
+				e.printStackTrace();
 			}
 		}
-		result = sb.toString();
+		result = writer.toString();
 		System.out.println(result);
 		return result;
 	}
@@ -0,0 +1,365 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 惰性矩阵表达式。加、减、数乘、乘法只构建表达式图（DAG），调用{@link #evaluate()}时才计算：
+ * <ul>
+ * <li>由加、减、数乘连成的逐元素运算链展开为线性组合Σk<sub>t</sub>·M<sub>t</sub>，一次遍历算出，不产生中间矩阵</li>
+ * <li>线性组合中的一个乘积项α·A·B不单独求出，而是在线性组合的其余部分算完后用{@link Matrix#gemm}直接累加进结果，即A*B+C只需一次乘加</li>
+ * <li>被多个表达式引用的子表达式只求值一次</li>
+ * </ul>
+ * 例如matrixAddition(matrixMultiplication(A,B), numMultiplication(k,C))可写为
+ * {@code MatrixExpression.of(A).multiply(MatrixExpression.of(B)).add(MatrixExpression.of(C).scale(k)).evaluate()}
+ *
+ * @author cfw
+ */
+public abstract class MatrixExpression {
+	private final int row_num;
+	private final int column_num;
+
+	private MatrixExpression(int row_num, int column_num) {
+		this.row_num = row_num;
+		this.column_num = column_num;
+	}
+
+	/**
+	 * 以矩阵为叶子节点。求值时读取矩阵当时的元素
+	 *
+	 * @param matrix
+	 * @return 表达式
+	 */
+	public static MatrixExpression of(Matrix matrix) {
+		return new Leaf(matrix);
+	}
+
+	public int getRowNum() {
+		return row_num;
+	}
+
+	public int getColumnNum() {
+		return column_num;
+	}
+
+	/**
+	 * @param expression
+	 * @return this+expression。不同型时返回null
+	 */
+	public MatrixExpression add(MatrixExpression expression) {
+		MatrixExpression result = null;
+		if (checkSameShape(expression)) {
+			result = new Sum(this, expression, false);
+		}
+		return result;
+	}
+
+	/**
+	 * @param expression
+	 * @return this-expression。不同型时返回null
+	 */
+	public MatrixExpression subtract(MatrixExpression expression) {
+		MatrixExpression result = null;
+		if (checkSameShape(expression)) {
+			result = new Sum(this, expression, true);
+		}
+		return result;
+	}
+
+	/**
+	 * @param num
+	 * @return num×this
+	 */
+	public MatrixExpression scale(BigDecimal num) {
+		return new Scale(num, this);
+	}
+
+	/**
+	 * @param num
+	 * @return num×this
+	 */
+	public MatrixExpression scale(double num) {
+		return scale(BigDecimal.valueOf(num));
+	}
+
+	/**
+	 * @param expression
+	 * @return this×expression。this的列数不等于expression的行数时返回null
+	 */
+	public MatrixExpression multiply(MatrixExpression expression) {
+		MatrixExpression result = null;
+		if (column_num != expression.row_num) {
+			System.out.println("column_A not equals with row_B");
+		} else {
+			result = new Product(this, expression);
+		}
+		return result;
+	}
+
+	/**
+	 * 求值，按所有叶子矩阵中最严格的精度策略计算
+	 *
+	 * @return 新的结果矩阵
+	 */
+	public Matrix evaluate() {
+		Evaluation evaluation = new Evaluation(this);
+		return evaluate(evaluation.math_contexts.get(this), evaluation);
+	}
+
+	/**
+	 * 求值，每次加法、乘加后按math_context舍入，结果矩阵的精度策略也为math_context
+	 *
+	 * @param math_context
+	 * @return 新的结果矩阵
+	 */
+	public Matrix evaluate(MathContext math_context) {
+		return evaluate(math_context, new Evaluation(this));
+	}
+
+	private Matrix evaluate(MathContext math_context, Evaluation evaluation) {
+		List<Term> terms = new ArrayList<>();
+		collect(BigDecimal.ONE, terms, math_context, evaluation);
+		return combine(terms, math_context, evaluation);
+	}
+
+	/**
+	 * 把以this为根的逐元素运算链展开为线性组合，各项乘以coefficient后加入terms。遇到乘积或被共享的子表达式时停止展开
+	 */
+	abstract void collect(BigDecimal coefficient, List<Term> terms, MathContext math_context, Evaluation evaluation);
+
+	/**
+	 * 直接的运算数
+	 */
+	abstract MatrixExpression[] operands();
+
+	/**
+	 * 供父节点展开时调用：被共享的非叶子子表达式只求值一次，作为叶子加入线性组合
+	 */
+	final void collectOperand(BigDecimal coefficient, List<Term> terms, MathContext math_context, Evaluation evaluation) {
+		if (evaluation.references.get(this) > 1) {
+			terms.add(new Term(coefficient, operandValue(math_context, evaluation)));
+		} else {
+			collect(coefficient, terms, math_context, evaluation);
+		}
+	}
+
+	/**
+	 * 作为运算数的值：叶子直接使用其矩阵，其余在本次求值中只算一次
+	 */
+	Matrix operandValue(MathContext math_context, Evaluation evaluation) {
+		Matrix result = evaluation.values.get(this);
+		if (result == null) {
+			result = evaluate(math_context, evaluation);
+			evaluation.values.put(this, result);
+		}
+		return result;
+	}
+
+	/**
+	 * 线性组合Σk<sub>t</sub>·M<sub>t</sub>+α·A·B：先一次遍历算出所有矩阵项之和，再把第一个乘积项用gemm累加进去，其余乘积项先求出再参与遍历
+	 */
+	private Matrix combine(List<Term> terms, MathContext math_context, Evaluation evaluation) {
+		Term accumulated = null;
+		List<BigDecimal> coefficients = new ArrayList<>();
+		List<BigDecimal[][]> operands = new ArrayList<>();
+		for (Term term : terms) {
+			if (term.left == null) {
+				coefficients.add(term.coefficient);
+				operands.add(term.matrix.getElements());
+			} else if (accumulated == null) {
+				accumulated = term;
+			} else {
+				coefficients.add(term.coefficient);
+				Matrix product = MatrixMultiplier.getDefault().multiply(term.left.operandValue(math_context, evaluation), term.right.operandValue(math_context, evaluation),
+						math_context);
+				operands.add(product.getElements());
+			}
+		}
+		Matrix result = new Matrix(row_num, column_num);
+		result.setMathContext(math_context);
+		BigDecimal[][] elements = result.getElements();
+		for (int i = 0; i < row_num; i++) {
+			for (int j = 0; j < column_num; j++) {
+				BigDecimal element = BigDecimal.ZERO;
+				for (int t = 0; t < operands.size(); t++) {
+					BigDecimal coefficient = coefficients.get(t);
+					BigDecimal operand = operands.get(t)[i][j];
+					element = element.add(coefficient.compareTo(BigDecimal.ONE) == 0 ? operand : coefficient.multiply(operand), math_context);
+				}
+				elements[i][j] = element;
+			}
+		}
+		if (accumulated != null) {
+			Matrix matrix_A = accumulated.left.operandValue(math_context, evaluation);
+			Matrix matrix_B = accumulated.right.operandValue(math_context, evaluation);
+			Matrix.gemm(accumulated.coefficient, matrix_A, matrix_B, BigDecimal.ONE, result);
+		}
+		return result;
+	}
+
+	private boolean checkSameShape(MatrixExpression expression) {
+		boolean result = false;
+		if (row_num != expression.row_num) {
+			System.out.println("row dimension not the same");
+		} else if (column_num != expression.column_num) {
+			System.out.println("column dimension not the same");
+		} else {
+			result = true;
+		}
+		return result;
+	}
+
+	/**
+	 * 一次求值的状态。构造时遍历一遍表达式图，每个节点只访问一次，统计各子表达式在本图中被引用的次数并合并叶子的精度策略
+	 */
+	private static final class Evaluation {
+		/**
+		 * 作为运算数被引用的次数。大于1时只算一次，结果供其余引用者复用
+		 */
+		final Map<MatrixExpression, Integer> references = new IdentityHashMap<>();
+		/**
+		 * 以各节点为根的子表达式中所有叶子矩阵最严格的精度策略
+		 */
+		final Map<MatrixExpression, MathContext> math_contexts = new IdentityHashMap<>();
+		/**
+		 * 已求出的共享子表达式
+		 */
+		final Map<MatrixExpression, Matrix> values = new IdentityHashMap<>();
+
+		Evaluation(MatrixExpression root) {
+			visit(root);
+		}
+
+		private MathContext visit(MatrixExpression expression) {
+			MathContext result = math_contexts.get(expression);
+			if (result == null) {
+				result = expression instanceof Leaf ? ((Leaf) expression).matrix.getMathContext() : null;
+				for (MatrixExpression operand : expression.operands()) {
+					references.merge(operand, 1, Integer::sum);
+					MathContext operand_context = visit(operand);
+					result = result == null ? operand_context : Matrix.mergeMathContext(result, operand_context);
+				}
+				math_contexts.put(expression, result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * 线性组合中的一项：coefficient·matrix，或coefficient·left·right
+	 */
+	private static final class Term {
+		final BigDecimal coefficient;
+		final Matrix matrix;
+		final MatrixExpression left;
+		final MatrixExpression right;
+
+		Term(BigDecimal coefficient, Matrix matrix) {
+			this.coefficient = coefficient;
+			this.matrix = matrix;
+			this.left = null;
+			this.right = null;
+		}
+
+		Term(BigDecimal coefficient, MatrixExpression left, MatrixExpression right) {
+			this.coefficient = coefficient;
+			this.matrix = null;
+			this.left = left;
+			this.right = right;
+		}
+	}
+
+	private static final class Leaf extends MatrixExpression {
+		private final Matrix matrix;
+
+		Leaf(Matrix matrix) {
+			super(matrix.getRowNum(), matrix.getColumnNum());
+			this.matrix = matrix;
+		}
+
+		@Override
+		void collect(BigDecimal coefficient, List<Term> terms, MathContext math_context, Evaluation evaluation) {
+			terms.add(new Term(coefficient, matrix));
+		}
+
+		@Override
+		Matrix operandValue(MathContext math_context, Evaluation evaluation) {
+			return matrix;
+		}
+
+		@Override
+		MatrixExpression[] operands() {
+			return new MatrixExpression[0];
+		}
+	}
+
+	private static final class Sum extends MatrixExpression {
+		private final MatrixExpression left;
+		private final MatrixExpression right;
+		private final boolean subtract;
+
+		Sum(MatrixExpression left, MatrixExpression right, boolean subtract) {
+			super(left.row_num, left.column_num);
+			this.left = left;
+			this.right = right;
+			this.subtract = subtract;
+		}
+
+		@Override
+		void collect(BigDecimal coefficient, List<Term> terms, MathContext math_context, Evaluation evaluation) {
+			left.collectOperand(coefficient, terms, math_context, evaluation);
+			right.collectOperand(subtract ? coefficient.negate() : coefficient, terms, math_context, evaluation);
+		}
+
+		@Override
+		MatrixExpression[] operands() {
+			return new MatrixExpression[] { left, right };
+		}
+	}
+
+	private static final class Scale extends MatrixExpression {
+		private final BigDecimal num;
+		private final MatrixExpression operand;
+
+		Scale(BigDecimal num, MatrixExpression operand) {
+			super(operand.row_num, operand.column_num);
+			this.num = num;
+			this.operand = operand;
+		}
+
+		@Override
+		void collect(BigDecimal coefficient, List<Term> terms, MathContext math_context, Evaluation evaluation) {
+			operand.collectOperand(coefficient.multiply(num), terms, math_context, evaluation);
+		}
+
+		@Override
+		MatrixExpression[] operands() {
+			return new MatrixExpression[] { operand };
+		}
+	}
+
+	private static final class Product extends MatrixExpression {
+		private final MatrixExpression left;
+		private final MatrixExpression right;
+
+		Product(MatrixExpression left, MatrixExpression right) {
+			super(left.row_num, right.column_num);
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		void collect(BigDecimal coefficient, List<Term> terms, MathContext math_context, Evaluation evaluation) {
+			terms.add(new Term(coefficient, left, right));
+		}
+
+		@Override
+		MatrixExpression[] operands() {
+			return new MatrixExpression[] { left, right };
+		}
+	}
+}
@@ -0,0 +1,317 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * 方阵的幂、指数与多项式。都尽量减少O(n<sup>3</sup>)的矩阵乘法次数：
+ * <ul>
+ * <li>幂A<sup>k</sup>用反复平方，只需O(log k)次乘法</li>
+ * <li>指数e<sup>A</sup>用缩放与平方加Padé近似（Higham 2005），乘法次数与‖A‖的对数成正比</li>
+ * <li>d次多项式用Paterson-Stockmeyer方法，只需约2√d次乘法，而Horner方法需要d次</li>
+ * </ul>
+ *
+ * @author cfw
+ */
+public class MatrixFunctions {
+	/**
+	 * Padé阶数m=3、5、7、9、13各自适用的‖A‖<sub>1</sub>上界，在此范围内截断误差不超过double的单位舍入
+	 */
+	private static final double[] PADE_THETAS = { 1.495585217958292e-2, 2.539398330063230e-1, 9.504178996162932e-1, 2.097847961257068e0,
+			5.371920351148152e0 };
+	private static final int[] PADE_DEGREES = { 3, 5, 7, 9, 13 };
+	private static final double[][] PADE_COEFFICIENTS = { { 120, 60, 12, 1 }, { 30240, 15120, 3360, 420, 30, 1 },
+			{ 17297280, 8648640, 1995840, 277200, 25200, 1512, 56, 1 }, { 17643225600.0, 8821612800.0, 2075673600, 302702400, 30270240, 2162160, 110880, 3960, 90, 1 },
+			{ 64764752532480000.0, 32382376266240000.0, 7771770303897600.0, 1187353796428800.0, 129060195264000.0, 10559470521600.0, 670442572800.0, 33522128640.0,
+					1323241920, 40840800, 960960, 16380, 182, 1 } };
+
+	/**
+	 * 矩阵的幂，用反复平方计算
+	 *
+	 * @param matrix   方阵
+	 * @param exponent 指数，为负时先求逆
+	 * @return matrix<sup>exponent</sup>。不是方阵、或指数为负而矩阵奇异时返回null
+	 */
+	public static DoubleMatrix power(DoubleMatrix matrix, int exponent) {
+		DoubleMatrix result = null;
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			System.out.println("matrix is not a Square Matrix");
+		} else {
+			DoubleMatrix base = exponent < 0 ? DoubleMatrix.matrixInverse(matrix) : matrix;
+			if (base != null) {
+				MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+				// 从低位到高位扫描指数的二进制位
+				long remaining = Math.abs((long) exponent);
+				result = DoubleMatrix.identityMatrix(matrix.getRowNum());
+				boolean first = true;
+				while (remaining > 0) {
+					if ((remaining & 1) == 1) {
+						result = first ? copy(base) : multiplier.multiply(result, base);
+						first = false;
+					}
+					remaining >>= 1;
+					if (remaining > 0) {
+						base = multiplier.multiply(base, base);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 矩阵的幂，用反复平方计算，按矩阵的精度策略舍入
+	 *
+	 * @param matrix   方阵
+	 * @param exponent 指数，为负时先求逆
+	 * @return matrix<sup>exponent</sup>。不是方阵、或指数为负而矩阵奇异时返回null
+	 */
+	public static Matrix power(Matrix matrix, int exponent) {
+		Matrix result = null;
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			System.out.println("matrix is not a Square Matrix");
+		} else {
+			Matrix base = exponent < 0 ? Matrix.matrixInverse(matrix) : matrix;
+			if (base != null) {
+				MathContext math_context = matrix.getMathContext();
+				MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+				long remaining = Math.abs((long) exponent);
+				result = Matrix.identityMatrix(matrix.getRowNum());
+				result.setMathContext(math_context);
+				boolean first = true;
+				while (remaining > 0) {
+					if ((remaining & 1) == 1) {
+						result = first ? base : multiplier.multiply(result, base, math_context);
+						first = false;
+					}
+					remaining >>= 1;
+					if (remaining > 0) {
+						base = multiplier.multiply(base, base, math_context);
+					}
+				}
+				if (result == matrix) {
+					result = Matrix.numMultiplication(BigDecimal.ONE, matrix, math_context);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 矩阵指数e<sup>A</sup>=Σ<sub>k</sub>A<sup>k</sup>/k!，用缩放与平方加Padé近似计算：按‖A‖<sub>1</sub>选择Padé阶数m，
+	 * ‖A‖<sub>1</sub>过大时先除以2<sup>s</sup>，求出r<sub>m</sub>(A/2<sup>s</sup>)后再平方s次。
+	 * 适用于连续时间马尔可夫链的转移矩阵e<sup>Qt</sup>、图的通信度等
+	 *
+	 * @param matrix 方阵
+	 * @return e<sup>matrix</sup>。不是方阵时返回null
+	 */
+	public static DoubleMatrix exp(DoubleMatrix matrix) {
+		DoubleMatrix result = null;
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			System.out.println("matrix is not a Square Matrix");
+		} else {
+			double norm = norm1(matrix);
+			int degree_index = 0;
+			while (degree_index < PADE_THETAS.length - 1 && norm > PADE_THETAS[degree_index]) {
+				degree_index++;
+			}
+			int squarings = 0;
+			DoubleMatrix a = matrix;
+			if (norm > PADE_THETAS[PADE_THETAS.length - 1]) {
+				squarings = Math.max(0, (int) Math.ceil(Math.log(norm / PADE_THETAS[PADE_THETAS.length - 1]) / Math.log(2)));
+				a = DoubleMatrix.numMultiplication(Math.scalb(1.0, -squarings), matrix);
+			}
+			DoubleMatrix[] uv = PADE_DEGREES[degree_index] == 13 ? pade13(a) : padeLowDegree(a, PADE_COEFFICIENTS[degree_index]);
+			// r_m(A)=(V-U)^(-1)(V+U)
+			DoubleMatrix numerator = DoubleMatrix.matrixAddition(uv[1], uv[0]);
+			DoubleMatrix denominator = DoubleMatrix.subtractInPlace(uv[1], uv[0]);
+			result = new DoubleLUDecomposition(denominator).solve(numerator);
+			MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+			for (int i = 0; i < squarings; i++) {
+				result = multiplier.multiply(result, result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 用Paterson-Stockmeyer方法求矩阵多项式p(A)=Σc<sub>i</sub>A<sup>i</sup>。取s≈√(d+1)，先求A<sup>2</sup>~A<sup>s</sup>，
+	 * 再把p按A<sup>s</sup>的幂分组、对A<sup>s</sup>用Horner方法，共约s+d/s次矩阵乘法，每组内只做数乘与加法
+	 *
+	 * @param coefficients c<sub>0</sub>~c<sub>d</sub>，下标即次数
+	 * @param matrix       方阵
+	 * @return p(matrix)。不是方阵或没有系数时返回null
+	 */
+	public static DoubleMatrix polynomial(double[] coefficients, DoubleMatrix matrix) {
+		DoubleMatrix result = null;
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			System.out.println("matrix is not a Square Matrix");
+		} else if (coefficients.length == 0) {
+			System.out.println("coefficients must not be empty");
+		} else {
+			int n = matrix.getRowNum();
+			int degree = coefficients.length - 1;
+			int s = Math.max(1, (int) Math.ceil(Math.sqrt(degree + 1)));
+			// powers[i]=A^i，i=0~s
+			DoubleMatrix[] powers = new DoubleMatrix[s + 1];
+			powers[0] = DoubleMatrix.identityMatrix(n);
+			powers[1] = matrix;
+			MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+			for (int i = 2; i <= s && i <= degree; i++) {
+				powers[i] = multiplier.multiply(powers[i - 1], matrix);
+			}
+			// 对A^s做Horner：P=B_r，P=P·A^s+B_j，B_j=Σ_{i<s}c_{js+i}A^i
+			int groups = degree / s;
+			result = group(coefficients, groups * s, Math.min(s, degree - groups * s + 1), powers, n);
+			for (int j = groups - 1; j >= 0; j--) {
+				DoubleMatrix next = group(coefficients, j * s, s, powers, n);
+				DoubleMatrix.gemm(1.0, result, powers[s], 1.0, next);
+				result = next;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 用Paterson-Stockmeyer方法求矩阵多项式p(A)=Σc<sub>i</sub>A<sup>i</sup>，按矩阵的精度策略舍入
+	 *
+	 * @param coefficients c<sub>0</sub>~c<sub>d</sub>，下标即次数
+	 * @param matrix       方阵
+	 * @return p(matrix)。不是方阵或没有系数时返回null
+	 */
+	public static Matrix polynomial(BigDecimal[] coefficients, Matrix matrix) {
+		Matrix result = null;
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			System.out.println("matrix is not a Square Matrix");
+		} else if (coefficients.length == 0) {
+			System.out.println("coefficients must not be empty");
+		} else {
+			int n = matrix.getRowNum();
+			MathContext math_context = matrix.getMathContext();
+			int degree = coefficients.length - 1;
+			int s = Math.max(1, (int) Math.ceil(Math.sqrt(degree + 1)));
+			Matrix[] powers = new Matrix[s + 1];
+			powers[1] = matrix;
+			MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+			for (int i = 2; i <= s && i <= degree; i++) {
+				powers[i] = multiplier.multiply(powers[i - 1], matrix, math_context);
+			}
+			int groups = degree / s;
+			result = group(coefficients, groups * s, Math.min(s, degree - groups * s + 1), powers, n, math_context);
+			for (int j = groups - 1; j >= 0; j--) {
+				Matrix next = group(coefficients, j * s, s, powers, n, math_context);
+				Matrix.gemm(BigDecimal.ONE, result, powers[s], BigDecimal.ONE, next);
+				result = next;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Σ<sub>i&lt;length</sub>c<sub>offset+i</sub>A<sup>i</sup>，只做数乘与加法
+	 */
+	private static DoubleMatrix group(double[] coefficients, int offset, int length, DoubleMatrix[] powers, int n) {
+		DoubleMatrix result = new DoubleMatrix(n, n);
+		for (int i = 0; i < length; i++) {
+			double coefficient = coefficients[offset + i];
+			if (coefficient != 0.0) {
+				DoubleMatrix.axpy(coefficient, powers[i], result);
+			}
+		}
+		return result;
+	}
+
+	private static Matrix group(BigDecimal[] coefficients, int offset, int length, Matrix[] powers, int n, MathContext math_context) {
+		Matrix result = new Matrix(n, n);
+		result.setMathContext(math_context);
+		BigDecimal[][] elements = result.getElements();
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				// A^0=I只影响对角线
+				elements[i][j] = i == j ? coefficients[offset] : BigDecimal.ZERO;
+			}
+		}
+		for (int k = 1; k < length; k++) {
+			if (coefficients[offset + k].signum() != 0) {
+				Matrix.axpy(coefficients[offset + k], powers[k], result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * m≤9时的Padé分子、分母：U=A·Σb<sub>2k+1</sub>A<sup>2k</sup>，V=Σb<sub>2k</sub>A<sup>2k</sup>
+	 */
+	private static DoubleMatrix[] padeLowDegree(DoubleMatrix a, double[] b) {
+		int n = a.getRowNum();
+		MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+		DoubleMatrix a2 = multiplier.multiply(a, a);
+		DoubleMatrix even_power = DoubleMatrix.identityMatrix(n);
+		DoubleMatrix u = new DoubleMatrix(n, n);
+		DoubleMatrix v = new DoubleMatrix(n, n);
+		for (int k = 0; 2 * k < b.length; k++) {
+			if (k > 0) {
+				even_power = multiplier.multiply(even_power, a2);
+			}
+			DoubleMatrix.axpy(b[2 * k + 1], even_power, u);
+			DoubleMatrix.axpy(b[2 * k], even_power, v);
+		}
+		return new DoubleMatrix[] { multiplier.multiply(a, u), v };
+	}
+
+	/**
+	 * m=13时只需A<sup>2</sup>、A<sup>4</sup>、A<sup>6</sup>与另外3次乘法：
+	 * U=A[A<sup>6</sup>(b<sub>13</sub>A<sup>6</sup>+b<sub>11</sub>A<sup>4</sup>+b<sub>9</sub>A<sup>2</sup>)+b<sub>7</sub>A<sup>6</sup>+b<sub>5</sub>A<sup>4</sup>+b<sub>3</sub>A<sup>2</sup>+b<sub>1</sub>I]，
+	 * V=A<sup>6</sup>(b<sub>12</sub>A<sup>6</sup>+b<sub>10</sub>A<sup>4</sup>+b<sub>8</sub>A<sup>2</sup>)+b<sub>6</sub>A<sup>6</sup>+b<sub>4</sub>A<sup>4</sup>+b<sub>2</sub>A<sup>2</sup>+b<sub>0</sub>I
+	 */
+	private static DoubleMatrix[] pade13(DoubleMatrix a) {
+		double[] b = PADE_COEFFICIENTS[PADE_COEFFICIENTS.length - 1];
+		int n = a.getRowNum();
+		MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+		DoubleMatrix identity = DoubleMatrix.identityMatrix(n);
+		DoubleMatrix a2 = multiplier.multiply(a, a);
+		DoubleMatrix a4 = multiplier.multiply(a2, a2);
+		DoubleMatrix a6 = multiplier.multiply(a4, a2);
+		DoubleMatrix inner_u = combination(b[13], a6, b[11], a4, b[9], a2, 0.0, identity);
+		DoubleMatrix outer_u = combination(b[7], a6, b[5], a4, b[3], a2, b[1], identity);
+		DoubleMatrix.gemm(1.0, a6, inner_u, 1.0, outer_u);
+		DoubleMatrix inner_v = combination(b[12], a6, b[10], a4, b[8], a2, 0.0, identity);
+		DoubleMatrix v = combination(b[6], a6, b[4], a4, b[2], a2, b[0], identity);
+		DoubleMatrix.gemm(1.0, a6, inner_v, 1.0, v);
+		return new DoubleMatrix[] { multiplier.multiply(a, outer_u), v };
+	}
+
+	private static DoubleMatrix combination(double c6, DoubleMatrix a6, double c4, DoubleMatrix a4, double c2, DoubleMatrix a2, double c0, DoubleMatrix identity) {
+		DoubleMatrix result = DoubleMatrix.numMultiplication(c6, a6);
+		DoubleMatrix.axpy(c4, a4, result);
+		DoubleMatrix.axpy(c2, a2, result);
+		if (c0 != 0.0) {
+			DoubleMatrix.axpy(c0, identity, result);
+		}
+		return result;
+	}
+
+	/**
+	 * 1-范数，即各列元素绝对值之和的最大值
+	 */
+	private static double norm1(DoubleMatrix matrix) {
+		int m = matrix.getRowNum();
+		int n = matrix.getColumnNum();
+		double[] elements = matrix.getElements();
+		double[] column_sums = new double[n];
+		for (int i = 0; i < m; i++) {
+			for (int j = 0; j < n; j++) {
+				column_sums[j] += Math.abs(elements[i * n + j]);
+			}
+		}
+		double result = 0.0;
+		for (double column_sum : column_sums) {
+			result = Math.max(result, column_sum);
+		}
+		return result;
+	}
+
+	private static DoubleMatrix copy(DoubleMatrix matrix) {
+		return new DoubleMatrix(matrix.getRowNum(), matrix.getColumnNum(), matrix.getElements().clone());
+	}
+}
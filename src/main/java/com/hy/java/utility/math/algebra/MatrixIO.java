@@ -0,0 +1,411 @@
+package com.hy.java.utility.math.algebra;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import com.hy.java.utility.common.FileEditor;
+
+/**
+ * 矩阵、向量的二进制读写，与{@link OffHeapMatrix}使用同一种带版本号的文件格式：64字节文件头（magic"HYMX"、版本、元素类型、行数、列数，小端序），其后为元素数据。
+ * 元素类型有两种：
+ * <ul>
+ * <li>double：按行优先排列的小端序{@code double}，定长、8字节对齐，可以直接用{@link OffHeapMatrix#open(String)}映射，或用{@link #readDoubleMatrix(String)}一次读入，不需要解析</li>
+ * <li>decimal：逐个元素依次为scale（int）、非标度值的字节数（int）、非标度值的补码字节，精确保存{@link BigDecimal}；文件头的第16、20字节处另存矩阵的精度策略</li>
+ * </ul>
+ * 向量按n×1矩阵保存。所有读写都是流式的，不会在内存中拼出整个文件
+ *
+ * @author cfw
+ */
+public class MatrixIO {
+	static final short TYPE_DECIMAL = 2;
+	/**
+	 * 流式读写的缓冲区大小
+	 */
+	private static final int BUFFER_BYTES = 1 << 16;
+
+	/**
+	 * 把矩阵写入文件。exact为false时按double保存，文件可被{@link OffHeapMatrix#open(String)}映射
+	 *
+	 * @param matrix
+	 * @param file_path
+	 * @param exact     是否精确保存{@link BigDecimal}
+	 */
+	public static void write(Matrix matrix, String file_path, boolean exact) {
+		OutputStream output_stream = new FileEditor(file_path).openOutputStream(false);
+		if (output_stream != null) {
+			try (OutputStream output = output_stream) {
+				write(matrix, output, exact);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * 把矩阵写入输出流，不关闭输出流
+	 *
+	 * @param matrix
+	 * @param output_stream
+	 * @param exact         是否精确保存{@link BigDecimal}
+	 * @throws IOException
+	 */
+	public static void write(Matrix matrix, OutputStream output_stream, boolean exact) throws IOException {
+		write(matrix.getElements(), matrix.getRowNum(), matrix.getColumnNum(), matrix.getMathContext(), output_stream, exact);
+	}
+
+	/**
+	 * 把向量写入输出流，不关闭输出流
+	 *
+	 * @param vector
+	 * @param output_stream
+	 * @param exact         是否精确保存{@link BigDecimal}
+	 * @throws IOException
+	 */
+	public static void write(Vector vector, OutputStream output_stream, boolean exact) throws IOException {
+		BigDecimal[] coordinates = vector.getCoordinates();
+		BigDecimal[][] column = new BigDecimal[coordinates.length][];
+		for (int i = 0; i < coordinates.length; i++) {
+			column[i] = new BigDecimal[] { coordinates[i] };
+		}
+		write(column, coordinates.length, 1, vector.getMathContext(), output_stream, exact);
+	}
+
+	/**
+	 * 把{@link DoubleMatrix}写入文件，文件可被{@link OffHeapMatrix#open(String)}映射
+	 *
+	 * @param matrix
+	 * @param file_path
+	 */
+	public static void write(DoubleMatrix matrix, String file_path) {
+		OutputStream output_stream = new FileEditor(file_path).openOutputStream(false);
+		if (output_stream != null) {
+			try (OutputStream output = output_stream) {
+				write(matrix, output);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * 把{@link DoubleMatrix}写入输出流，不关闭输出流
+	 *
+	 * @param matrix
+	 * @param output_stream
+	 * @throws IOException
+	 */
+	public static void write(DoubleMatrix matrix, OutputStream output_stream) throws IOException {
+		WritableByteChannel channel = Channels.newChannel(output_stream);
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(OffHeapMatrix.BYTE_ORDER);
+		putHeader(buffer, OffHeapMatrix.TYPE_DOUBLE, matrix.getRowNum(), matrix.getColumnNum(), MathContext.UNLIMITED);
+		double[] elements = matrix.getElements();
+		int offset = 0;
+		while (offset < elements.length) {
+			if (buffer.remaining() < Double.BYTES) {
+				drain(buffer, channel);
+			}
+			int length = Math.min(elements.length - offset, buffer.remaining() / Double.BYTES);
+			DoubleBuffer doubles = buffer.asDoubleBuffer();
+			doubles.put(elements, offset, length);
+			buffer.position(buffer.position() + length * Double.BYTES);
+			offset += length;
+		}
+		drain(buffer, channel);
+		output_stream.flush();
+	}
+
+	/**
+	 * 从文件读取矩阵
+	 *
+	 * @param file_path
+	 * @return 矩阵。文件不存在或格式不符时返回null
+	 */
+	public static Matrix readMatrix(String file_path) {
+		Matrix result = null;
+		InputStream input_stream = new FileEditor(file_path).openInputStream();
+		if (input_stream != null) {
+			try (InputStream input = input_stream) {
+				result = readMatrix(input);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 从输入流读取矩阵，double与decimal两种元素类型均可，不关闭输入流
+	 *
+	 * @param input_stream
+	 * @return 矩阵。格式不符时返回null
+	 * @throws IOException
+	 */
+	public static Matrix readMatrix(InputStream input_stream) throws IOException {
+		Matrix result = null;
+		Reader reader = new Reader(Channels.newChannel(input_stream));
+		if (reader.readHeader()) {
+			result = new Matrix(reader.row_num, reader.column_num);
+			result.setMathContext(reader.math_context);
+			BigDecimal[][] elements = result.getElements();
+			for (int i = 0; i < reader.row_num; i++) {
+				for (int j = 0; j < reader.column_num; j++) {
+					elements[i][j] = reader.readElement();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 从输入流读取向量，不关闭输入流
+	 *
+	 * @param input_stream
+	 * @return 向量。格式不符或不是n×1矩阵时返回null
+	 * @throws IOException
+	 */
+	public static Vector readVector(InputStream input_stream) throws IOException {
+		Vector result = null;
+		Reader reader = new Reader(Channels.newChannel(input_stream));
+		if (reader.readHeader()) {
+			if (reader.column_num != 1) {
+				System.out.println("matrix file does not hold a vector");
+			} else {
+				result = new Vector(reader.row_num);
+				result.setMathContext(reader.math_context);
+				for (int i = 1; i <= reader.row_num; i++) {
+					result.setCoordinate(i, reader.readElement());
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 把double类型的矩阵文件整体映射后批量复制到堆内，不需要逐个解析元素。矩阵元素个数不能超过{@code Integer.MAX_VALUE}；更大的矩阵用{@link OffHeapMatrix#open(String)}
+	 *
+	 * @param file_path
+	 * @return 矩阵。文件不存在或格式不符时返回null
+	 */
+	public static DoubleMatrix readDoubleMatrix(String file_path) {
+		DoubleMatrix result = null;
+		OffHeapMatrix mapped = OffHeapMatrix.open(file_path, true);
+		if (mapped != null) {
+			result = OffHeapMatrix.toDoubleMatrix(mapped);
+			mapped.close();
+		}
+		return result;
+	}
+
+	/**
+	 * 从输入流读取{@link DoubleMatrix}，decimal类型的元素会转换为double，不关闭输入流
+	 *
+	 * @param input_stream
+	 * @return 矩阵。格式不符时返回null
+	 * @throws IOException
+	 */
+	public static DoubleMatrix readDoubleMatrix(InputStream input_stream) throws IOException {
+		DoubleMatrix result = null;
+		Reader reader = new Reader(Channels.newChannel(input_stream));
+		if (reader.readHeader()) {
+			result = new DoubleMatrix(reader.row_num, reader.column_num);
+			double[] elements = result.getElements();
+			if (reader.type == OffHeapMatrix.TYPE_DOUBLE) {
+				reader.readDoubles(elements);
+			} else {
+				for (int i = 0; i < elements.length; i++) {
+					elements[i] = reader.readElement().doubleValue();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 检查文件是否是double类型、可被映射的矩阵文件
+	 *
+	 * @param file_path
+	 * @return 是否可映射
+	 */
+	public static boolean isMappable(String file_path) {
+		boolean result = false;
+		File file = new File(file_path);
+		if (file.exists()) {
+			try (RandomAccessFile random_access_file = new RandomAccessFile(file, "r")) {
+				FileChannel channel = random_access_file.getChannel();
+				ByteBuffer header = ByteBuffer.allocate(OffHeapMatrix.HEADER_BYTES).order(OffHeapMatrix.BYTE_ORDER);
+				channel.read(header, 0);
+				header.flip();
+				result = header.remaining() == OffHeapMatrix.HEADER_BYTES && header.getInt() == OffHeapMatrix.MAGIC && header.getShort() == OffHeapMatrix.VERSION
+						&& header.getShort() == OffHeapMatrix.TYPE_DOUBLE;
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return result;
+	}
+
+	private static void write(BigDecimal[][] elements, int row_num, int column_num, MathContext math_context, OutputStream output_stream, boolean exact)
+			throws IOException {
+		WritableByteChannel channel = Channels.newChannel(output_stream);
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(OffHeapMatrix.BYTE_ORDER);
+		putHeader(buffer, exact ? TYPE_DECIMAL : OffHeapMatrix.TYPE_DOUBLE, row_num, column_num, math_context);
+		for (int i = 0; i < row_num; i++) {
+			for (int j = 0; j < column_num; j++) {
+				// 未设置的元素视为0
+				BigDecimal element = elements[i][j] == null ? BigDecimal.ZERO : elements[i][j];
+				if (exact) {
+					byte[] unscaled = element.unscaledValue().toByteArray();
+					if (buffer.remaining() < 2 * Integer.BYTES) {
+						drain(buffer, channel);
+					}
+					buffer.putInt(element.scale()).putInt(unscaled.length);
+					int offset = 0;
+					while (offset < unscaled.length) {
+						if (!buffer.hasRemaining()) {
+							drain(buffer, channel);
+						}
+						int length = Math.min(unscaled.length - offset, buffer.remaining());
+						buffer.put(unscaled, offset, length);
+						offset += length;
+					}
+				} else {
+					if (buffer.remaining() < Double.BYTES) {
+						drain(buffer, channel);
+					}
+					buffer.putDouble(element.doubleValue());
+				}
+			}
+		}
+		drain(buffer, channel);
+		output_stream.flush();
+	}
+
+	private static void putHeader(ByteBuffer buffer, short type, int row_num, int column_num, MathContext math_context) {
+		buffer.putInt(OffHeapMatrix.MAGIC).putShort(OffHeapMatrix.VERSION).putShort(type).putInt(row_num).putInt(column_num);
+		buffer.putInt(math_context.getPrecision()).putInt(math_context.getRoundingMode().ordinal());
+		buffer.position(OffHeapMatrix.HEADER_BYTES);
+	}
+
+	private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * 按块读入通道中的数据并逐个解码
+	 */
+	private static final class Reader {
+		private final ReadableByteChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(OffHeapMatrix.BYTE_ORDER);
+		private short type;
+		private int row_num;
+		private int column_num;
+		private MathContext math_context = MathContext.UNLIMITED;
+
+		Reader(ReadableByteChannel channel) {
+			this.channel = channel;
+			buffer.flip();
+		}
+
+		/**
+		 * @return 文件头是否合法
+		 */
+		boolean readHeader() throws IOException {
+			boolean result = false;
+			if (!fill(OffHeapMatrix.HEADER_BYTES) || buffer.getInt() != OffHeapMatrix.MAGIC) {
+				System.out.println("stream does not hold a matrix");
+			} else if (buffer.getShort() != OffHeapMatrix.VERSION) {
+				System.out.println("unsupported matrix file version");
+			} else {
+				type = buffer.getShort();
+				row_num = buffer.getInt();
+				column_num = buffer.getInt();
+				int precision = buffer.getInt();
+				int rounding_mode = buffer.getInt();
+				buffer.position(buffer.position() + OffHeapMatrix.HEADER_BYTES - 6 * Integer.BYTES);
+				if (type != OffHeapMatrix.TYPE_DOUBLE && type != TYPE_DECIMAL) {
+					System.out.println("unknown matrix element type");
+				} else if (row_num <= 0 || column_num <= 0) {
+					System.out.println("row_num and column_num must be greater than 0");
+				} else {
+					if (type == TYPE_DECIMAL && precision > 0) {
+						math_context = new MathContext(precision, RoundingMode.values()[rounding_mode]);
+					}
+					result = true;
+				}
+			}
+			return result;
+		}
+
+		BigDecimal readElement() throws IOException {
+			BigDecimal result;
+			if (type == OffHeapMatrix.TYPE_DOUBLE) {
+				require(Double.BYTES);
+				result = BigDecimal.valueOf(buffer.getDouble());
+			} else {
+				require(2 * Integer.BYTES);
+				int scale = buffer.getInt();
+				byte[] unscaled = new byte[buffer.getInt()];
+				int offset = 0;
+				while (offset < unscaled.length) {
+					require(1);
+					int length = Math.min(unscaled.length - offset, buffer.remaining());
+					buffer.get(unscaled, offset, length);
+					offset += length;
+				}
+				result = new BigDecimal(new BigInteger(unscaled), scale);
+			}
+			return result;
+		}
+
+		void readDoubles(double[] elements) throws IOException {
+			int offset = 0;
+			while (offset < elements.length) {
+				require(Double.BYTES);
+				int length = Math.min(elements.length - offset, buffer.remaining() / Double.BYTES);
+				buffer.asDoubleBuffer().get(elements, offset, length);
+				buffer.position(buffer.position() + length * Double.BYTES);
+				offset += length;
+			}
+		}
+
+		private void require(int bytes) throws IOException {
+			if (!fill(bytes)) {
+				throw new IOException("matrix stream is truncated");
+			}
+		}
+
+		/**
+		 * 保证缓冲区中至少有bytes个未读字节
+		 *
+		 * @return 数据不足时返回false
+		 */
+		private boolean fill(int bytes) throws IOException {
+			if (buffer.remaining() < bytes) {
+				buffer.compact();
+				int read = 0;
+				while (buffer.position() < bytes && read >= 0) {
+					read = channel.read(buffer);
+				}
+				buffer.flip();
+			}
+			return buffer.remaining() >= bytes;
+		}
+	}
+}
@@ -0,0 +1,339 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 分块（tile）并行矩阵乘法。
+ * <p>
+ * 结果矩阵被递归地切分为若干块，交给{@link ForkJoinPool}并行计算；每一块内部再按tile_size切分内积维度，使参与运算的数据尽量留在缓存中。
+ * 同时支持{@link Matrix}与{@link DoubleMatrix}
+ *
+ * @author cfw
+ */
+public class MatrixMultiplier {
+	/**
+	 * 默认tile边长
+	 */
+	public static final int DEFAULT_TILE_SIZE = 64;
+	/**
+	 * 默认并行阈值：一块计算量（乘加次数）不超过该值时不再切分，直接在当前线程计算
+	 */
+	public static final long DEFAULT_PARALLEL_THRESHOLD = 1L << 18;
+
+	private static final MatrixMultiplier DEFAULT_MULTIPLIER = new MatrixMultiplier(DEFAULT_TILE_SIZE, DEFAULT_PARALLEL_THRESHOLD);
+
+	private final int tile_size;
+	private final long parallel_threshold;
+	private final ForkJoinPool pool;
+
+	/**
+	 * 使用{@link ForkJoinPool#commonPool()}构造乘法器
+	 *
+	 * @param tile_size          tile边长
+	 * @param parallel_threshold 并行阈值（乘加次数）
+	 */
+	public MatrixMultiplier(int tile_size, long parallel_threshold) {
+		this(tile_size, parallel_threshold, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param tile_size          tile边长
+	 * @param parallel_threshold 并行阈值（乘加次数）。一块计算量不超过该值时直接在当前线程计算
+	 * @param pool               执行并行计算的线程池
+	 */
+	public MatrixMultiplier(int tile_size, long parallel_threshold, ForkJoinPool pool) {
+		if (tile_size <= 0) {
+			throw new IllegalArgumentException("tile_size must be greater than 0");
+		}
+		if (parallel_threshold <= 0) {
+			throw new IllegalArgumentException("parallel_threshold must be greater than 0");
+		}
+		this.tile_size = tile_size;
+		this.parallel_threshold = parallel_threshold;
+		this.pool = pool;
+	}
+
+	/**
+	 * 返回{@link Matrix#matrixMultiplication(Matrix, Matrix)}与{@link DoubleMatrix#matrixMultiplication(DoubleMatrix, DoubleMatrix)}所用的默认乘法器
+	 *
+	 * @return 默认乘法器
+	 */
+	public static MatrixMultiplier getDefault() {
+		return DEFAULT_MULTIPLIER;
+	}
+
+	public int getTileSize() {
+		return tile_size;
+	}
+
+	public long getParallelThreshold() {
+		return parallel_threshold;
+	}
+
+	/**
+	 * 矩阵乘法
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @return matrix_A×matrix_B。矩阵A列数不等于矩阵B行数时返回null
+	 */
+	public DoubleMatrix multiply(DoubleMatrix matrix_A, DoubleMatrix matrix_B) {
+		DoubleMatrix result = null;
+		if (matrix_A.getColumnNum() == matrix_B.getRowNum()) {
+			result = new DoubleMatrix(matrix_A.getRowNum(), matrix_B.getColumnNum());
+			multiplyAccumulate(1.0, matrix_A, matrix_B, result);
+		} else {
+			System.out.println("column_A not equals with row_B");
+		}
+		return result;
+	}
+
+	/**
+	 * 矩阵乘法。按两个矩阵中较严格的精度策略计算（见{@link Matrix#setMathContext(MathContext)}），不限精度时结果与逐元素点乘完全相同
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @return matrix_A×matrix_B。矩阵A列数不等于矩阵B行数时返回null
+	 */
+	public Matrix multiply(Matrix matrix_A, Matrix matrix_B) {
+		return multiply(matrix_A, matrix_B, Matrix.mergeMathContext(matrix_A.getMathContext(), matrix_B.getMathContext()));
+	}
+
+	/**
+	 * 矩阵乘法。每次乘加后按math_context舍入，结果矩阵的精度策略也为math_context
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @param math_context
+	 * @return matrix_A×matrix_B。矩阵A列数不等于矩阵B行数时返回null
+	 */
+	public Matrix multiply(Matrix matrix_A, Matrix matrix_B, MathContext math_context) {
+		Matrix result = null;
+		if (matrix_A.getColumnNum() == matrix_B.getRowNum()) {
+			result = new Matrix(matrix_A.getRowNum(), matrix_B.getColumnNum());
+			result.setMathContext(math_context);
+			for (BigDecimal[] c_row : result.getElements()) {
+				Arrays.fill(c_row, BigDecimal.ZERO);
+			}
+			multiplyAccumulate(null, matrix_A, matrix_B, result);
+		} else {
+			System.out.println("column_A not equals with row_B");
+		}
+		return result;
+	}
+
+	/**
+	 * 累加矩阵乘积：C=C+alpha×A×B，不分配新的矩阵
+	 *
+	 * @param alpha
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @param matrix_C 行数等于矩阵A行数、列数等于矩阵B列数，不能是matrix_A或matrix_B本身
+	 * @return matrix_C。维数不符时返回null
+	 */
+	public DoubleMatrix multiplyAccumulate(double alpha, DoubleMatrix matrix_A, DoubleMatrix matrix_B, DoubleMatrix matrix_C) {
+		DoubleMatrix result = null;
+		if (checkAccumulate(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(), matrix_C.getRowNum(),
+				matrix_C.getColumnNum(), matrix_C == matrix_A || matrix_C == matrix_B)) {
+			run(new DoubleBlockTask(alpha, matrix_A.getElements(), matrix_B.getElements(), matrix_C.getElements(), matrix_A.getColumnNum(),
+					matrix_B.getColumnNum(), 0, matrix_A.getRowNum(), 0, matrix_B.getColumnNum()));
+			result = matrix_C;
+		}
+		return result;
+	}
+
+	/**
+	 * 累加矩阵乘积：C=C+alpha×A×B，不分配新的矩阵。按matrix_C的精度策略舍入
+	 *
+	 * @param alpha    为null时视为1
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @param matrix_C 行数等于矩阵A行数、列数等于矩阵B列数，不能是matrix_A或matrix_B本身
+	 * @return matrix_C。维数不符时返回null
+	 */
+	public Matrix multiplyAccumulate(BigDecimal alpha, Matrix matrix_A, Matrix matrix_B, Matrix matrix_C) {
+		Matrix result = null;
+		if (checkAccumulate(matrix_A.getRowNum(), matrix_A.getColumnNum(), matrix_B.getRowNum(), matrix_B.getColumnNum(), matrix_C.getRowNum(),
+				matrix_C.getColumnNum(), matrix_C == matrix_A || matrix_C == matrix_B)) {
+			// 视图的getElements()是副本，算完写回
+			BigDecimal[][] c = matrix_C.getElements();
+			run(new ExactBlockTask(alpha, matrix_C.getMathContext(), matrix_A.getElements(), matrix_B.getElements(), c, matrix_A.getColumnNum(), 0,
+					matrix_A.getRowNum(), 0, matrix_B.getColumnNum()));
+			matrix_C.writeBack(c);
+			result = matrix_C;
+		}
+		return result;
+	}
+
+	private static boolean checkAccumulate(int row_num_A, int column_num_A, int row_num_B, int column_num_B, int row_num_C, int column_num_C,
+			boolean aliased) {
+		boolean result = false;
+		if (column_num_A != row_num_B) {
+			System.out.println("column_A not equals with row_B");
+		} else if (row_num_C != row_num_A || column_num_C != column_num_B) {
+			System.out.println("matrix_C dimension not matches");
+		} else if (aliased) {
+			System.out.println("matrix_C must not be matrix_A or matrix_B");
+		} else {
+			result = true;
+		}
+		return result;
+	}
+
+	private void run(BlockTask task) {
+		if (task.work() <= parallel_threshold) {
+			task.compute();
+		} else {
+			pool.invoke(task);
+		}
+	}
+
+	/**
+	 * 负责结果矩阵[row_start,row_end)×[column_start,column_end)一块的计算任务。计算量过大时沿较长的一边按tile对齐二分
+	 */
+	private abstract class BlockTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final int inner;
+		final int row_start;
+		final int row_end;
+		final int column_start;
+		final int column_end;
+
+		BlockTask(int inner, int row_start, int row_end, int column_start, int column_end) {
+			this.inner = inner;
+			this.row_start = row_start;
+			this.row_end = row_end;
+			this.column_start = column_start;
+			this.column_end = column_end;
+		}
+
+		long work() {
+			return (long) (row_end - row_start) * (column_end - column_start) * inner;
+		}
+
+		@Override
+		protected void compute() {
+			int rows = row_end - row_start;
+			int columns = column_end - column_start;
+			if (work() <= parallel_threshold || (rows <= tile_size && columns <= tile_size)) {
+				multiplyBlock();
+			} else if (rows >= columns) {
+				int middle = row_start + split(rows);
+				invokeAll(subTask(row_start, middle, column_start, column_end), subTask(middle, row_end, column_start, column_end));
+			} else {
+				int middle = column_start + split(columns);
+				invokeAll(subTask(row_start, row_end, column_start, middle), subTask(row_start, row_end, middle, column_end));
+			}
+		}
+
+		/**
+		 * 二分点对齐到tile边界，保证子块仍由完整的tile组成
+		 */
+		private int split(int length) {
+			int tiles = (length + tile_size - 1) / tile_size;
+			return Math.max(1, tiles / 2) * tile_size;
+		}
+
+		abstract BlockTask subTask(int row_start, int row_end, int column_start, int column_end);
+
+		abstract void multiplyBlock();
+	}
+
+	private final class DoubleBlockTask extends BlockTask {
+		private static final long serialVersionUID = 1L;
+
+		private final double alpha;
+		private final double[] a;
+		private final double[] b;
+		private final double[] c;
+		private final int p;
+
+		DoubleBlockTask(double alpha, double[] a, double[] b, double[] c, int inner, int p, int row_start, int row_end, int column_start,
+				int column_end) {
+			super(inner, row_start, row_end, column_start, column_end);
+			this.alpha = alpha;
+			this.a = a;
+			this.b = b;
+			this.c = c;
+			this.p = p;
+		}
+
+		@Override
+		BlockTask subTask(int row_start, int row_end, int column_start, int column_end) {
+			return new DoubleBlockTask(alpha, a, b, c, inner, p, row_start, row_end, column_start, column_end);
+		}
+
+		@Override
+		void multiplyBlock() {
+			int m = inner;
+			for (int kk = 0; kk < m; kk += tile_size) {
+				int k_end = Math.min(kk + tile_size, m);
+				for (int jj = column_start; jj < column_end; jj += tile_size) {
+					int j_end = Math.min(jj + tile_size, column_end);
+					for (int i = row_start; i < row_end; i++) {
+						int a_offset = i * m;
+						int c_offset = i * p;
+						for (int k = kk; k < k_end; k++) {
+							// c的第i行tile段+=alpha*a_ik*b的第k行tile段
+							VectorKernels.axpy(alpha * a[a_offset + k], b, k * p + jj, c, c_offset + jj, j_end - jj);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private final class ExactBlockTask extends BlockTask {
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 为null时视为1，避免无意义的乘法
+		 */
+		private final BigDecimal alpha;
+		private final MathContext math_context;
+		private final BigDecimal[][] a;
+		private final BigDecimal[][] b;
+		private final BigDecimal[][] c;
+
+		ExactBlockTask(BigDecimal alpha, MathContext math_context, BigDecimal[][] a, BigDecimal[][] b, BigDecimal[][] c, int inner, int row_start,
+				int row_end, int column_start, int column_end) {
+			super(inner, row_start, row_end, column_start, column_end);
+			this.alpha = alpha;
+			this.math_context = math_context;
+			this.a = a;
+			this.b = b;
+			this.c = c;
+		}
+
+		@Override
+		BlockTask subTask(int row_start, int row_end, int column_start, int column_end) {
+			return new ExactBlockTask(alpha, math_context, a, b, c, inner, row_start, row_end, column_start, column_end);
+		}
+
+		@Override
+		void multiplyBlock() {
+			for (int kk = 0; kk < inner; kk += tile_size) {
+				int k_end = Math.min(kk + tile_size, inner);
+				for (int jj = column_start; jj < column_end; jj += tile_size) {
+					int j_end = Math.min(jj + tile_size, column_end);
+					for (int i = row_start; i < row_end; i++) {
+						BigDecimal[] a_row = a[i];
+						BigDecimal[] c_row = c[i];
+						for (int k = kk; k < k_end; k++) {
+							BigDecimal a_ik = alpha == null ? a_row[k] : alpha.multiply(a_row[k], math_context);
+							BigDecimal[] b_row = b[k];
+							for (int j = jj; j < j_end; j++) {
+								c_row[j] = c_row[j].add(a_ik.multiply(b_row[j]), math_context);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+}
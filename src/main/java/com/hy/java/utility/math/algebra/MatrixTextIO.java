@@ -0,0 +1,695 @@
+package com.hy.java.utility.math.algebra;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.hy.java.utility.common.FileEditor;
+
+/**
+ * 矩阵的文本读写：分隔符文本（与{@link Matrix#print(Matrix)}输出的形式相同，每行一个矩阵行，元素以分隔符隔开）与Matrix Market（.mtx）格式。
+ * <p>
+ * 读取时按块读入字符、逐行切分，行与数字都在复用的字符数组上解析，不为每行、每个元素创建{@code String}；数字先用只需一次乘除的快速路径解析，
+ * 快速路径无法保证正确舍入时才交给{@link Double#parseDouble(String)}。解析结果直接填入稠密或稀疏矩阵，不会先把整个文件读成行列表
+ *
+ * @author cfw
+ */
+public class MatrixTextIO {
+	private static final int BUFFER_CHARS = 1 << 16;
+	/**
+	 * 10<sup>0</sup>~10<sup>22</sup>都能用double精确表示
+	 */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+			1e19, 1e20, 1e21, 1e22 };
+
+	/**
+	 * 读取分隔符文本文件为{@link DoubleMatrix}
+	 *
+	 * @param file_path
+	 * @param delimiter 分隔符，如'\t'、','；为' '时任意多个空格、制表符都视为一个分隔
+	 * @return 矩阵。文件不存在、为空或格式不符时返回null
+	 */
+	public static DoubleMatrix readDelimited(String file_path, char delimiter) {
+		DoubleMatrix result = null;
+		InputStream input_stream = new FileEditor(file_path).openInputStream();
+		if (input_stream != null) {
+			try (Reader reader = new InputStreamReader(input_stream, StandardCharsets.UTF_8)) {
+				result = readDelimited(reader, delimiter);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 逐行读取分隔符文本为{@link DoubleMatrix}，空行被忽略，列数由第一行决定。不关闭reader
+	 *
+	 * @param reader
+	 * @param delimiter 分隔符；为' '时任意多个空格、制表符都视为一个分隔
+	 * @return 矩阵。内容为空或格式不符时返回null
+	 * @throws IOException
+	 */
+	public static DoubleMatrix readDelimited(Reader reader, char delimiter) throws IOException {
+		DoubleMatrix result = null;
+		LineReader lines = new LineReader(reader);
+		double[] elements = new double[256];
+		int size = 0;
+		int row_num = 0;
+		int column_num = 0;
+		boolean ok = true;
+		while (ok && lines.readLine()) {
+			if (!lines.isBlank()) {
+				int columns = 0;
+				while (ok && lines.nextField(delimiter)) {
+					if (size == elements.length) {
+						elements = Arrays.copyOf(elements, size * 2);
+					}
+					try {
+						elements[size++] = parseDouble(lines.line, lines.field_start, lines.field_length);
+						columns++;
+					} catch (NumberFormatException e) {
+						System.out.println("malformed number at line " + lines.line_number);
+						ok = false;
+					}
+				}
+				if (ok) {
+					ok = checkColumns(lines, row_num == 0 ? columns : column_num, columns);
+					column_num = columns;
+					row_num++;
+				}
+			}
+		}
+		if (ok && row_num == 0) {
+			System.out.println("no matrix rows found");
+		} else if (ok) {
+			result = new DoubleMatrix(row_num, column_num, size == elements.length ? elements : Arrays.copyOf(elements, size));
+		}
+		return result;
+	}
+
+	/**
+	 * 逐行读取分隔符文本为{@link Matrix}，每个元素按文本精确转换为{@link BigDecimal}，不经过double。不关闭reader
+	 *
+	 * @param reader
+	 * @param delimiter 分隔符；为' '时任意多个空格、制表符都视为一个分隔
+	 * @return 矩阵。内容为空或格式不符时返回null
+	 * @throws IOException
+	 */
+	public static Matrix readDelimitedExact(Reader reader, char delimiter) throws IOException {
+		Matrix result = null;
+		LineReader lines = new LineReader(reader);
+		BigDecimal[][] rows = new BigDecimal[16][];
+		int row_num = 0;
+		int column_num = 0;
+		boolean ok = true;
+		while (ok && lines.readLine()) {
+			if (!lines.isBlank()) {
+				BigDecimal[] row = new BigDecimal[row_num == 0 ? 16 : column_num];
+				int columns = 0;
+				while (ok && lines.nextField(delimiter)) {
+					if (columns == row.length) {
+						row = Arrays.copyOf(row, columns * 2);
+					}
+					try {
+						row[columns++] = new BigDecimal(lines.line, lines.field_start, lines.field_length);
+					} catch (NumberFormatException e) {
+						System.out.println("malformed number at line " + lines.line_number);
+						ok = false;
+					}
+				}
+				if (ok) {
+					ok = checkColumns(lines, row_num == 0 ? columns : column_num, columns);
+					column_num = columns;
+					if (row_num == rows.length) {
+						rows = Arrays.copyOf(rows, row_num * 2);
+					}
+					rows[row_num++] = row.length == columns ? row : Arrays.copyOf(row, columns);
+				}
+			}
+		}
+		if (ok && row_num == 0) {
+			System.out.println("no matrix rows found");
+		} else if (ok) {
+			result = new Matrix(row_num, column_num);
+			System.arraycopy(rows, 0, result.getElements(), 0, row_num);
+		}
+		return result;
+	}
+
+	/**
+	 * 读取Matrix Market文件为{@link SparseMatrix}
+	 *
+	 * @param file_path
+	 * @return 稀疏矩阵。文件不存在或格式不符时返回null
+	 */
+	public static SparseMatrix readMatrixMarket(String file_path) {
+		SparseMatrix result = null;
+		InputStream input_stream = new FileEditor(file_path).openInputStream();
+		if (input_stream != null) {
+			try (Reader reader = new InputStreamReader(input_stream, StandardCharsets.UTF_8)) {
+				result = readMatrixMarket(reader);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 逐行读取Matrix Market格式为{@link SparseMatrix}。支持coordinate与array两种格式，real、integer、pattern三种元素类型，
+	 * general、symmetric、skew-symmetric三种对称性（对称时只存储下三角，读取时补全上三角）。不关闭reader
+	 *
+	 * @param reader
+	 * @return 稀疏矩阵。格式不符时返回null
+	 * @throws IOException
+	 */
+	public static SparseMatrix readMatrixMarket(Reader reader) throws IOException {
+		SparseMatrix result = null;
+		MatrixMarketReader market = new MatrixMarketReader(reader);
+		if (market.readHeader()) {
+			SparseMatrix.Builder builder = new SparseMatrix.Builder(market.row_num, market.column_num);
+			while (market.next()) {
+				builder.add(market.row_index, market.column_index, market.value);
+				if (market.symmetry != 0 && market.row_index != market.column_index) {
+					builder.add(market.column_index, market.row_index, market.symmetry * market.value);
+				}
+			}
+			if (market.ok) {
+				result = builder.build();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 逐行读取Matrix Market格式为稠密的{@link DoubleMatrix}，支持的格式同{@link #readMatrixMarket(Reader)}。不关闭reader
+	 *
+	 * @param reader
+	 * @return 矩阵。格式不符时返回null
+	 * @throws IOException
+	 */
+	public static DoubleMatrix readMatrixMarketDense(Reader reader) throws IOException {
+		DoubleMatrix result = null;
+		MatrixMarketReader market = new MatrixMarketReader(reader);
+		if (market.readHeader()) {
+			int n = market.column_num;
+			double[] elements = new double[market.row_num * n];
+			while (market.next()) {
+				elements[(market.row_index - 1) * n + market.column_index - 1] += market.value;
+				if (market.symmetry != 0 && market.row_index != market.column_index) {
+					elements[(market.column_index - 1) * n + market.row_index - 1] += market.symmetry * market.value;
+				}
+			}
+			if (market.ok) {
+				result = new DoubleMatrix(market.row_num, n, elements);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 把矩阵写入分隔符文本文件
+	 *
+	 * @param matrix
+	 * @param file_path
+	 * @param delimiter
+	 */
+	public static void writeDelimited(DoubleMatrix matrix, String file_path, char delimiter) {
+		OutputStream output_stream = new FileEditor(file_path).openOutputStream(false);
+		if (output_stream != null) {
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(output_stream, StandardCharsets.UTF_8))) {
+				writeDelimited(matrix, writer, delimiter);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * 逐行写出分隔符文本，行间以'\n'分隔。不关闭writer
+	 *
+	 * @param matrix
+	 * @param writer
+	 * @param delimiter
+	 * @throws IOException
+	 */
+	public static void writeDelimited(DoubleMatrix matrix, Writer writer, char delimiter) throws IOException {
+		double[] elements = matrix.getElements();
+		int column_num = matrix.getColumnNum();
+		for (int i = 0; i < matrix.getRowNum(); i++) {
+			if (i > 0) {
+				writer.write('\n');
+			}
+			int offset = i * column_num;
+			writer.write(Double.toString(elements[offset]));
+			for (int j = 1; j < column_num; j++) {
+				writer.write(delimiter);
+				writer.write(Double.toString(elements[offset + j]));
+			}
+		}
+		writer.flush();
+	}
+
+	/**
+	 * 逐行写出分隔符文本，元素按{@link BigDecimal#toString()}精确写出，可由{@link #readDelimitedExact(Reader, char)}原样读回。不关闭writer
+	 *
+	 * @param matrix
+	 * @param writer
+	 * @param delimiter
+	 * @throws IOException
+	 */
+	public static void writeDelimited(Matrix matrix, Writer writer, char delimiter) throws IOException {
+		writeDelimited(matrix, writer, delimiter, true);
+	}
+
+	/**
+	 * @param exact 为false时按doubleValue写出，即{@link Matrix#print(Matrix)}的格式
+	 */
+	static void writeDelimited(Matrix matrix, Writer writer, char delimiter, boolean exact) throws IOException {
+		BigDecimal[][] elements = matrix.getElements();
+		for (int i = 0; i < matrix.getRowNum(); i++) {
+			if (i > 0) {
+				writer.write('\n');
+			}
+			for (int j = 0; j < matrix.getColumnNum(); j++) {
+				if (j > 0) {
+					writer.write(delimiter);
+				}
+				writer.write(exact ? elements[i][j].toString() : Double.toString(elements[i][j].doubleValue()));
+			}
+		}
+		writer.flush();
+	}
+
+	/**
+	 * 把稀疏矩阵写入Matrix Market文件
+	 *
+	 * @param matrix
+	 * @param file_path
+	 */
+	public static void writeMatrixMarket(SparseMatrix matrix, String file_path) {
+		OutputStream output_stream = new FileEditor(file_path).openOutputStream(false);
+		if (output_stream != null) {
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(output_stream, StandardCharsets.UTF_8))) {
+				writeMatrixMarket(matrix, writer);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * 以coordinate real general格式逐个写出非零元。不关闭writer
+	 *
+	 * @param matrix
+	 * @param writer
+	 * @throws IOException
+	 */
+	public static void writeMatrixMarket(SparseMatrix matrix, Writer writer) throws IOException {
+		writer.write("%%MatrixMarket matrix coordinate real general\n");
+		writer.write(matrix.getRowNum() + " " + matrix.getColumnNum() + " " + matrix.getNonZeroNum() + "\n");
+		int[] row_pointers = matrix.getRowPointers();
+		int[] column_indices = matrix.getColumnIndices();
+		double[] values = matrix.getValues();
+		for (int i = 0; i < matrix.getRowNum(); i++) {
+			for (int k = row_pointers[i]; k < row_pointers[i + 1]; k++) {
+				writer.write(Integer.toString(i + 1));
+				writer.write(' ');
+				writer.write(Integer.toString(column_indices[k] + 1));
+				writer.write(' ');
+				writer.write(Double.toString(values[k]));
+				writer.write('\n');
+			}
+		}
+		writer.flush();
+	}
+
+	/**
+	 * 以array real general格式（按列优先）写出稠密矩阵。不关闭writer
+	 *
+	 * @param matrix
+	 * @param writer
+	 * @throws IOException
+	 */
+	public static void writeMatrixMarket(DoubleMatrix matrix, Writer writer) throws IOException {
+		writer.write("%%MatrixMarket matrix array real general\n");
+		writer.write(matrix.getRowNum() + " " + matrix.getColumnNum() + "\n");
+		double[] elements = matrix.getElements();
+		for (int j = 0; j < matrix.getColumnNum(); j++) {
+			for (int i = 0; i < matrix.getRowNum(); i++) {
+				writer.write(Double.toString(elements[i * matrix.getColumnNum() + j]));
+				writer.write('\n');
+			}
+		}
+		writer.flush();
+	}
+
+	/**
+	 * 解析s[offset,offset+length)中的十进制数。有效数字不超过18位、10的指数不超过22时，尾数与10的幂都能用double精确表示，一次乘或除即为正确舍入的结果；
+	 * 其余情况（含NaN、Infinity、十六进制等）交给{@link Double#parseDouble(String)}
+	 *
+	 * @throws NumberFormatException 不是合法的数
+	 */
+	static double parseDouble(char[] s, int offset, int length) {
+		int end = offset + length;
+		int i = offset;
+		boolean negative = false;
+		if (i < end && (s[i] == '-' || s[i] == '+')) {
+			negative = s[i] == '-';
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int exponent = 0;
+		boolean any_digit = false;
+		boolean fast = true;
+		while (i < end && s[i] >= '0' && s[i] <= '9') {
+			any_digit = true;
+			if (digits < 18) {
+				mantissa = mantissa * 10 + (s[i] - '0');
+				if (mantissa != 0) {
+					digits++;
+				}
+			} else {
+				fast = false;
+			}
+			i++;
+		}
+		if (i < end && s[i] == '.') {
+			i++;
+			while (i < end && s[i] >= '0' && s[i] <= '9') {
+				any_digit = true;
+				if (digits < 18) {
+					mantissa = mantissa * 10 + (s[i] - '0');
+					if (mantissa != 0) {
+						digits++;
+					}
+					exponent--;
+				} else {
+					fast = false;
+				}
+				i++;
+			}
+		}
+		if (any_digit && i < end && (s[i] == 'e' || s[i] == 'E')) {
+			i++;
+			boolean negative_exponent = false;
+			if (i < end && (s[i] == '-' || s[i] == '+')) {
+				negative_exponent = s[i] == '-';
+				i++;
+			}
+			int explicit = 0;
+			boolean exponent_digit = false;
+			while (i < end && s[i] >= '0' && s[i] <= '9') {
+				exponent_digit = true;
+				explicit = Math.min(explicit * 10 + (s[i] - '0'), 100000);
+				i++;
+			}
+			fast = fast && exponent_digit;
+			exponent += negative_exponent ? -explicit : explicit;
+		}
+		double result;
+		if (fast && any_digit && i == end && mantissa < (1L << 53) && Math.abs(exponent) <= 22) {
+			result = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+			if (negative) {
+				result = -result;
+			}
+		} else {
+			result = Double.parseDouble(new String(s, offset, length));
+		}
+		return result;
+	}
+
+	private static boolean checkColumns(LineReader lines, int expected, int actual) {
+		boolean result = expected == actual && actual > 0;
+		if (!result) {
+			System.out.println("line " + lines.line_number + " has " + actual + " columns, expected " + expected);
+		}
+		return result;
+	}
+
+	/**
+	 * 按块读入字符并逐行切分，行内容复制到复用的line数组中
+	 */
+	private static class LineReader {
+		private final Reader reader;
+		private final char[] buffer = new char[BUFFER_CHARS];
+		private int position;
+		private int limit;
+		char[] line = new char[256];
+		int length;
+		int line_number;
+		/**
+		 * 当前字段在line中的位置
+		 */
+		int field_start;
+		int field_length;
+		private int cursor;
+
+		LineReader(Reader reader) {
+			this.reader = reader;
+		}
+
+		/**
+		 * 读入下一行，去掉行末的'\r'
+		 *
+		 * @return 已到达末尾时返回false
+		 */
+		boolean readLine() throws IOException {
+			length = 0;
+			cursor = 0;
+			boolean read = false;
+			boolean line_end = false;
+			while (!line_end) {
+				if (position == limit) {
+					limit = Math.max(reader.read(buffer, 0, buffer.length), 0);
+					position = 0;
+				}
+				if (limit == 0) {
+					line_end = true;
+				} else {
+					read = true;
+					char c = buffer[position++];
+					if (c == '\n') {
+						line_end = true;
+					} else if (c != '\r') {
+						if (length == line.length) {
+							line = Arrays.copyOf(line, length * 2);
+						}
+						line[length++] = c;
+					}
+				}
+			}
+			if (read) {
+				line_number++;
+			}
+			return read;
+		}
+
+		boolean isBlank() {
+			boolean result = true;
+			for (int i = 0; i < length && result; i++) {
+				result = line[i] == ' ' || line[i] == '\t';
+			}
+			return result;
+		}
+
+		/**
+		 * 定位当前行的下一个字段，去掉两端的空白
+		 *
+		 * @param delimiter 为' '时任意多个空格、制表符都视为一个分隔
+		 * @return 当前行已没有字段时返回false
+		 */
+		boolean nextField(char delimiter) {
+			boolean whitespace = delimiter == ' ';
+			while (cursor < length && isSpace(line[cursor], delimiter)) {
+				cursor++;
+			}
+			boolean result = cursor < length;
+			if (result) {
+				field_start = cursor;
+				while (cursor < length && (whitespace ? !isSpace(line[cursor], delimiter) : line[cursor] != delimiter)) {
+					cursor++;
+				}
+				int field_end = cursor;
+				while (field_end > field_start && isSpace(line[field_end - 1], delimiter)) {
+					field_end--;
+				}
+				field_length = field_end - field_start;
+				if (cursor < length) {
+					// 跳过分隔符本身
+					cursor++;
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * 以空白为分隔，解析当前行的下一个字段
+		 *
+		 * @throws NumberFormatException 当前行已没有字段或字段不是合法的数
+		 */
+		double nextNumber() {
+			if (!nextField(' ')) {
+				throw new NumberFormatException("missing field");
+			}
+			return parseDouble(line, field_start, field_length);
+		}
+
+		private static boolean isSpace(char c, char delimiter) {
+			return (c == ' ' || c == '\t') && (delimiter == ' ' || c != delimiter);
+		}
+	}
+
+	/**
+	 * Matrix Market的逐条目读取。array格式按列优先依次生成下标
+	 */
+	private static final class MatrixMarketReader extends LineReader {
+		boolean ok = true;
+		int row_num;
+		int column_num;
+		/**
+		 * 当前条目
+		 */
+		int row_index;
+		int column_index;
+		double value;
+		/**
+		 * general为0，symmetric为1，skew-symmetric为-1（补全上三角时取相反数）
+		 */
+		int symmetry;
+		private boolean coordinate;
+		private boolean pattern;
+		private long entry_num;
+		private long entries_read;
+
+		MatrixMarketReader(Reader reader) {
+			super(reader);
+		}
+
+		boolean readHeader() throws IOException {
+			ok = false;
+			if (!readLine() || !new String(line, 0, length).toLowerCase().startsWith("%%matrixmarket")) {
+				System.out.println("stream is not in Matrix Market format");
+			} else {
+				String[] banner = new String(line, 0, length).trim().toLowerCase().split("\\s+");
+				if (banner.length < 5 || !banner[1].equals("matrix")) {
+					System.out.println("unsupported Matrix Market object");
+				} else if (!banner[2].equals("coordinate") && !banner[2].equals("array")) {
+					System.out.println("unsupported Matrix Market format " + banner[2]);
+				} else if (!banner[3].equals("real") && !banner[3].equals("integer") && !banner[3].equals("double") && !banner[3].equals("pattern")) {
+					System.out.println("unsupported Matrix Market field " + banner[3]);
+				} else if (!banner[4].equals("general") && !banner[4].equals("symmetric") && !banner[4].equals("skew-symmetric")) {
+					System.out.println("unsupported Matrix Market symmetry " + banner[4]);
+				} else {
+					coordinate = banner[2].equals("coordinate");
+					pattern = banner[3].equals("pattern");
+					symmetry = banner[4].equals("general") ? 0 : banner[4].equals("symmetric") ? 1 : -1;
+					ok = readSize();
+				}
+			}
+			return ok;
+		}
+
+		/**
+		 * 跳过注释行，读取尺寸行
+		 */
+		private boolean readSize() throws IOException {
+			boolean found = false;
+			while (!found && readLine()) {
+				found = !isBlank() && line[0] != '%';
+			}
+			boolean result = false;
+			if (!found) {
+				System.out.println("Matrix Market size line is missing");
+			} else {
+				try {
+					row_num = (int) nextNumber();
+					column_num = (int) nextNumber();
+					if (coordinate) {
+						entry_num = (long) nextNumber();
+					} else {
+						entry_num = symmetry == 0 ? (long) row_num * column_num
+								: symmetry == 1 ? (long) row_num * (row_num + 1) / 2 : (long) row_num * (row_num - 1) / 2;
+					}
+					result = true;
+				} catch (NumberFormatException e) {
+					result = false;
+				}
+			}
+			if (!result) {
+				System.out.println("malformed Matrix Market size line");
+			} else if (row_num <= 0 || column_num <= 0) {
+				System.out.println("row_num and column_num must be greater than 0");
+				result = false;
+			}
+			return result;
+		}
+
+		/**
+		 * 读入下一个条目
+		 *
+		 * @return 已读完或出错时返回false，出错时ok为false
+		 */
+		boolean next() throws IOException {
+			boolean result = false;
+			if (ok && entries_read < entry_num) {
+				boolean found = false;
+				while (!found && readLine()) {
+					found = !isBlank() && line[0] != '%';
+				}
+				if (!found) {
+					System.out.println("Matrix Market file is truncated");
+					ok = false;
+				} else {
+					try {
+						if (coordinate) {
+							row_index = (int) nextNumber();
+							column_index = (int) nextNumber();
+							value = pattern ? 1.0 : nextNumber();
+						} else {
+							nextArrayIndex();
+							value = nextNumber();
+						}
+						if (row_index < 1 || row_index > row_num || column_index < 1 || column_index > column_num) {
+							System.out.println("index out of bounds at line " + line_number);
+							ok = false;
+						} else {
+							entries_read++;
+							result = true;
+						}
+					} catch (NumberFormatException e) {
+						System.out.println("malformed number at line " + line_number);
+						ok = false;
+					}
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * array格式按列优先排列；对称时每列只有对角线及以下（反对称时不含对角线）
+		 */
+		private void nextArrayIndex() {
+			if (entries_read == 0) {
+				row_index = symmetry < 0 ? 2 : 1;
+				column_index = 1;
+			} else {
+				row_index++;
+				if (row_index > row_num) {
+					column_index++;
+					row_index = symmetry == 0 ? 1 : symmetry > 0 ? column_index : column_index + 1;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+
+/**
+ * 矩阵视图：与源矩阵共用存储的子矩阵窗口，可带转置。创建视图为O(1)，通过视图读写元素即读写源矩阵。
+ * <p>
+ * 视图的{@link #getElements()}返回按视图排列的副本，对副本的修改不会反映到源矩阵
+ *
+ * @author cfw
+ */
+class MatrixView extends Matrix {
+	private final Matrix source;
+	/**
+	 * 视图左上角在源矩阵中的位置（从0开始，按源矩阵方向）
+	 */
+	private final int row_offset;
+	private final int column_offset;
+	private final int row_num;
+	private final int column_num;
+	/**
+	 * 为true时视图的第i行第j列对应源矩阵窗口的第j行第i列
+	 */
+	private final boolean transposed;
+
+	/**
+	 * @param source     源矩阵，若本身是视图则直接折算到其源矩阵上，避免层层转发
+	 * @param row_offset 视图第1行在source中的位置（从0开始）
+	 * @param column_offset
+	 * @param row_num
+	 * @param column_num
+	 * @param transposed 是否转置
+	 */
+	MatrixView(Matrix source, int row_offset, int column_offset, int row_num, int column_num, boolean transposed) {
+		if (source instanceof MatrixView) {
+			MatrixView view = (MatrixView) source;
+			this.source = view.source;
+			if (view.transposed) {
+				this.row_offset = view.row_offset + column_offset;
+				this.column_offset = view.column_offset + row_offset;
+			} else {
+				this.row_offset = view.row_offset + row_offset;
+				this.column_offset = view.column_offset + column_offset;
+			}
+			this.transposed = view.transposed != transposed;
+		} else {
+			this.source = source;
+			this.row_offset = row_offset;
+			this.column_offset = column_offset;
+			this.transposed = transposed;
+		}
+		this.row_num = row_num;
+		this.column_num = column_num;
+		setMathContext(source.getMathContext());
+	}
+
+	@Override
+	public int getRowNum() {
+		return row_num;
+	}
+
+	@Override
+	public int getColumnNum() {
+		return column_num;
+	}
+
+	@Override
+	public void setElement(int row_index, int column_index, double element) {
+		setElement(row_index, column_index, BigDecimal.valueOf(element));
+	}
+
+	@Override
+	public void setElement(int row_index, int column_index, BigDecimal element) {
+		if (checkIndex(row_index, column_index)) {
+			sourceRow(row_index - 1, column_index - 1)[sourceColumn(row_index - 1, column_index - 1)] = element;
+		}
+	}
+
+	@Override
+	public BigDecimal getElement(int row_index, int column_index) {
+		BigDecimal result = null;
+		if (checkIndex(row_index, column_index)) {
+			result = sourceRow(row_index - 1, column_index - 1)[sourceColumn(row_index - 1, column_index - 1)];
+		}
+		return result;
+	}
+
+	@Override
+	public Vector getRowVector(int row_index) {
+		Vector result = null;
+		if (checkIndex(row_index, 1)) {
+			result = new Vector(column_num);
+			for (int j = 0; j < column_num; j++) {
+				result.getCoordinates()[j] = sourceRow(row_index - 1, j)[sourceColumn(row_index - 1, j)];
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Vector getColumnVector(int column_index) {
+		Vector result = null;
+		if (checkIndex(1, column_index)) {
+			result = new Vector(row_num);
+			for (int i = 0; i < row_num; i++) {
+				result.getCoordinates()[i] = sourceRow(i, column_index - 1)[sourceColumn(i, column_index - 1)];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 按视图排列复制出的元素数组
+	 */
+	@Override
+	public BigDecimal[][] getElements() {
+		BigDecimal[][] result = new BigDecimal[row_num][column_num];
+		BigDecimal[][] elements = source.getElements();
+		for (int i = 0; i < row_num; i++) {
+			for (int j = 0; j < column_num; j++) {
+				result[i][j] = transposed ? elements[row_offset + j][column_offset + i] : elements[row_offset + i][column_offset + j];
+			}
+		}
+		return result;
+	}
+
+	@Override
+	void writeBack(BigDecimal[][] elements) {
+		BigDecimal[][] target = source.getElements();
+		for (int i = 0; i < row_num; i++) {
+			if (transposed) {
+				for (int j = 0; j < column_num; j++) {
+					target[row_offset + j][column_offset + i] = elements[i][j];
+				}
+			} else {
+				System.arraycopy(elements[i], 0, target[row_offset + i], column_offset, column_num);
+			}
+		}
+	}
+
+	private BigDecimal[] sourceRow(int i, int j) {
+		return source.getElements()[row_offset + (transposed ? j : i)];
+	}
+
+	private int sourceColumn(int i, int j) {
+		return column_offset + (transposed ? i : j);
+	}
+
+	private boolean checkIndex(int row_index, int column_index) {
+		boolean result = row_index >= 1 && row_index <= row_num && column_index >= 1 && column_index <= column_num;
+		if (!result) {
+			System.out.println("index out of bounds");
+		}
+		return result;
+	}
+}
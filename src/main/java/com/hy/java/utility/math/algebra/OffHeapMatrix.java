@@ -0,0 +1,442 @@
+package com.hy.java.utility.math.algebra;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * 存储在堆外的{@code double}矩阵，用于比堆更大的矩阵。元素按行优先顺序保存在若干直接缓冲区或内存映射文件段中，运算时按块读入，不会把整个矩阵装入堆内。
+ * <p>
+ * 映射文件的格式为：64字节文件头（magic、版本、元素类型、行数、列数，小端序），其后紧跟按行优先排列的小端序{@code double}。
+ * 进程重启后用{@link #open(String)}重新映射即可立即使用，不需要解析
+ *
+ * @author cfw
+ */
+public class OffHeapMatrix implements LinearOperator, Closeable {
+	/**
+	 * 文件头标识"HYMX"
+	 */
+	static final int MAGIC = 0x48594D58;
+	static final short VERSION = 1;
+	static final short TYPE_DOUBLE = 1;
+	/**
+	 * 文件头长度。数据从该偏移开始，保证按8字节对齐
+	 */
+	static final int HEADER_BYTES = 64;
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	/**
+	 * 每段2<sup>27</sup>个元素（1GB），单个缓冲区无法超过2GB
+	 */
+	private static final int SEGMENT_SHIFT = 27;
+	private static final long SEGMENT_ELEMENTS = 1L << SEGMENT_SHIFT;
+	private static final long SEGMENT_MASK = SEGMENT_ELEMENTS - 1;
+	/**
+	 * 逐元素运算时每次读入堆内的元素个数
+	 */
+	private static final int CHUNK_ELEMENTS = 1 << 13;
+	/**
+	 * 矩阵乘法时每块矩阵A行占用的堆内元素个数上限
+	 */
+	private static final int BLOCK_ELEMENTS = 1 << 20;
+
+	private final int row_num;
+	private final int column_num;
+	private final DoubleBuffer[] segments;
+	private final MappedByteBuffer[] mapped_segments;
+
+	private OffHeapMatrix(int row_num, int column_num, DoubleBuffer[] segments, MappedByteBuffer[] mapped_segments) {
+		this.row_num = row_num;
+		this.column_num = column_num;
+		this.segments = segments;
+		this.mapped_segments = mapped_segments;
+	}
+
+	/**
+	 * 在直接缓冲区中分配一个元素全为0的矩阵
+	 *
+	 * @param row_num
+	 * @param column_num
+	 * @return 堆外矩阵
+	 */
+	public static OffHeapMatrix allocate(int row_num, int column_num) {
+		checkSize(row_num, column_num);
+		long size = (long) row_num * column_num;
+		DoubleBuffer[] segments = new DoubleBuffer[segmentCount(size)];
+		for (int s = 0; s < segments.length; s++) {
+			long length = Math.min(SEGMENT_ELEMENTS, size - ((long) s << SEGMENT_SHIFT));
+			segments[s] = ByteBuffer.allocateDirect((int) (length * Double.BYTES)).order(BYTE_ORDER).asDoubleBuffer();
+		}
+		return new OffHeapMatrix(row_num, column_num, segments, null);
+	}
+
+	/**
+	 * 创建（或覆盖）file_path所指文件，并将一个元素全为0的矩阵映射到其中
+	 *
+	 * @param file_path
+	 * @param row_num
+	 * @param column_num
+	 * @return 映射到文件的矩阵。创建失败时返回null
+	 */
+	public static OffHeapMatrix create(String file_path, int row_num, int column_num) {
+		checkSize(row_num, column_num);
+		OffHeapMatrix result = null;
+		File file = new File(file_path);
+		if (file.getParentFile() != null) {
+			file.getParentFile().mkdirs();
+		}
+		try (RandomAccessFile random_access_file = new RandomAccessFile(file, "rw")) {
+			random_access_file.setLength(0);
+			random_access_file.setLength(HEADER_BYTES + (long) row_num * column_num * Double.BYTES);
+			FileChannel channel = random_access_file.getChannel();
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(BYTE_ORDER);
+			header.putInt(MAGIC).putShort(VERSION).putShort(TYPE_DOUBLE).putInt(row_num).putInt(column_num);
+			header.rewind();
+			channel.write(header, 0);
+			result = map(channel, row_num, column_num, FileChannel.MapMode.READ_WRITE);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return result;
+	}
+
+	/**
+	 * 以读写方式重新映射一个已有的矩阵文件
+	 *
+	 * @param file_path
+	 * @return 映射到文件的矩阵。文件不存在或格式不符时返回null
+	 */
+	public static OffHeapMatrix open(String file_path) {
+		return open(file_path, false);
+	}
+
+	/**
+	 * 重新映射一个已有的矩阵文件
+	 *
+	 * @param file_path
+	 * @param read_only 是否只读映射。只读时修改元素会抛出{@link java.nio.ReadOnlyBufferException}
+	 * @return 映射到文件的矩阵。文件不存在或格式不符时返回null
+	 */
+	public static OffHeapMatrix open(String file_path, boolean read_only) {
+		OffHeapMatrix result = null;
+		File file = new File(file_path);
+		if (!file.exists()) {
+			System.out.println("File doesn't exist.");
+		} else {
+			try (RandomAccessFile random_access_file = new RandomAccessFile(file, read_only ? "r" : "rw")) {
+				FileChannel channel = random_access_file.getChannel();
+				ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(BYTE_ORDER);
+				channel.read(header, 0);
+				header.flip();
+				if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+					System.out.println("File '" + file + "' is not a matrix file");
+				} else if (header.getShort() != VERSION) {
+					System.out.println("unsupported matrix file version");
+				} else if (header.getShort() != TYPE_DOUBLE) {
+					System.out.println("matrix file does not hold double elements");
+				} else {
+					int row_num = header.getInt();
+					int column_num = header.getInt();
+					if (row_num <= 0 || column_num <= 0) {
+						System.out.println("row_num and column_num must be greater than 0");
+					} else if (channel.size() < HEADER_BYTES + (long) row_num * column_num * Double.BYTES) {
+						System.out.println("matrix file is truncated");
+					} else {
+						result = map(channel, row_num, column_num, read_only ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE);
+					}
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 映射在通道关闭后依然有效，因此这里不持有通道
+	 */
+	private static OffHeapMatrix map(FileChannel channel, int row_num, int column_num, FileChannel.MapMode mode) throws IOException {
+		long size = (long) row_num * column_num;
+		DoubleBuffer[] segments = new DoubleBuffer[segmentCount(size)];
+		MappedByteBuffer[] mapped_segments = new MappedByteBuffer[segments.length];
+		for (int s = 0; s < segments.length; s++) {
+			long first = (long) s << SEGMENT_SHIFT;
+			long length = Math.min(SEGMENT_ELEMENTS, size - first);
+			mapped_segments[s] = channel.map(mode, HEADER_BYTES + first * Double.BYTES, length * Double.BYTES);
+			segments[s] = mapped_segments[s].order(BYTE_ORDER).asDoubleBuffer();
+		}
+		return new OffHeapMatrix(row_num, column_num, segments, mapped_segments);
+	}
+
+	private static void checkSize(int row_num, int column_num) {
+		if (row_num <= 0 || column_num <= 0) {
+			throw new IllegalArgumentException("row_num and column_num must be greater than 0");
+		}
+	}
+
+	private static int segmentCount(long size) {
+		return (int) ((size + SEGMENT_ELEMENTS - 1) >>> SEGMENT_SHIFT);
+	}
+
+	@Override
+	public int getRowNum() {
+		return row_num;
+	}
+
+	@Override
+	public int getColumnNum() {
+		return column_num;
+	}
+
+	/**
+	 * 是否映射到文件
+	 *
+	 * @return mapped
+	 */
+	public boolean isMapped() {
+		return mapped_segments != null;
+	}
+
+	public void setElement(int row_index, int column_index, double element) {
+		if (checkIndex(row_index, column_index)) {
+			long index = (long) (row_index - 1) * column_num + column_index - 1;
+			segments[(int) (index >>> SEGMENT_SHIFT)].put((int) (index & SEGMENT_MASK), element);
+		}
+	}
+
+	public double getElement(int row_index, int column_index) {
+		double result = Double.NaN;
+		if (checkIndex(row_index, column_index)) {
+			long index = (long) (row_index - 1) * column_num + column_index - 1;
+			result = segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+		}
+		return result;
+	}
+
+	/**
+	 * 将第row_index行读入buffer
+	 *
+	 * @param row_index 从1开始
+	 * @param buffer    长度不少于列数
+	 */
+	public void getRow(int row_index, double[] buffer) {
+		if (checkIndex(row_index, 1)) {
+			read((long) (row_index - 1) * column_num, buffer, 0, column_num);
+		}
+	}
+
+	/**
+	 * 用buffer的前column_num个元素覆盖第row_index行
+	 *
+	 * @param row_index 从1开始
+	 * @param buffer    长度不少于列数
+	 */
+	public void setRow(int row_index, double[] buffer) {
+		if (checkIndex(row_index, 1)) {
+			write((long) (row_index - 1) * column_num, buffer, 0, column_num);
+		}
+	}
+
+	/**
+	 * 从first开始（按行优先顺序、下标从0开始）连续读取length个元素，可以跨越段边界
+	 */
+	private void read(long first, double[] buffer, int offset, int length) {
+		while (length > 0) {
+			int segment_offset = (int) (first & SEGMENT_MASK);
+			DoubleBuffer segment = segments[(int) (first >>> SEGMENT_SHIFT)].duplicate();
+			int count = Math.min(length, segment.capacity() - segment_offset);
+			segment.position(segment_offset);
+			segment.get(buffer, offset, count);
+			first += count;
+			offset += count;
+			length -= count;
+		}
+	}
+
+	private void write(long first, double[] buffer, int offset, int length) {
+		while (length > 0) {
+			int segment_offset = (int) (first & SEGMENT_MASK);
+			DoubleBuffer segment = segments[(int) (first >>> SEGMENT_SHIFT)].duplicate();
+			int count = Math.min(length, segment.capacity() - segment_offset);
+			segment.position(segment_offset);
+			segment.put(buffer, offset, count);
+			first += count;
+			offset += count;
+			length -= count;
+		}
+	}
+
+	private boolean checkIndex(int row_index, int column_index) {
+		boolean result = false;
+		if (row_index < 1 || row_index > row_num) {
+			System.out.println("row index out of bounds");
+		} else if (column_index < 1 || column_index > column_num) {
+			System.out.println("column index out of bounds");
+		} else {
+			result = true;
+		}
+		return result;
+	}
+
+	/**
+	 * 将{@link DoubleMatrix}复制到新分配的堆外矩阵中
+	 *
+	 * @param matrix
+	 * @return 堆外矩阵
+	 */
+	public static OffHeapMatrix fromDoubleMatrix(DoubleMatrix matrix) {
+		OffHeapMatrix result = OffHeapMatrix.allocate(matrix.getRowNum(), matrix.getColumnNum());
+		result.write(0, matrix.getElements(), 0, matrix.getElements().length);
+		return result;
+	}
+
+	/**
+	 * 将堆外矩阵复制到堆内。矩阵元素个数不能超过{@code Integer.MAX_VALUE}
+	 *
+	 * @param matrix
+	 * @return 堆内矩阵
+	 */
+	public static DoubleMatrix toDoubleMatrix(OffHeapMatrix matrix) {
+		DoubleMatrix result = new DoubleMatrix(matrix.row_num, matrix.column_num);
+		matrix.read(0, result.getElements(), 0, result.getElements().length);
+		return result;
+	}
+
+	/**
+	 * 矩阵加法，结果写入result。result可以是matrix_A或matrix_B本身
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @param result   与matrix_A同型的堆外矩阵
+	 */
+	public static void matrixAddition(OffHeapMatrix matrix_A, OffHeapMatrix matrix_B, OffHeapMatrix result) {
+		if (sameShape(matrix_A, matrix_B) && sameShape(matrix_A, result)) {
+			long size = (long) matrix_A.row_num * matrix_A.column_num;
+			double[] a = new double[(int) Math.min(CHUNK_ELEMENTS, size)];
+			double[] b = new double[a.length];
+			for (long first = 0; first < size; first += a.length) {
+				int length = (int) Math.min(a.length, size - first);
+				matrix_A.read(first, a, 0, length);
+				matrix_B.read(first, b, 0, length);
+				for (int i = 0; i < length; i++) {
+					a[i] += b[i];
+				}
+				result.write(first, a, 0, length);
+			}
+		}
+	}
+
+	/**
+	 * 矩阵数乘，结果写入result。result可以是matrix本身
+	 *
+	 * @param num
+	 * @param matrix
+	 * @param result 与matrix同型的堆外矩阵
+	 */
+	public static void numMultiplication(double num, OffHeapMatrix matrix, OffHeapMatrix result) {
+		if (sameShape(matrix, result)) {
+			long size = (long) matrix.row_num * matrix.column_num;
+			double[] a = new double[(int) Math.min(CHUNK_ELEMENTS, size)];
+			for (long first = 0; first < size; first += a.length) {
+				int length = (int) Math.min(a.length, size - first);
+				matrix.read(first, a, 0, length);
+				for (int i = 0; i < length; i++) {
+					a[i] *= num;
+				}
+				result.write(first, a, 0, length);
+			}
+		}
+	}
+
+	/**
+	 * 矩阵乘法，结果写入result。矩阵A按若干行一块读入堆内，每块对应地把矩阵B逐行扫描一遍，堆内只保留一块A、一块结果与B的一行
+	 *
+	 * @param matrix_A
+	 * @param matrix_B
+	 * @param result   行数等于矩阵A行数、列数等于矩阵B列数的堆外矩阵，不能是matrix_A或matrix_B本身
+	 */
+	public static void matrixMultiplication(OffHeapMatrix matrix_A, OffHeapMatrix matrix_B, OffHeapMatrix result) {
+		if (matrix_A.column_num != matrix_B.row_num) {
+			System.out.println("column_A not equals with row_B");
+		} else if (result.row_num != matrix_A.row_num || result.column_num != matrix_B.column_num) {
+			System.out.println("result dimension not matches");
+		} else if (result == matrix_A || result == matrix_B) {
+			// 按块写回的结果会覆盖尚未读取的运算数
+			System.out.println("result must not be matrix_A or matrix_B");
+		} else {
+			int m = matrix_A.column_num;
+			int p = matrix_B.column_num;
+			int block_rows = Math.max(1, Math.min(matrix_A.row_num, BLOCK_ELEMENTS / Math.max(m, p)));
+			double[] a = new double[block_rows * m];
+			double[] c = new double[block_rows * p];
+			double[] b_row = new double[p];
+			for (int row_start = 0; row_start < matrix_A.row_num; row_start += block_rows) {
+				int rows = Math.min(block_rows, matrix_A.row_num - row_start);
+				matrix_A.read((long) row_start * m, a, 0, rows * m);
+				Arrays.fill(c, 0, rows * p, 0.0);
+				for (int k = 0; k < m; k++) {
+					matrix_B.read((long) k * p, b_row, 0, p);
+					for (int i = 0; i < rows; i++) {
+						double a_ik = a[i * m + k];
+						if (a_ik != 0.0) {
+							int c_offset = i * p;
+							for (int j = 0; j < p; j++) {
+								c[c_offset + j] += a_ik * b_row[j];
+							}
+						}
+					}
+				}
+				result.write((long) row_start * p, c, 0, rows * p);
+			}
+		}
+	}
+
+	@Override
+	public void apply(double[] x, double[] y) {
+		double[] row = new double[column_num];
+		for (int i = 0; i < row_num; i++) {
+			read((long) i * column_num, row, 0, column_num);
+			double sum = 0.0;
+			for (int j = 0; j < column_num; j++) {
+				sum += row[j] * x[j];
+			}
+			y[i] = sum;
+		}
+	}
+
+	private static boolean sameShape(OffHeapMatrix matrix_A, OffHeapMatrix matrix_B) {
+		boolean result = matrix_A.row_num == matrix_B.row_num && matrix_A.column_num == matrix_B.column_num;
+		if (!result) {
+			System.out.println("matrix dimension not the same");
+		}
+		return result;
+	}
+
+	/**
+	 * 将映射段中的修改写回文件。对直接缓冲区分配的矩阵无作用
+	 */
+	public void flush() {
+		if (mapped_segments != null) {
+			for (MappedByteBuffer segment : mapped_segments) {
+				if (!segment.isReadOnly()) {
+					segment.force();
+				}
+			}
+		}
+	}
+
+	/**
+	 * 写回修改。映射本身在矩阵对象被回收时释放
+	 */
+	@Override
+	public void close() {
+		flush();
+	}
+}
@@ -0,0 +1,16 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * 迭代求解器的预条件子M：每次迭代求解Mz=r，M越接近系数矩阵、求解越便宜越好
+ *
+ * @author cfw
+ */
+public interface Preconditioner {
+	/**
+	 * 计算z=M<sup>-1</sup>r。下标均从0开始；z原有内容被覆盖
+	 *
+	 * @param r
+	 * @param z
+	 */
+	void apply(double[] r, double[] z);
+}
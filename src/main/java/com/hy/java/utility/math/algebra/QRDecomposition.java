@@ -0,0 +1,205 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Householder QR分解：A=QR，其中A为m×n（m≥n）矩阵，Q为m×n列正交矩阵，R为n×n上三角矩阵。
+ * <p>
+ * 用于求解超定方程组的最小二乘解，不需要构造A<sup>T</sup>A
+ *
+ * @author cfw
+ */
+public class QRDecomposition {
+	private final int row_num;
+	private final int column_num;
+	private final MathContext math_context;
+	/**
+	 * 对角线及以下存储Householder向量，对角线以上存储R。行数少于列数时为null
+	 */
+	private final BigDecimal[][] qr;
+	private final BigDecimal[] r_diagonal;
+	private boolean full_rank = true;
+
+	/**
+	 * 以{@link MathContext#DECIMAL128}精度分解matrix
+	 *
+	 * @param matrix 行数不少于列数的矩阵
+	 */
+	public QRDecomposition(Matrix matrix) {
+		this(matrix, MathContext.DECIMAL128);
+	}
+
+	/**
+	 * 以指定精度分解matrix
+	 *
+	 * @param matrix       行数不少于列数的矩阵。行数少于列数时{@link #isFullRank()}返回false，各结果均返回null
+	 * @param math_context 乘除、开方运算所用的精度
+	 */
+	public QRDecomposition(Matrix matrix, MathContext math_context) {
+		this.row_num = matrix.getRowNum();
+		this.column_num = matrix.getColumnNum();
+		this.math_context = math_context;
+		if (row_num < column_num) {
+			// 与LUDecomposition一样，在取结果时报错
+			qr = null;
+			r_diagonal = null;
+			full_rank = false;
+		} else {
+			qr = new BigDecimal[row_num][];
+			r_diagonal = new BigDecimal[column_num];
+			decompose(matrix.getElements());
+		}
+	}
+
+	/**
+	 * 矩阵是否列满秩。为false时无法求最小二乘解
+	 *
+	 * @return full_rank
+	 */
+	public boolean isFullRank() {
+		return full_rank;
+	}
+
+	/**
+	 * 上三角矩阵R
+	 *
+	 * @return R。行数少于列数时返回null
+	 */
+	public Matrix getR() {
+		Matrix result = null;
+		if (qr == null) {
+			System.out.println("matrix row must not be less than matrix column");
+		} else {
+			result = new Matrix(column_num, column_num);
+			for (int i = 0; i < column_num; i++) {
+				for (int j = 0; j < column_num; j++) {
+					result.getElements()[i][j] = i < j ? qr[i][j] : (i == j ? r_diagonal[i] : BigDecimal.ZERO);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 求Ax=b的最小二乘解，即使||Ax-b||最小的x
+	 *
+	 * @param vector_b
+	 * @return x。行数少于列数、矩阵不满秩或维数不符时返回null
+	 */
+	public Vector solve(Vector vector_b) {
+		Vector result = null;
+		if (qr == null) {
+			System.out.println("matrix row must not be less than matrix column");
+		} else if (!full_rank) {
+			System.out.println("matrix is rank deficient");
+		} else if (vector_b.getDimension() != row_num) {
+			System.out.println("dimension of b not equals with matrix row");
+		} else {
+			BigDecimal[] x = vector_b.getCoordinates().clone();
+			substitute(x);
+			result = new Vector(column_num);
+			System.arraycopy(x, 0, result.getCoordinates(), 0, column_num);
+		}
+		return result;
+	}
+
+	/**
+	 * 求AX=B的最小二乘解
+	 *
+	 * @param matrix_B
+	 * @return X。行数少于列数、矩阵不满秩或行数不符时返回null
+	 */
+	public Matrix solve(Matrix matrix_B) {
+		Matrix result = null;
+		if (qr == null) {
+			System.out.println("matrix row must not be less than matrix column");
+		} else if (!full_rank) {
+			System.out.println("matrix is rank deficient");
+		} else if (matrix_B.getRowNum() != row_num) {
+			System.out.println("row of B not equals with matrix row");
+		} else {
+			result = new Matrix(column_num, matrix_B.getColumnNum());
+			BigDecimal[] x = new BigDecimal[row_num];
+			BigDecimal[][] b = matrix_B.getElements();
+			for (int j = 0; j < matrix_B.getColumnNum(); j++) {
+				for (int i = 0; i < row_num; i++) {
+					x[i] = b[i][j];
+				}
+				substitute(x);
+				for (int i = 0; i < column_num; i++) {
+					result.getElements()[i][j] = x[i];
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 逐列做Householder变换，结果写入qr、r_diagonal
+	 */
+	private void decompose(BigDecimal[][] elements) {
+		BigDecimal max_abs = BigDecimal.ZERO;
+		for (int i = 0; i < row_num; i++) {
+			qr[i] = elements[i].clone();
+			for (BigDecimal element : qr[i]) {
+				max_abs = max_abs.max(element.abs());
+			}
+		}
+		// 有限精度下，相对原矩阵元素可忽略的R对角元视为0
+		BigDecimal tolerance = math_context.getPrecision() > 4 ? max_abs.scaleByPowerOfTen(4 - math_context.getPrecision()) : BigDecimal.ZERO;
+		for (int k = 0; k < column_num; k++) {
+			// 第k列第k行及以下部分的2-范数
+			BigDecimal norm_square = BigDecimal.ZERO;
+			for (int i = k; i < row_num; i++) {
+				norm_square = norm_square.add(qr[i][k].multiply(qr[i][k], math_context), math_context);
+			}
+			BigDecimal norm = norm_square.sqrt(math_context);
+			if (norm.compareTo(tolerance) > 0) {
+				if (qr[k][k].signum() < 0) {
+					norm = norm.negate();
+				}
+				for (int i = k; i < row_num; i++) {
+					qr[i][k] = qr[i][k].divide(norm, math_context);
+				}
+				qr[k][k] = qr[k][k].add(BigDecimal.ONE, math_context);
+				// 对其余各列做Householder变换
+				for (int j = k + 1; j < column_num; j++) {
+					BigDecimal s = BigDecimal.ZERO;
+					for (int i = k; i < row_num; i++) {
+						s = s.add(qr[i][k].multiply(qr[i][j], math_context), math_context);
+					}
+					s = s.negate().divide(qr[k][k], math_context);
+					for (int i = k; i < row_num; i++) {
+						qr[i][j] = qr[i][j].add(s.multiply(qr[i][k], math_context), math_context);
+					}
+				}
+			} else {
+				full_rank = false;
+			}
+			r_diagonal[k] = norm.negate();
+		}
+	}
+
+	/**
+	 * 先计算Q<sup>T</sup>b，再解Rx=Q<sup>T</sup>b，结果写入x的前column_num个元素
+	 */
+	private void substitute(BigDecimal[] x) {
+		for (int k = 0; k < column_num; k++) {
+			BigDecimal s = BigDecimal.ZERO;
+			for (int i = k; i < row_num; i++) {
+				s = s.add(qr[i][k].multiply(x[i], math_context), math_context);
+			}
+			s = s.negate().divide(qr[k][k], math_context);
+			for (int i = k; i < row_num; i++) {
+				x[i] = x[i].add(s.multiply(qr[i][k], math_context), math_context);
+			}
+		}
+		for (int k = column_num - 1; k >= 0; k--) {
+			x[k] = x[k].divide(r_diagonal[k], math_context);
+			for (int i = 0; i < k; i++) {
+				x[i] = x[i].subtract(x[k].multiply(qr[i][k], math_context), math_context);
+			}
+		}
+	}
+}
@@ -0,0 +1,323 @@
+package com.hy.java.utility.math.algebra;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 薄奇异值分解：A=UΣV<sup>T</sup>，A为m×n矩阵，r=min(m,n)，U为m×r列正交矩阵，Σ为r×r对角矩阵，V为n×r列正交矩阵。
+ * <p>
+ * 用单边Jacobi旋转直接正交化A的各列，精度高、不需要构造A<sup>T</sup>A。只需要最大的少数几个奇异三元组时，
+ * 用{@link #truncated(DoubleMatrix, int)}，适用于很高的瘦长矩阵
+ *
+ * @author cfw
+ */
+public class SingularValueDecomposition {
+	private static final int MAX_SWEEPS = 60;
+
+	private final int row_num;
+	private final int column_num;
+	/**
+	 * 从大到小排列
+	 */
+	private final double[] singular_values;
+	private final DoubleMatrix u;
+	private final DoubleMatrix v;
+
+	/**
+	 * @param matrix 任意形状的矩阵
+	 */
+	public SingularValueDecomposition(DoubleMatrix matrix) {
+		row_num = matrix.getRowNum();
+		column_num = matrix.getColumnNum();
+		// 行数少于列数时分解A^T，再交换U、V
+		boolean transposed = row_num < column_num;
+		DoubleMatrix a = transposed ? DoubleMatrix.matrixTranspose(matrix) : matrix;
+		int m = a.getRowNum();
+		int n = a.getColumnNum();
+		// 按列存储，columns[j]为A的第j列
+		double[][] columns = new double[n][m];
+		double[] elements = a.getElements();
+		for (int i = 0; i < m; i++) {
+			for (int j = 0; j < n; j++) {
+				columns[j][i] = elements[i * n + j];
+			}
+		}
+		double[][] rotations = new double[n][n];
+		for (int j = 0; j < n; j++) {
+			rotations[j][j] = 1.0;
+		}
+		orthogonalizeColumns(columns, rotations);
+		// 各列的范数即奇异值，按从大到小排列
+		double[] norms = new double[n];
+		Integer[] order = new Integer[n];
+		for (int j = 0; j < n; j++) {
+			norms[j] = Math.sqrt(VectorKernels.sumOfSquares(columns[j], 0, m));
+			order[j] = j;
+		}
+		Arrays.sort(order, (i, j) -> Double.compare(norms[j], norms[i]));
+		singular_values = new double[n];
+		DoubleMatrix left = new DoubleMatrix(m, n);
+		DoubleMatrix right = new DoubleMatrix(n, n);
+		for (int k = 0; k < n; k++) {
+			int j = order[k];
+			singular_values[k] = norms[j];
+			// 奇异值为0时U的对应列保持为0
+			double inverse = norms[j] == 0.0 ? 0.0 : 1.0 / norms[j];
+			for (int i = 0; i < m; i++) {
+				left.getElements()[i * n + k] = columns[j][i] * inverse;
+			}
+			for (int i = 0; i < n; i++) {
+				right.getElements()[i * n + k] = rotations[j][i];
+			}
+		}
+		u = transposed ? right : left;
+		v = transposed ? left : right;
+	}
+
+	private SingularValueDecomposition(int row_num, int column_num, double[] singular_values, DoubleMatrix u, DoubleMatrix v) {
+		this.row_num = row_num;
+		this.column_num = column_num;
+		this.singular_values = singular_values;
+		this.u = u;
+		this.v = v;
+	}
+
+	/**
+	 * 奇异值，从大到小排列
+	 *
+	 * @return singular_values
+	 */
+	public double[] getSingularValues() {
+		return singular_values.clone();
+	}
+
+	/**
+	 * 左奇异向量矩阵U
+	 *
+	 * @return U
+	 */
+	public DoubleMatrix getU() {
+		return new DoubleMatrix(u.getRowNum(), u.getColumnNum(), u.getElements().clone());
+	}
+
+	/**
+	 * 右奇异向量矩阵V
+	 *
+	 * @return V
+	 */
+	public DoubleMatrix getV() {
+		return new DoubleMatrix(v.getRowNum(), v.getColumnNum(), v.getElements().clone());
+	}
+
+	/**
+	 * 奇异值构成的对角矩阵Σ
+	 *
+	 * @return Σ
+	 */
+	public DoubleMatrix getS() {
+		int k = singular_values.length;
+		DoubleMatrix result = new DoubleMatrix(k, k);
+		for (int i = 0; i < k; i++) {
+			result.getElements()[i * k + i] = singular_values[i];
+		}
+		return result;
+	}
+
+	/**
+	 * 2-范数，即最大奇异值
+	 *
+	 * @return ||A||<sub>2</sub>
+	 */
+	public double norm2() {
+		return singular_values[0];
+	}
+
+	/**
+	 * 2-范数条件数，即最大奇异值与最小奇异值之比
+	 *
+	 * @return cond(A)
+	 */
+	public double cond() {
+		return singular_values[0] / singular_values[singular_values.length - 1];
+	}
+
+	/**
+	 * 数值秩：大于max(m,n)·σ<sub>1</sub>·ε的奇异值个数
+	 *
+	 * @return rank
+	 */
+	public int rank() {
+		double tolerance = Math.max(row_num, column_num) * singular_values[0] * Math.ulp(1.0);
+		int result = 0;
+		for (double singular_value : singular_values) {
+			if (singular_value > tolerance) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 随机化截断SVD求最大的k个奇异三元组，用默认的过采样数10、幂迭代次数2、随机种子0
+	 *
+	 * @param matrix
+	 * @param k
+	 * @return 只含k个奇异三元组的分解
+	 */
+	public static SingularValueDecomposition truncated(DoubleMatrix matrix, int k) {
+		return truncated(matrix, k, 10, 2, 0L);
+	}
+
+	/**
+	 * 随机化截断SVD（Halko-Martinsson-Tropp）求最大的k个奇异三元组：用随机矩阵Ω取A的列空间的主导子空间Q，
+	 * 再对小矩阵B=Q<sup>T</sup>A做完整分解。A只参与2q+2次乘法，其余运算为O((m+n)(k+p)<sup>2</sup>)，适用于m很大的瘦长矩阵
+	 *
+	 * @param matrix           m×n矩阵
+	 * @param k                所需奇异三元组个数
+	 * @param oversampling     过采样数p，子空间维数为k+p
+	 * @param power_iterations 幂迭代次数q，奇异值衰减慢时应增大
+	 * @param seed             随机种子，相同种子结果相同
+	 * @return 只含k个奇异三元组的分解
+	 */
+	public static SingularValueDecomposition truncated(DoubleMatrix matrix, int k, int oversampling, int power_iterations, long seed) {
+		int m = matrix.getRowNum();
+		int n = matrix.getColumnNum();
+		if (k < 1 || k > Math.min(m, n)) {
+			throw new IllegalArgumentException("k must be between 1 and " + Math.min(m, n));
+		}
+		int l = Math.min(Math.min(m, n), k + oversampling);
+		MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+		DoubleMatrix q = orthonormalize(multiplier.multiply(matrix, gaussian(n, l, new Random(seed))));
+		for (int iteration = 0; iteration < power_iterations; iteration++) {
+			q = orthonormalize(multiplier.multiply(matrix, orthonormalize(transposeMultiply(matrix, q))));
+		}
+		// B^T=A^T·Q为n×l的瘦长矩阵：B^T=U_bΣV_b^T，故A≈QB=(QV_b)ΣU_b^T
+		SingularValueDecomposition small = new SingularValueDecomposition(transposeMultiply(matrix, q));
+		double[] singular_values = new double[k];
+		System.arraycopy(small.singular_values, 0, singular_values, 0, k);
+		return new SingularValueDecomposition(m, n, singular_values, multiplier.multiply(q, leadingColumns(small.v, k)), leadingColumns(small.u, k));
+	}
+
+	/**
+	 * 单边Jacobi：反复对每一对列做平面旋转，直到任意两列都正交。rotations累积右乘的旋转，结束时其第j行为V的第j列
+	 */
+	private static void orthogonalizeColumns(double[][] columns, double[][] rotations) {
+		int n = columns.length;
+		int m = n == 0 ? 0 : columns[0].length;
+		double eps = Math.ulp(1.0);
+		boolean rotated = true;
+		for (int sweep = 0; sweep < MAX_SWEEPS && rotated; sweep++) {
+			rotated = false;
+			for (int p = 0; p < n - 1; p++) {
+				for (int q = p + 1; q < n; q++) {
+					double alpha = VectorKernels.sumOfSquares(columns[p], 0, m);
+					double beta = VectorKernels.sumOfSquares(columns[q], 0, m);
+					double gamma = VectorKernels.dot(columns[p], 0, columns[q], 0, m);
+					if (gamma != 0.0 && Math.abs(gamma) > eps * Math.sqrt(alpha * beta)) {
+						rotated = true;
+						double zeta = (beta - alpha) / (2.0 * gamma);
+						double t = Math.signum(zeta) / (Math.abs(zeta) + Math.sqrt(1.0 + zeta * zeta));
+						if (zeta == 0.0) {
+							t = 1.0;
+						}
+						double c = 1.0 / Math.sqrt(1.0 + t * t);
+						double s = c * t;
+						rotate(columns[p], columns[q], c, s);
+						rotate(rotations[p], rotations[q], c, s);
+					}
+				}
+			}
+		}
+	}
+
+	private static void rotate(double[] x, double[] y, double c, double s) {
+		for (int i = 0; i < x.length; i++) {
+			double xi = x[i];
+			double yi = y[i];
+			x[i] = c * xi - s * yi;
+			y[i] = s * xi + c * yi;
+		}
+	}
+
+	/**
+	 * A<sup>T</sup>·Q，逐行扫描A，不构造A的转置
+	 */
+	private static DoubleMatrix transposeMultiply(DoubleMatrix matrix, DoubleMatrix q) {
+		int m = matrix.getRowNum();
+		int n = matrix.getColumnNum();
+		int l = q.getColumnNum();
+		DoubleMatrix result = new DoubleMatrix(n, l);
+		double[] a = matrix.getElements();
+		double[] b = q.getElements();
+		double[] c = result.getElements();
+		for (int i = 0; i < m; i++) {
+			for (int j = 0; j < n; j++) {
+				double a_ij = a[i * n + j];
+				if (a_ij != 0.0) {
+					// 结果第j行+=a_ij·Q的第i行
+					VectorKernels.axpy(a_ij, b, i * l, c, j * l, l);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static DoubleMatrix leadingColumns(DoubleMatrix matrix, int k) {
+		int m = matrix.getRowNum();
+		int n = matrix.getColumnNum();
+		DoubleMatrix result = new DoubleMatrix(m, k);
+		for (int i = 0; i < m; i++) {
+			System.arraycopy(matrix.getElements(), i * n, result.getElements(), i * k, k);
+		}
+		return result;
+	}
+
+	/**
+	 * 元素服从标准正态分布的随机矩阵
+	 */
+	static DoubleMatrix gaussian(int row_num, int column_num, Random random) {
+		DoubleMatrix result = new DoubleMatrix(row_num, column_num);
+		double[] elements = result.getElements();
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = random.nextGaussian();
+		}
+		return result;
+	}
+
+	/**
+	 * 各列的标准正交基（修正Gram-Schmidt，做两遍以保证正交性）。线性相关的列置为0
+	 */
+	static DoubleMatrix orthonormalize(DoubleMatrix matrix) {
+		int m = matrix.getRowNum();
+		int n = matrix.getColumnNum();
+		double[][] columns = new double[n][m];
+		double[] elements = matrix.getElements();
+		for (int i = 0; i < m; i++) {
+			for (int j = 0; j < n; j++) {
+				columns[j][i] = elements[i * n + j];
+			}
+		}
+		for (int j = 0; j < n; j++) {
+			double original = Math.sqrt(VectorKernels.sumOfSquares(columns[j], 0, m));
+			for (int pass = 0; pass < 2; pass++) {
+				for (int k = 0; k < j; k++) {
+					VectorKernels.axpy(-VectorKernels.dot(columns[k], 0, columns[j], 0, m), columns[k], 0, columns[j], 0, m);
+				}
+			}
+			double norm = Math.sqrt(VectorKernels.sumOfSquares(columns[j], 0, m));
+			if (norm > 1e-12 * original && norm > 0.0) {
+				VectorKernels.scale(1.0 / norm, columns[j], columns[j], m);
+			} else {
+				Arrays.fill(columns[j], 0.0);
+			}
+		}
+		DoubleMatrix result = new DoubleMatrix(m, n);
+		double[] q = result.getElements();
+		for (int i = 0; i < m; i++) {
+			for (int j = 0; j < n; j++) {
+				q[i * n + j] = columns[j][i];
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,434 @@
+package com.hy.java.utility.math.algebra;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 一批同阶（2、3或4阶）的小方阵，按结构数组（SoA）方式存储：所有矩阵的第(i,j)个元素连续存放在同一个double数组中。
+ * <p>
+ * 与逐个创建{@link Matrix}相比，没有每个矩阵的对象开销；批量运算的最内层循环沿批次方向顺序访问内存，便于JIT自动向量化。
+ * 行列式、逆矩阵用闭式公式计算，批次大于{@link #PARALLEL_THRESHOLD}时用{@link ForkJoinPool#commonPool()}并行
+ *
+ * @author cfw
+ */
+public class SmallMatrixBatch {
+	/**
+	 * 并行阈值：每个任务至少处理这么多个矩阵
+	 */
+	public static final int PARALLEL_THRESHOLD = 1 << 12;
+
+	private final int size;
+	private final int count;
+	/**
+	 * components[(i-1)*size+(j-1)][b]为第b+1个矩阵的第(i,j)个元素
+	 */
+	private final double[][] components;
+
+	/**
+	 * 构造count个全零的size阶方阵
+	 *
+	 * @param size  阶数，只能为2、3、4
+	 * @param count 矩阵个数
+	 */
+	public SmallMatrixBatch(int size, int count) {
+		if (size < 2 || size > 4) {
+			throw new IllegalArgumentException("size must be 2, 3 or 4");
+		}
+		if (count <= 0) {
+			throw new IllegalArgumentException("count must be greater than 0");
+		}
+		this.size = size;
+		this.count = count;
+		this.components = new double[size * size][count];
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * 设置第index个矩阵的第(row_index,column_index)个元素，下标均从1开始
+	 */
+	public void setElement(int index, int row_index, int column_index, double element) {
+		if (checkIndex(index, row_index, column_index)) {
+			components[(row_index - 1) * size + column_index - 1][index - 1] = element;
+		}
+	}
+
+	/**
+	 * 第index个矩阵的第(row_index,column_index)个元素，下标均从1开始
+	 *
+	 * @return 元素。下标越界时返回NaN
+	 */
+	public double getElement(int index, int row_index, int column_index) {
+		double result = Double.NaN;
+		if (checkIndex(index, row_index, column_index)) {
+			result = components[(row_index - 1) * size + column_index - 1][index - 1];
+		}
+		return result;
+	}
+
+	/**
+	 * 用matrix设置第index个矩阵
+	 *
+	 * @param index  从1开始
+	 * @param matrix size阶方阵
+	 */
+	public void setMatrix(int index, DoubleMatrix matrix) {
+		if (matrix.getRowNum() != size || matrix.getColumnNum() != size) {
+			System.out.println("matrix dimension not matches");
+		} else if (checkIndex(index, 1, 1)) {
+			double[] elements = matrix.getElements();
+			for (int k = 0; k < size * size; k++) {
+				components[k][index - 1] = elements[k];
+			}
+		}
+	}
+
+	/**
+	 * 复制出第index个矩阵
+	 *
+	 * @param index 从1开始
+	 * @return 矩阵。下标越界时返回null
+	 */
+	public DoubleMatrix getMatrix(int index) {
+		DoubleMatrix result = null;
+		if (checkIndex(index, 1, 1)) {
+			result = new DoubleMatrix(size, size);
+			double[] elements = result.getElements();
+			for (int k = 0; k < size * size; k++) {
+				elements[k] = components[k][index - 1];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 所有矩阵的第(row_index,column_index)个元素构成的数组，长度为count。直接返回内部存储，不做复制，可用于批量读写
+	 *
+	 * @return 元素数组。下标越界时返回null
+	 */
+	public double[] getComponent(int row_index, int column_index) {
+		double[] result = null;
+		if (checkIndex(1, row_index, column_index)) {
+			result = components[(row_index - 1) * size + column_index - 1];
+		}
+		return result;
+	}
+
+	/**
+	 * 逐个相乘：第b个结果为a的第b个矩阵乘以b的第b个矩阵
+	 *
+	 * @param batch_A
+	 * @param batch_B
+	 * @return 乘积。阶数或个数不同时返回null
+	 */
+	public static SmallMatrixBatch multiply(SmallMatrixBatch batch_A, SmallMatrixBatch batch_B) {
+		SmallMatrixBatch result = null;
+		if (checkSameShape(batch_A, batch_B)) {
+			result = multiply(batch_A, batch_B, new SmallMatrixBatch(batch_A.size, batch_A.count));
+		}
+		return result;
+	}
+
+	/**
+	 * 逐个相乘，结果写入batch_C，不分配新的存储
+	 *
+	 * @param batch_A
+	 * @param batch_B
+	 * @param batch_C 不能是batch_A或batch_B
+	 * @return batch_C。阶数或个数不同、或batch_C与乘数相同时返回null
+	 */
+	public static SmallMatrixBatch multiply(SmallMatrixBatch batch_A, SmallMatrixBatch batch_B, SmallMatrixBatch batch_C) {
+		SmallMatrixBatch result = null;
+		if (batch_C == batch_A || batch_C == batch_B) {
+			System.out.println("batch_C must not be batch_A or batch_B");
+		} else if (checkSameShape(batch_A, batch_B) && checkSameShape(batch_A, batch_C)) {
+			int n = batch_A.size;
+			double[][] a = batch_A.components;
+			double[][] b = batch_B.components;
+			double[][] c = batch_C.components;
+			forEachRange(batch_A.count, (start, end) -> {
+				for (int i = 0; i < n; i++) {
+					for (int j = 0; j < n; j++) {
+						double[] c_ij = c[i * n + j];
+						double[] a_i0 = a[i * n];
+						double[] b_0j = b[j];
+						for (int t = start; t < end; t++) {
+							c_ij[t] = a_i0[t] * b_0j[t];
+						}
+						for (int k = 1; k < n; k++) {
+							double[] a_ik = a[i * n + k];
+							double[] b_kj = b[k * n + j];
+							for (int t = start; t < end; t++) {
+								c_ij[t] += a_ik[t] * b_kj[t];
+							}
+						}
+					}
+				}
+			});
+			result = batch_C;
+		}
+		return result;
+	}
+
+	/**
+	 * 用每个矩阵变换对应的向量：第b个结果为第b个矩阵乘以第b个向量
+	 *
+	 * @param batch
+	 * @param vectors 按结构数组存储的向量，vectors[i][b]为第b+1个向量的第i+1个坐标，形如size×count
+	 * @return 变换后的向量，形状同vectors。形状不符时返回null
+	 */
+	public static double[][] transform(SmallMatrixBatch batch, double[][] vectors) {
+		double[][] result = null;
+		int n = batch.size;
+		if (vectors.length != n || vectors[0].length != batch.count) {
+			System.out.println("vectors dimension not matches");
+		} else {
+			double[][] a = batch.components;
+			double[][] y = new double[n][batch.count];
+			forEachRange(batch.count, (start, end) -> {
+				for (int i = 0; i < n; i++) {
+					double[] y_i = y[i];
+					for (int k = 0; k < n; k++) {
+						double[] a_ik = a[i * n + k];
+						double[] x_k = vectors[k];
+						for (int t = start; t < end; t++) {
+							y_i[t] += a_ik[t] * x_k[t];
+						}
+					}
+				}
+			});
+			result = y;
+		}
+		return result;
+	}
+
+	/**
+	 * 每个矩阵的行列式，用闭式公式计算
+	 *
+	 * @param batch
+	 * @return 长度为count的行列式数组
+	 */
+	public static double[] det(SmallMatrixBatch batch) {
+		double[] result = new double[batch.count];
+		double[][] a = batch.components;
+		forEachRange(batch.count, (start, end) -> {
+			switch (batch.size) {
+			case 2: {
+				for (int t = start; t < end; t++) {
+					result[t] = a[0][t] * a[3][t] - a[1][t] * a[2][t];
+				}
+				break;
+			}
+			case 3: {
+				for (int t = start; t < end; t++) {
+					result[t] = a[0][t] * (a[4][t] * a[8][t] - a[5][t] * a[7][t]) - a[1][t] * (a[3][t] * a[8][t] - a[5][t] * a[6][t])
+							+ a[2][t] * (a[3][t] * a[7][t] - a[4][t] * a[6][t]);
+				}
+				break;
+			}
+			default: {
+				for (int t = start; t < end; t++) {
+					double s0 = a[0][t] * a[5][t] - a[4][t] * a[1][t];
+					double s1 = a[0][t] * a[6][t] - a[4][t] * a[2][t];
+					double s2 = a[0][t] * a[7][t] - a[4][t] * a[3][t];
+					double s3 = a[1][t] * a[6][t] - a[5][t] * a[2][t];
+					double s4 = a[1][t] * a[7][t] - a[5][t] * a[3][t];
+					double s5 = a[2][t] * a[7][t] - a[6][t] * a[3][t];
+					double c5 = a[10][t] * a[15][t] - a[14][t] * a[11][t];
+					double c4 = a[9][t] * a[15][t] - a[13][t] * a[11][t];
+					double c3 = a[9][t] * a[14][t] - a[13][t] * a[10][t];
+					double c2 = a[8][t] * a[15][t] - a[12][t] * a[11][t];
+					double c1 = a[8][t] * a[14][t] - a[12][t] * a[10][t];
+					double c0 = a[8][t] * a[13][t] - a[12][t] * a[9][t];
+					result[t] = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+				}
+				break;
+			}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * 每个矩阵的逆矩阵，用伴随矩阵除以行列式的闭式公式计算。行列式为0的矩阵，其逆矩阵的元素全部为NaN
+	 *
+	 * @param batch
+	 * @return 逆矩阵
+	 */
+	public static SmallMatrixBatch inverse(SmallMatrixBatch batch) {
+		SmallMatrixBatch result = new SmallMatrixBatch(batch.size, batch.count);
+		double[][] a = batch.components;
+		double[][] b = result.components;
+		forEachRange(batch.count, (start, end) -> {
+			switch (batch.size) {
+			case 2: {
+				inverse2(a, b, start, end);
+				break;
+			}
+			case 3: {
+				inverse3(a, b, start, end);
+				break;
+			}
+			default: {
+				inverse4(a, b, start, end);
+				break;
+			}
+			}
+		});
+		return result;
+	}
+
+	private static void inverse2(double[][] a, double[][] b, int start, int end) {
+		for (int t = start; t < end; t++) {
+			double a00 = a[0][t], a01 = a[1][t], a10 = a[2][t], a11 = a[3][t];
+			double det = a00 * a11 - a01 * a10;
+			double inverse_det = det == 0.0 ? Double.NaN : 1.0 / det;
+			b[0][t] = a11 * inverse_det;
+			b[1][t] = -a01 * inverse_det;
+			b[2][t] = -a10 * inverse_det;
+			b[3][t] = a00 * inverse_det;
+		}
+	}
+
+	private static void inverse3(double[][] a, double[][] b, int start, int end) {
+		for (int t = start; t < end; t++) {
+			double a00 = a[0][t], a01 = a[1][t], a02 = a[2][t];
+			double a10 = a[3][t], a11 = a[4][t], a12 = a[5][t];
+			double a20 = a[6][t], a21 = a[7][t], a22 = a[8][t];
+			// 第一列的代数余子式
+			double c00 = a11 * a22 - a12 * a21;
+			double c10 = a12 * a20 - a10 * a22;
+			double c20 = a10 * a21 - a11 * a20;
+			double det = a00 * c00 + a01 * c10 + a02 * c20;
+			double inverse_det = det == 0.0 ? Double.NaN : 1.0 / det;
+			b[0][t] = c00 * inverse_det;
+			b[1][t] = (a02 * a21 - a01 * a22) * inverse_det;
+			b[2][t] = (a01 * a12 - a02 * a11) * inverse_det;
+			b[3][t] = c10 * inverse_det;
+			b[4][t] = (a00 * a22 - a02 * a20) * inverse_det;
+			b[5][t] = (a02 * a10 - a00 * a12) * inverse_det;
+			b[6][t] = c20 * inverse_det;
+			b[7][t] = (a01 * a20 - a00 * a21) * inverse_det;
+			b[8][t] = (a00 * a11 - a01 * a10) * inverse_det;
+		}
+	}
+
+	/**
+	 * 4阶矩阵按Laplace展开：前两行的2阶子式s0~s5与后两行的2阶子式c0~c5组合出行列式与全部代数余子式
+	 */
+	private static void inverse4(double[][] a, double[][] b, int start, int end) {
+		for (int t = start; t < end; t++) {
+			double a00 = a[0][t], a01 = a[1][t], a02 = a[2][t], a03 = a[3][t];
+			double a10 = a[4][t], a11 = a[5][t], a12 = a[6][t], a13 = a[7][t];
+			double a20 = a[8][t], a21 = a[9][t], a22 = a[10][t], a23 = a[11][t];
+			double a30 = a[12][t], a31 = a[13][t], a32 = a[14][t], a33 = a[15][t];
+			double s0 = a00 * a11 - a10 * a01;
+			double s1 = a00 * a12 - a10 * a02;
+			double s2 = a00 * a13 - a10 * a03;
+			double s3 = a01 * a12 - a11 * a02;
+			double s4 = a01 * a13 - a11 * a03;
+			double s5 = a02 * a13 - a12 * a03;
+			double c5 = a22 * a33 - a32 * a23;
+			double c4 = a21 * a33 - a31 * a23;
+			double c3 = a21 * a32 - a31 * a22;
+			double c2 = a20 * a33 - a30 * a23;
+			double c1 = a20 * a32 - a30 * a22;
+			double c0 = a20 * a31 - a30 * a21;
+			double det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+			double inverse_det = det == 0.0 ? Double.NaN : 1.0 / det;
+			b[0][t] = (a11 * c5 - a12 * c4 + a13 * c3) * inverse_det;
+			b[1][t] = (-a01 * c5 + a02 * c4 - a03 * c3) * inverse_det;
+			b[2][t] = (a31 * s5 - a32 * s4 + a33 * s3) * inverse_det;
+			b[3][t] = (-a21 * s5 + a22 * s4 - a23 * s3) * inverse_det;
+			b[4][t] = (-a10 * c5 + a12 * c2 - a13 * c1) * inverse_det;
+			b[5][t] = (a00 * c5 - a02 * c2 + a03 * c1) * inverse_det;
+			b[6][t] = (-a30 * s5 + a32 * s2 - a33 * s1) * inverse_det;
+			b[7][t] = (a20 * s5 - a22 * s2 + a23 * s1) * inverse_det;
+			b[8][t] = (a10 * c4 - a11 * c2 + a13 * c0) * inverse_det;
+			b[9][t] = (-a00 * c4 + a01 * c2 - a03 * c0) * inverse_det;
+			b[10][t] = (a30 * s4 - a31 * s2 + a33 * s0) * inverse_det;
+			b[11][t] = (-a20 * s4 + a21 * s2 - a23 * s0) * inverse_det;
+			b[12][t] = (-a10 * c3 + a11 * c1 - a12 * c0) * inverse_det;
+			b[13][t] = (a00 * c3 - a01 * c1 + a02 * c0) * inverse_det;
+			b[14][t] = (-a30 * s3 + a31 * s1 - a32 * s0) * inverse_det;
+			b[15][t] = (a20 * s3 - a21 * s1 + a22 * s0) * inverse_det;
+		}
+	}
+
+	/**
+	 * 对[0,count)做kernel。count不超过并行阈值时直接在当前线程计算
+	 */
+	private static void forEachRange(int count, RangeKernel kernel) {
+		if (count <= PARALLEL_THRESHOLD) {
+			kernel.apply(0, count);
+		} else {
+			ForkJoinPool.commonPool().invoke(new RangeTask(kernel, 0, count));
+		}
+	}
+
+	private static boolean checkSameShape(SmallMatrixBatch batch_A, SmallMatrixBatch batch_B) {
+		boolean result = false;
+		if (batch_A.size != batch_B.size) {
+			System.out.println("size not the same");
+		} else if (batch_A.count != batch_B.count) {
+			System.out.println("count not the same");
+		} else {
+			result = true;
+		}
+		return result;
+	}
+
+	private boolean checkIndex(int index, int row_index, int column_index) {
+		boolean result = false;
+		if (index <= 0 || index > count) {
+			System.out.println("index out of bounds");
+		} else if (row_index <= 0 || row_index > size) {
+			System.out.println("row index out of bounds");
+		} else if (column_index <= 0 || column_index > size) {
+			System.out.println("column index out of bounds");
+		} else {
+			result = true;
+		}
+		return result;
+	}
+
+	/**
+	 * 对批次中[start,end)范围内的矩阵做运算
+	 */
+	private interface RangeKernel {
+		void apply(int start, int end);
+	}
+
+	/**
+	 * 把[start,end)二分，直到每段不超过并行阈值
+	 */
+	private static final class RangeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final RangeKernel kernel;
+		private final int start;
+		private final int end;
+
+		RangeTask(RangeKernel kernel, int start, int end) {
+			this.kernel = kernel;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= PARALLEL_THRESHOLD) {
+				kernel.apply(start, end);
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new RangeTask(kernel, start, middle), new RangeTask(kernel, middle, end));
+			}
+		}
+	}
+}
@@ -0,0 +1,487 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * 以压缩稀疏行（CSR）格式存储的稀疏矩阵，存储与运算量只与非零元个数有关。
+ * <p>
+ * 第i行（下标从0开始）的非零元位于values[row_pointers[i]]到values[row_pointers[i+1]-1]，其列下标（从0开始）依次保存在column_indices中，且按升序排列。
+ * 一个矩阵的转置的CSR存储即是该矩阵的压缩稀疏列（CSC）存储，需要按列访问时使用{@link #matrixTranspose(SparseMatrix)}
+ *
+ * @author cfw
+ */
+public class SparseMatrix implements LinearOperator {
+	private final int row_num;
+	private final int column_num;
+	private final int[] row_pointers;
+	private final int[] column_indices;
+	private final double[] values;
+
+	SparseMatrix(int row_num, int column_num, int[] row_pointers, int[] column_indices, double[] values) {
+		this.row_num = row_num;
+		this.column_num = column_num;
+		this.row_pointers = row_pointers;
+		this.column_indices = column_indices;
+		this.values = values;
+	}
+
+	/**
+	 * 由坐标三元组(row_index,column_index,value)构造{@link SparseMatrix}。同一位置多次添加的值会累加，值为0的元素不会存储
+	 */
+	public static class Builder {
+		private final int row_num;
+		private final int column_num;
+		private int size = 0;
+		private int[] rows = new int[16];
+		private int[] columns = new int[16];
+		private double[] entries = new double[16];
+
+		public Builder(int row_num, int column_num) {
+			if (row_num <= 0 || column_num <= 0) {
+				throw new IllegalArgumentException("row_num and column_num must be greater than 0");
+			}
+			this.row_num = row_num;
+			this.column_num = column_num;
+		}
+
+		/**
+		 * 添加一个元素
+		 *
+		 * @param row_index    行下标，从1开始
+		 * @param column_index 列下标，从1开始
+		 * @param value
+		 * @return this
+		 */
+		public Builder add(int row_index, int column_index, double value) {
+			if (row_index < 1 || row_index > row_num) {
+				System.out.println("row index out of bounds");
+			} else if (column_index < 1 || column_index > column_num) {
+				System.out.println("column index out of bounds");
+			} else {
+				if (size == rows.length) {
+					rows = Arrays.copyOf(rows, size * 2);
+					columns = Arrays.copyOf(columns, size * 2);
+					entries = Arrays.copyOf(entries, size * 2);
+				}
+				rows[size] = row_index - 1;
+				columns[size] = column_index - 1;
+				entries[size] = value;
+				size++;
+			}
+			return this;
+		}
+
+		/**
+		 * 先按列、再按行做两次稳定的计数排序，使三元组按(行,列)有序，然后合并重复位置，总代价O(nnz+row_num+column_num)
+		 *
+		 * @return 稀疏矩阵
+		 */
+		public SparseMatrix build() {
+			int[] column_order = countingSort(columns, size, column_num, null);
+			int[] order = countingSort(rows, size, row_num, column_order);
+			int[] row_pointers = new int[row_num + 1];
+			int[] column_indices = new int[size];
+			double[] values = new double[size];
+			int nnz = 0;
+			int last_row = -1;
+			int last_column = -1;
+			for (int t = 0; t < size; t++) {
+				int k = order[t];
+				if (rows[k] == last_row && columns[k] == last_column) {
+					values[nnz - 1] += entries[k];
+				} else {
+					column_indices[nnz] = columns[k];
+					values[nnz] = entries[k];
+					row_pointers[rows[k] + 1]++;
+					nnz++;
+					last_row = rows[k];
+					last_column = columns[k];
+				}
+			}
+			for (int i = 0; i < row_num; i++) {
+				row_pointers[i + 1] += row_pointers[i];
+			}
+			return compact(new SparseMatrix(row_num, column_num, row_pointers, column_indices, values));
+		}
+
+		/**
+		 * 按keys对下标做稳定计数排序。input_order为null时按原始顺序排序
+		 */
+		private static int[] countingSort(int[] keys, int size, int bucket_num, int[] input_order) {
+			int[] counts = new int[bucket_num + 1];
+			for (int t = 0; t < size; t++) {
+				counts[keys[t] + 1]++;
+			}
+			for (int b = 0; b < bucket_num; b++) {
+				counts[b + 1] += counts[b];
+			}
+			int[] order = new int[size];
+			for (int t = 0; t < size; t++) {
+				int k = input_order == null ? t : input_order[t];
+				order[counts[keys[k]]++] = k;
+			}
+			return order;
+		}
+	}
+
+	/**
+	 * 去掉值为0的元素（包括累加后为0的元素），并裁掉多余的存储
+	 */
+	private static SparseMatrix compact(SparseMatrix matrix) {
+		int[] row_pointers = new int[matrix.row_num + 1];
+		int nnz = 0;
+		for (int i = 0; i < matrix.row_num; i++) {
+			for (int k = matrix.row_pointers[i]; k < matrix.row_pointers[i + 1]; k++) {
+				if (matrix.values[k] != 0.0) {
+					matrix.column_indices[nnz] = matrix.column_indices[k];
+					matrix.values[nnz] = matrix.values[k];
+					nnz++;
+				}
+			}
+			row_pointers[i + 1] = nnz;
+		}
+		return new SparseMatrix(matrix.row_num, matrix.column_num, row_pointers, Arrays.copyOf(matrix.column_indices, nnz),
+				Arrays.copyOf(matrix.values, nnz));
+	}
+
+	public int getRowNum() {
+		return row_num;
+	}
+
+	public int getColumnNum() {
+		return column_num;
+	}
+
+	/**
+	 * 非零元个数
+	 *
+	 * @return nnz
+	 */
+	public int getNonZeroNum() {
+		return values.length;
+	}
+
+	public int[] getRowPointers() {
+		return row_pointers;
+	}
+
+	public int[] getColumnIndices() {
+		return column_indices;
+	}
+
+	public double[] getValues() {
+		return values;
+	}
+
+	/**
+	 * 在第row_index行中二分查找第column_index列的元素
+	 *
+	 * @param row_index    从1开始
+	 * @param column_index 从1开始
+	 * @return 元素值。未存储的元素为0
+	 */
+	public double getElement(int row_index, int column_index) {
+		double result = Double.NaN;
+		if (row_index < 1 || row_index > row_num) {
+			System.out.println("row index out of bounds");
+		} else if (column_index < 1 || column_index > column_num) {
+			System.out.println("column index out of bounds");
+		} else {
+			int k = Arrays.binarySearch(column_indices, row_pointers[row_index - 1], row_pointers[row_index], column_index - 1);
+			result = k >= 0 ? values[k] : 0.0;
+		}
+		return result;
+	}
+
+	/**
+	 * 将{@link Matrix}中的非零元转换为{@code SparseMatrix}
+	 *
+	 * @param matrix
+	 * @return 稀疏矩阵
+	 */
+	public static SparseMatrix fromMatrix(Matrix matrix) {
+		Builder builder = new Builder(matrix.getRowNum(), matrix.getColumnNum());
+		BigDecimal[][] elements = matrix.getElements();
+		for (int i = 0; i < matrix.getRowNum(); i++) {
+			for (int j = 0; j < matrix.getColumnNum(); j++) {
+				if (elements[i][j].signum() != 0) {
+					builder.add(i + 1, j + 1, elements[i][j].doubleValue());
+				}
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * 将{@link DoubleMatrix}中的非零元转换为{@code SparseMatrix}
+	 *
+	 * @param matrix
+	 * @return 稀疏矩阵
+	 */
+	public static SparseMatrix fromDoubleMatrix(DoubleMatrix matrix) {
+		int n = matrix.getRowNum();
+		int m = matrix.getColumnNum();
+		double[] elements = matrix.getElements();
+		int nnz = 0;
+		for (double element : elements) {
+			if (element != 0.0) {
+				nnz++;
+			}
+		}
+		int[] row_pointers = new int[n + 1];
+		int[] column_indices = new int[nnz];
+		double[] values = new double[nnz];
+		int k = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < m; j++) {
+				if (elements[i * m + j] != 0.0) {
+					column_indices[k] = j;
+					values[k] = elements[i * m + j];
+					k++;
+				}
+			}
+			row_pointers[i + 1] = k;
+		}
+		return new SparseMatrix(n, m, row_pointers, column_indices, values);
+	}
+
+	/**
+	 * 转换为稠密的{@link Matrix}
+	 *
+	 * @param matrix
+	 * @return 稠密矩阵
+	 */
+	public static Matrix toMatrix(SparseMatrix matrix) {
+		Matrix result = new Matrix(matrix.row_num, matrix.column_num);
+		BigDecimal[][] elements = result.getElements();
+		for (int i = 0; i < matrix.row_num; i++) {
+			Arrays.fill(elements[i], BigDecimal.ZERO);
+			for (int k = matrix.row_pointers[i]; k < matrix.row_pointers[i + 1]; k++) {
+				elements[i][matrix.column_indices[k]] = BigDecimal.valueOf(matrix.values[k]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 转换为稠密的{@link DoubleMatrix}
+	 *
+	 * @param matrix
+	 * @return 稠密矩阵
+	 */
+	public static DoubleMatrix toDoubleMatrix(SparseMatrix matrix) {
+		DoubleMatrix result = new DoubleMatrix(matrix.row_num, matrix.column_num);
+		double[] elements = result.getElements();
+		for (int i = 0; i < matrix.row_num; i++) {
+			for (int k = matrix.row_pointers[i]; k < matrix.row_pointers[i + 1]; k++) {
+				elements[i * matrix.column_num + matrix.column_indices[k]] = matrix.values[k];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 稀疏矩阵转置，代价O(nnz+row_num+column_num)。结果即原矩阵的CSC存储
+	 *
+	 * @param matrix
+	 * @return matrix<sup>T</sup>
+	 */
+	public static SparseMatrix matrixTranspose(SparseMatrix matrix) {
+		int nnz = matrix.getNonZeroNum();
+		int[] row_pointers = new int[matrix.column_num + 1];
+		int[] column_indices = new int[nnz];
+		double[] values = new double[nnz];
+		for (int k = 0; k < nnz; k++) {
+			row_pointers[matrix.column_indices[k] + 1]++;
+		}
+		for (int j = 0; j < matrix.column_num; j++) {
+			row_pointers[j + 1] += row_pointers[j];
+		}
+		int[] next = Arrays.copyOf(row_pointers, matrix.column_num);
+		// 按行遍历原矩阵，保证转置后每行内的列下标仍为升序
+		for (int i = 0; i < matrix.row_num; i++) {
+			for (int k = matrix.row_pointers[i]; k < matrix.row_pointers[i + 1]; k++) {
+				int position = next[matrix.column_indices[k]]++;
+				column_indices[position] = i;
+				values[position] = matrix.values[k];
+			}
+		}
+		return new SparseMatrix(matrix.column_num, matrix.row_num, row_pointers, column_indices, values);
+	}
+
+	/**
+	 * 稀疏矩阵与向量相乘：y=Ax
+	 *
+	 * @param matrix
+	 * @param vector
+	 * @return matrix×vector。维数不符时返回null
+	 */
+	public static DoubleVector matrixVectorMultiplication(SparseMatrix matrix, DoubleVector vector) {
+		DoubleVector result = null;
+		if (vector.getDimension() == matrix.column_num) {
+			double[] y = new double[matrix.row_num];
+			matrix.apply(vector.getCoordinates(), y);
+			result = new DoubleVector(y);
+		} else {
+			System.out.println("column of matrix not equals with dimension of vector");
+		}
+		return result;
+	}
+
+	/**
+	 * 稀疏矩阵与向量相乘：y=Ax。计算以double进行
+	 *
+	 * @param matrix
+	 * @param vector
+	 * @return matrix×vector。维数不符时返回null
+	 */
+	public static Vector matrixVectorMultiplication(SparseMatrix matrix, Vector vector) {
+		Vector result = null;
+		DoubleVector product = matrixVectorMultiplication(matrix, DoubleVector.fromVector(vector));
+		if (product != null) {
+			result = DoubleVector.toVector(product);
+		}
+		return result;
+	}
+
+	/**
+	 * 转置稀疏矩阵与向量相乘：y=A<sup>T</sup>x。直接按行散射累加，不需要构造转置
+	 *
+	 * @param matrix
+	 * @param vector
+	 * @return matrix<sup>T</sup>×vector。维数不符时返回null
+	 */
+	public static DoubleVector transposeVectorMultiplication(SparseMatrix matrix, DoubleVector vector) {
+		DoubleVector result = null;
+		if (vector.getDimension() == matrix.row_num) {
+			double[] x = vector.getCoordinates();
+			double[] y = new double[matrix.column_num];
+			for (int i = 0; i < matrix.row_num; i++) {
+				double x_i = x[i];
+				if (x_i != 0.0) {
+					for (int k = matrix.row_pointers[i]; k < matrix.row_pointers[i + 1]; k++) {
+						y[matrix.column_indices[k]] += matrix.values[k] * x_i;
+					}
+				}
+			}
+			result = new DoubleVector(y);
+		} else {
+			System.out.println("row of matrix not equals with dimension of vector");
+		}
+		return result;
+	}
+
+	/**
+	 * 稀疏矩阵与稠密矩阵相乘：C=AB。结果第i行为A第i行各非零元与B对应行的线性组合，B按行连续访问
+	 *
+	 * @param matrix_A 稀疏矩阵
+	 * @param matrix_B 稠密矩阵
+	 * @return matrix_A×matrix_B。矩阵A列数不等于矩阵B行数时返回null
+	 */
+	public static DoubleMatrix matrixMultiplication(SparseMatrix matrix_A, DoubleMatrix matrix_B) {
+		DoubleMatrix result = null;
+		if (matrix_A.column_num == matrix_B.getRowNum()) {
+			int p = matrix_B.getColumnNum();
+			result = new DoubleMatrix(matrix_A.row_num, p);
+			double[] b = matrix_B.getElements();
+			double[] c = result.getElements();
+			for (int i = 0; i < matrix_A.row_num; i++) {
+				int c_offset = i * p;
+				for (int k = matrix_A.row_pointers[i]; k < matrix_A.row_pointers[i + 1]; k++) {
+					double a_ik = matrix_A.values[k];
+					int b_offset = matrix_A.column_indices[k] * p;
+					for (int j = 0; j < p; j++) {
+						c[c_offset + j] += a_ik * b[b_offset + j];
+					}
+				}
+			}
+		} else {
+			System.out.println("column_A not equals with row_B");
+		}
+		return result;
+	}
+
+	/**
+	 * 稠密矩阵与稀疏矩阵相乘：C=AB。结果第i行为B各行以A第i行元素为系数的线性组合
+	 *
+	 * @param matrix_A 稠密矩阵
+	 * @param matrix_B 稀疏矩阵
+	 * @return matrix_A×matrix_B。矩阵A列数不等于矩阵B行数时返回null
+	 */
+	public static DoubleMatrix matrixMultiplication(DoubleMatrix matrix_A, SparseMatrix matrix_B) {
+		DoubleMatrix result = null;
+		if (matrix_A.getColumnNum() == matrix_B.row_num) {
+			int m = matrix_A.getColumnNum();
+			int p = matrix_B.column_num;
+			result = new DoubleMatrix(matrix_A.getRowNum(), p);
+			double[] a = matrix_A.getElements();
+			double[] c = result.getElements();
+			for (int i = 0; i < matrix_A.getRowNum(); i++) {
+				int c_offset = i * p;
+				for (int k = 0; k < m; k++) {
+					double a_ik = a[i * m + k];
+					if (a_ik != 0.0) {
+						for (int t = matrix_B.row_pointers[k]; t < matrix_B.row_pointers[k + 1]; t++) {
+							c[c_offset + matrix_B.column_indices[t]] += a_ik * matrix_B.values[t];
+						}
+					}
+				}
+			}
+		} else {
+			System.out.println("column_A not equals with row_B");
+		}
+		return result;
+	}
+
+	/**
+	 * 稀疏矩阵与稠密矩阵相乘：C=AB。计算以double进行
+	 *
+	 * @param matrix_A 稀疏矩阵
+	 * @param matrix_B 稠密矩阵
+	 * @return matrix_A×matrix_B。矩阵A列数不等于矩阵B行数时返回null
+	 */
+	public static Matrix matrixMultiplication(SparseMatrix matrix_A, Matrix matrix_B) {
+		Matrix result = null;
+		DoubleMatrix product = matrixMultiplication(matrix_A, DoubleMatrix.fromMatrix(matrix_B));
+		if (product != null) {
+			result = DoubleMatrix.toMatrix(product);
+		}
+		return result;
+	}
+
+	@Override
+	public void apply(double[] x, double[] y) {
+		for (int i = 0; i < row_num; i++) {
+			double sum = 0.0;
+			for (int k = row_pointers[i]; k < row_pointers[i + 1]; k++) {
+				sum += values[k] * x[column_indices[k]];
+			}
+			y[i] = sum;
+		}
+	}
+
+	/**
+	 * 只打印非零元，每行格式为“行下标\t列下标\t值”，同时会将打印内容以String形式返回
+	 *
+	 * @param matrix
+	 * @return {@code String}格式的matrix内容
+	 */
+	public static String print(SparseMatrix matrix) {
+		String result = null;
+		StringBuilder sb = new StringBuilder();
+		if (matrix != null) {
+			for (int i = 0; i < matrix.row_num; i++) {
+				for (int k = matrix.row_pointers[i]; k < matrix.row_pointers[i + 1]; k++) {
+					if (sb.length() > 0) {
+						sb.append('\n');
+					}
+					sb.append(i + 1).append('\t').append(matrix.column_indices[k] + 1).append('\t').append(matrix.values[k]);
+				}
+			}
+		}
+		result = sb.toString();
+		System.out.println(result);
+		return result;
+	}
+}
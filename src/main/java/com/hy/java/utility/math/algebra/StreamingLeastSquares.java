@@ -0,0 +1,301 @@
+package com.hy.java.utility.math.algebra;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 流式最小二乘：逐行或逐块读入设计矩阵A与右端项b，用Givens旋转增量更新QR分解中的上三角矩阵R与Q<sup>T</sup>b，不保存A，也不构造A<sup>T</sup>A。
+ * <p>
+ * 状态只有p×p的R、长度p的Q<sup>T</sup>b与几个标量（p为列数），与行数无关。多个线程可各自处理一部分行，最后用{@link #merge(StreamingLeastSquares)}合并，
+ * 结果与单线程处理全部行相同（至舍入误差）。直接用QR而非正规方程，条件数不会被平方
+ *
+ * @author cfw
+ */
+public class StreamingLeastSquares {
+	/**
+	 * {@link #fit(DoubleMatrix, DoubleVector)}中每个任务处理的最大行数
+	 */
+	public static final int PARALLEL_THRESHOLD = 1 << 14;
+
+	private final int column_num;
+	/**
+	 * R的上三角部分，行优先，第(i,j)个元素位于r[i*column_num+j]
+	 */
+	private final double[] r;
+	/**
+	 * Q<sup>T</sup>b的前column_num个分量
+	 */
+	private final double[] z;
+	/**
+	 * 旋转后落在R的列空间之外的部分，即残差平方和
+	 */
+	private double residual_sum_of_squares;
+	private long row_num;
+	/**
+	 * b的均值与离差平方和（Welford），用于计算R<sup>2</sup>
+	 */
+	private double mean_b;
+	private double m2_b;
+	private final double[] work;
+
+	public StreamingLeastSquares(int column_num) {
+		if (column_num <= 0) {
+			throw new IllegalArgumentException("column_num must be greater than 0");
+		}
+		this.column_num = column_num;
+		this.r = new double[column_num * column_num];
+		this.z = new double[column_num];
+		this.work = new double[column_num];
+	}
+
+	public int getColumnNum() {
+		return column_num;
+	}
+
+	/**
+	 * 已读入的行数
+	 *
+	 * @return row_num
+	 */
+	public long getRowNum() {
+		return row_num;
+	}
+
+	/**
+	 * 读入一行
+	 *
+	 * @param row A的一行，长度为列数
+	 * @param b   该行对应的右端项
+	 */
+	public void addRow(double[] row, double b) {
+		if (row.length != column_num) {
+			System.out.println("row length not equals with column_num");
+		} else {
+			addRow(row, 0, b);
+		}
+	}
+
+	/**
+	 * 读入一块行
+	 *
+	 * @param rows 行优先存储的count行，长度至少为count×列数
+	 * @param b    各行对应的右端项，长度至少为count
+	 * @param count
+	 */
+	public void addRows(double[] rows, double[] b, int count) {
+		if (rows.length < count * column_num || b.length < count) {
+			System.out.println("rows or b too short");
+		} else {
+			for (int i = 0; i < count; i++) {
+				addRow(rows, i * column_num, b[i]);
+			}
+		}
+	}
+
+	/**
+	 * 读入一块行
+	 *
+	 * @param rows     列数与此求解器相同
+	 * @param vector_b 维数等于rows的行数
+	 */
+	public void addRows(DoubleMatrix rows, DoubleVector vector_b) {
+		if (rows.getColumnNum() != column_num) {
+			System.out.println("column_num not the same");
+		} else if (rows.getRowNum() != vector_b.getDimension()) {
+			System.out.println("row_num not equals with dimension of b");
+		} else {
+			addRows(rows.getElements(), vector_b.getCoordinates(), rows.getRowNum());
+		}
+	}
+
+	/**
+	 * 把另一部分行的状态合并进来：把other的R逐行（连同Q<sup>T</sup>b）旋转进此求解器的R，O(p<sup>3</sup>)
+	 *
+	 * @param other 列数相同，处理的是另一部分行
+	 */
+	public void merge(StreamingLeastSquares other) {
+		if (other.column_num != column_num) {
+			System.out.println("column_num not the same");
+		} else if (other.row_num > 0) {
+			// R的第i行前i个元素为0，Givens旋转从第i列开始
+			for (int i = 0; i < column_num; i++) {
+				System.arraycopy(other.r, i * column_num, work, 0, column_num);
+				rotate(work, i, other.z[i]);
+			}
+			residual_sum_of_squares += other.residual_sum_of_squares;
+			long total = row_num + other.row_num;
+			double delta = other.mean_b - mean_b;
+			m2_b += other.m2_b + delta * delta * ((double) row_num * other.row_num / total);
+			mean_b += delta * other.row_num / total;
+			row_num = total;
+		}
+	}
+
+	/**
+	 * 由当前状态求最小二乘解。不改变状态，之后可以继续读入行
+	 *
+	 * @return 系数与残差统计。行数少于列数或A列不满秩时返回null
+	 */
+	public LeastSquaresResult getResult() {
+		LeastSquaresResult result = null;
+		if (row_num < column_num) {
+			System.out.println("row_num less than column_num");
+		} else if (isRankDeficient()) {
+			System.out.println("matrix is rank deficient");
+		} else {
+			int p = column_num;
+			// 回代解Rx=Q^Tb
+			double[] x = new double[p];
+			for (int i = p - 1; i >= 0; i--) {
+				double sum = z[i];
+				for (int j = i + 1; j < p; j++) {
+					sum -= r[i * p + j] * x[j];
+				}
+				x[i] = sum / r[i * p + i];
+			}
+			// (A^TA)^-1=R^-1R^-T，其对角元为R^-1各行的平方和
+			double[] inverse = new double[p * p];
+			for (int j = 0; j < p; j++) {
+				inverse[j * p + j] = 1.0 / r[j * p + j];
+				for (int i = j - 1; i >= 0; i--) {
+					double sum = 0.0;
+					for (int k = i + 1; k <= j; k++) {
+						sum += r[i * p + k] * inverse[k * p + j];
+					}
+					inverse[i * p + j] = -sum / r[i * p + i];
+				}
+			}
+			double variance = row_num > p ? residual_sum_of_squares / (row_num - p) : Double.NaN;
+			double[] errors = new double[p];
+			for (int i = 0; i < p; i++) {
+				double sum = 0.0;
+				for (int j = i; j < p; j++) {
+					sum += inverse[i * p + j] * inverse[i * p + j];
+				}
+				errors[i] = Math.sqrt(variance * sum);
+			}
+			double r_squared = m2_b > 0 ? 1.0 - residual_sum_of_squares / m2_b : Double.NaN;
+			result = new LeastSquaresResult(new DoubleVector(x), new DoubleVector(errors), residual_sum_of_squares, r_squared, row_num);
+		}
+		return result;
+	}
+
+	/**
+	 * 拟合整个矩阵。行数超过{@link #PARALLEL_THRESHOLD}时分块在{@link ForkJoinPool#commonPool()}中并行处理后合并
+	 *
+	 * @param matrix_A
+	 * @param vector_b
+	 * @return 系数与残差统计。维数不符、行数少于列数或A列不满秩时返回null
+	 */
+	public static LeastSquaresResult fit(DoubleMatrix matrix_A, DoubleVector vector_b) {
+		LeastSquaresResult result = null;
+		if (matrix_A.getRowNum() != vector_b.getDimension()) {
+			System.out.println("row_num not equals with dimension of b");
+		} else {
+			StreamingLeastSquares solver;
+			if (matrix_A.getRowNum() <= PARALLEL_THRESHOLD) {
+				solver = new StreamingLeastSquares(matrix_A.getColumnNum());
+				solver.addRows(matrix_A, vector_b);
+			} else {
+				solver = ForkJoinPool.commonPool().invoke(new FitTask(matrix_A.getElements(), vector_b.getCoordinates(), matrix_A.getColumnNum(), 0, matrix_A.getRowNum()));
+			}
+			result = solver.getResult();
+		}
+		return result;
+	}
+
+	/**
+	 * 读入rows[offset..offset+column_num)与b：依次用Givens旋转把该行消到R中
+	 */
+	private void addRow(double[] rows, int offset, double b) {
+		System.arraycopy(rows, offset, work, 0, column_num);
+		rotate(work, 0, b);
+		row_num++;
+		double delta = b - mean_b;
+		mean_b += delta / row_num;
+		m2_b += delta * (b - mean_b);
+	}
+
+	/**
+	 * 把前start个元素为0的行x（右端项b）旋转进R，x被修改
+	 */
+	private void rotate(double[] x, int start, double b) {
+		int p = column_num;
+		for (int k = start; k < p; k++) {
+			double x_k = x[k];
+			if (x_k != 0.0) {
+				int diagonal = k * p + k;
+				double r_kk = r[diagonal];
+				double h = Math.hypot(r_kk, x_k);
+				double c = r_kk / h;
+				double s = x_k / h;
+				r[diagonal] = h;
+				for (int j = k + 1; j < p; j++) {
+					double r_kj = r[k * p + j];
+					double x_j = x[j];
+					r[k * p + j] = c * r_kj + s * x_j;
+					x[j] = c * x_j - s * r_kj;
+				}
+				double z_k = z[k];
+				z[k] = c * z_k + s * b;
+				b = c * b - s * z_k;
+			}
+		}
+		residual_sum_of_squares += b * b;
+	}
+
+	/**
+	 * R的对角元不超过max(行数,列数)·eps·max|r<sub>ii</sub>|时视为不满秩。共线的列经Givens旋转后残留的对角元随行数累积舍入误差，阈值需随行数放大
+	 */
+	private boolean isRankDeficient() {
+		double max = 0.0;
+		for (int i = 0; i < column_num; i++) {
+			max = Math.max(max, Math.abs(r[i * column_num + i]));
+		}
+		double tolerance = max * Math.max(row_num, column_num) * Math.ulp(1.0);
+		boolean result = max == 0.0;
+		for (int i = 0; i < column_num && !result; i++) {
+			result = Math.abs(r[i * column_num + i]) <= tolerance;
+		}
+		return result;
+	}
+
+	/**
+	 * 把[start,end)行二分，直到每段不超过并行阈值，各段的状态两两合并
+	 */
+	private static final class FitTask extends RecursiveTask<StreamingLeastSquares> {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] rows;
+		private final double[] b;
+		private final int column_num;
+		private final int start;
+		private final int end;
+
+		FitTask(double[] rows, double[] b, int column_num, int start, int end) {
+			this.rows = rows;
+			this.b = b;
+			this.column_num = column_num;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected StreamingLeastSquares compute() {
+			StreamingLeastSquares result;
+			if (end - start <= PARALLEL_THRESHOLD) {
+				result = new StreamingLeastSquares(column_num);
+				for (int i = start; i < end; i++) {
+					result.addRow(rows, i * column_num, b[i]);
+				}
+			} else {
+				int middle = (start + end) >>> 1;
+				FitTask right = new FitTask(rows, b, column_num, middle, end);
+				right.fork();
+				result = new FitTask(rows, b, column_num, start, middle).compute();
+				result.merge(right.join());
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,347 @@
+package com.hy.java.utility.math.algebra;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 实对称矩阵的特征分解：A=VΛV<sup>T</sup>，其中V为正交矩阵，各列为特征向量，Λ为特征值构成的对角矩阵。
+ * <p>
+ * 先用Householder变换化为三对角矩阵，再用带隐式位移的QL迭代求特征值、特征向量（JAMA的tred2、tql2），共O(n<sup>3</sup>)。
+ * 只需要最大的少数几个特征对时，用{@link #topK(DoubleMatrix, int)}
+ *
+ * @author cfw
+ */
+public class SymmetricEigenDecomposition {
+	private final int dimension;
+	/**
+	 * 从大到小排列
+	 */
+	private final double[] eigenvalues;
+	/**
+	 * n×k，第j列为eigenvalues[j]对应的单位特征向量
+	 */
+	private final DoubleMatrix eigenvectors;
+
+	/**
+	 * @param matrix 实对称矩阵，只使用其下三角部分
+	 */
+	public SymmetricEigenDecomposition(DoubleMatrix matrix) {
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			throw new IllegalArgumentException("matrix is not a Square Matrix");
+		}
+		dimension = matrix.getRowNum();
+		int n = dimension;
+		double[][] v = new double[n][n];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(matrix.getElements(), i * n, v[i], 0, n);
+		}
+		double[] d = new double[n];
+		double[] e = new double[n];
+		tridiagonalize(v, d, e);
+		diagonalize(v, d, e);
+		// tql2按升序排列，这里反转为降序
+		eigenvalues = new double[n];
+		eigenvectors = new DoubleMatrix(n, n);
+		double[] vectors = eigenvectors.getElements();
+		for (int j = 0; j < n; j++) {
+			eigenvalues[j] = d[n - 1 - j];
+			for (int i = 0; i < n; i++) {
+				vectors[i * n + j] = v[i][n - 1 - j];
+			}
+		}
+	}
+
+	private SymmetricEigenDecomposition(int dimension, double[] eigenvalues, DoubleMatrix eigenvectors) {
+		this.dimension = dimension;
+		this.eigenvalues = eigenvalues;
+		this.eigenvectors = eigenvectors;
+	}
+
+	/**
+	 * 特征值，从大到小排列；由{@link #topK(DoubleMatrix, int)}得到时按绝对值从大到小排列
+	 *
+	 * @return eigenvalues
+	 */
+	public double[] getEigenvalues() {
+		return eigenvalues.clone();
+	}
+
+	/**
+	 * 特征向量矩阵V，第j列为第j个特征值对应的单位特征向量
+	 *
+	 * @return V
+	 */
+	public DoubleMatrix getEigenvectors() {
+		return new DoubleMatrix(dimension, eigenvalues.length, eigenvectors.getElements().clone());
+	}
+
+	/**
+	 * 特征值构成的对角矩阵Λ
+	 *
+	 * @return Λ
+	 */
+	public DoubleMatrix getD() {
+		int k = eigenvalues.length;
+		DoubleMatrix result = new DoubleMatrix(k, k);
+		for (int i = 0; i < k; i++) {
+			result.getElements()[i * k + i] = eigenvalues[i];
+		}
+		return result;
+	}
+
+	/**
+	 * 随机子空间迭代求绝对值最大的k个特征对，用默认的过采样数10、幂迭代次数2、随机种子0
+	 *
+	 * @param matrix 实对称矩阵
+	 * @param k
+	 * @return 只含k个特征对的分解
+	 */
+	public static SymmetricEigenDecomposition topK(DoubleMatrix matrix, int k) {
+		return topK(matrix, k, 10, 2, 0L);
+	}
+
+	/**
+	 * 随机子空间迭代求绝对值最大的k个特征对：用随机矩阵Ω取A的主导子空间Q=orth(A<sup>q+1</sup>Ω)，再对小矩阵Q<sup>T</sup>AQ做完整分解。
+	 * 除与A的乘法外只需O(n(k+p)<sup>2</sup>)
+	 *
+	 * @param matrix           实对称矩阵
+	 * @param k                所需特征对个数
+	 * @param oversampling     过采样数p，子空间维数为k+p
+	 * @param power_iterations 幂迭代次数q，特征值衰减慢时应增大
+	 * @param seed             随机种子，相同种子结果相同
+	 * @return 只含k个特征对的分解
+	 */
+	public static SymmetricEigenDecomposition topK(DoubleMatrix matrix, int k, int oversampling, int power_iterations, long seed) {
+		if (matrix.getRowNum() != matrix.getColumnNum()) {
+			throw new IllegalArgumentException("matrix is not a Square Matrix");
+		}
+		int n = matrix.getRowNum();
+		if (k < 1 || k > n) {
+			throw new IllegalArgumentException("k must be between 1 and " + n);
+		}
+		int l = Math.min(n, k + oversampling);
+		MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+		DoubleMatrix q = SingularValueDecomposition.orthonormalize(multiplier.multiply(matrix, SingularValueDecomposition.gaussian(n, l, new Random(seed))));
+		for (int iteration = 0; iteration < power_iterations; iteration++) {
+			q = SingularValueDecomposition.orthonormalize(multiplier.multiply(matrix, q));
+		}
+		// T=Q^T·A·Q，l×l
+		DoubleMatrix t = multiplier.multiply(DoubleMatrix.matrixTranspose(q), multiplier.multiply(matrix, q));
+		SymmetricEigenDecomposition small = new SymmetricEigenDecomposition(t);
+		// 按绝对值从大到小取前k个
+		Integer[] order = new Integer[l];
+		for (int i = 0; i < l; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (i, j) -> Double.compare(Math.abs(small.eigenvalues[j]), Math.abs(small.eigenvalues[i])));
+		double[] eigenvalues = new double[k];
+		DoubleMatrix w = new DoubleMatrix(l, k);
+		for (int j = 0; j < k; j++) {
+			eigenvalues[j] = small.eigenvalues[order[j]];
+			for (int i = 0; i < l; i++) {
+				w.getElements()[i * k + j] = small.eigenvectors.getElements()[i * l + order[j]];
+			}
+		}
+		return new SymmetricEigenDecomposition(n, eigenvalues, multiplier.multiply(q, w));
+	}
+
+	/**
+	 * Householder三对角化（JAMA tred2）。结束时d为对角线，e[1..n-1]为次对角线，v为累积的正交变换
+	 */
+	private static void tridiagonalize(double[][] v, double[] d, double[] e) {
+		int n = d.length;
+		for (int j = 0; j < n; j++) {
+			d[j] = v[n - 1][j];
+		}
+		for (int i = n - 1; i > 0; i--) {
+			// 缩放以避免上溢、下溢
+			double scale = 0.0;
+			double h = 0.0;
+			for (int k = 0; k < i; k++) {
+				scale += Math.abs(d[k]);
+			}
+			if (scale == 0.0) {
+				e[i] = d[i - 1];
+				for (int j = 0; j < i; j++) {
+					d[j] = v[i - 1][j];
+					v[i][j] = 0.0;
+					v[j][i] = 0.0;
+				}
+			} else {
+				// 生成Householder向量
+				for (int k = 0; k < i; k++) {
+					d[k] /= scale;
+					h += d[k] * d[k];
+				}
+				double f = d[i - 1];
+				double g = Math.sqrt(h);
+				if (f > 0) {
+					g = -g;
+				}
+				e[i] = scale * g;
+				h = h - f * g;
+				d[i - 1] = f - g;
+				for (int j = 0; j < i; j++) {
+					e[j] = 0.0;
+				}
+				// 对剩余子矩阵做相似变换
+				for (int j = 0; j < i; j++) {
+					f = d[j];
+					v[j][i] = f;
+					g = e[j] + v[j][j] * f;
+					for (int k = j + 1; k <= i - 1; k++) {
+						g += v[k][j] * d[k];
+						e[k] += v[k][j] * f;
+					}
+					e[j] = g;
+				}
+				f = 0.0;
+				for (int j = 0; j < i; j++) {
+					e[j] /= h;
+					f += e[j] * d[j];
+				}
+				double hh = f / (h + h);
+				for (int j = 0; j < i; j++) {
+					e[j] -= hh * d[j];
+				}
+				for (int j = 0; j < i; j++) {
+					f = d[j];
+					g = e[j];
+					for (int k = j; k <= i - 1; k++) {
+						v[k][j] -= (f * e[k] + g * d[k]);
+					}
+					d[j] = v[i - 1][j];
+					v[i][j] = 0.0;
+				}
+			}
+			d[i] = h;
+		}
+		// 累积变换
+		for (int i = 0; i < n - 1; i++) {
+			v[n - 1][i] = v[i][i];
+			v[i][i] = 1.0;
+			double h = d[i + 1];
+			if (h != 0.0) {
+				for (int k = 0; k <= i; k++) {
+					d[k] = v[k][i + 1] / h;
+				}
+				for (int j = 0; j <= i; j++) {
+					double g = 0.0;
+					for (int k = 0; k <= i; k++) {
+						g += v[k][i + 1] * v[k][j];
+					}
+					for (int k = 0; k <= i; k++) {
+						v[k][j] -= g * d[k];
+					}
+				}
+			}
+			for (int k = 0; k <= i; k++) {
+				v[k][i + 1] = 0.0;
+			}
+		}
+		for (int j = 0; j < n; j++) {
+			d[j] = v[n - 1][j];
+			v[n - 1][j] = 0.0;
+		}
+		v[n - 1][n - 1] = 1.0;
+		e[0] = 0.0;
+	}
+
+	/**
+	 * 对称三对角矩阵的隐式位移QL迭代（JAMA tql2）。结束时d为升序排列的特征值，v的各列为对应特征向量
+	 */
+	private static void diagonalize(double[][] v, double[] d, double[] e) {
+		int n = d.length;
+		for (int i = 1; i < n; i++) {
+			e[i - 1] = e[i];
+		}
+		e[n - 1] = 0.0;
+		double f = 0.0;
+		double tst1 = 0.0;
+		double eps = Math.ulp(1.0);
+		for (int l = 0; l < n; l++) {
+			// 找到可忽略的次对角元
+			tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while (m < n - 1 && Math.abs(e[m]) > eps * tst1) {
+				m++;
+			}
+			// m>l时迭代，直到e[l]可忽略
+			if (m > l) {
+				int iteration = 0;
+				do {
+					if (++iteration > 100) {
+						throw new ArithmeticException("eigenvalue iteration did not converge");
+					}
+					// 计算隐式位移
+					double g = d[l];
+					double p = (d[l + 1] - g) / (2.0 * e[l]);
+					double r = Math.hypot(p, 1.0);
+					if (p < 0) {
+						r = -r;
+					}
+					d[l] = e[l] / (p + r);
+					d[l + 1] = e[l] * (p + r);
+					double dl1 = d[l + 1];
+					double h = g - d[l];
+					for (int i = l + 2; i < n; i++) {
+						d[i] -= h;
+					}
+					f = f + h;
+					// 隐式QL变换
+					p = d[m];
+					double c = 1.0;
+					double c2 = c;
+					double c3 = c;
+					double el1 = e[l + 1];
+					double s = 0.0;
+					double s2 = 0.0;
+					for (int i = m - 1; i >= l; i--) {
+						c3 = c2;
+						c2 = c;
+						s2 = s;
+						g = c * e[i];
+						h = c * p;
+						r = Math.hypot(p, e[i]);
+						e[i + 1] = s * r;
+						s = e[i] / r;
+						c = p / r;
+						p = c * d[i] - s * g;
+						d[i + 1] = h + s * (c * g + s * d[i]);
+						// 累积变换
+						for (int k = 0; k < n; k++) {
+							h = v[k][i + 1];
+							v[k][i + 1] = s * v[k][i] + c * h;
+							v[k][i] = c * v[k][i] - s * h;
+						}
+					}
+					p = -s * s2 * c3 * el1 * e[l] / dl1;
+					e[l] = s * p;
+					d[l] = c * p;
+				} while (Math.abs(e[l]) > eps * tst1);
+			}
+			d[l] = d[l] + f;
+			e[l] = 0.0;
+		}
+		// 按特征值升序排列
+		for (int i = 0; i < n - 1; i++) {
+			int k = i;
+			double p = d[i];
+			for (int j = i + 1; j < n; j++) {
+				if (d[j] < p) {
+					k = j;
+					p = d[j];
+				}
+			}
+			if (k != i) {
+				d[k] = d[i];
+				d[i] = p;
+				for (int j = 0; j < n; j++) {
+					p = v[j][i];
+					v[j][i] = v[j][k];
+					v[j][k] = p;
+				}
+			}
+		}
+	}
+}
@@ -1,10 +1,15 @@
 package com.hy.java.utility.math.algebra;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 
 public class Vector {
 	private int dimension;
 	private BigDecimal[] coordinates;
+	/**
+	 * 精度策略：以此向量为结果的运算按它舍入。默认不限精度，即精确计算
+	 */
+	private MathContext math_context = MathContext.UNLIMITED;
 
 	private enum Operations {
 		POSITIVE, GET_SET, VECTOR_ADDITION, DOT_PRODUCT
@@ -17,10 +22,42 @@ public class Vector {
 		}
 	}
 
+	/**
+	 * 与coordinates共用存储的向量，供{@link Matrix#rowView(int)}使用
+	 */
+	Vector(BigDecimal[] coordinates) {
+		this.dimension = coordinates.length;
+		this.coordinates = coordinates;
+	}
+
+	/**
+	 * 供{@link VectorView}使用，不分配存储
+	 */
+	Vector() {
+	}
+
 	public int getDimension() {
 		return dimension;
 	}
 
+	/**
+	 * 精度策略
+	 * 
+	 * @return math_context
+	 */
+	public MathContext getMathContext() {
+		return math_context;
+	}
+
+	/**
+	 * 设置精度策略，规则同{@link Matrix#setMathContext(MathContext)}：运算结果按两个运算数中较严格的精度舍入，原地运算按被修改向量的精度舍入
+	 * 
+	 * @param math_context
+	 */
+	public void setMathContext(MathContext math_context) {
+		this.math_context = math_context;
+	}
+
 	public void setCoordinate(int coordinate_index, double coordinate) {
 		if (checkDimension(coordinate_index, getDimension(), Operations.GET_SET)) {
 			coordinates[coordinate_index - 1] = BigDecimal.valueOf(coordinate);
@@ -41,10 +78,23 @@ public class Vector {
 		return result;
 	}
 
+	/**
+	 * 坐标数组。普通向量返回底层存储本身；列向量视图返回副本
+	 * 
+	 * @return coordinates
+	 */
 	public BigDecimal[] getCoordinates() {
 		return coordinates;
 	}
 
+	/**
+	 * 把由{@link #getCoordinates()}得到并修改过的数组写回向量。普通向量的数组即底层存储，无需写回；视图需要覆盖此方法
+	 * 
+	 * @param coordinates
+	 */
+	void writeBack(BigDecimal[] coordinates) {
+	}
+
 	/**
 	 * 向量加法
 	 * 
@@ -53,12 +103,27 @@ public class Vector {
 	 * @return vector_A+vector_B
 	 */
 	public static Vector vectorAddition(Vector vector_A, Vector vector_B) {
+		return vectorAddition(vector_A, vector_B, Matrix.mergeMathContext(vector_A.getMathContext(), vector_B.getMathContext()));
+	}
+
+	/**
+	 * 按指定精度做向量加法
+	 * 
+	 * @param vector_A
+	 * @param vector_B
+	 * @param math_context 运算及结果向量的精度策略
+	 * @return vector_A+vector_B
+	 */
+	public static Vector vectorAddition(Vector vector_A, Vector vector_B, MathContext math_context) {
 		Vector result = null;
 		// 同型则可以做加法
 		if (checkDimension(vector_A.getDimension(), vector_B.getDimension(), Operations.VECTOR_ADDITION)) {
 			result = new Vector(vector_A.getDimension());
-			for (int coordinate_index = 1; coordinate_index <= result.getDimension(); coordinate_index++) {
-				result.setCoordinate(coordinate_index, vector_A.getCoordinate(coordinate_index).add(vector_B.getCoordinate(coordinate_index)));
+			result.math_context = math_context;
+			BigDecimal[] a = vector_A.getCoordinates();
+			BigDecimal[] b = vector_B.getCoordinates();
+			for (int i = 0; i < result.getDimension(); i++) {
+				result.coordinates[i] = a[i].add(b[i], math_context);
 			}
 		}
 		return result;
@@ -72,7 +137,29 @@ public class Vector {
 	 * @return vector_A-vector_B
 	 */
 	public static Vector vectorSubtraction(Vector vector_A, Vector vector_B) {
-		return Vector.vectorAddition(vector_A, Vector.scalarMultiplication(BigDecimal.valueOf(-1.0), vector_B));
+		return vectorSubtraction(vector_A, vector_B, Matrix.mergeMathContext(vector_A.getMathContext(), vector_B.getMathContext()));
+	}
+
+	/**
+	 * 按指定精度做向量减法
+	 * 
+	 * @param vector_A
+	 * @param vector_B
+	 * @param math_context 运算及结果向量的精度策略
+	 * @return vector_A-vector_B
+	 */
+	public static Vector vectorSubtraction(Vector vector_A, Vector vector_B, MathContext math_context) {
+		Vector result = null;
+		if (checkDimension(vector_A.getDimension(), vector_B.getDimension(), Operations.VECTOR_ADDITION)) {
+			result = new Vector(vector_A.getDimension());
+			result.math_context = math_context;
+			BigDecimal[] a = vector_A.getCoordinates();
+			BigDecimal[] b = vector_B.getCoordinates();
+			for (int i = 0; i < result.getDimension(); i++) {
+				result.coordinates[i] = a[i].subtract(b[i], math_context);
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -83,12 +170,106 @@ public class Vector {
 	 * @return num*vector
 	 */
 	public static Vector scalarMultiplication(BigDecimal num, Vector vector) {
+		return scalarMultiplication(num, vector, vector.getMathContext());
+	}
+
+	/**
+	 * 按指定精度做向量数乘
+	 * 
+	 * @param num
+	 * @param vector
+	 * @param math_context 运算及结果向量的精度策略
+	 * @return num*vector
+	 */
+	public static Vector scalarMultiplication(BigDecimal num, Vector vector, MathContext math_context) {
 		Vector result = null;
 		if (checkDimension(vector.getDimension(), 1, Operations.POSITIVE)) {
 			result = new Vector(vector.getDimension());
-			for (int coordinate_index = 1; coordinate_index <= result.getDimension(); coordinate_index++) {
-				result.setCoordinate(coordinate_index, vector.getCoordinate(coordinate_index).multiply(num));
+			result.math_context = math_context;
+			BigDecimal[] coordinates = vector.getCoordinates();
+			for (int i = 0; i < result.getDimension(); i++) {
+				result.coordinates[i] = coordinates[i].multiply(num, math_context);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 原地向量加法：vector_A=vector_A+vector_B，不分配新的向量。按vector_A的精度策略舍入
+	 * 
+	 * @param vector_A 被修改的向量
+	 * @param vector_B
+	 * @return vector_A。不同型时返回null
+	 */
+	public static Vector addInPlace(Vector vector_A, Vector vector_B) {
+		Vector result = null;
+		if (checkDimension(vector_A.getDimension(), vector_B.getDimension(), Operations.VECTOR_ADDITION)) {
+			BigDecimal[] a = vector_A.getCoordinates();
+			BigDecimal[] b = vector_B.getCoordinates();
+			for (int i = 0; i < vector_A.getDimension(); i++) {
+				a[i] = a[i].add(b[i], vector_A.getMathContext());
+			}
+			vector_A.writeBack(a);
+			result = vector_A;
+		}
+		return result;
+	}
+
+	/**
+	 * 原地向量减法：vector_A=vector_A-vector_B，不分配新的向量。按vector_A的精度策略舍入
+	 * 
+	 * @param vector_A 被修改的向量
+	 * @param vector_B
+	 * @return vector_A。不同型时返回null
+	 */
+	public static Vector subtractInPlace(Vector vector_A, Vector vector_B) {
+		Vector result = null;
+		if (checkDimension(vector_A.getDimension(), vector_B.getDimension(), Operations.VECTOR_ADDITION)) {
+			BigDecimal[] a = vector_A.getCoordinates();
+			BigDecimal[] b = vector_B.getCoordinates();
+			for (int i = 0; i < vector_A.getDimension(); i++) {
+				a[i] = a[i].subtract(b[i], vector_A.getMathContext());
+			}
+			vector_A.writeBack(a);
+			result = vector_A;
+		}
+		return result;
+	}
+
+	/**
+	 * 原地向量数乘：vector=num*vector，不分配新的向量。按vector的精度策略舍入
+	 * 
+	 * @param num
+	 * @param vector 被修改的向量
+	 * @return vector
+	 */
+	public static Vector scaleInPlace(BigDecimal num, Vector vector) {
+		BigDecimal[] coordinates = vector.getCoordinates();
+		for (int i = 0; i < vector.getDimension(); i++) {
+			coordinates[i] = coordinates[i].multiply(num, vector.getMathContext());
+		}
+		vector.writeBack(coordinates);
+		return vector;
+	}
+
+	/**
+	 * 原地累加：vector_Y=vector_Y+alpha*vector_X，不分配新的向量。按vector_Y的精度策略舍入
+	 * 
+	 * @param alpha
+	 * @param vector_X
+	 * @param vector_Y 被修改的向量
+	 * @return vector_Y。不同型时返回null
+	 */
+	public static Vector axpy(BigDecimal alpha, Vector vector_X, Vector vector_Y) {
+		Vector result = null;
+		if (checkDimension(vector_X.getDimension(), vector_Y.getDimension(), Operations.VECTOR_ADDITION)) {
+			BigDecimal[] x = vector_X.getCoordinates();
+			BigDecimal[] y = vector_Y.getCoordinates();
+			for (int i = 0; i < vector_Y.getDimension(); i++) {
+				y[i] = y[i].add(alpha.multiply(x[i]), vector_Y.getMathContext());
 			}
+			vector_Y.writeBack(y);
+			result = vector_Y;
 		}
 		return result;
 	}
@@ -101,11 +282,25 @@ public class Vector {
 	 * @return vector_A·vector_B
 	 */
 	public static BigDecimal dotProduct(Vector vector_A, Vector vector_B) {
+		return dotProduct(vector_A, vector_B, Matrix.mergeMathContext(vector_A.getMathContext(), vector_B.getMathContext()));
+	}
+
+	/**
+	 * 按指定精度做向量点乘，每次乘加后按math_context舍入
+	 * 
+	 * @param vector_A
+	 * @param vector_B
+	 * @param math_context
+	 * @return vector_A·vector_B
+	 */
+	public static BigDecimal dotProduct(Vector vector_A, Vector vector_B, MathContext math_context) {
 		BigDecimal result = new BigDecimal("0");
 		// 同型则可以做点乘
 		if (checkDimension(vector_A.getDimension(), vector_B.getDimension(), Operations.DOT_PRODUCT)) {
-			for (int coordinate_index = 1; coordinate_index <= vector_A.getDimension(); coordinate_index++) {
-				result = result.add(vector_A.getCoordinate(coordinate_index).multiply(vector_B.getCoordinate(coordinate_index)));
+			BigDecimal[] a = vector_A.getCoordinates();
+			BigDecimal[] b = vector_B.getCoordinates();
+			for (int i = 0; i < vector_A.getDimension(); i++) {
+				result = result.add(a[i].multiply(b[i]), math_context);
 			}
 		}
 		return result;
@@ -114,7 +309,12 @@ public class Vector {
 	public static BigDecimal norm(Vector vector) {
 		BigDecimal result = null;
 		if (checkDimension(vector.getDimension(), 1, Operations.POSITIVE)) {
-			result = BigDecimal.valueOf(Math.sqrt(Vector.dotProduct(vector, vector).doubleValue()));
+			if (vector.getMathContext().getPrecision() == 0) {
+				result = BigDecimal.valueOf(Math.sqrt(Vector.dotProduct(vector, vector).doubleValue()));
+			} else {
+				// 有限精度时按该精度开方
+				result = Vector.dotProduct(vector, vector).sqrt(vector.getMathContext());
+			}
 		}
 		return result;
 	}
@@ -0,0 +1,85 @@
+package com.hy.java.utility.math.algebra;
+
+/**
+ * double数组上的基本向量运算，供{@link DoubleVector}、{@link DoubleMatrix}、{@link MatrixMultiplier}等原始类型路径使用。
+ * <p>
+ * 此为Java 11版本，使用标量循环；多版本jar中META-INF/versions/17下的同名类在JDK 17及以上且加载了jdk.incubator.vector模块时改用SIMD指令
+ *
+ * @author cfw
+ */
+final class VectorKernels {
+	private VectorKernels() {
+	}
+
+	/**
+	 * 当前是否使用SIMD实现
+	 *
+	 * @return vectorized
+	 */
+	static boolean isVectorized() {
+		return false;
+	}
+
+	/**
+	 * 点乘：x[x_offset..x_offset+length)·y[y_offset..y_offset+length)
+	 */
+	static double dot(double[] x, int x_offset, double[] y, int y_offset, int length) {
+		double result = 0.0;
+		for (int i = 0; i < length; i++) {
+			result += x[x_offset + i] * y[y_offset + i];
+		}
+		return result;
+	}
+
+	/**
+	 * 累加：y[y_offset..y_offset+length)+=alpha*x[x_offset..x_offset+length)
+	 */
+	static void axpy(double alpha, double[] x, int x_offset, double[] y, int y_offset, int length) {
+		for (int i = 0; i < length; i++) {
+			y[y_offset + i] += alpha * x[x_offset + i];
+		}
+	}
+
+	/**
+	 * 逐元素加法：z=x+y，z可以是x或y本身
+	 */
+	static void add(double[] x, double[] y, double[] z, int length) {
+		for (int i = 0; i < length; i++) {
+			z[i] = x[i] + y[i];
+		}
+	}
+
+	/**
+	 * 逐元素减法：z=x-y，z可以是x或y本身
+	 */
+	static void subtract(double[] x, double[] y, double[] z, int length) {
+		for (int i = 0; i < length; i++) {
+			z[i] = x[i] - y[i];
+		}
+	}
+
+	/**
+	 * 逐元素乘法：z=x∘y，z可以是x或y本身
+	 */
+	static void multiply(double[] x, double[] y, double[] z, int length) {
+		for (int i = 0; i < length; i++) {
+			z[i] = x[i] * y[i];
+		}
+	}
+
+	/**
+	 * 数乘：y=alpha*x，y可以是x本身
+	 */
+	static void scale(double alpha, double[] x, double[] y, int length) {
+		for (int i = 0; i < length; i++) {
+			y[i] = alpha * x[i];
+		}
+	}
+
+	/**
+	 * 平方和：x[offset..offset+length)·x[offset..offset+length)
+	 */
+	static double sumOfSquares(double[] x, int offset, int length) {
+		return dot(x, offset, x, offset, length);
+	}
+}
@@ -0,0 +1,114 @@
+package com.hy.java.utility.math.algebra;
+
+import java.math.BigDecimal;
+
+/**
+ * 向量视图：矩阵某一行或某一列，与矩阵共用存储。创建视图为O(1)，通过视图读写坐标即读写矩阵元素。
+ * <p>
+ * 视图的{@link #getCoordinates()}返回副本，对副本的修改不会反映到矩阵
+ *
+ * @author cfw
+ */
+class VectorView extends Vector {
+	private final Matrix source;
+	/**
+	 * source不是视图时直接访问其元素数组，否则经由source的getElement、setElement
+	 */
+	private final BigDecimal[][] elements;
+	/**
+	 * 行号或列号（从0开始）
+	 */
+	private final int index;
+	private final boolean row;
+	private final int dimension;
+
+	/**
+	 * @param source
+	 * @param index  行号或列号（从0开始）
+	 * @param row    为true时是第index行，否则是第index列
+	 */
+	VectorView(Matrix source, int index, boolean row) {
+		this.source = source;
+		this.elements = source instanceof MatrixView ? null : source.getElements();
+		this.index = index;
+		this.row = row;
+		this.dimension = row ? source.getColumnNum() : source.getRowNum();
+	}
+
+	@Override
+	public int getDimension() {
+		return dimension;
+	}
+
+	@Override
+	public void setCoordinate(int coordinate_index, double coordinate) {
+		setCoordinate(coordinate_index, BigDecimal.valueOf(coordinate));
+	}
+
+	@Override
+	public void setCoordinate(int coordinate_index, BigDecimal coordinate) {
+		if (checkIndex(coordinate_index)) {
+			set(coordinate_index - 1, coordinate);
+		}
+	}
+
+	@Override
+	public BigDecimal getCoordinate(int coordinate_index) {
+		BigDecimal result = null;
+		if (checkIndex(coordinate_index)) {
+			result = get(coordinate_index - 1);
+		}
+		return result;
+	}
+
+	/**
+	 * 复制出的坐标数组
+	 */
+	@Override
+	public BigDecimal[] getCoordinates() {
+		BigDecimal[] result = new BigDecimal[dimension];
+		for (int i = 0; i < dimension; i++) {
+			result[i] = get(i);
+		}
+		return result;
+	}
+
+	@Override
+	void writeBack(BigDecimal[] coordinates) {
+		for (int i = 0; i < dimension; i++) {
+			set(i, coordinates[i]);
+		}
+	}
+
+	private BigDecimal get(int i) {
+		BigDecimal result;
+		if (elements != null) {
+			result = row ? elements[index][i] : elements[i][index];
+		} else {
+			result = row ? source.getElement(index + 1, i + 1) : source.getElement(i + 1, index + 1);
+		}
+		return result;
+	}
+
+	private void set(int i, BigDecimal coordinate) {
+		if (elements != null) {
+			if (row) {
+				elements[index][i] = coordinate;
+			} else {
+				elements[i][index] = coordinate;
+			}
+		} else if (row) {
+			source.setElement(index + 1, i + 1, coordinate);
+		} else {
+			source.setElement(i + 1, index + 1, coordinate);
+		}
+	}
+
+	private boolean checkIndex(int coordinate_index) {
+		boolean result = coordinate_index > 0 && coordinate_index <= dimension;
+		if (!result) {
+			System.out.println("dimension out of bounds");
+		}
+		return result;
+	}
+}
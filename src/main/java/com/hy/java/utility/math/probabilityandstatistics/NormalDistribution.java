@@ -32,6 +32,18 @@ public final class NormalDistribution {
 		rnd_generator2 = random_number_generator;
 	}
 
+	public double getMean() {
+		return mean;
+	}
+
+	public double getVariance() {
+		return variance;
+	}
+
+	public double getStandardDeviation() {
+		return standard_deviation;
+	}
+
 	/**
 	 * 返回一个服从正态分布N(mean,variance)的随机数
 	 * 
@@ -0,0 +1,197 @@
+package com.hy.java.utility.math.probabilityandstatistics;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.Vector;
+
+/**
+ * 批量生成服从{@link NormalDistribution}的随机矩阵、向量，在{@link ForkJoinPool#commonPool()}中并行填充。
+ * <p>
+ * 元素按{@link #BLOCK_SIZE}分块，每块使用由种子依次{@link SplittableRandom#split()}得到的独立随机数流，分块方式与线程数无关，
+ * 因此同一种子在任何线程数下得到的结果都相同。每块内用Box-Muller变换，一对均匀随机数产生两个正态随机数
+ *
+ * @author cfw
+ */
+public final class NormalRandomGenerator {
+	/**
+	 * 每个随机数流负责的元素个数
+	 */
+	public static final int BLOCK_SIZE = 1 << 13;
+
+	private NormalRandomGenerator() {
+	}
+
+	/**
+	 * 用服从distribution的随机数填满array
+	 *
+	 * @param array
+	 * @param distribution 只使用其均值与方差
+	 * @param seed         随机种子，相同种子结果相同
+	 */
+	public static void fill(double[] array, NormalDistribution distribution, long seed) {
+		int block_num = (array.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		SplittableRandom[] streams = streams(block_num, seed);
+		double mean = distribution.getMean();
+		double standard_deviation = distribution.getStandardDeviation();
+		BlockKernel kernel = (block) -> {
+			int start = block * BLOCK_SIZE;
+			fillBlock(array, start, Math.min(array.length, start + BLOCK_SIZE), streams[block], mean, standard_deviation);
+		};
+		forEachBlock(block_num, kernel);
+	}
+
+	/**
+	 * @param row_num
+	 * @param column_num
+	 * @param distribution
+	 * @param seed
+	 * @return 元素服从distribution的随机矩阵
+	 */
+	public static DoubleMatrix doubleMatrix(int row_num, int column_num, NormalDistribution distribution, long seed) {
+		DoubleMatrix result = new DoubleMatrix(row_num, column_num);
+		fill(result.getElements(), distribution, seed);
+		return result;
+	}
+
+	/**
+	 * @param dimension
+	 * @param distribution
+	 * @param seed
+	 * @return 坐标服从distribution的随机向量
+	 */
+	public static DoubleVector doubleVector(int dimension, NormalDistribution distribution, long seed) {
+		DoubleVector result = new DoubleVector(dimension);
+		fill(result.getCoordinates(), distribution, seed);
+		return result;
+	}
+
+	/**
+	 * 与{@link #doubleMatrix(int, int, NormalDistribution, long)}的元素相同，转换为{@link BigDecimal}也并行进行
+	 *
+	 * @param row_num
+	 * @param column_num
+	 * @param distribution
+	 * @param seed
+	 * @return 元素服从distribution的随机矩阵
+	 */
+	public static Matrix matrix(int row_num, int column_num, NormalDistribution distribution, long seed) {
+		Matrix result = new Matrix(row_num, column_num);
+		double[] values = new double[row_num * column_num];
+		fill(values, distribution, seed);
+		BigDecimal[][] elements = result.getElements();
+		toDecimal(values, (index, value) -> elements[index / column_num][index % column_num] = value);
+		return result;
+	}
+
+	/**
+	 * 与{@link #doubleVector(int, NormalDistribution, long)}的坐标相同
+	 *
+	 * @param dimension
+	 * @param distribution
+	 * @param seed
+	 * @return 坐标服从distribution的随机向量
+	 */
+	public static Vector vector(int dimension, NormalDistribution distribution, long seed) {
+		Vector result = new Vector(dimension);
+		double[] values = new double[dimension];
+		fill(values, distribution, seed);
+		BigDecimal[] coordinates = result.getCoordinates();
+		toDecimal(values, (index, value) -> coordinates[index] = value);
+		return result;
+	}
+
+	/**
+	 * 由seed依次分裂出block_num个独立的随机数流
+	 */
+	private static SplittableRandom[] streams(int block_num, long seed) {
+		SplittableRandom root = new SplittableRandom(seed);
+		SplittableRandom[] result = new SplittableRandom[block_num];
+		for (int block = 0; block < block_num; block++) {
+			result[block] = root.split();
+		}
+		return result;
+	}
+
+	/**
+	 * Box-Muller变换填充array[start,end)
+	 */
+	private static void fillBlock(double[] array, int start, int end, SplittableRandom random, double mean, double standard_deviation) {
+		for (int i = start; i < end; i += 2) {
+			double rnd1 = 0.0;
+			while (rnd1 == 0.0) {
+				rnd1 = random.nextDouble();
+			}
+			double r = Math.sqrt(-2.0 * Math.log(rnd1)) * standard_deviation;
+			double theta = 2.0 * Math.PI * random.nextDouble();
+			array[i] = r * Math.cos(theta) + mean;
+			if (i + 1 < end) {
+				array[i + 1] = r * Math.sin(theta) + mean;
+			}
+		}
+	}
+
+	private static void toDecimal(double[] values, DecimalSink sink) {
+		int block_num = (values.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		BlockKernel kernel = (block) -> {
+			int end = Math.min(values.length, (block + 1) * BLOCK_SIZE);
+			for (int i = block * BLOCK_SIZE; i < end; i++) {
+				sink.accept(i, BigDecimal.valueOf(values[i]));
+			}
+		};
+		forEachBlock(block_num, kernel);
+	}
+
+	/**
+	 * 对每一块做kernel。只有一块时直接在当前线程计算
+	 */
+	private static void forEachBlock(int block_num, BlockKernel kernel) {
+		if (block_num <= 1) {
+			for (int block = 0; block < block_num; block++) {
+				kernel.apply(block);
+			}
+		} else {
+			ForkJoinPool.commonPool().invoke(new BlockTask(kernel, 0, block_num));
+		}
+	}
+
+	private interface BlockKernel {
+		void apply(int block);
+	}
+
+	private interface DecimalSink {
+		void accept(int index, BigDecimal value);
+	}
+
+	/**
+	 * 把[start,end)个块二分，直到每段只剩一块
+	 */
+	private static final class BlockTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final BlockKernel kernel;
+		private final int start;
+		private final int end;
+
+		BlockTask(BlockKernel kernel, int start, int end) {
+			this.kernel = kernel;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= 1) {
+				kernel.apply(start);
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new BlockTask(kernel, start, middle), new BlockTask(kernel, middle, end));
+			}
+		}
+	}
+}
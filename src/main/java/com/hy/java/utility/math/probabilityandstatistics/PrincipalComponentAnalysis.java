@@ -0,0 +1,127 @@
+package com.hy.java.utility.math.probabilityandstatistics;
+
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.SymmetricEigenDecomposition;
+
+/**
+ * 主成分分析：对{@link StreamingCovariance}得到的样本协方差矩阵做特征分解，取最大的k个特征值对应的特征向量为主成分。
+ * <p>
+ * 只依赖协方差矩阵，内存与样本数无关。k不超过维数的1/4时用{@link SymmetricEigenDecomposition#topK(DoubleMatrix, int)}随机子空间迭代，否则做完整分解
+ *
+ * @author cfw
+ */
+public class PrincipalComponentAnalysis {
+	private final int dimension;
+	private final double[] mean;
+	/**
+	 * 维数×k，第j列为第j个主成分（单位向量）
+	 */
+	private final DoubleMatrix components;
+	/**
+	 * 各主成分方向上的方差，从大到小
+	 */
+	private final double[] explained_variance;
+	private final double total_variance;
+
+	/**
+	 * @param covariance 至少读入了2个样本
+	 * @param k          主成分个数，1~维数
+	 */
+	public PrincipalComponentAnalysis(StreamingCovariance covariance, int k) {
+		dimension = covariance.getDimension();
+		if (k < 1 || k > dimension) {
+			throw new IllegalArgumentException("k must be between 1 and " + dimension);
+		}
+		DoubleMatrix matrix = covariance.getCovariance();
+		if (matrix == null) {
+			throw new IllegalArgumentException("covariance needs at least 2 samples");
+		}
+		mean = covariance.getMean().getCoordinates();
+		double trace = 0.0;
+		for (int i = 0; i < dimension; i++) {
+			trace += matrix.getElements()[i * dimension + i];
+		}
+		total_variance = trace;
+		SymmetricEigenDecomposition decomposition = k * 4 <= dimension ? SymmetricEigenDecomposition.topK(matrix, k) : new SymmetricEigenDecomposition(matrix);
+		double[] eigenvalues = decomposition.getEigenvalues();
+		double[] vectors = decomposition.getEigenvectors().getElements();
+		int column_num = eigenvalues.length;
+		explained_variance = new double[k];
+		components = new DoubleMatrix(dimension, k);
+		double[] elements = components.getElements();
+		for (int j = 0; j < k; j++) {
+			explained_variance[j] = eigenvalues[j];
+			for (int i = 0; i < dimension; i++) {
+				elements[i * k + j] = vectors[i * column_num + j];
+			}
+		}
+	}
+
+	/**
+	 * 主成分个数
+	 *
+	 * @return k
+	 */
+	public int getComponentNum() {
+		return explained_variance.length;
+	}
+
+	/**
+	 * 主成分矩阵，维数×k，第j列为第j个主成分（单位向量）
+	 *
+	 * @return components
+	 */
+	public DoubleMatrix getComponents() {
+		return new DoubleMatrix(dimension, explained_variance.length, components.getElements().clone());
+	}
+
+	/**
+	 * 各主成分方向上的方差（即协方差矩阵的特征值），从大到小
+	 *
+	 * @return explained_variance
+	 */
+	public double[] getExplainedVariance() {
+		return explained_variance.clone();
+	}
+
+	/**
+	 * 各主成分方差占总方差（协方差矩阵的迹）的比例
+	 *
+	 * @return explained_variance_ratio
+	 */
+	public double[] getExplainedVarianceRatio() {
+		double[] result = new double[explained_variance.length];
+		for (int j = 0; j < result.length; j++) {
+			result[j] = total_variance > 0.0 ? explained_variance[j] / total_variance : 0.0;
+		}
+		return result;
+	}
+
+	/**
+	 * 把样本投影到主成分上：(x-mean)<sup>T</sup>·components
+	 *
+	 * @param sample 维数与协方差矩阵相同
+	 * @return k维坐标。维数不符时返回null
+	 */
+	public DoubleVector transform(DoubleVector sample) {
+		DoubleVector result = null;
+		if (sample.getDimension() != dimension) {
+			System.out.println("dimension not the same");
+		} else {
+			int k = explained_variance.length;
+			double[] x = sample.getCoordinates();
+			double[] elements = components.getElements();
+			double[] scores = new double[k];
+			for (int i = 0; i < dimension; i++) {
+				double centered = x[i] - mean[i];
+				int offset = i * k;
+				for (int j = 0; j < k; j++) {
+					scores[j] += centered * elements[offset + j];
+				}
+			}
+			result = new DoubleVector(scores);
+		}
+		return result;
+	}
+}
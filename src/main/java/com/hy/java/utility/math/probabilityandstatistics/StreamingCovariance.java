@@ -0,0 +1,190 @@
+package com.hy.java.utility.math.probabilityandstatistics;
+
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.Vector;
+
+/**
+ * 流式协方差矩阵：逐个读入样本，用Welford算法更新均值与离差积矩阵，不保存样本，内存只与维数有关。
+ * <p>
+ * 多个线程可各自处理一部分样本，最后用{@link #merge(StreamingCovariance)}合并（Chan等的两两合并公式），结果与单线程处理全部样本相同（至舍入误差）
+ *
+ * @author cfw
+ */
+public class StreamingCovariance {
+	private final int dimension;
+	private long count;
+	private final double[] mean;
+	/**
+	 * 离差积矩阵Σ(x-mean)(x-mean)<sup>T</sup>，只维护上三角部分，行优先
+	 */
+	private final double[] comoment;
+	private final double[] delta;
+
+	public StreamingCovariance(int dimension) {
+		if (dimension <= 0) {
+			throw new IllegalArgumentException("dimension must be greater than 0");
+		}
+		this.dimension = dimension;
+		this.mean = new double[dimension];
+		this.comoment = new double[dimension * dimension];
+		this.delta = new double[dimension];
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * 已读入的样本数
+	 *
+	 * @return count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * 读入一个样本
+	 *
+	 * @param sample 长度为维数
+	 */
+	public void add(double[] sample) {
+		if (sample.length != dimension) {
+			System.out.println("sample length not equals with dimension");
+		} else {
+			add(sample, 0);
+		}
+	}
+
+	public void add(DoubleVector sample) {
+		add(sample.getCoordinates());
+	}
+
+	public void add(Vector sample) {
+		add(DoubleVector.fromVector(sample).getCoordinates());
+	}
+
+	/**
+	 * 读入一块样本
+	 *
+	 * @param samples 行优先存储的样本，每行一个，列数等于维数
+	 */
+	public void add(DoubleMatrix samples) {
+		if (samples.getColumnNum() != dimension) {
+			System.out.println("column_num not equals with dimension");
+		} else {
+			double[] elements = samples.getElements();
+			for (int i = 0; i < samples.getRowNum(); i++) {
+				add(elements, i * dimension);
+			}
+		}
+	}
+
+	/**
+	 * 合并另一部分样本的状态：C=C<sub>A</sub>+C<sub>B</sub>+δδ<sup>T</sup>·n<sub>A</sub>n<sub>B</sub>/n，其中δ为两部分均值之差
+	 *
+	 * @param other 维数相同，处理的是另一部分样本
+	 */
+	public void merge(StreamingCovariance other) {
+		if (other.dimension != dimension) {
+			System.out.println("dimension not the same");
+		} else if (other.count > 0) {
+			long total = count + other.count;
+			double weight = (double) count * other.count / total;
+			for (int i = 0; i < dimension; i++) {
+				delta[i] = other.mean[i] - mean[i];
+			}
+			for (int i = 0; i < dimension; i++) {
+				int offset = i * dimension;
+				double scaled = delta[i] * weight;
+				for (int j = i; j < dimension; j++) {
+					comoment[offset + j] += other.comoment[offset + j] + scaled * delta[j];
+				}
+				mean[i] += delta[i] * other.count / total;
+			}
+			count = total;
+		}
+	}
+
+	/**
+	 * 样本均值
+	 *
+	 * @return mean
+	 */
+	public DoubleVector getMean() {
+		return new DoubleVector(mean.clone());
+	}
+
+	/**
+	 * 样本协方差矩阵（除以n-1）
+	 *
+	 * @return 协方差矩阵。样本数少于2时返回null
+	 */
+	public DoubleMatrix getCovariance() {
+		DoubleMatrix result = null;
+		if (count < 2) {
+			System.out.println("count less than 2");
+		} else {
+			result = scaledComoment(1.0 / (count - 1));
+		}
+		return result;
+	}
+
+	/**
+	 * 总体协方差矩阵（除以n），即最大似然估计
+	 *
+	 * @return 协方差矩阵。没有样本时返回null
+	 */
+	public DoubleMatrix getPopulationCovariance() {
+		DoubleMatrix result = null;
+		if (count < 1) {
+			System.out.println("count less than 1");
+		} else {
+			result = scaledComoment(1.0 / count);
+		}
+		return result;
+	}
+
+	/**
+	 * 以{@link Matrix}表示的样本协方差矩阵
+	 *
+	 * @return 协方差矩阵。样本数少于2时返回null
+	 */
+	public Matrix getCovarianceMatrix() {
+		DoubleMatrix covariance = getCovariance();
+		return covariance == null ? null : DoubleMatrix.toMatrix(covariance);
+	}
+
+	private void add(double[] samples, int offset) {
+		count++;
+		for (int i = 0; i < dimension; i++) {
+			delta[i] = samples[offset + i] - mean[i];
+			mean[i] += delta[i] / count;
+		}
+		// C+=δ·(x-mean_new)^T，δ为与旧均值之差
+		for (int i = 0; i < dimension; i++) {
+			double delta_i = delta[i];
+			if (delta_i != 0.0) {
+				int row = i * dimension;
+				for (int j = i; j < dimension; j++) {
+					comoment[row + j] += delta_i * (samples[offset + j] - mean[j]);
+				}
+			}
+		}
+	}
+
+	private DoubleMatrix scaledComoment(double factor) {
+		DoubleMatrix result = new DoubleMatrix(dimension, dimension);
+		double[] elements = result.getElements();
+		for (int i = 0; i < dimension; i++) {
+			for (int j = i; j < dimension; j++) {
+				double value = comoment[i * dimension + j] * factor;
+				elements[i * dimension + j] = value;
+				elements[j * dimension + i] = value;
+			}
+		}
+		return result;
+	}
+}
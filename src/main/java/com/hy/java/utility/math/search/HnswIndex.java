@@ -0,0 +1,695 @@
+package com.hy.java.utility.math.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.Vector;
+
+/**
+ * 近似最近邻索引（HNSW，分层可导航小世界图）。每个向量随机分配一个层数，在它所在的每一层与m个近邻相连（第0层2m个），
+ * 检索时从最高层的入口贪心下降，在第0层以ef个候选做最佳优先搜索。
+ * <p>
+ * 参数：m越大图越稠密、召回率越高、内存与插入时间越多；ef_construction影响建图质量；ef_search（不小于k）越大召回率越高、检索越慢，可随时调整。
+ * 支持逐个插入；插入与检索以读写锁隔开，检索可以在多个线程中同时进行。
+ * {@link #save(String)}把向量、各层连接按小端序连续写入文件，{@link #load(String)}映射文件后整块读入，无需重新建图
+ *
+ * @author cfw
+ */
+public class HnswIndex {
+	static final int MAGIC = 0x48594E4E;
+	static final short VERSION = 1;
+	static final int HEADER_BYTES = 64;
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+	/**
+	 * 映射文件时每段的最大字节数
+	 */
+	private static final int MAP_CHUNK_BYTES = 1 << 30;
+
+	private final int dimension;
+	private final Metric metric;
+	private final int m;
+	/**
+	 * 第0层的最大连接数，为2m
+	 */
+	private final int m0;
+	private final int ef_construction;
+	private volatile int ef_search;
+	private final long seed;
+	private final double level_multiplier;
+	private SplittableRandom random;
+
+	private final VectorCollection vectors;
+	private int[] levels;
+	/**
+	 * 第0层的连接：第i个向量（下标从0开始）位于links0[i*(m0+1)]，依次为连接数与各邻居的下标
+	 */
+	private int[] links0;
+	/**
+	 * 第1层及以上的连接：第l层位于upper_links[i][(l-1)*(m+1)]，格式同links0。只有第0层的向量为null
+	 */
+	private int[][] upper_links;
+	private int entry_point = -1;
+	private int max_level = -1;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final ThreadLocal<VisitedMarks> visited_marks = ThreadLocal.withInitial(VisitedMarks::new);
+
+	/**
+	 * 以m=16、ef_construction=200、ef_search=50、随机种子0构造
+	 *
+	 * @param dimension
+	 * @param metric
+	 */
+	public HnswIndex(int dimension, Metric metric) {
+		this(dimension, metric, 16, 200, 50, 0L);
+	}
+
+	/**
+	 * @param dimension
+	 * @param metric
+	 * @param m               每层的连接数，第0层为2m
+	 * @param ef_construction 插入时的候选数
+	 * @param ef_search       检索时的默认候选数
+	 * @param seed            分配层数的随机种子，相同的种子与插入顺序得到相同的图
+	 */
+	public HnswIndex(int dimension, Metric metric, int m, int ef_construction, int ef_search, long seed) {
+		if (m < 2) {
+			throw new IllegalArgumentException("m must be at least 2");
+		}
+		if (ef_construction <= 0 || ef_search <= 0) {
+			throw new IllegalArgumentException("ef must be greater than 0");
+		}
+		this.dimension = dimension;
+		this.metric = metric;
+		this.m = m;
+		this.m0 = 2 * m;
+		this.ef_construction = ef_construction;
+		this.ef_search = ef_search;
+		this.seed = seed;
+		this.level_multiplier = 1.0 / Math.log(m);
+		this.random = new SplittableRandom(seed);
+		this.vectors = new VectorCollection(dimension);
+		this.levels = new int[16];
+		this.links0 = new int[16 * (m0 + 1)];
+		this.upper_links = new int[16][];
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	public Metric getMetric() {
+		return metric;
+	}
+
+	public int getM() {
+		return m;
+	}
+
+	public int getEfConstruction() {
+		return ef_construction;
+	}
+
+	public int getEfSearch() {
+		return ef_search;
+	}
+
+	/**
+	 * 调整检索时的默认候选数，可在检索进行中调整
+	 *
+	 * @param ef_search
+	 */
+	public void setEfSearch(int ef_search) {
+		if (ef_search <= 0) {
+			throw new IllegalArgumentException("ef must be greater than 0");
+		}
+		this.ef_search = ef_search;
+	}
+
+	/**
+	 * 向量个数
+	 *
+	 * @return size
+	 */
+	public int getSize() {
+		lock.readLock().lock();
+		try {
+			return vectors.getSize();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @param index 从1开始
+	 * @return 第index个向量的副本。下标越界时返回null
+	 */
+	public DoubleVector get(int index) {
+		lock.readLock().lock();
+		try {
+			return vectors.get(index);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 插入一个向量（复制）
+	 *
+	 * @param vector 长度为维数
+	 * @return 向量的序号，从1开始。维数不符时返回0
+	 */
+	public int add(double[] vector) {
+		lock.writeLock().lock();
+		try {
+			int result = vectors.add(vector);
+			if (result > 0) {
+				link(result - 1);
+			}
+			return result;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int add(DoubleVector vector) {
+		return add(vector.getCoordinates());
+	}
+
+	public int add(Vector vector) {
+		return add(DoubleVector.fromVector(vector).getCoordinates());
+	}
+
+	/**
+	 * 以默认的ef_search检索近似k近邻
+	 *
+	 * @param query 长度为维数
+	 * @param k
+	 * @return 最多k个近邻，按距离从小到大。维数不符时返回null
+	 */
+	public List<Neighbor> search(double[] query, int k) {
+		return search(query, k, ef_search);
+	}
+
+	public List<Neighbor> search(DoubleVector query, int k) {
+		return search(query.getCoordinates(), k);
+	}
+
+	public List<Neighbor> search(Vector query, int k) {
+		return search(DoubleVector.fromVector(query).getCoordinates(), k);
+	}
+
+	/**
+	 * 检索近似k近邻
+	 *
+	 * @param query 长度为维数
+	 * @param k
+	 * @param ef    第0层的候选数，小于k时按k
+	 * @return 最多k个近邻，按距离从小到大。维数不符时返回null
+	 */
+	public List<Neighbor> search(double[] query, int k, int ef) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("k must be greater than 0");
+		}
+		List<Neighbor> result = null;
+		if (query.length != dimension) {
+			System.out.println("dimension not the same");
+		} else {
+			lock.readLock().lock();
+			try {
+				TopK nearest = new TopK(k);
+				if (entry_point >= 0) {
+					double query_norm = Metric.norm(query, 0, dimension);
+					int current = entry_point;
+					double current_distance = distance(query, 0, query_norm, current);
+					for (int layer = max_level; layer > 0; layer--) {
+						current = greedy(query, 0, query_norm, current, current_distance, layer);
+						current_distance = distance(query, 0, query_norm, current);
+					}
+					TopK candidates = searchLayer(query, 0, query_norm, current, current_distance, Math.max(ef, k), 0);
+					int[] indices = new int[candidates.size()];
+					double[] distances = new double[indices.length];
+					int count = candidates.drainSorted(indices, distances);
+					for (int i = 0; i < Math.min(k, count); i++) {
+						nearest.offer(indices[i], distances[i]);
+					}
+				}
+				result = nearest.toNeighbors(metric);
+			} finally {
+				lock.readLock().unlock();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 把索引写入文件：64字节文件头之后依次为向量、模、层数、第0层连接、各向量第1层及以上的连接，均为小端序
+	 *
+	 * @param file_path
+	 * @return 是否写入成功
+	 */
+	public boolean save(String file_path) {
+		boolean result = false;
+		File file = new File(file_path);
+		if (file.getParentFile() != null) {
+			file.getParentFile().mkdirs();
+		}
+		lock.readLock().lock();
+		try (RandomAccessFile random_access_file = new RandomAccessFile(file, "rw")) {
+			random_access_file.setLength(0);
+			FileChannel channel = random_access_file.getChannel();
+			int size = vectors.getSize();
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(BYTE_ORDER);
+			header.putInt(MAGIC).putShort(VERSION).putShort((short) metric.ordinal()).putInt(dimension).putInt(size).putInt(m).putInt(ef_construction)
+					.putInt(ef_search).putInt(entry_point).putInt(max_level).putLong(seed);
+			header.rewind();
+			channel.write(header, 0);
+			channel.position(HEADER_BYTES);
+			ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(BYTE_ORDER);
+			writeDoubles(channel, buffer, vectors.data(), size * dimension);
+			writeDoubles(channel, buffer, vectors.norms(), size);
+			writeInts(channel, buffer, levels, 0, size);
+			writeInts(channel, buffer, links0, 0, size * (m0 + 1));
+			for (int i = 0; i < size; i++) {
+				if (levels[i] > 0) {
+					writeInts(channel, buffer, upper_links[i], 0, upper_links[i].length);
+				}
+			}
+			result = true;
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			lock.readLock().unlock();
+		}
+		return result;
+	}
+
+	/**
+	 * 映射由{@link #save(String)}写入的文件并读入索引。读入后可继续插入
+	 *
+	 * @param file_path
+	 * @return 索引。文件不存在或格式不符时返回null
+	 */
+	public static HnswIndex load(String file_path) {
+		HnswIndex result = null;
+		File file = new File(file_path);
+		if (!file.exists()) {
+			System.out.println("File doesn't exist.");
+		} else {
+			try (RandomAccessFile random_access_file = new RandomAccessFile(file, "r")) {
+				FileChannel channel = random_access_file.getChannel();
+				ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(BYTE_ORDER);
+				channel.read(header, 0);
+				header.flip();
+				if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+					System.out.println("File '" + file + "' is not an index file");
+				} else if (header.getShort() != VERSION) {
+					System.out.println("unsupported index file version");
+				} else if (header.getShort(header.position()) >= Metric.values().length) {
+					System.out.println("unknown metric in index file");
+				} else {
+					Metric metric = Metric.values()[header.getShort()];
+					int dimension = header.getInt();
+					int size = header.getInt();
+					int m = header.getInt();
+					int ef_construction = header.getInt();
+					int ef_search = header.getInt();
+					int entry_point = header.getInt();
+					int max_level = header.getInt();
+					long seed = header.getLong();
+					result = new HnswIndex(dimension, metric, m, ef_construction, ef_search, seed, size);
+					long position = HEADER_BYTES;
+					position = readDoubles(channel, position, result.vectors.data(), size * dimension);
+					position = readDoubles(channel, position, result.vectors.norms(), size);
+					position = readInts(channel, position, result.levels, size);
+					position = readInts(channel, position, result.links0, size * (result.m0 + 1));
+					for (int i = 0; i < size; i++) {
+						if (result.levels[i] > 0) {
+							result.upper_links[i] = new int[result.levels[i] * (m + 1)];
+							position = readInts(channel, position, result.upper_links[i], result.upper_links[i].length);
+						}
+					}
+					result.entry_point = entry_point;
+					result.max_level = max_level;
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+				result = null;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 读入size个向量的存储，层数的随机数流由seed与size重新派生
+	 */
+	private HnswIndex(int dimension, Metric metric, int m, int ef_construction, int ef_search, long seed, int size) {
+		this.dimension = dimension;
+		this.metric = metric;
+		this.m = m;
+		this.m0 = 2 * m;
+		this.ef_construction = ef_construction;
+		this.ef_search = ef_search;
+		this.seed = seed;
+		this.level_multiplier = 1.0 / Math.log(m);
+		this.random = new SplittableRandom(seed + size);
+		this.vectors = new VectorCollection(dimension, size, new double[size * dimension], new double[size]);
+		this.levels = new int[size];
+		this.links0 = new int[size * (m0 + 1)];
+		this.upper_links = new int[size][];
+	}
+
+	/**
+	 * 把第node个向量接入图：从入口贪心下降到它的最高层，再在它所在的每一层选出邻居并双向连接
+	 */
+	private void link(int node) {
+		int level = (int) (-Math.log(1.0 - random.nextDouble()) * level_multiplier);
+		ensureCapacity(node + 1);
+		levels[node] = level;
+		links0[node * (m0 + 1)] = 0;
+		upper_links[node] = level > 0 ? new int[level * (m + 1)] : null;
+		if (entry_point < 0) {
+			entry_point = node;
+			max_level = level;
+		} else {
+			double[] data = vectors.data();
+			int offset = node * dimension;
+			double norm = vectors.norms()[node];
+			int current = entry_point;
+			double current_distance = distance(data, offset, norm, current);
+			for (int layer = max_level; layer > level; layer--) {
+				current = greedy(data, offset, norm, current, current_distance, layer);
+				current_distance = distance(data, offset, norm, current);
+			}
+			int[] indices = new int[ef_construction];
+			double[] distances = new double[ef_construction];
+			for (int layer = Math.min(level, max_level); layer >= 0; layer--) {
+				int count = searchLayer(data, offset, norm, current, current_distance, ef_construction, layer).drainSorted(indices, distances);
+				int[] selected = selectNeighbors(indices, distances, count, m);
+				int[] links = links(node, layer);
+				int start = linksOffset(node, layer);
+				links[start] = selected.length;
+				System.arraycopy(selected, 0, links, start + 1, selected.length);
+				for (int neighbor : selected) {
+					connect(neighbor, node, layer);
+				}
+				current = indices[0];
+				current_distance = distances[0];
+			}
+			if (level > max_level) {
+				entry_point = node;
+				max_level = level;
+			}
+		}
+	}
+
+	/**
+	 * 在neighbor的第layer层连接中加入node；超出最大连接数时用启发式重新挑选
+	 */
+	private void connect(int neighbor, int node, int layer) {
+		int max = layer == 0 ? m0 : m;
+		int[] links = links(neighbor, layer);
+		int start = linksOffset(neighbor, layer);
+		int count = links[start];
+		if (count < max) {
+			links[start + 1 + count] = node;
+			links[start] = count + 1;
+		} else {
+			double[] data = vectors.data();
+			double[] norms = vectors.norms();
+			int offset = neighbor * dimension;
+			TopK candidates = new TopK(count + 1);
+			candidates.offer(node, distance(data, offset, norms[neighbor], node));
+			for (int i = 0; i < count; i++) {
+				int other = links[start + 1 + i];
+				candidates.offer(other, distance(data, offset, norms[neighbor], other));
+			}
+			int[] indices = new int[count + 1];
+			double[] distances = new double[count + 1];
+			candidates.drainSorted(indices, distances);
+			int[] selected = selectNeighbors(indices, distances, count + 1, max);
+			links[start] = selected.length;
+			System.arraycopy(selected, 0, links, start + 1, selected.length);
+		}
+	}
+
+	/**
+	 * 启发式挑选邻居：按距离从小到大，只保留比所有已选邻居都更接近基准向量的候选，使连接分散在不同方向上
+	 *
+	 * @param indices   按距离从小到大的候选
+	 * @param distances 各候选与基准向量的距离
+	 */
+	private int[] selectNeighbors(int[] indices, double[] distances, int count, int max) {
+		int[] selected = new int[Math.min(count, max)];
+		int selected_num = 0;
+		double[] data = vectors.data();
+		double[] norms = vectors.norms();
+		for (int i = 0; i < count && selected_num < selected.length; i++) {
+			int candidate = indices[i];
+			boolean keep = true;
+			for (int j = 0; j < selected_num && keep; j++) {
+				keep = distance(data, candidate * dimension, norms[candidate], selected[j]) >= distances[i];
+			}
+			if (keep) {
+				selected[selected_num++] = candidate;
+			}
+		}
+		return Arrays.copyOf(selected, selected_num);
+	}
+
+	/**
+	 * 在第layer层从current出发贪心移动到更近的邻居，直到不能更近
+	 */
+	private int greedy(double[] query, int query_offset, double query_norm, int current, double current_distance, int layer) {
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			int[] links = links(current, layer);
+			int start = linksOffset(current, layer);
+			for (int i = 1; i <= links[start]; i++) {
+				int neighbor = links[start + i];
+				double distance = distance(query, query_offset, query_norm, neighbor);
+				if (distance < current_distance) {
+					current = neighbor;
+					current_distance = distance;
+					changed = true;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * 在第layer层从entry出发做最佳优先搜索，保留最近的ef个
+	 */
+	private TopK searchLayer(double[] query, int query_offset, double query_norm, int entry, double entry_distance, int ef, int layer) {
+		VisitedMarks visited = visited_marks.get();
+		visited.reset(vectors.getSize());
+		CandidateQueue candidates = new CandidateQueue();
+		TopK result = new TopK(ef);
+		visited.visit(entry);
+		candidates.push(entry, entry_distance);
+		result.offer(entry, entry_distance);
+		while (candidates.size() > 0 && candidates.peekDistance() <= result.worst()) {
+			int current = candidates.pop();
+			int[] links = links(current, layer);
+			int start = linksOffset(current, layer);
+			for (int i = 1; i <= links[start]; i++) {
+				int neighbor = links[start + i];
+				if (visited.visit(neighbor)) {
+					double distance = distance(query, query_offset, query_norm, neighbor);
+					if (distance < result.worst()) {
+						candidates.push(neighbor, distance);
+						result.offer(neighbor, distance);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private double distance(double[] query, int query_offset, double query_norm, int node) {
+		return metric.rawDistance(query, query_offset, query_norm, vectors.data(), node * dimension, vectors.norms()[node], dimension);
+	}
+
+	private int[] links(int node, int layer) {
+		return layer == 0 ? links0 : upper_links[node];
+	}
+
+	private int linksOffset(int node, int layer) {
+		return layer == 0 ? node * (m0 + 1) : (layer - 1) * (m + 1);
+	}
+
+	private void ensureCapacity(int size) {
+		if (size > levels.length) {
+			int capacity = Math.max(size, levels.length * 2);
+			levels = Arrays.copyOf(levels, capacity);
+			links0 = Arrays.copyOf(links0, capacity * (m0 + 1));
+			upper_links = Arrays.copyOf(upper_links, capacity);
+		}
+	}
+
+	private static void writeDoubles(FileChannel channel, ByteBuffer buffer, double[] values, int length) throws IOException {
+		for (int i = 0; i < length; i++) {
+			if (buffer.remaining() < Double.BYTES) {
+				flush(channel, buffer);
+			}
+			buffer.putDouble(values[i]);
+		}
+		flush(channel, buffer);
+	}
+
+	private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values, int offset, int length) throws IOException {
+		for (int i = offset; i < offset + length; i++) {
+			if (buffer.remaining() < Integer.BYTES) {
+				flush(channel, buffer);
+			}
+			buffer.putInt(values[i]);
+		}
+		flush(channel, buffer);
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * 分段映射[position,position+length×8)并整块读入target
+	 *
+	 * @return 读完后的位置
+	 */
+	private static long readDoubles(FileChannel channel, long position, double[] target, int length) throws IOException {
+		int done = 0;
+		while (done < length) {
+			int count = Math.min(length - done, MAP_CHUNK_BYTES / Double.BYTES);
+			MappedByteBuffer mapped = map(channel, position, (long) count * Double.BYTES);
+			mapped.order(BYTE_ORDER).asDoubleBuffer().get(target, done, count);
+			done += count;
+			position += (long) count * Double.BYTES;
+		}
+		return position;
+	}
+
+	private static long readInts(FileChannel channel, long position, int[] target, int length) throws IOException {
+		int done = 0;
+		while (done < length) {
+			int count = Math.min(length - done, MAP_CHUNK_BYTES / Integer.BYTES);
+			MappedByteBuffer mapped = map(channel, position, (long) count * Integer.BYTES);
+			mapped.order(BYTE_ORDER).asIntBuffer().get(target, done, count);
+			done += count;
+			position += (long) count * Integer.BYTES;
+		}
+		return position;
+	}
+
+	private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+		if (position + length > channel.size()) {
+			throw new IOException("index file is truncated");
+		}
+		return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+	}
+
+	/**
+	 * 按距离从小到大取出的候选，小顶堆
+	 */
+	private static final class CandidateQueue {
+		private int[] indices = new int[64];
+		private double[] distances = new double[64];
+		private int size;
+
+		int size() {
+			return size;
+		}
+
+		double peekDistance() {
+			return distances[0];
+		}
+
+		void push(int index, double distance) {
+			if (size == indices.length) {
+				indices = Arrays.copyOf(indices, size * 2);
+				distances = Arrays.copyOf(distances, size * 2);
+			}
+			int child = size++;
+			while (child > 0) {
+				int parent = (child - 1) >>> 1;
+				if (distances[parent] <= distance) {
+					break;
+				}
+				indices[child] = indices[parent];
+				distances[child] = distances[parent];
+				child = parent;
+			}
+			indices[child] = index;
+			distances[child] = distance;
+		}
+
+		int pop() {
+			int result = indices[0];
+			size--;
+			int index = indices[size];
+			double distance = distances[size];
+			int parent = 0;
+			int half = size >>> 1;
+			while (parent < half) {
+				int child = 2 * parent + 1;
+				if (child + 1 < size && distances[child + 1] < distances[child]) {
+					child++;
+				}
+				if (distances[child] >= distance) {
+					break;
+				}
+				indices[parent] = indices[child];
+				distances[parent] = distances[child];
+				parent = child;
+			}
+			indices[parent] = index;
+			distances[parent] = distance;
+			return result;
+		}
+	}
+
+	/**
+	 * 每个线程一份的已访问标记。以轮次区分，每次检索不必清空数组
+	 */
+	private static final class VisitedMarks {
+		private int[] marks = new int[0];
+		private int epoch;
+
+		void reset(int size) {
+			if (marks.length < size) {
+				marks = new int[Math.max(size, marks.length * 2)];
+				epoch = 0;
+			}
+			epoch++;
+			if (epoch == Integer.MAX_VALUE) {
+				Arrays.fill(marks, 0);
+				epoch = 1;
+			}
+		}
+
+		/**
+		 * @return 是否第一次访问
+		 */
+		boolean visit(int node) {
+			boolean result = marks[node] != epoch;
+			marks[node] = epoch;
+			return result;
+		}
+	}
+}
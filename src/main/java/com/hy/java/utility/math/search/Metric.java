@@ -0,0 +1,66 @@
+package com.hy.java.utility.math.search;
+
+/**
+ * 相似度检索所用的距离，值越小越相近
+ *
+ * @author cfw
+ */
+public enum Metric {
+	/**
+	 * 欧氏距离||a-b||
+	 */
+	EUCLIDEAN,
+	/**
+	 * 负内积-a·b，内积越大越相近
+	 */
+	DOT,
+	/**
+	 * 余弦距离1-a·b/(||a||·||b||)。零向量与任何向量的余弦距离为1
+	 */
+	COSINE;
+
+	/**
+	 * a[a_offset..a_offset+dimension)与b[b_offset..b_offset+dimension)的距离。欧氏距离返回平方，以免开方
+	 *
+	 * @param a_norm a的模，只在{@link #COSINE}时使用
+	 * @param b_norm b的模，只在{@link #COSINE}时使用
+	 */
+	double rawDistance(double[] a, int a_offset, double a_norm, double[] b, int b_offset, double b_norm, int dimension) {
+		double result;
+		if (this == EUCLIDEAN) {
+			double sum = 0.0;
+			for (int i = 0; i < dimension; i++) {
+				double difference = a[a_offset + i] - b[b_offset + i];
+				sum += difference * difference;
+			}
+			result = sum;
+		} else {
+			double dot = 0.0;
+			for (int i = 0; i < dimension; i++) {
+				dot += a[a_offset + i] * b[b_offset + i];
+			}
+			if (this == DOT) {
+				result = -dot;
+			} else {
+				double norm = a_norm * b_norm;
+				result = norm > 0.0 ? 1.0 - dot / norm : 1.0;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 把{@link #rawDistance}的结果换算为距离
+	 */
+	double distance(double raw_distance) {
+		return this == EUCLIDEAN ? Math.sqrt(raw_distance) : raw_distance;
+	}
+
+	static double norm(double[] vector, int offset, int dimension) {
+		double sum = 0.0;
+		for (int i = 0; i < dimension; i++) {
+			sum += vector[offset + i] * vector[offset + i];
+		}
+		return Math.sqrt(sum);
+	}
+}
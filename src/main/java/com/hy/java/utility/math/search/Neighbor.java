@@ -0,0 +1,48 @@
+package com.hy.java.utility.math.search;
+
+/**
+ * 检索结果中的一个近邻
+ *
+ * @author cfw
+ */
+public class Neighbor implements Comparable<Neighbor> {
+	private final int index;
+	private final double distance;
+
+	public Neighbor(int index, double distance) {
+		this.index = index;
+		this.distance = distance;
+	}
+
+	/**
+	 * 近邻在集合中的序号，从1开始
+	 *
+	 * @return index
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * 与查询向量的距离，见{@link Metric}
+	 *
+	 * @return distance
+	 */
+	public double getDistance() {
+		return distance;
+	}
+
+	/**
+	 * 按距离从小到大，距离相同时按序号
+	 */
+	@Override
+	public int compareTo(Neighbor neighbor) {
+		int result = Double.compare(distance, neighbor.distance);
+		return result != 0 ? result : Integer.compare(index, neighbor.index);
+	}
+
+	@Override
+	public String toString() {
+		return index + ":" + distance;
+	}
+}
@@ -0,0 +1,125 @@
+package com.hy.java.utility.math.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 保留距离最小的k个候选：以距离为键的大顶堆，堆顶为当前第k近的候选。距离相同时序号大的视为更远，使结果与扫描顺序无关
+ *
+ * @author cfw
+ */
+final class TopK {
+	private final int k;
+	private final int[] indices;
+	private final double[] distances;
+	private int size;
+
+	TopK(int k) {
+		this.k = k;
+		this.indices = new int[k];
+		this.distances = new double[k];
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isFull() {
+		return size == k;
+	}
+
+	/**
+	 * 当前第k近的距离，未满时为正无穷
+	 */
+	double worst() {
+		return size < k ? Double.POSITIVE_INFINITY : distances[0];
+	}
+
+	/**
+	 * @param index    从0开始的序号
+	 * @param distance 未换算的距离
+	 */
+	void offer(int index, double distance) {
+		if (size < k) {
+			int child = size++;
+			while (child > 0) {
+				int parent = (child - 1) >>> 1;
+				if (!farther(index, distance, indices[parent], distances[parent])) {
+					break;
+				}
+				indices[child] = indices[parent];
+				distances[child] = distances[parent];
+				child = parent;
+			}
+			indices[child] = index;
+			distances[child] = distance;
+		} else if (farther(indices[0], distances[0], index, distance)) {
+			siftDown(index, distance);
+		}
+	}
+
+	/**
+	 * 并入另一组候选
+	 */
+	void merge(TopK other) {
+		for (int i = 0; i < other.size; i++) {
+			offer(other.indices[i], other.distances[i]);
+		}
+	}
+
+	/**
+	 * 按距离从小到大取出全部候选，之后堆为空
+	 *
+	 * @return 候选个数
+	 */
+	int drainSorted(int[] sorted_indices, double[] sorted_distances) {
+		int result = size;
+		while (size > 0) {
+			sorted_indices[size - 1] = indices[0];
+			sorted_distances[size - 1] = distances[0];
+			size--;
+			if (size > 0) {
+				siftDown(indices[size], distances[size]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 按距离从小到大排列的近邻，序号从1开始，距离按metric换算
+	 */
+	List<Neighbor> toNeighbors(Metric metric) {
+		List<Neighbor> result = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			result.add(new Neighbor(indices[i] + 1, metric.distance(distances[i])));
+		}
+		result.sort(null);
+		return result;
+	}
+
+	/**
+	 * 用(index,distance)替换堆顶后下沉
+	 */
+	private void siftDown(int index, double distance) {
+		int parent = 0;
+		int half = size >>> 1;
+		while (parent < half) {
+			int child = 2 * parent + 1;
+			if (child + 1 < size && farther(indices[child + 1], distances[child + 1], indices[child], distances[child])) {
+				child++;
+			}
+			if (!farther(indices[child], distances[child], index, distance)) {
+				break;
+			}
+			indices[parent] = indices[child];
+			distances[parent] = distances[child];
+			parent = child;
+		}
+		indices[parent] = index;
+		distances[parent] = distance;
+	}
+
+	private static boolean farther(int index_a, double distance_a, int index_b, double distance_b) {
+		return distance_a > distance_b || (distance_a == distance_b && index_a > index_b);
+	}
+}
@@ -0,0 +1,288 @@
+package com.hy.java.utility.math.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.Vector;
+
+/**
+ * 向量集合：所有向量按加入顺序连续存储在一个{@code double[]}中，支持按{@link Metric}精确检索k近邻（暴力扫描）。
+ * <p>
+ * 每个查询用大小为k的堆保留候选，扫描时不产生任何中间向量。多个查询按{@link #QUERY_BATCH}个一组，同一段向量读入缓存后依次与组内各查询比较；
+ * 向量数超过{@link #PARALLEL_THRESHOLD}时把集合分段在{@link ForkJoinPool#commonPool()}中并行扫描，再合并各段的堆。
+ * 检索可以在多个线程中同时进行，但不能与{@link #add(double[])}同时进行
+ *
+ * @author cfw
+ */
+public class VectorCollection {
+	/**
+	 * 每个并行任务扫描的最大向量数
+	 */
+	public static final int PARALLEL_THRESHOLD = 1 << 14;
+	/**
+	 * 一次扫描同时处理的查询数
+	 */
+	public static final int QUERY_BATCH = 8;
+
+	private final int dimension;
+	private int size;
+	/**
+	 * 第i个向量（下标从0开始）位于data[i*dimension..(i+1)*dimension)
+	 */
+	private double[] data;
+	/**
+	 * 各向量的模，用于余弦距离
+	 */
+	private double[] norms;
+
+	public VectorCollection(int dimension) {
+		this(dimension, 16);
+	}
+
+	/**
+	 * @param dimension
+	 * @param capacity  预计的向量数，超出时自动扩容
+	 */
+	public VectorCollection(int dimension, int capacity) {
+		if (dimension <= 0) {
+			throw new IllegalArgumentException("dimension must be greater than 0");
+		}
+		this.dimension = dimension;
+		capacity = Math.max(capacity, 1);
+		this.data = new double[capacity * dimension];
+		this.norms = new double[capacity];
+	}
+
+	/**
+	 * 直接以data、norms作为前size个向量的存储，供{@link HnswIndex#load(String)}使用
+	 */
+	VectorCollection(int dimension, int size, double[] data, double[] norms) {
+		this.dimension = dimension;
+		this.size = size;
+		this.data = data;
+		this.norms = norms;
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * 向量个数
+	 *
+	 * @return size
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * 加入一个向量（复制）
+	 *
+	 * @param vector 长度为维数
+	 * @return 向量在集合中的序号，从1开始。维数不符时返回0
+	 */
+	public int add(double[] vector) {
+		int result = 0;
+		if (vector.length != dimension) {
+			System.out.println("dimension not the same");
+		} else {
+			if (size == norms.length) {
+				int capacity = Math.max(size * 2, 16);
+				data = Arrays.copyOf(data, capacity * dimension);
+				norms = Arrays.copyOf(norms, capacity);
+			}
+			System.arraycopy(vector, 0, data, size * dimension, dimension);
+			norms[size] = Metric.norm(vector, 0, dimension);
+			result = ++size;
+		}
+		return result;
+	}
+
+	public int add(DoubleVector vector) {
+		return add(vector.getCoordinates());
+	}
+
+	public int add(Vector vector) {
+		return add(DoubleVector.fromVector(vector).getCoordinates());
+	}
+
+	/**
+	 * 把矩阵的每一行作为一个向量加入
+	 *
+	 * @param vectors 列数等于维数
+	 */
+	public void addAll(DoubleMatrix vectors) {
+		if (vectors.getColumnNum() != dimension) {
+			System.out.println("dimension not the same");
+		} else {
+			double[] row = new double[dimension];
+			for (int i = 0; i < vectors.getRowNum(); i++) {
+				System.arraycopy(vectors.getElements(), i * dimension, row, 0, dimension);
+				add(row);
+			}
+		}
+	}
+
+	/**
+	 * @param index 从1开始
+	 * @return 第index个向量的副本。下标越界时返回null
+	 */
+	public DoubleVector get(int index) {
+		DoubleVector result = null;
+		if (index <= 0 || index > size) {
+			System.out.println("index out of bounds");
+		} else {
+			result = new DoubleVector(Arrays.copyOfRange(data, (index - 1) * dimension, index * dimension));
+		}
+		return result;
+	}
+
+	/**
+	 * 精确检索k近邻
+	 *
+	 * @param query  长度为维数
+	 * @param k
+	 * @param metric
+	 * @return 最多k个近邻，按距离从小到大。维数不符时返回null
+	 */
+	public List<Neighbor> search(double[] query, int k, Metric metric) {
+		List<Neighbor> result = null;
+		if (query.length != dimension) {
+			System.out.println("dimension not the same");
+		} else {
+			result = searchBatch(query, 1, k, metric).get(0);
+		}
+		return result;
+	}
+
+	public List<Neighbor> search(DoubleVector query, int k, Metric metric) {
+		return search(query.getCoordinates(), k, metric);
+	}
+
+	public List<Neighbor> search(Vector query, int k, Metric metric) {
+		return search(DoubleVector.fromVector(query).getCoordinates(), k, metric);
+	}
+
+	/**
+	 * 批量精确检索k近邻
+	 *
+	 * @param queries 每行一个查询，列数等于维数
+	 * @param k
+	 * @param metric
+	 * @return 第i个元素为第i+1行查询的近邻，按距离从小到大。维数不符时返回null
+	 */
+	public List<List<Neighbor>> search(DoubleMatrix queries, int k, Metric metric) {
+		List<List<Neighbor>> result = null;
+		if (queries.getColumnNum() != dimension) {
+			System.out.println("dimension not the same");
+		} else {
+			result = searchBatch(queries.getElements(), queries.getRowNum(), k, metric);
+		}
+		return result;
+	}
+
+	/**
+	 * 供{@link HnswIndex}使用的底层存储。加入向量后可能被替换为更大的数组
+	 */
+	double[] data() {
+		return data;
+	}
+
+	double[] norms() {
+		return norms;
+	}
+
+	private List<List<Neighbor>> searchBatch(double[] queries, int query_num, int k, Metric metric) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("k must be greater than 0");
+		}
+		double[] query_norms = new double[query_num];
+		for (int q = 0; q < query_num; q++) {
+			query_norms[q] = Metric.norm(queries, q * dimension, dimension);
+		}
+		List<List<Neighbor>> result = new ArrayList<>(query_num);
+		for (int start = 0; start < query_num; start += QUERY_BATCH) {
+			int end = Math.min(query_num, start + QUERY_BATCH);
+			ScanTask task = new ScanTask(this, metric, k, queries, query_norms, start, end, 0, size);
+			TopK[] heaps = size <= PARALLEL_THRESHOLD ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+			for (TopK heap : heaps) {
+				result.add(heap.toNeighbors(metric));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 用第[query_start,query_end)个查询扫描第[start,end)个向量，超过并行阈值时二分后合并两段的堆
+	 */
+	private static final class ScanTask extends RecursiveTask<TopK[]> {
+		private static final long serialVersionUID = 1L;
+
+		private final VectorCollection collection;
+		private final Metric metric;
+		private final int k;
+		private final double[] queries;
+		private final double[] query_norms;
+		private final int query_start;
+		private final int query_end;
+		private final int start;
+		private final int end;
+
+		ScanTask(VectorCollection collection, Metric metric, int k, double[] queries, double[] query_norms, int query_start, int query_end, int start, int end) {
+			this.collection = collection;
+			this.metric = metric;
+			this.k = k;
+			this.queries = queries;
+			this.query_norms = query_norms;
+			this.query_start = query_start;
+			this.query_end = query_end;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected TopK[] compute() {
+			TopK[] result;
+			if (end - start <= PARALLEL_THRESHOLD) {
+				result = scan();
+			} else {
+				int middle = (start + end) >>> 1;
+				ScanTask right = new ScanTask(collection, metric, k, queries, query_norms, query_start, query_end, middle, end);
+				right.fork();
+				result = new ScanTask(collection, metric, k, queries, query_norms, query_start, query_end, start, middle).compute();
+				TopK[] right_result = right.join();
+				for (int q = 0; q < result.length; q++) {
+					result[q].merge(right_result[q]);
+				}
+			}
+			return result;
+		}
+
+		private TopK[] scan() {
+			int dimension = collection.dimension;
+			double[] data = collection.data;
+			double[] norms = collection.norms;
+			TopK[] result = new TopK[query_end - query_start];
+			for (int q = 0; q < result.length; q++) {
+				result[q] = new TopK(k);
+			}
+			for (int i = start; i < end; i++) {
+				int offset = i * dimension;
+				for (int q = 0; q < result.length; q++) {
+					int query = query_start + q;
+					double distance = metric.rawDistance(queries, query * dimension, query_norms[query], data, offset, norms[i], dimension);
+					if (distance <= result[q].worst()) {
+						result[q].offer(i, distance);
+					}
+				}
+			}
+			return result;
+		}
+	}
+}
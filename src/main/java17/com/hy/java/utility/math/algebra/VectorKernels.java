@@ -0,0 +1,181 @@
+package com.hy.java.utility.math.algebra;
+
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * double数组上的基本向量运算，供{@link DoubleVector}、{@link DoubleMatrix}、{@link MatrixMultiplier}等原始类型路径使用。
+ * <p>
+ * 此为Java 17版本，放在多版本jar的META-INF/versions/17下。运行时加载了jdk.incubator.vector模块（--add-modules jdk.incubator.vector）时
+ * 用JDK Vector API按CPU支持的最宽寄存器计算，否则退回与Java 11版本相同的标量循环。
+ * SIMD的点乘、平方和按通道分别累加后再求和，舍入顺序与标量循环不同，结果可能相差若干ulp
+ *
+ * @author cfw
+ */
+final class VectorKernels {
+	private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+	private VectorKernels() {
+	}
+
+	/**
+	 * 当前是否使用SIMD实现
+	 *
+	 * @return vectorized
+	 */
+	static boolean isVectorized() {
+		return VECTORIZED;
+	}
+
+	/**
+	 * 点乘：x[x_offset..x_offset+length)·y[y_offset..y_offset+length)
+	 */
+	static double dot(double[] x, int x_offset, double[] y, int y_offset, int length) {
+		double result = 0.0;
+		if (VECTORIZED) {
+			result = Simd.dot(x, x_offset, y, y_offset, length);
+		} else {
+			for (int i = 0; i < length; i++) {
+				result += x[x_offset + i] * y[y_offset + i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 累加：y[y_offset..y_offset+length)+=alpha*x[x_offset..x_offset+length)
+	 */
+	static void axpy(double alpha, double[] x, int x_offset, double[] y, int y_offset, int length) {
+		if (VECTORIZED) {
+			Simd.axpy(alpha, x, x_offset, y, y_offset, length);
+		} else {
+			for (int i = 0; i < length; i++) {
+				y[y_offset + i] += alpha * x[x_offset + i];
+			}
+		}
+	}
+
+	/**
+	 * 逐元素加法：z=x+y，z可以是x或y本身
+	 */
+	static void add(double[] x, double[] y, double[] z, int length) {
+		if (VECTORIZED) {
+			Simd.lanewise(VectorOperators.ADD, x, y, z, length);
+		} else {
+			for (int i = 0; i < length; i++) {
+				z[i] = x[i] + y[i];
+			}
+		}
+	}
+
+	/**
+	 * 逐元素减法：z=x-y，z可以是x或y本身
+	 */
+	static void subtract(double[] x, double[] y, double[] z, int length) {
+		if (VECTORIZED) {
+			Simd.lanewise(VectorOperators.SUB, x, y, z, length);
+		} else {
+			for (int i = 0; i < length; i++) {
+				z[i] = x[i] - y[i];
+			}
+		}
+	}
+
+	/**
+	 * 逐元素乘法：z=x∘y，z可以是x或y本身
+	 */
+	static void multiply(double[] x, double[] y, double[] z, int length) {
+		if (VECTORIZED) {
+			Simd.lanewise(VectorOperators.MUL, x, y, z, length);
+		} else {
+			for (int i = 0; i < length; i++) {
+				z[i] = x[i] * y[i];
+			}
+		}
+	}
+
+	/**
+	 * 数乘：y=alpha*x，y可以是x本身
+	 */
+	static void scale(double alpha, double[] x, double[] y, int length) {
+		if (VECTORIZED) {
+			Simd.scale(alpha, x, y, length);
+		} else {
+			for (int i = 0; i < length; i++) {
+				y[i] = alpha * x[i];
+			}
+		}
+	}
+
+	/**
+	 * 平方和：x[offset..offset+length)·x[offset..offset+length)
+	 */
+	static double sumOfSquares(double[] x, int offset, int length) {
+		return dot(x, offset, x, offset, length);
+	}
+
+	/**
+	 * 只有VECTORIZED为true时才会加载此类，未加载jdk.incubator.vector模块时不会因找不到类而出错
+	 */
+	private static final class Simd {
+		private static final VectorSpecies<Double> SPECIES = jdk.incubator.vector.DoubleVector.SPECIES_PREFERRED;
+
+		static double dot(double[] x, int x_offset, double[] y, int y_offset, int length) {
+			jdk.incubator.vector.DoubleVector sum = jdk.incubator.vector.DoubleVector.zero(SPECIES);
+			int bound = SPECIES.loopBound(length);
+			int i = 0;
+			for (; i < bound; i += SPECIES.length()) {
+				jdk.incubator.vector.DoubleVector vx = jdk.incubator.vector.DoubleVector.fromArray(SPECIES, x, x_offset + i);
+				jdk.incubator.vector.DoubleVector vy = jdk.incubator.vector.DoubleVector.fromArray(SPECIES, y, y_offset + i);
+				sum = vx.fma(vy, sum);
+			}
+			double result = sum.reduceLanes(VectorOperators.ADD);
+			for (; i < length; i++) {
+				result += x[x_offset + i] * y[y_offset + i];
+			}
+			return result;
+		}
+
+		static void axpy(double alpha, double[] x, int x_offset, double[] y, int y_offset, int length) {
+			jdk.incubator.vector.DoubleVector va = jdk.incubator.vector.DoubleVector.broadcast(SPECIES, alpha);
+			int bound = SPECIES.loopBound(length);
+			int i = 0;
+			for (; i < bound; i += SPECIES.length()) {
+				jdk.incubator.vector.DoubleVector vx = jdk.incubator.vector.DoubleVector.fromArray(SPECIES, x, x_offset + i);
+				jdk.incubator.vector.DoubleVector vy = jdk.incubator.vector.DoubleVector.fromArray(SPECIES, y, y_offset + i);
+				vx.fma(va, vy).intoArray(y, y_offset + i);
+			}
+			for (; i < length; i++) {
+				y[y_offset + i] += alpha * x[x_offset + i];
+			}
+		}
+
+		static void lanewise(VectorOperators.Binary operator, double[] x, double[] y, double[] z, int length) {
+			int bound = SPECIES.loopBound(length);
+			int i = 0;
+			for (; i < bound; i += SPECIES.length()) {
+				jdk.incubator.vector.DoubleVector vx = jdk.incubator.vector.DoubleVector.fromArray(SPECIES, x, i);
+				jdk.incubator.vector.DoubleVector vy = jdk.incubator.vector.DoubleVector.fromArray(SPECIES, y, i);
+				vx.lanewise(operator, vy).intoArray(z, i);
+			}
+			// 剩余不足一个寄存器宽度的部分用掩码处理
+			if (i < length) {
+				jdk.incubator.vector.VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+				jdk.incubator.vector.DoubleVector vx = jdk.incubator.vector.DoubleVector.fromArray(SPECIES, x, i, mask);
+				jdk.incubator.vector.DoubleVector vy = jdk.incubator.vector.DoubleVector.fromArray(SPECIES, y, i, mask);
+				vx.lanewise(operator, vy).intoArray(z, i, mask);
+			}
+		}
+
+		static void scale(double alpha, double[] x, double[] y, int length) {
+			int bound = SPECIES.loopBound(length);
+			int i = 0;
+			for (; i < bound; i += SPECIES.length()) {
+				jdk.incubator.vector.DoubleVector.fromArray(SPECIES, x, i).mul(alpha).intoArray(y, i);
+			}
+			for (; i < length; i++) {
+				y[i] = alpha * x[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.hy.java.utility.math;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.BareissElimination;
+import com.hy.java.utility.math.algebra.LUDecomposition;
+import com.hy.java.utility.math.algebra.Matrix;
+
+public class BareissEliminationTest {
+	@Test
+	public void bareiss() {
+		// 小数元素：det精确，逆矩阵元素为有限小数时精确
+		Matrix matrix_A = new Matrix(3, 3);
+		double[][] a = { { 2, 0.5, 1 }, { 1, 3, 0 }, { 0.25, 1, 4 } };
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				matrix_A.setElement(i + 1, j + 1, a[i][j]);
+			}
+		}
+		System.out.println(Matrix.det(matrix_A));
+		Matrix.print(Matrix.matrixMultiplication(matrix_A, Matrix.matrixInverse(matrix_A)));
+		System.out.println("==========================");
+		// 秩：第3行=第1行+第2行
+		Matrix matrix_B = new Matrix(3, 4);
+		double[][] b = { { 1, 2, 3, 4 }, { 0, 1, -1, 2 }, { 1, 3, 2, 6 } };
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 4; j++) {
+				matrix_B.setElement(i + 1, j + 1, b[i][j]);
+			}
+		}
+		System.out.println(Matrix.rank(matrix_B));
+		System.out.println(Matrix.rank(Matrix.matrixTranspose(matrix_B)));
+		// 未设置的元素视为0
+		Matrix diagonal = new Matrix(2, 2);
+		diagonal.setElement(1, 1, 2);
+		diagonal.setElement(2, 2, 4);
+		System.out.println(Matrix.det(diagonal) + "\t" + Matrix.rank(diagonal));
+		Matrix.print(Matrix.matrixInverse(diagonal));
+		// 含小数时走LU分解，未设置的元素同样视为0
+		diagonal.setElement(1, 1, 0.5);
+		System.out.println(Matrix.det(diagonal));
+		System.out.println("==========================");
+		// 大规模整数矩阵：与DECIMAL128的LU分解对比
+		Random random = new Random(1);
+		int n = 80;
+		Matrix matrix_C = new Matrix(n, n);
+		for (int i = 1; i <= n; i++) {
+			for (int j = 1; j <= n; j++) {
+				matrix_C.setElement(i, j, BigDecimal.valueOf(random.nextInt(201) - 100));
+			}
+		}
+		long start_time = SystemTime.currentTimeMillis();
+		BareissElimination bareiss = new BareissElimination(matrix_C);
+		BigDecimal det = bareiss.det();
+		System.out.println("bareiss det: " + (SystemTime.currentTimeMillis() - start_time) + "ms, " + det.precision() + " digits");
+		BigDecimal lu_det = new LUDecomposition(matrix_C, new MathContext(60)).det();
+		System.out.println(det.subtract(lu_det).abs().divide(det.abs(), MathContext.DECIMAL64));
+		System.out.println(bareiss.getRank());
+		start_time = SystemTime.currentTimeMillis();
+		Matrix inverse = bareiss.inverse(new MathContext(50));
+		System.out.println("bareiss inverse: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		Matrix product = Matrix.matrixMultiplication(matrix_C, inverse);
+		BigDecimal max_error = BigDecimal.ZERO;
+		for (int i = 1; i <= n; i++) {
+			for (int j = 1; j <= n; j++) {
+				max_error = max_error.max(product.getElement(i, j).subtract(i == j ? BigDecimal.ONE : BigDecimal.ZERO).abs());
+			}
+		}
+		System.out.println(max_error.round(MathContext.DECIMAL32));
+	}
+}
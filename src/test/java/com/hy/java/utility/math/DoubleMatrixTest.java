@@ -0,0 +1,38 @@
+package com.hy.java.utility.math;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.Matrix;
+
+public class DoubleMatrixTest {
+	@Test
+	public void doubleMatrix() {
+		DoubleMatrix matrix_A = new DoubleMatrix(2, 3);
+		matrix_A.setElement(1, 1, 0);
+		matrix_A.setElement(1, 2, -1);
+		matrix_A.setElement(1, 3, -2);
+		matrix_A.setElement(2, 1, 2);
+		matrix_A.setElement(2, 2, 3);
+		matrix_A.setElement(2, 3, 1);
+		DoubleMatrix matrix_B = DoubleMatrix.numMultiplication(-2, matrix_A);
+		DoubleMatrix.print(matrix_A);
+		System.out.println();
+		DoubleMatrix.print(matrix_B);
+		System.out.println();
+		DoubleMatrix.print(DoubleMatrix.matrixAddition(matrix_A, matrix_B));
+		System.out.println();
+		DoubleMatrix.print(DoubleMatrix.matrixSubtraction(matrix_A, matrix_B));
+		System.out.println();
+		DoubleMatrix.print(DoubleMatrix.matrixTranspose(matrix_A));
+		System.out.println("==========================");
+		DoubleMatrix matrix_C = new DoubleMatrix(4, 4, new double[] { 22, 4, 4, 23, 3, 3, 2, 6, 1, 23, 2, 2, 3, 4, 54, 4 });
+		System.out.println(DoubleMatrix.det(matrix_C));
+		DoubleMatrix.print(DoubleMatrix.matrixMultiplication(matrix_C, DoubleMatrix.matrixInverse(matrix_C)));
+		System.out.println("==========================");
+		// 与Matrix互相转换
+		Matrix matrix_D = DoubleMatrix.toMatrix(matrix_C);
+		System.out.println(Matrix.det(matrix_D));
+		DoubleMatrix.print(DoubleMatrix.fromMatrix(matrix_D));
+	}
+}
@@ -0,0 +1,51 @@
+package com.hy.java.utility.math;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.Vector;
+
+public class DoubleVectorTest {
+	@Test
+	public void doubleVector() {
+		DoubleVector vector_A = new DoubleVector(new double[] { 1, 2, -3 });
+		DoubleVector vector_B = DoubleVector.scalarMultiplication(-2, vector_A);
+		DoubleVector.print(vector_A);
+		DoubleVector.print(vector_B);
+		DoubleVector.print(DoubleVector.vectorAddition(vector_A, vector_B));
+		DoubleVector.print(DoubleVector.vectorSubtraction(vector_A, vector_B));
+		System.out.println(DoubleVector.dotProduct(vector_A, vector_B));
+		System.out.println(DoubleVector.norm(vector_A));
+		// 与Vector互相转换
+		Vector vector_C = DoubleVector.toVector(vector_A);
+		Vector.print(vector_C);
+		DoubleVector.print(DoubleVector.fromVector(vector_C));
+	}
+
+	@Test
+	public void kernels() {
+		// 长度不是寄存器宽度的整数倍，覆盖尾部处理
+		int n = 1003;
+		double[] a = new double[n];
+		double[] b = new double[n];
+		double expected_dot = 0.0;
+		for (int i = 0; i < n; i++) {
+			a[i] = Math.sin(i);
+			b[i] = Math.cos(i);
+			expected_dot += a[i] * b[i];
+		}
+		DoubleVector vector_A = new DoubleVector(a.clone());
+		DoubleVector vector_B = new DoubleVector(b.clone());
+		System.out.println(Math.abs(DoubleVector.dotProduct(vector_A, vector_B) - expected_dot) < 1e-12);
+		DoubleVector sum = DoubleVector.vectorAddition(vector_A, vector_B);
+		DoubleVector product = DoubleVector.elementwiseMultiplication(vector_A, vector_B);
+		DoubleVector.axpy(2.0, vector_B, vector_A);
+		double max_difference = 0.0;
+		for (int i = 0; i < n; i++) {
+			max_difference = Math.max(max_difference, Math.abs(sum.getCoordinate(i + 1) - (a[i] + b[i])));
+			max_difference = Math.max(max_difference, Math.abs(product.getCoordinate(i + 1) - a[i] * b[i]));
+			max_difference = Math.max(max_difference, Math.abs(vector_A.getCoordinate(i + 1) - (a[i] + 2.0 * b[i])));
+		}
+		System.out.println("max difference: " + max_difference);
+	}
+}
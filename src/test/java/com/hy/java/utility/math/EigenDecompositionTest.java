@@ -0,0 +1,94 @@
+package com.hy.java.utility.math;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.EigenDecomposition;
+import com.hy.java.utility.math.algebra.MatrixMultiplier;
+import com.hy.java.utility.math.algebra.SingularValueDecomposition;
+import com.hy.java.utility.math.algebra.SymmetricEigenDecomposition;
+
+public class EigenDecompositionTest {
+	@Test
+	public void symmetric() {
+		MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+		double[] a = { 4, 1, 2, 1, 3, 0, 2, 0, 5 };
+		DoubleMatrix matrix_A = new DoubleMatrix(3, 3, a);
+		SymmetricEigenDecomposition eigen = new SymmetricEigenDecomposition(matrix_A);
+		System.out.println(Arrays.toString(eigen.getEigenvalues()));
+		DoubleMatrix v = eigen.getEigenvectors();
+		// V·Λ·V^T应还原A
+		DoubleMatrix reconstruction = multiplier.multiply(multiplier.multiply(v, eigen.getD()), DoubleMatrix.matrixTranspose(v));
+		System.out.println(maxDifference(matrix_A, reconstruction));
+		System.out.println("==========================");
+		// 旋转矩阵的特征值为一对共轭复数cosθ±i·sinθ，以及1
+		double theta = Math.PI / 6;
+		double[] b = { Math.cos(theta), -Math.sin(theta), 0, Math.sin(theta), Math.cos(theta), 0, 0, 0, 1 };
+		EigenDecomposition general = new EigenDecomposition(new DoubleMatrix(3, 3, b));
+		System.out.println(Arrays.toString(general.getRealEigenvalues()));
+		System.out.println(Arrays.toString(general.getImagEigenvalues()));
+		System.out.println(general.isReal());
+	}
+
+	@Test
+	public void svd() {
+		MatrixMultiplier multiplier = MatrixMultiplier.getDefault();
+		Random random = new Random(1);
+		// 高矩阵、宽矩阵都应能还原
+		for (int[] shape : new int[][] { { 7, 4 }, { 4, 7 } }) {
+			DoubleMatrix matrix = random(shape[0], shape[1], random);
+			SingularValueDecomposition svd = new SingularValueDecomposition(matrix);
+			DoubleMatrix reconstruction = multiplier.multiply(multiplier.multiply(svd.getU(), svd.getS()), DoubleMatrix.matrixTranspose(svd.getV()));
+			System.out.println(Arrays.toString(svd.getSingularValues()));
+			System.out.println(maxDifference(matrix, reconstruction) + " " + svd.rank() + " " + svd.cond());
+		}
+		System.out.println("==========================");
+		// 秩为5的2000×50瘦长矩阵：截断SVD与完整SVD对比
+		int m = 2000;
+		int n = 50;
+		int k = 5;
+		DoubleMatrix low_rank = multiplier.multiply(random(m, k, random), random(k, n, random));
+		long start_time = SystemTime.currentTimeMillis();
+		SingularValueDecomposition full = new SingularValueDecomposition(low_rank);
+		System.out.println("full svd: " + (SystemTime.currentTimeMillis() - start_time) + "ms, rank " + full.rank());
+		start_time = SystemTime.currentTimeMillis();
+		SingularValueDecomposition truncated = SingularValueDecomposition.truncated(low_rank, k);
+		System.out.println("truncated svd: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		System.out.println(Arrays.toString(Arrays.copyOf(full.getSingularValues(), k)));
+		System.out.println(Arrays.toString(truncated.getSingularValues()));
+		DoubleMatrix reconstruction = multiplier.multiply(multiplier.multiply(truncated.getU(), truncated.getS()), DoubleMatrix.matrixTranspose(truncated.getV()));
+		System.out.println(maxDifference(low_rank, reconstruction));
+		System.out.println("==========================");
+		// A^T·A的最大k个特征值即A的最大k个奇异值的平方
+		DoubleMatrix gram = multiplier.multiply(DoubleMatrix.matrixTranspose(low_rank), low_rank);
+		SymmetricEigenDecomposition top = SymmetricEigenDecomposition.topK(gram, k);
+		double[] eigenvalues = top.getEigenvalues();
+		for (int i = 0; i < k; i++) {
+			eigenvalues[i] = Math.sqrt(eigenvalues[i]);
+		}
+		System.out.println(Arrays.toString(eigenvalues));
+	}
+
+	private static DoubleMatrix random(int row_num, int column_num, Random random) {
+		DoubleMatrix result = new DoubleMatrix(row_num, column_num);
+		double[] elements = result.getElements();
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = random.nextDouble() * 2 - 1;
+		}
+		return result;
+	}
+
+	private static double maxDifference(DoubleMatrix a, DoubleMatrix b) {
+		double result = 0.0;
+		double[] x = a.getElements();
+		double[] y = b.getElements();
+		for (int i = 0; i < x.length; i++) {
+			result = Math.max(result, Math.abs(x[i] - y[i]));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,92 @@
+package com.hy.java.utility.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.FixedPointMatrix;
+import com.hy.java.utility.math.algebra.FixedPointVector;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.MatrixMultiplier;
+import com.hy.java.utility.math.algebra.Vector;
+
+public class FixedPointMatrixTest {
+	@Test
+	public void multiplication() {
+		// 与BigDecimal计算后舍入到相同小数位的结果比较
+		Random random = new Random(1);
+		int n = 120;
+		int scale = 6;
+		Matrix matrix_A = new Matrix(n, n);
+		Matrix matrix_B = new Matrix(n, n);
+		for (int i = 1; i <= n; i++) {
+			for (int j = 1; j <= n; j++) {
+				matrix_A.setElement(i, j, BigDecimal.valueOf(random.nextInt(2000000) - 1000000, scale));
+				matrix_B.setElement(i, j, BigDecimal.valueOf(random.nextInt(2000000) - 1000000, scale));
+			}
+		}
+		FixedPointMatrix fixed_A = FixedPointMatrix.fromMatrix(matrix_A, scale);
+		FixedPointMatrix fixed_B = FixedPointMatrix.fromMatrix(matrix_B, scale);
+		long start = SystemTime.currentTimeMillis();
+		FixedPointMatrix fixed_C = FixedPointMatrix.matrixMultiplication(fixed_A, fixed_B);
+		System.out.println("fixed point: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		start = SystemTime.currentTimeMillis();
+		Matrix matrix_C = MatrixMultiplier.getDefault().multiply(matrix_A, matrix_B);
+		System.out.println("BigDecimal: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		int mismatches = 0;
+		for (int i = 1; i <= n; i++) {
+			for (int j = 1; j <= n; j++) {
+				BigDecimal expected = matrix_C.getElement(i, j).setScale(scale, RoundingMode.HALF_EVEN);
+				if (expected.compareTo(fixed_C.getElement(i, j)) != 0) {
+					mismatches++;
+				}
+			}
+		}
+		System.out.println("mismatches: " + mismatches);
+		System.out.println("overflow: " + fixed_C.getOverflowNum());
+	}
+
+	@Test
+	public void overflow() {
+		// 大元素在long上溢出，溢出的元素改用BigDecimal，结果仍精确
+		FixedPointMatrix matrix_A = new FixedPointMatrix(2, 2, 4);
+		matrix_A.setElement(1, 1, new BigDecimal("900000000000000"));
+		matrix_A.setElement(1, 2, new BigDecimal("1.5"));
+		matrix_A.setElement(2, 1, new BigDecimal("-2.25"));
+		matrix_A.setElement(2, 2, new BigDecimal("0.0001"));
+		FixedPointMatrix sum = FixedPointMatrix.matrixAddition(matrix_A, matrix_A);
+		System.out.println(sum.getElement(1, 1) + " " + sum.getElement(2, 1) + " overflow: " + sum.getOverflowNum());
+		FixedPointMatrix product = FixedPointMatrix.matrixMultiplication(matrix_A, matrix_A);
+		Matrix.print(FixedPointMatrix.toMatrix(product));
+		System.out.println("overflow: " + product.getOverflowNum());
+		Matrix exact = MatrixMultiplier.getDefault().multiply(FixedPointMatrix.toMatrix(matrix_A), FixedPointMatrix.toMatrix(matrix_A));
+		Matrix.print(exact);
+		// 乘积回到4位小数时按舍入模式舍入：-3.37499999按UP舍入为-3.3750
+		matrix_A.setRoundingMode(RoundingMode.UP);
+		System.out.println(FixedPointMatrix.matrixMultiplication(matrix_A, matrix_A).getElement(2, 2));
+		System.out.println(FixedPointMatrix.matrixSubtraction(matrix_A, new FixedPointMatrix(2, 2, 3)));
+	}
+
+	@Test
+	public void vector() {
+		Vector vector = new Vector(3);
+		vector.setCoordinate(1, new BigDecimal("0.1"));
+		vector.setCoordinate(2, new BigDecimal("0.2"));
+		vector.setCoordinate(3, new BigDecimal("0.123456789"));
+		FixedPointVector fixed = FixedPointVector.fromVector(vector, 8);
+		System.out.println(fixed.getCoordinate(3));
+		System.out.println(FixedPointVector.vectorAddition(fixed, fixed).getCoordinate(1));
+		System.out.println(FixedPointVector.dotProduct(fixed, fixed));
+		FixedPointMatrix matrix = new FixedPointMatrix(2, 3, 8);
+		for (int j = 1; j <= 3; j++) {
+			matrix.setElement(1, j, 1);
+			matrix.setElement(2, j, j);
+		}
+		FixedPointVector product = FixedPointMatrix.matrixVectorMultiplication(matrix, fixed);
+		Vector result = FixedPointVector.toVector(product);
+		System.out.println(result.getCoordinate(1) + " " + result.getCoordinate(2));
+	}
+}
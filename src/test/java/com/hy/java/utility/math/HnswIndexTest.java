@@ -0,0 +1,119 @@
+package com.hy.java.utility.math;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.search.HnswIndex;
+import com.hy.java.utility.math.search.Metric;
+import com.hy.java.utility.math.search.Neighbor;
+import com.hy.java.utility.math.search.VectorCollection;
+
+public class HnswIndexTest {
+	@Test
+	public void recall() throws Exception {
+		Random random = new Random(1);
+		int n = 20000;
+		int dimension = 32;
+		int k = 10;
+		HnswIndex index = new HnswIndex(dimension, Metric.EUCLIDEAN, 16, 100, 50, 1L);
+		VectorCollection collection = new VectorCollection(dimension, n);
+		double[] vector = new double[dimension];
+		long start = SystemTime.currentTimeMillis();
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < dimension; j++) {
+				vector[j] = random.nextGaussian();
+			}
+			index.add(vector);
+			collection.add(vector);
+		}
+		System.out.println("build: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		int query_num = 200;
+		double[][] queries = new double[query_num][dimension];
+		for (int q = 0; q < query_num; q++) {
+			for (int j = 0; j < dimension; j++) {
+				queries[q][j] = random.nextGaussian();
+			}
+		}
+		List<List<Neighbor>> exact = new ArrayList<>();
+		start = SystemTime.currentTimeMillis();
+		for (int q = 0; q < query_num; q++) {
+			exact.add(collection.search(queries[q], k, Metric.EUCLIDEAN));
+		}
+		System.out.println("exact: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		// ef越大召回率越高
+		for (int ef : new int[] { 10, 50, 200 }) {
+			start = SystemTime.currentTimeMillis();
+			int hits = 0;
+			for (int q = 0; q < query_num; q++) {
+				hits += overlap(exact.get(q), index.search(queries[q], k, ef));
+			}
+			System.out.println("ef=" + ef + " recall: " + (double) hits / (query_num * k) + " time: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		}
+		// 保存后读入，结果相同，且可继续插入
+		String path = "target/hnsw-test.idx";
+		System.out.println(index.save(path));
+		start = SystemTime.currentTimeMillis();
+		HnswIndex loaded = HnswIndex.load(path);
+		System.out.println("load: " + (SystemTime.currentTimeMillis() - start) + "ms, size: " + loaded.getSize());
+		boolean same = true;
+		for (int q = 0; q < query_num; q++) {
+			same &= index.search(queries[q], k).toString().equals(loaded.search(queries[q], k).toString());
+		}
+		System.out.println("same after load: " + same);
+		int added = loaded.add(queries[0]);
+		System.out.println(added + " " + loaded.search(queries[0], 1).get(0));
+		new File(path).delete();
+		// 多个线程同时检索
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<Integer>> futures = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			futures.add(executor.submit(() -> {
+				int hits = 0;
+				for (int q = 0; q < query_num; q++) {
+					hits += overlap(exact.get(q), index.search(queries[q], k));
+				}
+				return hits;
+			}));
+		}
+		for (Future<Integer> future : futures) {
+			System.out.println("concurrent recall: " + future.get() / (double) (query_num * k));
+		}
+		executor.shutdown();
+	}
+
+	@Test
+	public void cosine() {
+		HnswIndex index = new HnswIndex(2, Metric.COSINE);
+		for (int degree = 0; degree < 360; degree += 5) {
+			double radian = Math.toRadians(degree);
+			index.add(new double[] { Math.cos(radian) * (1 + degree), Math.sin(radian) * (1 + degree) });
+		}
+		System.out.println(index.search(new double[] { 0.0, 3.0 }, 3));
+		System.out.println(index.search(new double[] { 1.0 }, 3));
+		System.out.println(HnswIndex.load("target/not-exist.idx"));
+	}
+
+	private static int overlap(List<Neighbor> expected, List<Neighbor> actual) {
+		Set<Integer> indices = new HashSet<>();
+		for (Neighbor neighbor : expected) {
+			indices.add(neighbor.getIndex());
+		}
+		int result = 0;
+		for (Neighbor neighbor : actual) {
+			if (indices.contains(neighbor.getIndex())) {
+				result++;
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,67 @@
+package com.hy.java.utility.math;
+
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.ImmutableMatrix;
+import com.hy.java.utility.math.algebra.Matrix;
+
+public class ImmutableMatrixTest {
+	@Test
+	public void memoize() {
+		Random random = new Random(1);
+		int n = 40;
+		Matrix matrix = new Matrix(n, n);
+		for (int i = 1; i <= n; i++) {
+			for (int j = 1; j <= n; j++) {
+				matrix.setElement(i, j, random.nextInt(19) - 9);
+			}
+		}
+		matrix.setMathContext(MathContext.DECIMAL64);
+		long start = SystemTime.currentTimeMillis();
+		for (int t = 0; t < 20; t++) {
+			Matrix.det(matrix);
+			Matrix.matrixInverse(matrix);
+		}
+		System.out.println("Matrix: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		start = SystemTime.currentTimeMillis();
+		for (int t = 0; t < 20; t++) {
+			// 每次请求都重新从配置矩阵构造，内容相同时得到同一个实例
+			ImmutableMatrix immutable = ImmutableMatrix.of(matrix);
+			immutable.det();
+			immutable.inverse();
+		}
+		System.out.println("ImmutableMatrix: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		ImmutableMatrix immutable = ImmutableMatrix.of(matrix);
+		System.out.println(immutable.det().compareTo(Matrix.det(matrix)) == 0);
+		System.out.println(immutable == ImmutableMatrix.of(matrix));
+		System.out.println(immutable.transpose().transpose() == immutable);
+		// 修改原矩阵不影响已有的不可变矩阵，新内容得到新实例
+		matrix.setElement(1, 1, 100);
+		System.out.println(immutable.getElement(1, 1) + " " + (ImmutableMatrix.of(matrix) == immutable));
+		System.out.println(immutable.equals(ImmutableMatrix.of(matrix)));
+	}
+
+	@Test
+	public void exact() {
+		Matrix matrix = new Matrix(2, 2);
+		matrix.setElement(1, 1, 4);
+		matrix.setElement(1, 2, 7);
+		matrix.setElement(2, 1, 2);
+		matrix.setElement(2, 2, 6);
+		ImmutableMatrix immutable = ImmutableMatrix.of(matrix);
+		System.out.println(immutable.det());
+		Matrix.print(immutable.inverse().toMatrix());
+		Matrix.print(immutable.inverse().inverse().toMatrix());
+		Matrix singular = new Matrix(2, 2);
+		singular.setElement(1, 1, 1);
+		singular.setElement(1, 2, 2);
+		singular.setElement(2, 1, 2);
+		singular.setElement(2, 2, 4);
+		System.out.println(ImmutableMatrix.of(singular).inverse());
+		System.out.println(ImmutableMatrix.of(new Matrix(2, 3)).det());
+	}
+}
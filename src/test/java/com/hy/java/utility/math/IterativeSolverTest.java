@@ -0,0 +1,115 @@
+package com.hy.java.utility.math;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.math.algebra.BiCGSTAB;
+import com.hy.java.utility.math.algebra.ConjugateGradient;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.ILU0Preconditioner;
+import com.hy.java.utility.math.algebra.IterativeResult;
+import com.hy.java.utility.math.algebra.IterativeSolver;
+import com.hy.java.utility.math.algebra.JacobiPreconditioner;
+import com.hy.java.utility.math.algebra.LinearOperator;
+import com.hy.java.utility.math.algebra.SparseMatrix;
+
+public class IterativeSolverTest {
+	@Test
+	public void conjugateGradient() {
+		// 二维泊松方程五点差分，对称正定
+		SparseMatrix laplacian = gridMatrix(30, 0.0);
+		DoubleVector vector_b = ones(laplacian.getRowNum());
+		ConjugateGradient solver = new ConjugateGradient(1e-8, 1000);
+		report("CG", solver.solve(laplacian, vector_b));
+		solver.setPreconditioner(new JacobiPreconditioner(laplacian));
+		report("CG+Jacobi", solver.solve(laplacian, vector_b));
+		solver.setPreconditioner(new ILU0Preconditioner(laplacian));
+		solver.setIterationListener((iteration, residual_norm) -> {
+			if (iteration % 10 == 0) {
+				System.out.println("\t" + iteration + "\t" + residual_norm);
+			}
+		});
+		report("CG+ILU(0)", solver.solve(laplacian, vector_b));
+		// 无矩阵算子：与稀疏矩阵等价
+		LinearOperator matrix_free = new LinearOperator() {
+			@Override
+			public int getRowNum() {
+				return laplacian.getRowNum();
+			}
+
+			@Override
+			public int getColumnNum() {
+				return laplacian.getColumnNum();
+			}
+
+			@Override
+			public void apply(double[] x, double[] y) {
+				laplacian.apply(x, y);
+			}
+		};
+		report("CG matrix-free", new ConjugateGradient(1e-8, 1000).solve(matrix_free, vector_b));
+	}
+
+	@Test
+	public void biCGSTAB() {
+		// 对流扩散方程，非对称
+		SparseMatrix convection = gridMatrix(30, 0.5);
+		DoubleVector vector_b = ones(convection.getRowNum());
+		IterativeSolver solver = new BiCGSTAB(1e-8, 1000);
+		report("BiCGSTAB", solver.solve(convection, vector_b));
+		solver.setPreconditioner(new ILU0Preconditioner(convection));
+		IterativeResult result = solver.solve(convection, vector_b);
+		report("BiCGSTAB+ILU(0)", result);
+		// 验证真实残差
+		DoubleVector residual = DoubleVector.vectorSubtraction(vector_b, SparseMatrix.matrixVectorMultiplication(convection, result.getSolution()));
+		System.out.println(DoubleVector.norm(residual) / DoubleVector.norm(vector_b));
+		// 稠密矩阵同样可以作为算子
+		DoubleMatrix dense = SparseMatrix.toDoubleMatrix(convection);
+		report("BiCGSTAB dense", new BiCGSTAB(1e-8, 1000).solve(dense, vector_b));
+		// 旋转矩阵使r̂·Ap=0，算法中断时返回当前结果而不是NaN
+		DoubleMatrix rotation = new DoubleMatrix(2, 2, new double[] { 0, 1, -1, 0 });
+		IterativeResult breakdown = new BiCGSTAB(1e-8, 1000).solve(rotation, new DoubleVector(new double[] { 1, 0 }));
+		report("BiCGSTAB breakdown", breakdown);
+		DoubleVector.print(breakdown.getSolution());
+	}
+
+	private static void report(String name, IterativeResult result) {
+		System.out.println(name + ": converged=" + result.isConverged() + ", iterations=" + result.getIterations() + ", residual="
+				+ result.getResidualNorm());
+	}
+
+	private static DoubleVector ones(int dimension) {
+		DoubleVector result = new DoubleVector(dimension);
+		for (int i = 1; i <= dimension; i++) {
+			result.setCoordinate(i, 1.0);
+		}
+		return result;
+	}
+
+	/**
+	 * size×size网格上的五点差分矩阵，convection不为0时加入一阶迎风对流项
+	 */
+	private static SparseMatrix gridMatrix(int size, double convection) {
+		int n = size * size;
+		SparseMatrix.Builder builder = new SparseMatrix.Builder(n, n);
+		for (int x = 0; x < size; x++) {
+			for (int y = 0; y < size; y++) {
+				int i = x * size + y + 1;
+				builder.add(i, i, 4.0 + convection);
+				if (x > 0) {
+					builder.add(i, i - size, -1.0 - convection);
+				}
+				if (x < size - 1) {
+					builder.add(i, i + size, -1.0);
+				}
+				if (y > 0) {
+					builder.add(i, i - 1, -1.0);
+				}
+				if (y < size - 1) {
+					builder.add(i, i + 1, -1.0);
+				}
+			}
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,63 @@
+package com.hy.java.utility.math;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleLUDecomposition;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.LUDecomposition;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.Vector;
+
+public class LUDecompositionTest {
+	@Test
+	public void luDecomposition() {
+		Matrix matrix = DoubleMatrix.toMatrix(new DoubleMatrix(4, 4, new double[] { 22, 4, 4, 23, 3, 3, 2, 6, 1, 23, 2, 2, 3, 4, 54, 4 }));
+		// 一次分解，多次复用
+		LUDecomposition lu = new LUDecomposition(matrix);
+		System.out.println(lu.det().doubleValue());
+		Matrix.print(lu.getL());
+		System.out.println();
+		Matrix.print(lu.getU());
+		System.out.println(Arrays.toString(lu.getPivot()));
+		Vector vector_b = new Vector(4);
+		vector_b.setCoordinate(1, 1);
+		vector_b.setCoordinate(2, 2);
+		vector_b.setCoordinate(3, 3);
+		vector_b.setCoordinate(4, 4);
+		Vector.print(lu.solve(vector_b));
+		Matrix.print(Matrix.matrixMultiplication(matrix, lu.inverse()));
+		System.out.println("==========================");
+		// 奇异矩阵
+		Matrix singular = DoubleMatrix.toMatrix(new DoubleMatrix(3, 3, new double[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 }));
+		System.out.println(new LUDecomposition(singular).isSingular());
+		System.out.println(Matrix.matrixInverse(singular));
+		// 各行数量级悬殊但非奇异
+		Matrix scaled = new Matrix(2, 2);
+		scaled.setElement(1, 1, new BigDecimal("1e20"));
+		scaled.setElement(1, 2, BigDecimal.ZERO);
+		scaled.setElement(2, 1, BigDecimal.ZERO);
+		scaled.setElement(2, 2, new BigDecimal("1e-11"));
+		Matrix.print(new LUDecomposition(scaled).inverse());
+		// 不是方阵
+		System.out.println(new LUDecomposition(new Matrix(2, 3)).det());
+		System.out.println("==========================");
+		// 余子式展开无法处理的规模
+		Random random = new Random(1);
+		DoubleMatrix large = new DoubleMatrix(60, 60);
+		for (int i = 0; i < large.getElements().length; i++) {
+			large.getElements()[i] = random.nextDouble();
+		}
+		long start_time = SystemTime.currentTimeMillis();
+		System.out.println(Matrix.det(DoubleMatrix.toMatrix(large)).doubleValue() + " in " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		DoubleLUDecomposition double_lu = new DoubleLUDecomposition(large);
+		System.out.println(double_lu.det());
+		DoubleVector x = double_lu.solve(large.getRowVector(1));
+		System.out.println(x.getCoordinate(1) + "\t" + x.getCoordinate(2));
+	}
+}
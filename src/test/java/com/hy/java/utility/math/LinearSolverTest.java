@@ -0,0 +1,53 @@
+package com.hy.java.utility.math;
+
+import java.math.MathContext;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.math.algebra.CholeskyDecomposition;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.LinearSolver;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.Vector;
+
+public class LinearSolverTest {
+	@Test
+	public void solve() {
+		Vector vector_b = DoubleVector.toVector(new DoubleVector(new double[] { 1, 2, 3 }));
+		// 对称正定矩阵：Cholesky
+		Matrix spd = DoubleMatrix.toMatrix(new DoubleMatrix(3, 3, new double[] { 4, 12, -16, 12, 37, -43, -16, -43, 98 }));
+		LinearSolver solver = new LinearSolver(spd);
+		System.out.println(solver.getMethod());
+		Vector x = solver.solve(vector_b);
+		Vector.print(x);
+		Vector.print(Matrix.matrixMultiplication(spd, columnMatrix(x)).getColumnVector(1));
+		System.out.println("==========================");
+		// 一般方阵：LU
+		Matrix general = DoubleMatrix.toMatrix(new DoubleMatrix(3, 3, new double[] { 0, 2, 1, 1, 1, 1, 2, 1, 0 }));
+		System.out.println(new LinearSolver(general).getMethod());
+		Vector.print(LinearSolver.solve(general, vector_b));
+		// 同一矩阵的第二个右端项复用缓存的分解
+		Matrix.print(LinearSolver.solve(general, Matrix.identityMatrix(3)));
+		// 按矩阵自身的精度策略重新分解
+		general.setMathContext(new MathContext(50));
+		System.out.println(LinearSolver.solve(general, vector_b).getCoordinate(1));
+		System.out.println("==========================");
+		// 超定方程组：QR最小二乘，拟合y=1+2x
+		Matrix tall = DoubleMatrix.toMatrix(new DoubleMatrix(4, 2, new double[] { 1, 0, 1, 1, 1, 2, 1, 3 }));
+		Vector vector_y = DoubleVector.toVector(new DoubleVector(new double[] { 1.1, 2.9, 5.1, 6.9 }));
+		System.out.println(new LinearSolver(tall).getMethod());
+		Vector.print(LinearSolver.solve(tall, vector_y));
+		// 行数少于列数：打印提示并返回null
+		System.out.println(LinearSolver.solve(Matrix.matrixTranspose(tall), vector_b));
+		System.out.println(new CholeskyDecomposition(tall).solve(vector_y));
+	}
+
+	private static Matrix columnMatrix(Vector vector) {
+		Matrix result = new Matrix(vector.getDimension(), 1);
+		for (int i = 1; i <= vector.getDimension(); i++) {
+			result.setElement(i, 1, vector.getCoordinate(i));
+		}
+		return result;
+	}
+}
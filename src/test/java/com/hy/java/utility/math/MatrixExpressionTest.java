@@ -0,0 +1,72 @@
+package com.hy.java.utility.math;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.MatrixExpression;
+
+public class MatrixExpressionTest {
+	@Test
+	public void expression() {
+		Random random = new Random(1);
+		int n = 60;
+		Matrix matrix_A = random(n, random);
+		Matrix matrix_B = random(n, random);
+		Matrix matrix_C = random(n, random);
+		Matrix matrix_D = random(n, random);
+		BigDecimal k = BigDecimal.valueOf(2.5);
+		// A*B+k*C-D：一次gemm加一次逐元素遍历
+		long start_time = SystemTime.currentTimeMillis();
+		Matrix eager = Matrix.matrixSubtraction(Matrix.matrixAddition(Matrix.matrixMultiplication(matrix_A, matrix_B), Matrix.numMultiplication(k, matrix_C)),
+				matrix_D);
+		System.out.println("eager: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		start_time = SystemTime.currentTimeMillis();
+		MatrixExpression a = MatrixExpression.of(matrix_A);
+		MatrixExpression expression = a.multiply(MatrixExpression.of(matrix_B)).add(MatrixExpression.of(matrix_C).scale(k)).subtract(MatrixExpression.of(matrix_D));
+		Matrix lazy = expression.evaluate();
+		System.out.println("lazy: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		System.out.println(equal(eager, lazy));
+		System.out.println("==========================");
+		// 共享子表达式S=A+C只求值一次：S*S-2*S
+		MatrixExpression s = a.add(MatrixExpression.of(matrix_C));
+		Matrix shared = s.multiply(s).subtract(s.scale(2)).evaluate();
+		Matrix sum = Matrix.matrixAddition(matrix_A, matrix_C);
+		Matrix expected = Matrix.matrixSubtraction(Matrix.matrixMultiplication(sum, sum), Matrix.numMultiplication(BigDecimal.valueOf(2), sum));
+		System.out.println(equal(expected, shared));
+		// 逐层共享的深度为60的DAG：每个节点只访问、求值一次
+		MatrixExpression doubled = a;
+		for (int i = 0; i < 60; i++) {
+			doubled = doubled.add(doubled);
+		}
+		start_time = SystemTime.currentTimeMillis();
+		Matrix power = doubled.evaluate();
+		System.out.println("doubled: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		System.out.println(equal(Matrix.numMultiplication(BigDecimal.valueOf(2).pow(60), matrix_A), power));
+		// 维数不符时返回null
+		System.out.println(a.multiply(MatrixExpression.of(new Matrix(n + 1, 2))));
+	}
+
+	private static Matrix random(int n, Random random) {
+		Matrix result = new Matrix(n, n);
+		for (int i = 1; i <= n; i++) {
+			for (int j = 1; j <= n; j++) {
+				result.setElement(i, j, random.nextInt(2001) / 100.0 - 10);
+			}
+		}
+		return result;
+	}
+
+	private static boolean equal(Matrix matrix_A, Matrix matrix_B) {
+		boolean result = true;
+		for (int i = 1; i <= matrix_A.getRowNum(); i++) {
+			for (int j = 1; j <= matrix_A.getColumnNum(); j++) {
+				result = result && matrix_A.getElement(i, j).compareTo(matrix_B.getElement(i, j)) == 0;
+			}
+		}
+		return result;
+	}
+}
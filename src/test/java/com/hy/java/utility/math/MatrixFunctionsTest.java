@@ -0,0 +1,118 @@
+package com.hy.java.utility.math;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.MatrixFunctions;
+import com.hy.java.utility.math.algebra.MatrixMultiplier;
+
+public class MatrixFunctionsTest {
+	@Test
+	public void power() {
+		// Fibonacci：[[1,1],[1,0]]^90的右上角为F(90)，精确计算
+		Matrix fibonacci = new Matrix(2, 2);
+		fibonacci.setElement(1, 1, 1);
+		fibonacci.setElement(1, 2, 1);
+		fibonacci.setElement(2, 1, 1);
+		fibonacci.setElement(2, 2, 0);
+		System.out.println(MatrixFunctions.power(fibonacci, 90).getElement(1, 2).stripTrailingZeros().toPlainString());
+		Matrix.print(MatrixFunctions.power(fibonacci, -3));
+		System.out.println("==========================");
+		// 与逐次相乘对比
+		Random random = new Random(1);
+		int n = 200;
+		DoubleMatrix stochastic = new DoubleMatrix(n, n);
+		for (int i = 0; i < n; i++) {
+			double sum = 0.0;
+			for (int j = 0; j < n; j++) {
+				stochastic.getElements()[i * n + j] = random.nextDouble();
+				sum += stochastic.getElements()[i * n + j];
+			}
+			for (int j = 0; j < n; j++) {
+				stochastic.getElements()[i * n + j] /= sum;
+			}
+		}
+		int k = 64;
+		long start_time = SystemTime.currentTimeMillis();
+		DoubleMatrix repeated = stochastic;
+		for (int i = 1; i < k; i++) {
+			repeated = MatrixMultiplier.getDefault().multiply(repeated, stochastic);
+		}
+		System.out.println("repeated multiplication: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		start_time = SystemTime.currentTimeMillis();
+		DoubleMatrix squared = MatrixFunctions.power(stochastic, k);
+		System.out.println("repeated squaring: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		System.out.println(maxDifference(repeated, squared));
+	}
+
+	@Test
+	public void exp() {
+		// e^(tJ)为旋转矩阵
+		double t = 2.0;
+		DoubleMatrix rotation = MatrixFunctions.exp(new DoubleMatrix(2, 2, new double[] { 0, -t, t, 0 }));
+		DoubleMatrix.print(rotation);
+		System.out.println(Math.cos(t) + "\t" + Math.sin(t));
+		// 连续时间马尔可夫链：生成矩阵Q各行之和为0，e^Q各行之和为1
+		DoubleMatrix generator = new DoubleMatrix(3, 3, new double[] { -3, 2, 1, 1, -1, 0, 4, 4, -8 });
+		DoubleMatrix transition = MatrixFunctions.exp(DoubleMatrix.numMultiplication(5.0, generator));
+		for (int i = 1; i <= 3; i++) {
+			System.out.println(transition.getElement(i, 1) + transition.getElement(i, 2) + transition.getElement(i, 3));
+		}
+		// ‖A‖很大时需要缩放与平方：e^A·e^(-A)=I
+		Random random = new Random(2);
+		int n = 50;
+		DoubleMatrix a = new DoubleMatrix(n, n);
+		for (int i = 0; i < a.getElements().length; i++) {
+			a.getElements()[i] = random.nextGaussian();
+		}
+		DoubleMatrix product = MatrixMultiplier.getDefault().multiply(MatrixFunctions.exp(a), MatrixFunctions.exp(DoubleMatrix.numMultiplication(-1.0, a)));
+		System.out.println(maxDifference(product, DoubleMatrix.identityMatrix(n)));
+	}
+
+	@Test
+	public void polynomial() {
+		Random random = new Random(3);
+		int n = 60;
+		int degree = 24;
+		DoubleMatrix a = new DoubleMatrix(n, n);
+		for (int i = 0; i < a.getElements().length; i++) {
+			a.getElements()[i] = random.nextGaussian() / n;
+		}
+		double[] coefficients = new double[degree + 1];
+		for (int i = 0; i <= degree; i++) {
+			coefficients[i] = random.nextGaussian();
+		}
+		// Horner：degree次乘法
+		long start_time = SystemTime.currentTimeMillis();
+		DoubleMatrix horner = DoubleMatrix.numMultiplication(coefficients[degree], DoubleMatrix.identityMatrix(n));
+		for (int i = degree - 1; i >= 0; i--) {
+			horner = MatrixMultiplier.getDefault().multiply(horner, a);
+			DoubleMatrix.axpy(coefficients[i], DoubleMatrix.identityMatrix(n), horner);
+		}
+		System.out.println("horner: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		start_time = SystemTime.currentTimeMillis();
+		DoubleMatrix paterson_stockmeyer = MatrixFunctions.polynomial(coefficients, a);
+		System.out.println("paterson-stockmeyer: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		System.out.println(maxDifference(horner, paterson_stockmeyer));
+		// 精确多项式：A^2-3A+2I
+		Matrix matrix = new Matrix(2, 2);
+		matrix.setElement(1, 1, 1);
+		matrix.setElement(1, 2, 2);
+		matrix.setElement(2, 1, 3);
+		matrix.setElement(2, 2, 4);
+		Matrix.print(MatrixFunctions.polynomial(new BigDecimal[] { BigDecimal.valueOf(2), BigDecimal.valueOf(-3), BigDecimal.ONE }, matrix));
+	}
+
+	private static double maxDifference(DoubleMatrix a, DoubleMatrix b) {
+		double result = 0.0;
+		for (int i = 0; i < a.getElements().length; i++) {
+			result = Math.max(result, Math.abs(a.getElements()[i] - b.getElements()[i]));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,77 @@
+package com.hy.java.utility.math;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.MatrixIO;
+import com.hy.java.utility.math.algebra.OffHeapMatrix;
+import com.hy.java.utility.math.algebra.Vector;
+
+public class MatrixIOTest {
+	@Test
+	public void matrixIO() throws IOException {
+		// 精确保存BigDecimal
+		Matrix matrix = new Matrix(2, 2);
+		matrix.setElement(1, 1, new BigDecimal("0.1"));
+		matrix.setElement(1, 2, BigDecimal.ONE.divide(new BigDecimal(3), new MathContext(40)));
+		matrix.setElement(2, 1, new BigDecimal("-12345678901234567890.123456789"));
+		matrix.setElement(2, 2, BigDecimal.ZERO);
+		matrix.setMathContext(MathContext.DECIMAL64);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MatrixIO.write(matrix, output, true);
+		Matrix exact = MatrixIO.readMatrix(new ByteArrayInputStream(output.toByteArray()));
+		System.out.println(exact.getElement(1, 2) + "\t" + exact.getElement(2, 1) + "\t" + exact.getMathContext());
+		// 按double保存会丢失超出double的精度
+		output.reset();
+		MatrixIO.write(matrix, output, false);
+		System.out.println(MatrixIO.readMatrix(new ByteArrayInputStream(output.toByteArray())).getElement(1, 2));
+		// 未设置的元素按0保存
+		Matrix partial = new Matrix(2, 2);
+		partial.setElement(1, 1, new BigDecimal("1.5"));
+		partial.setElement(2, 2, -2);
+		for (boolean exact_mode : new boolean[] { true, false }) {
+			output.reset();
+			MatrixIO.write(partial, output, exact_mode);
+			Matrix.print(MatrixIO.readMatrix(new ByteArrayInputStream(output.toByteArray())));
+		}
+		// 向量
+		Vector vector = new Vector(3);
+		vector.setCoordinate(1, 1.5);
+		vector.setCoordinate(2, new BigDecimal("2.000000000000000000001"));
+		vector.setCoordinate(3, -3);
+		output.reset();
+		MatrixIO.write(vector, output, true);
+		System.out.println(MatrixIO.readVector(new ByteArrayInputStream(output.toByteArray())).getCoordinate(2));
+		System.out.println(MatrixIO.readVector(new ByteArrayInputStream(new byte[10])));
+		System.out.println("==========================");
+		// 大矩阵写入文件，映射读回不需要解析
+		String file_path = System.getProperty("java.io.tmpdir") + File.separator + "MatrixIOTest.mat";
+		Random random = new Random(1);
+		DoubleMatrix large = new DoubleMatrix(1000, 1000);
+		for (int i = 0; i < large.getElements().length; i++) {
+			large.getElements()[i] = random.nextGaussian();
+		}
+		long start_time = SystemTime.currentTimeMillis();
+		MatrixIO.write(large, file_path);
+		System.out.println("write: " + (SystemTime.currentTimeMillis() - start_time) + "ms, " + new File(file_path).length() + " bytes");
+		start_time = SystemTime.currentTimeMillis();
+		DoubleMatrix loaded = MatrixIO.readDoubleMatrix(file_path);
+		System.out.println("read: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		System.out.println(Arrays.equals(large.getElements(), loaded.getElements()) + "\t" + MatrixIO.isMappable(file_path));
+		OffHeapMatrix mapped = OffHeapMatrix.open(file_path, true);
+		System.out.println(mapped.getElement(1000, 1000) == large.getElement(1000, 1000));
+		mapped.close();
+		new File(file_path).delete();
+	}
+}
@@ -0,0 +1,88 @@
+package com.hy.java.utility.math;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.MatrixMultiplier;
+
+public class MatrixMultiplierTest {
+	@Test
+	public void multiply() {
+		Random random = new Random(1);
+		int n = 300;
+		DoubleMatrix matrix_A = new DoubleMatrix(n, n + 7);
+		DoubleMatrix matrix_B = new DoubleMatrix(n + 7, n - 5);
+		for (int i = 0; i < matrix_A.getElements().length; i++) {
+			matrix_A.getElements()[i] = random.nextDouble();
+		}
+		for (int i = 0; i < matrix_B.getElements().length; i++) {
+			matrix_B.getElements()[i] = random.nextDouble();
+		}
+		// 小tile、低阈值，强制切分并行
+		MatrixMultiplier multiplier = new MatrixMultiplier(16, 4096);
+		long start_time = SystemTime.currentTimeMillis();
+		DoubleMatrix parallel = multiplier.multiply(matrix_A, matrix_B);
+		System.out.println("tiled parallel: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		start_time = SystemTime.currentTimeMillis();
+		DoubleMatrix serial = new MatrixMultiplier(n, Long.MAX_VALUE).multiply(matrix_A, matrix_B);
+		System.out.println("serial: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		double max_difference = 0.0;
+		for (int i = 0; i < parallel.getElements().length; i++) {
+			max_difference = Math.max(max_difference, Math.abs(parallel.getElements()[i] - serial.getElements()[i]));
+		}
+		System.out.println("max difference: " + max_difference);
+		System.out.println("==========================");
+		// 精确类型：结果应与逐元素点乘完全相同
+		Matrix matrix_C = DoubleMatrix.toMatrix(new DoubleMatrix(3, 2, new double[] { 1, 2, 3, 4, 5, 6 }));
+		Matrix matrix_D = DoubleMatrix.toMatrix(new DoubleMatrix(2, 3, new double[] { 0.1, 0.2, 0.3, 0.4, 0.5, 0.6 }));
+		Matrix.print(new MatrixMultiplier(1, 1).multiply(matrix_C, matrix_D));
+	}
+
+	@Test
+	public void inPlace() {
+		// C=2×A×B+0.5×C，写回C
+		DoubleMatrix matrix_A = new DoubleMatrix(2, 3, new double[] { 1, 2, 3, 4, 5, 6 });
+		DoubleMatrix matrix_B = new DoubleMatrix(3, 2, new double[] { 1, 0, 0, 1, 1, 1 });
+		DoubleMatrix matrix_C = new DoubleMatrix(2, 2, new double[] { 2, 2, 2, 2 });
+		DoubleMatrix result = DoubleMatrix.gemm(2.0, matrix_A, matrix_B, 0.5, matrix_C);
+		System.out.println(result == matrix_C);
+		DoubleMatrix.print(matrix_C);
+		DoubleMatrix.axpy(-1.0, DoubleMatrix.identityMatrix(2), DoubleMatrix.scaleInPlace(2.0, matrix_C));
+		DoubleMatrix.print(matrix_C);
+		System.out.println("==========================");
+		Matrix matrix_D = DoubleMatrix.toMatrix(matrix_A);
+		Matrix matrix_E = DoubleMatrix.toMatrix(matrix_B);
+		Matrix matrix_F = DoubleMatrix.toMatrix(new DoubleMatrix(2, 2, new double[] { 2, 2, 2, 2 }));
+		Matrix.gemm(BigDecimal.valueOf(2), matrix_D, matrix_E, new BigDecimal("0.5"), matrix_F);
+		Matrix.print(matrix_F);
+		Matrix.subtractInPlace(matrix_F, Matrix.matrixSubtraction(matrix_F, Matrix.identityMatrix(2)));
+		Matrix.print(matrix_F);
+	}
+
+	@Test
+	public void unfilledAccumulator() {
+		// 新建的矩阵元素为null，gemm视为0
+		Matrix matrix_A = DoubleMatrix.toMatrix(new DoubleMatrix(2, 2, new double[] { 1, 2, 3, 4 }));
+		Matrix matrix_B = Matrix.identityMatrix(2);
+		Matrix matrix_C = Matrix.gemm(BigDecimal.ONE, matrix_A, matrix_B, BigDecimal.ZERO, new Matrix(2, 2));
+		Matrix.print(matrix_C);
+		Matrix matrix_D = Matrix.gemm(BigDecimal.valueOf(2), matrix_A, matrix_B, BigDecimal.ONE, new Matrix(2, 2));
+		Matrix.print(matrix_D);
+	}
+
+	@Test
+	public void aliasedAccumulator() {
+		// matrix_C是运算数本身时返回null，且不被修改
+		DoubleMatrix matrix_A = new DoubleMatrix(2, 2, new double[] { 1, 2, 3, 4 });
+		System.out.println(DoubleMatrix.gemm(1.0, matrix_A, DoubleMatrix.identityMatrix(2), 0.0, matrix_A));
+		DoubleMatrix.print(matrix_A);
+		Matrix matrix_B = DoubleMatrix.toMatrix(matrix_A);
+		System.out.println(Matrix.gemm(BigDecimal.ONE, Matrix.identityMatrix(2), matrix_B, BigDecimal.ZERO, matrix_B));
+		Matrix.print(matrix_B);
+	}
+}
@@ -0,0 +1,65 @@
+package com.hy.java.utility.math;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.Vector;
+
+public class MatrixPrecisionTest {
+	/**
+	 * 反复平方基准：不限精度时元素位数每次翻倍，有限精度时每次乘法代价不变
+	 */
+	@Test
+	public void repeatedSquaring() {
+		int n = 24;
+		int squarings = 7;
+		Random random = new Random(1);
+		Matrix matrix_A = new Matrix(n, n);
+		for (int i = 1; i <= n; i++) {
+			for (int j = 1; j <= n; j++) {
+				matrix_A.setElement(i, j, BigDecimal.valueOf(random.nextDouble() - 0.5));
+			}
+		}
+		Matrix unbounded = square(matrix_A, squarings, "unlimited");
+		matrix_A.setMathContext(MathContext.DECIMAL64);
+		Matrix bounded = square(matrix_A, squarings, "DECIMAL64");
+		// 有限精度结果与精确结果的最大相对误差
+		double max_error = 0.0;
+		for (int i = 1; i <= n; i++) {
+			for (int j = 1; j <= n; j++) {
+				BigDecimal exact = unbounded.getElement(i, j);
+				if (exact.signum() != 0) {
+					max_error = Math.max(max_error, exact.subtract(bounded.getElement(i, j)).abs().divide(exact.abs(), MathContext.DECIMAL64).doubleValue());
+				}
+			}
+		}
+		System.out.println("max relative error: " + max_error);
+		System.out.println("==========================");
+		Vector vector = unbounded.getRowVector(1);
+		System.out.println(Vector.dotProduct(vector, vector).precision());
+		System.out.println(Vector.dotProduct(vector, vector, MathContext.DECIMAL32));
+		vector.setMathContext(new MathContext(6));
+		System.out.println(Vector.norm(vector));
+	}
+
+	private static Matrix square(Matrix matrix_A, int squarings, String label) {
+		long start_time = SystemTime.currentTimeMillis();
+		Matrix result = matrix_A;
+		for (int k = 0; k < squarings; k++) {
+			result = Matrix.matrixMultiplication(result, result);
+		}
+		int max_digits = 0;
+		for (BigDecimal[] row : result.getElements()) {
+			for (BigDecimal element : row) {
+				max_digits = Math.max(max_digits, element.precision());
+			}
+		}
+		System.out.println(label + ": " + (SystemTime.currentTimeMillis() - start_time) + "ms, max digits " + max_digits);
+		return result;
+	}
+}
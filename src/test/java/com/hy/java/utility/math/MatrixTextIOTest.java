@@ -0,0 +1,79 @@
+package com.hy.java.utility.math;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.FileEditor;
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.MatrixTextIO;
+import com.hy.java.utility.math.algebra.SparseMatrix;
+
+public class MatrixTextIOTest {
+	@Test
+	public void delimited() throws IOException {
+		// 与Matrix.print的输出形式相同
+		Matrix matrix = MatrixTextIO.readDelimitedExact(new StringReader("1.5\t-2\t0.1\r\n\n3e-3\t4\t0.30000000000000000001\n"), '\t');
+		String printed = Matrix.print(matrix);
+		System.out.println(matrix.getElement(2, 3));
+		System.out.println(Arrays.toString(MatrixTextIO.readDelimited(new StringReader(printed), '\t').getElements()));
+		StringWriter writer = new StringWriter();
+		MatrixTextIO.writeDelimited(matrix, writer, ',');
+		System.out.println(writer);
+		System.out.println(MatrixTextIO.readDelimited(new StringReader("1 2\n3  4  5\n"), ' '));
+		System.out.println(MatrixTextIO.readDelimited(new StringReader("1,x\n"), ','));
+		System.out.println("==========================");
+		// 大文件：逐行流式解析与readLines后逐个setElement对比
+		String file_path = System.getProperty("java.io.tmpdir") + File.separator + "MatrixTextIOTest.tsv";
+		Random random = new Random(1);
+		DoubleMatrix large = new DoubleMatrix(500, 500);
+		for (int i = 0; i < large.getElements().length; i++) {
+			large.getElements()[i] = random.nextGaussian() * Math.pow(10, random.nextInt(9) - 4);
+		}
+		MatrixTextIO.writeDelimited(large, file_path, '\t');
+		long start_time = SystemTime.currentTimeMillis();
+		List<String> lines = new FileEditor(file_path).readLines();
+		DoubleMatrix split = new DoubleMatrix(lines.size(), 500);
+		for (int i = 0; i < lines.size(); i++) {
+			String[] cells = lines.get(i).split("\t");
+			for (int j = 0; j < cells.length; j++) {
+				split.setElement(i + 1, j + 1, Double.parseDouble(cells[j]));
+			}
+		}
+		System.out.println("readLines+split: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		start_time = SystemTime.currentTimeMillis();
+		DoubleMatrix streamed = MatrixTextIO.readDelimited(file_path, '\t');
+		System.out.println("streaming: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		System.out.println(Arrays.equals(large.getElements(), streamed.getElements()) + "\t" + Arrays.equals(split.getElements(), streamed.getElements()));
+		new File(file_path).delete();
+	}
+
+	@Test
+	public void matrixMarket() throws IOException {
+		String symmetric = "%%MatrixMarket matrix coordinate real symmetric\n% comment\n3 3 4\n1 1 2.0\n2 1 -1\n3 2 -1\n3 3 2\n";
+		SparseMatrix sparse = MatrixTextIO.readMatrixMarket(new StringReader(symmetric));
+		DoubleMatrix.print(SparseMatrix.toDoubleMatrix(sparse));
+		System.out.println();
+		String array = "%%MatrixMarket matrix array real general\n2 3\n1\n4\n2\n5\n3\n6\n";
+		DoubleMatrix.print(MatrixTextIO.readMatrixMarketDense(new StringReader(array)));
+		System.out.println();
+		String pattern = "%%MatrixMarket matrix coordinate pattern general\n2 2 2\n1 2\n2 1\n";
+		DoubleMatrix.print(MatrixTextIO.readMatrixMarketDense(new StringReader(pattern)));
+		System.out.println();
+		// 写出后读回
+		StringWriter writer = new StringWriter();
+		MatrixTextIO.writeMatrixMarket(sparse, writer);
+		System.out.print(writer);
+		System.out.println(Arrays.equals(SparseMatrix.toDoubleMatrix(sparse).getElements(),
+				SparseMatrix.toDoubleMatrix(MatrixTextIO.readMatrixMarket(new StringReader(writer.toString()))).getElements()));
+		System.out.println(MatrixTextIO.readMatrixMarket(new StringReader("%%MatrixMarket matrix coordinate real general\n2 2 3\n1 1 1\n")));
+	}
+}
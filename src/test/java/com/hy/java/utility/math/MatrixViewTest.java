@@ -0,0 +1,37 @@
+package com.hy.java.utility.math;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.Vector;
+
+public class MatrixViewTest {
+	@Test
+	public void view() {
+		Matrix matrix_A = DoubleMatrix.toMatrix(new DoubleMatrix(3, 4, new double[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 }));
+		// 转置视图的子矩阵：A的第2~3列、第1~2行
+		Matrix view = matrix_A.transposeView().subMatrixView(2, 3, 1, 2);
+		Matrix.print(view);
+		System.out.println();
+		// 写视图即写原矩阵
+		view.setElement(1, 1, 0);
+		Matrix.scaleInPlace(BigDecimal.valueOf(10), view);
+		Matrix.print(matrix_A);
+		System.out.println();
+		Vector column = matrix_A.columnView(4);
+		Vector.addInPlace(column, column);
+		matrix_A.rowView(3).setCoordinate(1, -9);
+		Vector.print(column);
+		Matrix.print(matrix_A);
+		System.out.println();
+		// 现有算法直接接受视图
+		Matrix square = matrix_A.subMatrixView(1, 3, 2, 4);
+		Matrix.print(Matrix.matrixMultiplication(square.transposeView(), square));
+		System.out.println(Matrix.det(matrix_A.subMatrixView(2, 3, 3, 4)));
+		Matrix.gemm(BigDecimal.ONE, Matrix.identityMatrix(2), Matrix.identityMatrix(2), BigDecimal.ONE, matrix_A.subMatrixView(1, 2, 1, 2));
+		Matrix.print(matrix_A);
+	}
+}
@@ -0,0 +1,51 @@
+package com.hy.java.utility.math;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.Vector;
+import com.hy.java.utility.math.probabilityandstatistics.NormalDistribution;
+import com.hy.java.utility.math.probabilityandstatistics.NormalRandomGenerator;
+
+public class NormalRandomGeneratorTest {
+	@Test
+	public void generate() {
+		NormalDistribution distribution = new NormalDistribution(2.0, 9.0, null);
+		int n = 1000;
+		long start = SystemTime.currentTimeMillis();
+		Matrix cell_by_cell = new Matrix(n, n);
+		NormalDistribution sequential = new NormalDistribution(2.0, 9.0, new Random(1));
+		for (int i = 1; i <= n; i++) {
+			for (int j = 1; j <= n; j++) {
+				cell_by_cell.setElement(i, j, sequential.nextRandom());
+			}
+		}
+		System.out.println("setElement: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		start = SystemTime.currentTimeMillis();
+		Matrix matrix = NormalRandomGenerator.matrix(n, n, distribution, 42L);
+		System.out.println("matrix: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		start = SystemTime.currentTimeMillis();
+		DoubleMatrix double_matrix = NormalRandomGenerator.doubleMatrix(n, n, distribution, 42L);
+		System.out.println("doubleMatrix: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		// 均值、方差
+		double sum = 0.0;
+		double square_sum = 0.0;
+		for (double element : double_matrix.getElements()) {
+			sum += element;
+			square_sum += element * element;
+		}
+		double mean = sum / (n * n);
+		System.out.println("mean: " + mean + " variance: " + (square_sum / (n * n) - mean * mean));
+		// 同一种子结果相同，Matrix与DoubleMatrix的元素相同
+		System.out.println(Arrays.equals(double_matrix.getElements(), NormalRandomGenerator.doubleMatrix(n, n, distribution, 42L).getElements()));
+		System.out.println(matrix.getElement(n, n).doubleValue() == double_matrix.getElement(n, n));
+		System.out.println(Arrays.equals(double_matrix.getElements(), NormalRandomGenerator.doubleMatrix(n, n, distribution, 43L).getElements()));
+		Vector vector = NormalRandomGenerator.vector(5, distribution, 7L);
+		System.out.println(vector.getCoordinate(1) + " " + NormalRandomGenerator.doubleVector(5, distribution, 7L).getCoordinate(1));
+	}
+}
@@ -0,0 +1,48 @@
+package com.hy.java.utility.math;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.OffHeapMatrix;
+
+public class OffHeapMatrixTest {
+	@Test
+	public void offHeapMatrix() {
+		String file_path = System.getProperty("java.io.tmpdir") + File.separator + "OffHeapMatrixTest.mat";
+		// 映射到文件
+		OffHeapMatrix matrix_A = OffHeapMatrix.create(file_path, 2, 3);
+		matrix_A.setRow(1, new double[] { 0, -1, -2 });
+		matrix_A.setRow(2, new double[] { 2, 3, 1 });
+		matrix_A.close();
+		// 重新打开，不需要解析
+		OffHeapMatrix reopened = OffHeapMatrix.open(file_path, true);
+		System.out.println(reopened.isMapped() + "\t" + reopened.getRowNum() + "×" + reopened.getColumnNum());
+		DoubleMatrix.print(OffHeapMatrix.toDoubleMatrix(reopened));
+		System.out.println("==========================");
+		// 堆外运算，结果写入调用者提供的矩阵
+		OffHeapMatrix matrix_B = OffHeapMatrix.fromDoubleMatrix(new DoubleMatrix(3, 2, new double[] { 1, 2, 3, 4, 5, 6 }));
+		OffHeapMatrix product = OffHeapMatrix.allocate(2, 2);
+		OffHeapMatrix.matrixMultiplication(reopened, matrix_B, product);
+		DoubleMatrix.print(OffHeapMatrix.toDoubleMatrix(product));
+		System.out.println();
+		OffHeapMatrix.numMultiplication(2.0, product, product);
+		OffHeapMatrix.matrixAddition(product, product, product);
+		DoubleMatrix.print(OffHeapMatrix.toDoubleMatrix(product));
+		// 结果不能是运算数本身
+		OffHeapMatrix.matrixMultiplication(product, product, product);
+		reopened.close();
+		// 文件头中的行数为负
+		try (RandomAccessFile file = new RandomAccessFile(file_path, "rw")) {
+			file.seek(8);
+			file.writeInt(-1);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		System.out.println(OffHeapMatrix.open(file_path, true));
+		new File(file_path).delete();
+	}
+}
@@ -0,0 +1,79 @@
+package com.hy.java.utility.math;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleLUDecomposition;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.SmallMatrixBatch;
+
+public class SmallMatrixBatchTest {
+	@Test
+	public void batch() {
+		Random random = new Random(1);
+		int count = 200000;
+		for (int size = 2; size <= 4; size++) {
+			SmallMatrixBatch batch = new SmallMatrixBatch(size, count);
+			for (int i = 1; i <= size; i++) {
+				double[] component = batch.getComponent(i, i);
+				for (int t = 0; t < count; t++) {
+					component[t] = 2.0 * size;
+				}
+				for (int j = 1; j <= size; j++) {
+					component = batch.getComponent(i, j);
+					for (int t = 0; t < count; t++) {
+						component[t] += random.nextDouble() * 2 - 1;
+					}
+				}
+			}
+			long start_time = SystemTime.currentTimeMillis();
+			double[] det = SmallMatrixBatch.det(batch);
+			SmallMatrixBatch inverse = SmallMatrixBatch.inverse(batch);
+			SmallMatrixBatch product = SmallMatrixBatch.multiply(batch, inverse);
+			System.out.println(size + "x" + size + " det+inverse+multiply of " + count + ": " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+			// A·A^(-1)应为单位矩阵
+			double max_error = 0.0;
+			for (int i = 1; i <= size; i++) {
+				for (int j = 1; j <= size; j++) {
+					double[] component = product.getComponent(i, j);
+					for (int t = 0; t < count; t++) {
+						max_error = Math.max(max_error, Math.abs(component[t] - (i == j ? 1.0 : 0.0)));
+					}
+				}
+			}
+			System.out.println(max_error);
+			// 与LU分解的行列式对比
+			System.out.println(det[12345] + " " + new DoubleLUDecomposition(batch.getMatrix(12346)).det());
+			// 变换向量
+			double[][] vectors = new double[size][count];
+			vectors[0][7] = 1.0;
+			double[][] transformed = SmallMatrixBatch.transform(batch, vectors);
+			System.out.println(transformed[size - 1][7] + " " + batch.getElement(8, size, 1));
+		}
+		System.out.println("==========================");
+		// 与逐个用Matrix求逆对比
+		int n = 20000;
+		SmallMatrixBatch batch = new SmallMatrixBatch(3, n);
+		Matrix[] matrices = new Matrix[n];
+		for (int t = 1; t <= n; t++) {
+			matrices[t - 1] = new Matrix(3, 3);
+			for (int i = 1; i <= 3; i++) {
+				for (int j = 1; j <= 3; j++) {
+					double element = (i == j ? 6.0 : 0.0) + random.nextDouble();
+					batch.setElement(t, i, j, element);
+					matrices[t - 1].setElement(i, j, element);
+				}
+			}
+		}
+		long start_time = SystemTime.currentTimeMillis();
+		for (Matrix matrix : matrices) {
+			Matrix.matrixInverse(matrix);
+		}
+		System.out.println("Matrix inverse: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+		start_time = SystemTime.currentTimeMillis();
+		SmallMatrixBatch.inverse(batch);
+		System.out.println("batch inverse: " + (SystemTime.currentTimeMillis() - start_time) + "ms");
+	}
+}
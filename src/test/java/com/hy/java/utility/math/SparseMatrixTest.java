@@ -0,0 +1,35 @@
+package com.hy.java.utility.math;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.SparseMatrix;
+
+public class SparseMatrixTest {
+	@Test
+	public void sparseMatrix() {
+		// 乱序添加三元组，(2,3)重复添加会累加
+		SparseMatrix matrix_A = new SparseMatrix.Builder(3, 4).add(3, 4, 5).add(1, 1, 1).add(2, 3, 2).add(1, 4, -1).add(2, 3, 1).add(3, 2, 0).build();
+		SparseMatrix.print(matrix_A);
+		System.out.println(matrix_A.getNonZeroNum() + "\t" + matrix_A.getElement(2, 3) + "\t" + matrix_A.getElement(2, 2));
+		System.out.println();
+		DoubleMatrix.print(SparseMatrix.toDoubleMatrix(matrix_A));
+		System.out.println();
+		SparseMatrix.print(SparseMatrix.matrixTranspose(matrix_A));
+		System.out.println("==========================");
+		DoubleVector vector_x = new DoubleVector(new double[] { 1, 2, 3, 4 });
+		DoubleVector.print(SparseMatrix.matrixVectorMultiplication(matrix_A, vector_x));
+		DoubleVector.print(SparseMatrix.transposeVectorMultiplication(matrix_A, new DoubleVector(new double[] { 1, 1, 1 })));
+		System.out.println("==========================");
+		DoubleMatrix dense = new DoubleMatrix(4, 2, new double[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		DoubleMatrix.print(SparseMatrix.matrixMultiplication(matrix_A, dense));
+		System.out.println();
+		DoubleMatrix.print(SparseMatrix.matrixMultiplication(DoubleMatrix.matrixTranspose(dense), SparseMatrix.matrixTranspose(matrix_A)));
+		System.out.println();
+		Matrix.print(SparseMatrix.matrixMultiplication(matrix_A, DoubleMatrix.toMatrix(dense)));
+		System.out.println();
+		SparseMatrix.print(SparseMatrix.fromMatrix(Matrix.identityMatrix(3)));
+	}
+}
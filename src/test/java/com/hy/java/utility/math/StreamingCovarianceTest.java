@@ -0,0 +1,102 @@
+package com.hy.java.utility.math;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.probabilityandstatistics.PrincipalComponentAnalysis;
+import com.hy.java.utility.math.probabilityandstatistics.StreamingCovariance;
+
+public class StreamingCovarianceTest {
+	@Test
+	public void covariance() {
+		// 与先收集全部样本再两遍扫描的结果比较；分两部分处理后合并，结果相同
+		Random random = new Random(1);
+		int n = 20000;
+		int p = 5;
+		double[] samples = new double[n * p];
+		for (int i = 0; i < n; i++) {
+			double z = random.nextGaussian();
+			for (int j = 0; j < p; j++) {
+				samples[i * p + j] = 1000.0 + (j + 1) * z + random.nextGaussian();
+			}
+		}
+		StreamingCovariance whole = new StreamingCovariance(p);
+		StreamingCovariance first = new StreamingCovariance(p);
+		StreamingCovariance second = new StreamingCovariance(p);
+		double[] sample = new double[p];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(samples, i * p, sample, 0, p);
+			whole.add(sample);
+			(i < n / 4 ? first : second).add(sample);
+		}
+		first.merge(second);
+		double[] mean = new double[p];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < p; j++) {
+				mean[j] += samples[i * p + j] / n;
+			}
+		}
+		double[] expected = new double[p * p];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < p; j++) {
+				for (int k = 0; k < p; k++) {
+					expected[j * p + k] += (samples[i * p + j] - mean[j]) * (samples[i * p + k] - mean[k]) / (n - 1);
+				}
+			}
+		}
+		DoubleMatrix.print(whole.getCovariance());
+		double whole_difference = 0.0;
+		double merged_difference = 0.0;
+		for (int t = 0; t < p * p; t++) {
+			whole_difference = Math.max(whole_difference, Math.abs(whole.getCovariance().getElements()[t] - expected[t]));
+			merged_difference = Math.max(merged_difference, Math.abs(first.getCovariance().getElements()[t] - expected[t]));
+		}
+		System.out.println("max difference: " + whole_difference + " merged: " + merged_difference + " count: " + first.getCount());
+		System.out.println(whole.getCovarianceMatrix().getElement(1, 2));
+		System.out.println(new StreamingCovariance(2).getCovariance());
+	}
+
+	@Test
+	public void pca() {
+		// 样本集中在方向(1,2,...,p)/|.|附近，第一主成分应与之平行
+		Random random = new Random(2);
+		int n = 50000;
+		int p = 40;
+		double[] direction = new double[p];
+		double norm = 0.0;
+		for (int j = 0; j < p; j++) {
+			direction[j] = j + 1;
+			norm += direction[j] * direction[j];
+		}
+		norm = Math.sqrt(norm);
+		StreamingCovariance covariance = new StreamingCovariance(p);
+		double[] sample = new double[p];
+		long start = SystemTime.currentTimeMillis();
+		for (int i = 0; i < n; i++) {
+			double z = 5.0 * random.nextGaussian();
+			for (int j = 0; j < p; j++) {
+				sample[j] = z * direction[j] / norm + 0.1 * random.nextGaussian();
+			}
+			covariance.add(sample);
+		}
+		System.out.println("accumulate: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		PrincipalComponentAnalysis pca = new PrincipalComponentAnalysis(covariance, 3);
+		System.out.println(Arrays.toString(pca.getExplainedVariance()));
+		System.out.println("ratio: " + pca.getExplainedVarianceRatio()[0]);
+		double cosine = 0.0;
+		DoubleMatrix components = pca.getComponents();
+		for (int j = 0; j < p; j++) {
+			cosine += components.getElement(j + 1, 1) * direction[j] / norm;
+		}
+		System.out.println("|cos|: " + Math.abs(cosine));
+		DoubleVector projected = pca.transform(new DoubleVector(direction.clone()));
+		System.out.println("|score|: " + Math.abs(projected.getCoordinate(1)) + " expected: " + norm);
+		PrincipalComponentAnalysis full = new PrincipalComponentAnalysis(covariance, 20);
+		System.out.println(full.getExplainedVariance()[0] + " " + full.getComponentNum());
+	}
+}
@@ -0,0 +1,97 @@
+package com.hy.java.utility.math;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.LeastSquaresResult;
+import com.hy.java.utility.math.algebra.LinearSolver;
+import com.hy.java.utility.math.algebra.Matrix;
+import com.hy.java.utility.math.algebra.StreamingLeastSquares;
+import com.hy.java.utility.math.algebra.Vector;
+
+public class StreamingLeastSquaresTest {
+	@Test
+	public void smallFit() {
+		// 与LinearSolver的QR最小二乘解比较：拟合y=1+2x
+		double[][] points = { { 0, 1.1 }, { 1, 2.9 }, { 2, 5.2 }, { 3, 6.8 }, { 4, 9.1 } };
+		StreamingLeastSquares solver = new StreamingLeastSquares(2);
+		Matrix matrix = new Matrix(points.length, 2);
+		Vector vector = new Vector(points.length);
+		for (int i = 0; i < points.length; i++) {
+			solver.addRow(new double[] { 1, points[i][0] }, points[i][1]);
+			matrix.setElement(i + 1, 1, 1);
+			matrix.setElement(i + 1, 2, points[i][0]);
+			vector.setCoordinate(i + 1, points[i][1]);
+		}
+		LeastSquaresResult result = solver.getResult();
+		DoubleVector.print(result.getCoefficients());
+		Vector.print(new LinearSolver(matrix).solve(vector));
+		System.out.println("rss: " + result.getResidualSumOfSquares() + " R2: " + result.getRSquared());
+		DoubleVector.print(result.getStandardErrors());
+		// 共线的列
+		StreamingLeastSquares singular = new StreamingLeastSquares(2);
+		for (int i = 0; i < 5; i++) {
+			singular.addRow(new double[] { i, 2 * i }, i);
+		}
+		System.out.println(singular.getResult());
+		// 第三列为前两列之和，舍入误差使R的对角元不恰好为0
+		Random random = new Random(1);
+		StreamingLeastSquares collinear = new StreamingLeastSquares(3);
+		for (int i = 0; i < 1000; i++) {
+			double x1 = random.nextGaussian();
+			double x2 = random.nextGaussian();
+			collinear.addRow(new double[] { x1, x2, x1 + x2 }, x1 - x2 + 0.1 * random.nextGaussian());
+		}
+		System.out.println(collinear.getResult());
+	}
+
+	@Test
+	public void tallFit() {
+		Random random = new Random(1);
+		int n = 1000000;
+		int p = 10;
+		double[] truth = new double[p];
+		for (int j = 0; j < p; j++) {
+			truth[j] = j - 4.5;
+		}
+		DoubleMatrix matrix_A = new DoubleMatrix(n, p);
+		double[] b = new double[n];
+		double[] elements = matrix_A.getElements();
+		for (int i = 0; i < n; i++) {
+			elements[i * p] = 1.0;
+			double sum = truth[0];
+			for (int j = 1; j < p; j++) {
+				elements[i * p + j] = random.nextGaussian();
+				sum += truth[j] * elements[i * p + j];
+			}
+			b[i] = sum + 0.1 * random.nextGaussian();
+		}
+		long start = SystemTime.currentTimeMillis();
+		LeastSquaresResult result = StreamingLeastSquares.fit(matrix_A, new DoubleVector(b));
+		System.out.println("fit: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		DoubleVector.print(result.getCoefficients());
+		System.out.println("residual variance: " + result.getResidualVariance() + " R2: " + result.getRSquared());
+		// 两个分块各自处理后合并，结果与整体拟合一致
+		StreamingLeastSquares first = new StreamingLeastSquares(p);
+		StreamingLeastSquares second = new StreamingLeastSquares(p);
+		int chunk = 1000;
+		double[] rows = new double[chunk * p];
+		double[] chunk_b = new double[chunk];
+		for (int offset = 0; offset < n; offset += chunk) {
+			System.arraycopy(elements, offset * p, rows, 0, chunk * p);
+			System.arraycopy(b, offset, chunk_b, 0, chunk);
+			(offset < n / 3 ? first : second).addRows(rows, chunk_b, chunk);
+		}
+		first.merge(second);
+		LeastSquaresResult merged = first.getResult();
+		double max_difference = 0.0;
+		for (int j = 1; j <= p; j++) {
+			max_difference = Math.max(max_difference, Math.abs(merged.getCoefficients().getCoordinate(j) - result.getCoefficients().getCoordinate(j)));
+		}
+		System.out.println("merged rows: " + merged.getRowNum() + " max difference: " + max_difference);
+	}
+}
@@ -0,0 +1,83 @@
+package com.hy.java.utility.math;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hy.java.utility.common.SystemTime;
+import com.hy.java.utility.math.algebra.DoubleMatrix;
+import com.hy.java.utility.math.algebra.DoubleVector;
+import com.hy.java.utility.math.algebra.Vector;
+import com.hy.java.utility.math.search.Metric;
+import com.hy.java.utility.math.search.Neighbor;
+import com.hy.java.utility.math.search.VectorCollection;
+
+public class VectorCollectionTest {
+	@Test
+	public void small() {
+		// 与逐对vectorSubtraction、norm的结果比较
+		Random random = new Random(1);
+		int n = 500;
+		int dimension = 8;
+		VectorCollection collection = new VectorCollection(dimension);
+		Vector[] vectors = new Vector[n];
+		for (int i = 0; i < n; i++) {
+			vectors[i] = new Vector(dimension);
+			for (int j = 1; j <= dimension; j++) {
+				vectors[i].setCoordinate(j, random.nextInt(100));
+			}
+			collection.add(vectors[i]);
+		}
+		Vector query = vectors[7];
+		int best = 0;
+		double best_distance = Double.MAX_VALUE;
+		for (int i = 0; i < n; i++) {
+			if (i != 7) {
+				double distance = Vector.norm(Vector.vectorSubtraction(vectors[i], query)).doubleValue();
+				if (distance < best_distance) {
+					best_distance = distance;
+					best = i + 1;
+				}
+			}
+		}
+		System.out.println("loop: " + best + ":" + best_distance);
+		System.out.println(collection.search(query, 2, Metric.EUCLIDEAN));
+		System.out.println(collection.search(query, 3, Metric.COSINE));
+		System.out.println(collection.search(query, 3, Metric.DOT));
+		System.out.println(collection.search(new double[3], 3, Metric.DOT));
+		System.out.println(collection.get(8).getCoordinate(1) + " " + query.getCoordinate(1));
+	}
+
+	@Test
+	public void large() {
+		Random random = new Random(2);
+		int n = 200000;
+		int dimension = 64;
+		VectorCollection collection = new VectorCollection(dimension, n);
+		double[] vector = new double[dimension];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < dimension; j++) {
+				vector[j] = random.nextGaussian();
+			}
+			collection.add(vector);
+		}
+		int query_num = 32;
+		DoubleMatrix queries = new DoubleMatrix(query_num, dimension);
+		for (int q = 0; q < query_num; q++) {
+			System.arraycopy(collection.get(q * 1000 + 1).getCoordinates(), 0, queries.getElements(), q * dimension, dimension);
+			queries.getElements()[q * dimension] += 0.01;
+		}
+		long start = SystemTime.currentTimeMillis();
+		List<List<Neighbor>> batch = collection.search(queries, 10, Metric.EUCLIDEAN);
+		System.out.println("batch: " + (SystemTime.currentTimeMillis() - start) + "ms");
+		start = SystemTime.currentTimeMillis();
+		boolean same = true;
+		for (int q = 0; q < query_num; q++) {
+			List<Neighbor> single = collection.search(new DoubleVector(queries.getRowVector(q + 1).getCoordinates()), 10, Metric.EUCLIDEAN);
+			same &= single.toString().equals(batch.get(q).toString());
+		}
+		System.out.println("one by one: " + (SystemTime.currentTimeMillis() - start) + "ms, same: " + same);
+		System.out.println("nearest of query 5: " + batch.get(4).get(0));
+	}
+}